@@ -25,6 +25,9 @@
 
 package java.io;
 
+import java.lang.ref.Cleaner;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -51,6 +54,13 @@ public final class FileDescriptor {
     private List<Closeable> otherParents;
     private boolean closed;
 
+    /*
+     * Closes the file descriptor if this object becomes phantom reachable
+     * before it is closed; null unless registered by the stream that
+     * opened it.
+     */
+    private Cleanup cleanup;
+
     /**
      * Constructs an (invalid) FileDescriptor
      * object.
@@ -194,6 +204,10 @@ public final class FileDescriptor {
     synchronized void closeAll(Closeable releaser) throws IOException {
         if (!closed) {
             closed = true;
+            if (cleanup != null) {
+                cleanup.clear();
+                cleanup = null;
+            }
             IOException ioe = null;
             try (Closeable c = releaser) {
                 if (otherParents != null) {
@@ -223,4 +237,78 @@ public final class FileDescriptor {
             }
         }
     }
+
+    /**
+     * Registers a cleanup that closes the file descriptor when this object
+     * becomes phantom reachable, that is when all the streams sharing it
+     * are no longer referenced, unless it is closed before.  Called by the
+     * stream that opened the file descriptor.
+     */
+    synchronized void registerCleanup() {
+        if (cleanup == null && !closed && fd != -1) {
+            Cleanup c = new Cleanup(fd);
+            c.cleanable = CleanerHolder.cleaner.register(this, c);
+            cleanup = c;
+        }
+    }
+
+    private static class CleanerHolder {
+        static final Cleaner cleaner = AccessController.doPrivileged(
+            new PrivilegedAction<Cleaner>() {
+                public Cleaner run() {
+                    return Cleaner.create();
+                }
+            });
+    }
+
+    /*
+     * The cleaning action closing a file descriptor, which must not refer
+     * to the FileDescriptor object.
+     */
+    private static class Cleanup implements Runnable {
+        private int fd;
+        private Cleaner.Cleanable cleanable;
+
+        Cleanup(int fd) {
+            this.fd = fd;
+        }
+
+        public synchronized void run() {
+            if (fd != -1) {
+                try {
+                    close(fd);
+                } catch (IOException ioe) {
+                    // ignore
+                }
+                fd = -1;
+            }
+        }
+
+        /**
+         * Unregisters the cleanup without closing the file descriptor, which
+         * is being closed by its streams.
+         */
+        void clear() {
+            synchronized (this) {
+                fd = -1;
+            }
+            cleanable.clean();
+        }
+    }
+
+    /*
+     * Closes a file descriptor that no stream refers to any longer.  It is
+     * closed by the native close of a FileInputStream created on a new
+     * FileDescriptor object for it, as a stream created on the original
+     * would close it.
+     */
+    private static void close(final int fd) throws IOException {
+        FileInputStream fis = AccessController.doPrivileged(
+            new PrivilegedAction<FileInputStream>() {
+                public FileInputStream run() {
+                    return new FileInputStream(new FileDescriptor(fd));
+                }
+            });
+        fis.close();
+    }
 }
@@ -26,6 +26,8 @@
 package java.io;
 
 import java.nio.channels.FileChannel;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
 import sun.nio.ch.FileChannelImpl;
 
 
@@ -62,6 +64,12 @@ class FileInputStream extends InputStream
     private final Object closeLock = new Object();
     private volatile boolean closed = false;
 
+    /**
+     * Closes a subclass that overrides close() when it is no longer
+     * referenced, or null.
+     */
+    private final Object altFinalizer;
+
     /**
      * Creates a <code>FileInputStream</code> by
      * opening a connection to an actual file,
@@ -135,7 +143,9 @@ class FileInputStream extends InputStream
         fd = new FileDescriptor();
         fd.attach(this);
         path = name;
+        altFinalizer = getFinalizer(this);
         open(name);
+        fd.registerCleanup();
     }
 
     /**
@@ -172,6 +182,7 @@ class FileInputStream extends InputStream
         }
         fd = fdObj;
         path = null;
+        altFinalizer = getFinalizer(this);
 
         /*
          * FileDescriptor is being shared by streams.
@@ -389,20 +400,78 @@ class FileInputStream extends InputStream
     }
 
     /**
-     * Ensures that the <code>close</code> method of this file input stream is
-     * called when there are no more references to it.
+     * Does nothing.  The file opened by this file input stream is closed
+     * by a {@link java.lang.ref.Cleaner} when there are no more references
+     * to it, without finalization.  If this stream is of a subclass that
+     * overrides <code>close</code> and not <code>finalize</code>, its
+     * <code>close</code> method is still called when there are no more
+     * references to it.
      *
      * @exception  IOException  if an I/O error occurs.
      * @see        java.io.FileInputStream#close()
      */
     protected void finalize() throws IOException {
-        if ((fd != null) &&  (fd != FileDescriptor.in)) {
-            /* if fd is shared, the references in FileDescriptor
-             * will ensure that finalizer is only called when
-             * safe to do so. All references using the fd have
-             * become unreachable. We can call close()
-             */
-            close();
+    }
+
+    /*
+     * Returns an AltFinalizer for the given stream if it is of a subclass
+     * that overrides close() but not finalize(), or null.
+     */
+    private static Object getFinalizer(FileInputStream fis) {
+        final Class<?> clazz = fis.getClass();
+        if (clazz == FileInputStream.class)
+            return null;
+        boolean closeOverridden = AccessController.doPrivileged(
+            new PrivilegedAction<Boolean>() {
+                public Boolean run() {
+                    boolean close = false;
+                    for (Class<?> c = clazz; c != FileInputStream.class;
+                         c = c.getSuperclass()) {
+                        if (declares(c, "finalize"))
+                            return false;
+                        close |= declares(c, "close");
+                    }
+                    return close;
+                }
+            });
+        return closeOverridden ? new AltFinalizer(fis) : null;
+    }
+
+    private static boolean declares(Class<?> c, String name) {
+        try {
+            c.getDeclaredMethod(name);
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    /*
+     * Calls close() on a stream of a subclass overriding it when the
+     * stream is no longer referenced, as the finalize() method of
+     * FileInputStream used to.
+     */
+    static class AltFinalizer {
+        private final FileInputStream fis;
+
+        AltFinalizer(FileInputStream fis) {
+            this.fis = fis;
+        }
+
+        @Override
+        protected final void finalize() {
+            try {
+                if ((fis.fd != null) && (fis.fd != FileDescriptor.in)) {
+                    /* if fd is shared, the references in FileDescriptor
+                     * will ensure that finalizer is only called when
+                     * safe to do so. All references using the fd have
+                     * become unreachable. We can call close()
+                     */
+                    fis.close();
+                }
+            } catch (IOException ioe) {
+                // ignore
+            }
         }
     }
 }
@@ -0,0 +1,276 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.lang;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * This class extends <tt>ThreadLocal</tt> to provide thread-local
+ * variables that are accessed in constant time.  Each indexed thread-local
+ * variable is given a distinct index when it is created, and the values of
+ * the indexed thread-local variables of a thread are held in an array
+ * belonging to the thread, at the index of their variable.  Accessing a
+ * value is thus an array access rather than a lookup in the hash table
+ * holding the values of ordinary thread-local variables, and no per-value
+ * entry or weak reference is allocated.
+ *
+ * <p>The index of a variable is given to a new variable once the variable
+ * has been garbage collected, so each thread's array of values is as long
+ * as the greatest number of variables that were reachable at once.  The
+ * value a thread set for a collected variable is released when the thread
+ * sets the variable that reuses its index, or when the values of the
+ * thread are removed with {@link #removeAll}.  Indexed thread-local
+ * variables are therefore best created a bounded number of times,
+ * typically as <tt>static final</tt> fields, rather than dynamically.  If
+ * no index is available, a variable behaves as an ordinary
+ * <tt>ThreadLocal</tt>.
+ *
+ * <p>Pools of threads that run unrelated tasks may invoke
+ * {@link #removeAll} when a task completes, so that no values are retained
+ * by the pooled thread or seen by the next task.
+ *
+ * @see     ThreadLocal
+ * @since   1.8
+ */
+
+public class IndexedThreadLocal<T> extends ThreadLocal<T> {
+    /**
+     * The greatest number of indices, such that the array of values of a
+     * thread, which holds two slots per index, can be allocated.
+     */
+    private static final int MAX_INDICES = (Integer.MAX_VALUE - 8) >> 1;
+
+    /**
+     * Weak references to the variables that hold an index, enqueued when
+     * their variable is collected so that its index can be given out again.
+     */
+    private static final ReferenceQueue<IndexedThreadLocal<?>> queue =
+        new ReferenceQueue<>();
+
+    /*
+     * The references of the variables holding an index, by index, and the
+     * stack of indices whose variables have been collected.  Both are
+     * guarded by the queue.
+     */
+    private static IndexRef[] refs = new IndexRef[16];
+    private static int[] freeIndices = new int[16];
+    private static int freeCount;
+
+    /**
+     * The number of indices given out so far.  The arrays of values of
+     * threads are made long enough for all of them when they grow.
+     */
+    private static volatile int indexCount;
+
+    /**
+     * The index of this variable in the value arrays of threads, or -1 if
+     * no index was available and this variable is an ordinary thread-local.
+     */
+    private final int index;
+
+    /**
+     * The reference registering the index of this variable, or null if it
+     * has none.  It is stored next to each value of this variable, to tell
+     * them from the values left by a collected variable of the same index.
+     */
+    private final IndexRef ref;
+
+    /**
+     * Creates an indexed thread local variable.
+     *
+     * @see #withInitial(java.util.function.Supplier)
+     */
+    public IndexedThreadLocal() {
+        IndexRef r = register(this);
+        ref = r;
+        index = (r == null) ? -1 : r.index;
+    }
+
+    /**
+     * Creates an indexed thread local variable. The initial value of the
+     * variable is determined by invoking the {@code get} method on the
+     * {@code Supplier}.
+     *
+     * @param <S> the type of the thread local's value
+     * @param supplier the supplier to be used to determine the initial value
+     * @return a new indexed thread local variable
+     * @throws NullPointerException if the specified supplier is null
+     */
+    public static <S> IndexedThreadLocal<S> withInitial(Supplier<? extends S> supplier) {
+        return new SuppliedIndexedThreadLocal<>(supplier);
+    }
+
+    /**
+     * Returns the value in the current thread's copy of this thread-local
+     * variable.  If the variable has no value for the current thread, it is
+     * first initialized to the value returned by an invocation of the
+     * {@link #initialValue} method.
+     *
+     * @return the current thread's value of this thread-local
+     */
+    public T get() {
+        int i = index << 1;
+        if (i < 0)
+            return super.get();
+        Object[] values = Thread.currentThread().indexedThreadLocals;
+        if (values != null && i < values.length && values[i] == ref) {
+            @SuppressWarnings("unchecked")
+            T result = (T) values[i + 1];
+            return result;
+        }
+        T value = initialValue();
+        store(value);
+        return value;
+    }
+
+    /**
+     * Sets the current thread's copy of this thread-local variable
+     * to the specified value.
+     *
+     * @param value the value to be stored in the current thread's copy of
+     *        this thread-local.
+     */
+    public void set(T value) {
+        if (index < 0)
+            super.set(value);
+        else
+            store(value);
+    }
+
+    /**
+     * Removes the current thread's value for this thread-local variable.
+     * If this thread-local variable is subsequently {@linkplain #get read}
+     * by the current thread, its value will be reinitialized by invoking its
+     * {@link #initialValue} method, unless its value is
+     * {@linkplain #set set} by the current thread in the interim.
+     */
+    public void remove() {
+        int i = index << 1;
+        if (i < 0) {
+            super.remove();
+            return;
+        }
+        Object[] values = Thread.currentThread().indexedThreadLocals;
+        if (values != null && i < values.length) {
+            values[i] = null;
+            values[i + 1] = null;
+        }
+    }
+
+    /**
+     * Removes the current thread's values for all indexed thread-local
+     * variables, as if by invoking {@link #remove} on each of them.
+     * Ordinary thread-local variables, and indexed ones that had no index
+     * available, are not affected.
+     */
+    public static void removeAll() {
+        Thread.currentThread().indexedThreadLocals = null;
+    }
+
+    /**
+     * Stores a value for the current thread, growing its array of values
+     * if needed. Used instead of set() in case user has overridden the
+     * set() method.
+     */
+    private void store(T value) {
+        Thread t = Thread.currentThread();
+        Object[] values = t.indexedThreadLocals;
+        int i = index << 1;
+        if (values == null || i >= values.length) {
+            // Make room for all variables created so far
+            int length = Math.max(i + 2, indexCount << 1);
+            values = (values == null) ? new Object[length]
+                                      : Arrays.copyOf(values, length);
+            t.indexedThreadLocals = values;
+        }
+        values[i] = ref;
+        values[i + 1] = value;
+    }
+
+    /**
+     * Gives an index to the specified variable, reusing the index of a
+     * collected variable if there is one.
+     *
+     * @return the reference registering the index, or null if all indices
+     *         are held by reachable variables
+     */
+    private static IndexRef register(IndexedThreadLocal<?> tl) {
+        synchronized (queue) {
+            IndexRef r;
+            while ((r = (IndexRef) queue.poll()) != null) {
+                refs[r.index] = null;
+                if (freeCount == freeIndices.length)
+                    freeIndices = Arrays.copyOf(freeIndices, freeCount << 1);
+                freeIndices[freeCount++] = r.index;
+            }
+            int i;
+            if (freeCount > 0)
+                i = freeIndices[--freeCount];
+            else if (indexCount < MAX_INDICES)
+                i = indexCount++;
+            else
+                return null;
+            if (i >= refs.length)
+                refs = Arrays.copyOf(refs, Math.max(i + 1, refs.length << 1));
+            return refs[i] = new IndexRef(tl, i, queue);
+        }
+    }
+
+    /**
+     * A weak reference to an indexed thread-local variable, which keeps its
+     * index until the variable is collected.
+     */
+    static final class IndexRef extends WeakReference<IndexedThreadLocal<?>> {
+        final int index;
+
+        IndexRef(IndexedThreadLocal<?> tl, int index,
+                 ReferenceQueue<IndexedThreadLocal<?>> queue) {
+            super(tl, queue);
+            this.index = index;
+        }
+    }
+
+    /**
+     * An extension of IndexedThreadLocal that obtains its initial value from
+     * the specified {@code Supplier}.
+     */
+    static final class SuppliedIndexedThreadLocal<T> extends IndexedThreadLocal<T> {
+
+        private final Supplier<? extends T> supplier;
+
+        SuppliedIndexedThreadLocal(Supplier<? extends T> supplier) {
+            this.supplier = Objects.requireNonNull(supplier);
+        }
+
+        @Override
+        protected T initialValue() {
+            return supplier.get();
+        }
+    }
+}
@@ -421,6 +421,117 @@ public final class Integer extends Number implements Comparable<Integer> {
         return Long.toString(toUnsignedLong(i));
     }
 
+    /**
+     * Writes the signed decimal representation of the specified integer
+     * into the given byte array as ASCII, starting at the specified
+     * offset.  The bytes written are the characters of
+     * {@link #toString(int) toString(i)}, but no intermediate
+     * {@code String} or character array is created.
+     *
+     * @param   i       an integer to be converted.
+     * @param   buf     the byte array to write into.
+     * @param   offset  the index in {@code buf} of the first byte to write.
+     * @return  the index in {@code buf} following the last byte written.
+     * @throws  IndexOutOfBoundsException if {@code offset} is negative,
+     *          or the representation of {@code i} does not fit in
+     *          {@code buf} at {@code offset}; in which case {@code buf}
+     *          is not modified.
+     * @since 1.8
+     */
+    public static int writeAscii(int i, byte[] buf, int offset) {
+        int size = decimalSize(i);
+        if (offset < 0 || offset > buf.length - size)
+            throw new IndexOutOfBoundsException("offset " + offset +
+                                                ", length " + buf.length);
+        int end = offset + size;
+        getBytes(i, end, buf);
+        return end;
+    }
+
+    /**
+     * Writes the signed decimal representation of the specified integer
+     * into the given buffer as ASCII, at its current position, and then
+     * increments the position.  The bytes written are the characters of
+     * {@link #toString(int) toString(i)}, but no intermediate
+     * {@code String} or character array is created.
+     *
+     * @param   i    an integer to be converted.
+     * @param   buf  the buffer to write into.
+     * @return  the buffer.
+     * @throws  java.nio.BufferOverflowException if there are fewer bytes
+     *          remaining in {@code buf} than are needed to represent
+     *          {@code i}; in which case {@code buf} is not modified.
+     * @throws  java.nio.ReadOnlyBufferException if {@code buf} is
+     *          read-only.
+     * @since 1.8
+     */
+    public static java.nio.ByteBuffer writeAscii(int i, java.nio.ByteBuffer buf) {
+        int size = decimalSize(i);
+        int pos = buf.position();
+        if (buf.limit() - pos < size)
+            throw new java.nio.BufferOverflowException();
+        if (buf.hasArray()) {
+            getBytes(i, buf.arrayOffset() + pos + size, buf.array());
+        } else {
+            // Accumulate negatively, so that MIN_VALUE needs no special case
+            int q = (i < 0) ? i : -i;
+            int p = pos + size;
+            do {
+                buf.put(--p, (byte)('0' - q % 10));
+                q /= 10;
+            } while (q != 0);
+            if (i < 0)
+                buf.put(--p, (byte)'-');
+        }
+        buf.position(pos + size);
+        return buf;
+    }
+
+    /**
+     * Appends the signed decimal representation of the specified integer
+     * to the given {@code Appendable}.  The characters appended are those
+     * of {@link #toString(int) toString(i)}, but no intermediate
+     * {@code String} or character array is created.
+     *
+     * @param   i  an integer to be converted.
+     * @param   a  the {@code Appendable} to append to.
+     * @throws  java.io.IOException if an I/O error occurs.
+     * @since 1.8
+     */
+    public static void appendTo(int i, Appendable a) throws java.io.IOException {
+        if (a instanceof AbstractStringBuilder) {
+            ((AbstractStringBuilder) a).append(i);
+            return;
+        }
+        // Emit digits most significant first, accumulating negatively so
+        // that MIN_VALUE needs no special case
+        int q = i;
+        int n = decimalSize(i);
+        if (i < 0) {
+            a.append('-');
+            n--;
+        } else {
+            q = -i;
+        }
+        for (int k = n - 1; k > 0; k--) {
+            int p = sizeTable[k - 1] + 1;    // 10^k
+            int d = q / p;
+            a.append(digits[-d]);
+            q -= d * p;
+        }
+        a.append(digits[-q]);
+    }
+
+    /**
+     * Returns the number of characters in the signed decimal
+     * representation of i.
+     */
+    static int decimalSize(int i) {
+        if (i == Integer.MIN_VALUE)
+            return 11;
+        return (i < 0) ? stringSize(-i) + 1 : stringSize(i);
+    }
+
     /**
      * Places characters representing the integer i into the
      * character array buf. The characters are placed into
@@ -464,6 +575,50 @@ public final class Integer extends Number implements Comparable<Integer> {
         }
     }
 
+    /**
+     * Places the ASCII bytes representing the integer i into the
+     * byte array buf, in the same manner as {@link #getChars}.
+     * Unlike getChars, this method handles i == Integer.MIN_VALUE.
+     */
+    static void getBytes(int i, int index, byte[] buf) {
+        int q, r;
+        int charPos = index;
+        byte sign = 0;
+
+        if (i == Integer.MIN_VALUE) {
+            // -i overflows; place the last digit separately
+            buf [--charPos] = '8';
+            i /= 10;
+        }
+        if (i < 0) {
+            sign = '-';
+            i = -i;
+        }
+
+        // Generate two digits per iteration
+        while (i >= 65536) {
+            q = i / 100;
+        // really: r = i - (q * 100);
+            r = i - ((q << 6) + (q << 5) + (q << 2));
+            i = q;
+            buf [--charPos] = (byte) DigitOnes[r];
+            buf [--charPos] = (byte) DigitTens[r];
+        }
+
+        // Fall thru to fast mode for smaller numbers
+        // assert(i <= 65536, i);
+        for (;;) {
+            q = (i * 52429) >>> (16+3);
+            r = i - ((q << 3) + (q << 1));  // r = i-(q*10) ...
+            buf [--charPos] = (byte) digits [r];
+            i = q;
+            if (i == 0) break;
+        }
+        if (sign != 0) {
+            buf [--charPos] = sign;
+        }
+    }
+
     final static int [] sizeTable = { 9, 99, 999, 9999, 99999, 999999, 9999999,
                                       99999999, 999999999, Integer.MAX_VALUE };
 
@@ -615,6 +770,240 @@ public final class Integer extends Number implements Comparable<Integer> {
         return parseInt(s,10);
     }
 
+    /**
+     * Parses the {@link CharSequence} argument as a signed {@code int} in
+     * the specified {@code radix}, beginning at the specified
+     * {@code beginIndex} and extending to {@code endIndex - 1}.
+     *
+     * <p>The method does not take steps to guard against the
+     * {@code CharSequence} being mutated while parsing.  No substring of
+     * {@code s} is created unless the range does not contain a parsable
+     * {@code int}; a {@code char} array may be parsed in the same way by
+     * wrapping it with {@link java.nio.CharBuffer#wrap(char[])}, or with
+     * {@link #parseInt(char[], int, int, int)}.
+     *
+     * @param      s   the {@code CharSequence} containing the {@code int}
+     *                  representation to be parsed
+     * @param      beginIndex   the beginning index, inclusive.
+     * @param      endIndex     the ending index, exclusive.
+     * @param      radix   the radix to be used while parsing {@code s}.
+     * @return     the signed {@code int} represented by the subsequence in
+     *             the specified radix.
+     * @throws     NullPointerException  if {@code s} is null.
+     * @throws     IndexOutOfBoundsException  if {@code beginIndex} is
+     *             negative, or if {@code beginIndex} is greater than
+     *             {@code endIndex} or if {@code endIndex} is greater than
+     *             {@code s.length()}.
+     * @throws     NumberFormatException  if the {@code CharSequence} does not
+     *             contain a parsable {@code int} in the specified
+     *             {@code radix}, or if {@code radix} is either smaller than
+     *             {@link java.lang.Character#MIN_RADIX} or larger than
+     *             {@link java.lang.Character#MAX_RADIX}.
+     * @since  1.8
+     */
+    public static int parseInt(CharSequence s, int beginIndex, int endIndex, int radix)
+                throws NumberFormatException {
+        if (s == null)
+            throw new NullPointerException();
+        checkParseRange(beginIndex, endIndex, s.length(), radix);
+
+        int result = 0;
+        boolean negative = false;
+        int i = beginIndex;
+        int limit = -Integer.MAX_VALUE;
+        int multmin;
+        int digit;
+
+        if (i < endIndex) {
+            char firstChar = s.charAt(i);
+            if (firstChar < '0') { // Possible leading "+" or "-"
+                if (firstChar == '-') {
+                    negative = true;
+                    limit = Integer.MIN_VALUE;
+                } else if (firstChar != '+')
+                    throw NumberFormatException.forCharSequence(s, beginIndex, endIndex, i);
+                i++;
+                if (i == endIndex) // Cannot have lone "+" or "-"
+                    throw NumberFormatException.forCharSequence(s, beginIndex, endIndex, i);
+            }
+            multmin = limit / radix;
+            while (i < endIndex) {
+                // Accumulating negatively avoids surprises near MAX_VALUE
+                digit = Character.digit(s.charAt(i), radix);
+                if (digit < 0 || result < multmin)
+                    throw NumberFormatException.forCharSequence(s, beginIndex, endIndex, i);
+                result *= radix;
+                if (result < limit + digit)
+                    throw NumberFormatException.forCharSequence(s, beginIndex, endIndex, i);
+                i++;
+                result -= digit;
+            }
+        } else {
+            throw NumberFormatException.forInputString("");
+        }
+        return negative ? result : -result;
+    }
+
+    /**
+     * Parses the {@code char} array argument as a signed {@code int} in
+     * the specified {@code radix}, beginning at the specified
+     * {@code beginIndex} and extending to {@code endIndex - 1}, exactly as
+     * if by {@link #parseInt(CharSequence, int, int, int)} on the array
+     * {@linkplain java.nio.CharBuffer#wrap(char[]) wrapped} in a
+     * {@code CharSequence}.
+     *
+     * @param      s   the {@code char} array containing the {@code int}
+     *                  representation to be parsed
+     * @param      beginIndex   the beginning index, inclusive.
+     * @param      endIndex     the ending index, exclusive.
+     * @param      radix   the radix to be used while parsing {@code s}.
+     * @return     the signed {@code int} represented by the subarray in
+     *             the specified radix.
+     * @throws     NullPointerException  if {@code s} is null.
+     * @throws     IndexOutOfBoundsException  if {@code beginIndex} is
+     *             negative, or if {@code beginIndex} is greater than
+     *             {@code endIndex} or if {@code endIndex} is greater than
+     *             {@code s.length}.
+     * @throws     NumberFormatException  if the subarray does not
+     *             contain a parsable {@code int} in the specified
+     *             {@code radix}, or if {@code radix} is either smaller than
+     *             {@link java.lang.Character#MIN_RADIX} or larger than
+     *             {@link java.lang.Character#MAX_RADIX}.
+     * @since  1.8
+     */
+    public static int parseInt(char[] s, int beginIndex, int endIndex, int radix)
+                throws NumberFormatException {
+        checkParseRange(beginIndex, endIndex, s.length, radix);
+
+        int result = 0;
+        boolean negative = false;
+        int i = beginIndex;
+        int limit = -Integer.MAX_VALUE;
+        int multmin;
+        int digit;
+
+        if (i < endIndex) {
+            char firstChar = s[i];
+            if (firstChar < '0') { // Possible leading "+" or "-"
+                if (firstChar == '-') {
+                    negative = true;
+                    limit = Integer.MIN_VALUE;
+                } else if (firstChar != '+')
+                    throw NumberFormatException.forCharSequence(java.nio.CharBuffer.wrap(s), beginIndex, endIndex, i);
+                i++;
+                if (i == endIndex) // Cannot have lone "+" or "-"
+                    throw NumberFormatException.forCharSequence(java.nio.CharBuffer.wrap(s), beginIndex, endIndex, i);
+            }
+            multmin = limit / radix;
+            while (i < endIndex) {
+                // Accumulating negatively avoids surprises near MAX_VALUE
+                digit = Character.digit(s[i], radix);
+                if (digit < 0 || result < multmin)
+                    throw NumberFormatException.forCharSequence(java.nio.CharBuffer.wrap(s), beginIndex, endIndex, i);
+                result *= radix;
+                if (result < limit + digit)
+                    throw NumberFormatException.forCharSequence(java.nio.CharBuffer.wrap(s), beginIndex, endIndex, i);
+                i++;
+                result -= digit;
+            }
+        } else {
+            throw NumberFormatException.forInputString("");
+        }
+        return negative ? result : -result;
+    }
+
+    /**
+     * Parses the ASCII bytes in the specified range of the {@code byte}
+     * array argument as a signed {@code int} in the specified
+     * {@code radix}.  Each byte is treated as the character with the same
+     * value; bytes outside the ASCII range are not digits of any radix.
+     * Otherwise, the bytes are parsed exactly as the characters of a
+     * {@code CharSequence} are by
+     * {@link #parseInt(CharSequence, int, int, int)}.
+     *
+     * <p>This method is intended for parsing fields of protocol frames or
+     * files held in byte arrays, without first decoding them into
+     * characters.
+     *
+     * @param      ascii   the {@code byte} array containing the {@code int}
+     *                  representation to be parsed
+     * @param      beginIndex   the beginning index, inclusive.
+     * @param      endIndex     the ending index, exclusive.
+     * @param      radix   the radix to be used while parsing {@code ascii}.
+     * @return     the signed {@code int} represented by the subarray in
+     *             the specified radix.
+     * @throws     NullPointerException  if {@code ascii} is null.
+     * @throws     IndexOutOfBoundsException  if {@code beginIndex} is
+     *             negative, or if {@code beginIndex} is greater than
+     *             {@code endIndex} or if {@code endIndex} is greater than
+     *             {@code ascii.length}.
+     * @throws     NumberFormatException  if the subarray does not
+     *             contain a parsable {@code int} in the specified
+     *             {@code radix}, or if {@code radix} is either smaller than
+     *             {@link java.lang.Character#MIN_RADIX} or larger than
+     *             {@link java.lang.Character#MAX_RADIX}.
+     * @since  1.8
+     */
+    public static int parseInt(byte[] ascii, int beginIndex, int endIndex, int radix)
+                throws NumberFormatException {
+        checkParseRange(beginIndex, endIndex, ascii.length, radix);
+
+        int result = 0;
+        boolean negative = false;
+        int i = beginIndex;
+        int limit = -Integer.MAX_VALUE;
+        int multmin;
+        int digit;
+
+        if (i < endIndex) {
+            byte firstChar = ascii[i];
+            if (firstChar < '0') { // Possible leading "+" or "-"
+                if (firstChar == '-') {
+                    negative = true;
+                    limit = Integer.MIN_VALUE;
+                } else if (firstChar != '+')
+                    throw NumberFormatException.forAsciiBytes(ascii, beginIndex, endIndex, i);
+                i++;
+                if (i == endIndex) // Cannot have lone "+" or "-"
+                    throw NumberFormatException.forAsciiBytes(ascii, beginIndex, endIndex, i);
+            }
+            multmin = limit / radix;
+            while (i < endIndex) {
+                // Accumulating negatively avoids surprises near MAX_VALUE
+                digit = Character.digit(ascii[i] & 0x7f, radix);
+                if (ascii[i] < 0 || digit < 0 || result < multmin)
+                    throw NumberFormatException.forAsciiBytes(ascii, beginIndex, endIndex, i);
+                result *= radix;
+                if (result < limit + digit)
+                    throw NumberFormatException.forAsciiBytes(ascii, beginIndex, endIndex, i);
+                i++;
+                result -= digit;
+            }
+        } else {
+            throw NumberFormatException.forInputString("");
+        }
+        return negative ? result : -result;
+    }
+
+    /**
+     * Checks the range and radix arguments of the range-based parse
+     * methods of Integer and Long.
+     */
+    static void checkParseRange(int beginIndex, int endIndex, int length, int radix) {
+        if (beginIndex < 0 || beginIndex > endIndex || endIndex > length) {
+            throw new IndexOutOfBoundsException("begin " + beginIndex +
+                    ", end " + endIndex + ", length " + length);
+        }
+        if (radix < Character.MIN_RADIX) {
+            throw new NumberFormatException("radix " + radix +
+                                            " less than Character.MIN_RADIX");
+        }
+        if (radix > Character.MAX_RADIX) {
+            throw new NumberFormatException("radix " + radix +
+                                            " greater than Character.MAX_RADIX");
+        }
+    }
+
     /**
      * Parses the string argument as an unsigned integer in the radix
      * specified by the second argument.  An unsigned integer maps the
@@ -417,6 +417,122 @@ public final class Long extends Number implements Comparable<Long> {
         return toUnsignedString(i, 10);
     }
 
+    /**
+     * Writes the signed decimal representation of the specified
+     * {@code long} into the given byte array as ASCII, starting at the
+     * specified offset.  The bytes written are the characters of
+     * {@link #toString(long) toString(i)}, but no intermediate
+     * {@code String} or character array is created.
+     *
+     * @param   i       a {@code long} to be converted.
+     * @param   buf     the byte array to write into.
+     * @param   offset  the index in {@code buf} of the first byte to write.
+     * @return  the index in {@code buf} following the last byte written.
+     * @throws  IndexOutOfBoundsException if {@code offset} is negative,
+     *          or the representation of {@code i} does not fit in
+     *          {@code buf} at {@code offset}; in which case {@code buf}
+     *          is not modified.
+     * @see     Integer#writeAscii(int, byte[], int)
+     * @since 1.8
+     */
+    public static int writeAscii(long i, byte[] buf, int offset) {
+        int size = decimalSize(i);
+        if (offset < 0 || offset > buf.length - size)
+            throw new IndexOutOfBoundsException("offset " + offset +
+                                                ", length " + buf.length);
+        int end = offset + size;
+        getBytes(i, end, buf);
+        return end;
+    }
+
+    /**
+     * Writes the signed decimal representation of the specified
+     * {@code long} into the given buffer as ASCII, at its current
+     * position, and then increments the position.  The bytes written are
+     * the characters of {@link #toString(long) toString(i)}, but no
+     * intermediate {@code String} or character array is created.
+     *
+     * @param   i    a {@code long} to be converted.
+     * @param   buf  the buffer to write into.
+     * @return  the buffer.
+     * @throws  java.nio.BufferOverflowException if there are fewer bytes
+     *          remaining in {@code buf} than are needed to represent
+     *          {@code i}; in which case {@code buf} is not modified.
+     * @throws  java.nio.ReadOnlyBufferException if {@code buf} is
+     *          read-only.
+     * @see     Integer#writeAscii(int, java.nio.ByteBuffer)
+     * @since 1.8
+     */
+    public static java.nio.ByteBuffer writeAscii(long i, java.nio.ByteBuffer buf) {
+        int size = decimalSize(i);
+        int pos = buf.position();
+        if (buf.limit() - pos < size)
+            throw new java.nio.BufferOverflowException();
+        if (buf.hasArray()) {
+            getBytes(i, buf.arrayOffset() + pos + size, buf.array());
+        } else {
+            // Accumulate negatively, so that MIN_VALUE needs no special case
+            long q = (i < 0) ? i : -i;
+            int p = pos + size;
+            do {
+                buf.put(--p, (byte)('0' - q % 10));
+                q /= 10;
+            } while (q != 0);
+            if (i < 0)
+                buf.put(--p, (byte)'-');
+        }
+        buf.position(pos + size);
+        return buf;
+    }
+
+    /**
+     * Appends the signed decimal representation of the specified
+     * {@code long} to the given {@code Appendable}.  The characters
+     * appended are those of {@link #toString(long) toString(i)}, but no
+     * intermediate {@code String} or character array is created.
+     *
+     * @param   i  a {@code long} to be converted.
+     * @param   a  the {@code Appendable} to append to.
+     * @throws  java.io.IOException if an I/O error occurs.
+     * @see     Integer#appendTo(int, Appendable)
+     * @since 1.8
+     */
+    public static void appendTo(long i, Appendable a) throws java.io.IOException {
+        if (a instanceof AbstractStringBuilder) {
+            ((AbstractStringBuilder) a).append(i);
+            return;
+        }
+        // Emit digits most significant first, accumulating negatively so
+        // that MIN_VALUE needs no special case
+        long q = i;
+        int n = decimalSize(i);
+        if (i < 0) {
+            a.append('-');
+            n--;
+        } else {
+            q = -i;
+        }
+        long p = 1;
+        for (int k = n - 1; k > 0; k--)
+            p *= 10;
+        for (; p > 1; p /= 10) {
+            long d = q / p;
+            a.append(Integer.digits[(int)-d]);
+            q -= d * p;
+        }
+        a.append(Integer.digits[(int)-q]);
+    }
+
+    /**
+     * Returns the number of characters in the signed decimal
+     * representation of i.
+     */
+    static int decimalSize(long i) {
+        if (i == Long.MIN_VALUE)
+            return 20;
+        return (i < 0) ? stringSize(-i) + 1 : stringSize(i);
+    }
+
     /**
      * Places characters representing the integer i into the
      * character array buf. The characters are placed into
@@ -473,6 +589,63 @@ public final class Long extends Number implements Comparable<Long> {
         }
     }
 
+    /**
+     * Places the ASCII bytes representing the long i into the
+     * byte array buf, in the same manner as {@link #getChars}.
+     * Unlike getChars, this method handles i == Long.MIN_VALUE.
+     */
+    static void getBytes(long i, int index, byte[] buf) {
+        long q;
+        int r;
+        int charPos = index;
+        byte sign = 0;
+
+        if (i == Long.MIN_VALUE) {
+            // -i overflows; place the last digit separately
+            buf[--charPos] = '8';
+            i /= 10;
+        }
+        if (i < 0) {
+            sign = '-';
+            i = -i;
+        }
+
+        // Get 2 digits/iteration using longs until quotient fits into an int
+        while (i > Integer.MAX_VALUE) {
+            q = i / 100;
+            // really: r = i - (q * 100);
+            r = (int)(i - ((q << 6) + (q << 5) + (q << 2)));
+            i = q;
+            buf[--charPos] = (byte) Integer.DigitOnes[r];
+            buf[--charPos] = (byte) Integer.DigitTens[r];
+        }
+
+        // Get 2 digits/iteration using ints
+        int q2;
+        int i2 = (int)i;
+        while (i2 >= 65536) {
+            q2 = i2 / 100;
+            // really: r = i2 - (q * 100);
+            r = i2 - ((q2 << 6) + (q2 << 5) + (q2 << 2));
+            i2 = q2;
+            buf[--charPos] = (byte) Integer.DigitOnes[r];
+            buf[--charPos] = (byte) Integer.DigitTens[r];
+        }
+
+        // Fall thru to fast mode for smaller numbers
+        // assert(i2 <= 65536, i2);
+        for (;;) {
+            q2 = (i2 * 52429) >>> (16+3);
+            r = i2 - ((q2 << 3) + (q2 << 1));  // r = i2-(q2*10) ...
+            buf[--charPos] = (byte) Integer.digits[r];
+            i2 = q2;
+            if (i2 == 0) break;
+        }
+        if (sign != 0) {
+            buf[--charPos] = sign;
+        }
+    }
+
     // Requires positive x
     static int stringSize(long x) {
         long p = 10;
@@ -631,6 +804,221 @@ public final class Long extends Number implements Comparable<Long> {
         return parseLong(s, 10);
     }
 
+    /**
+     * Parses the {@link CharSequence} argument as a signed {@code long} in
+     * the specified {@code radix}, beginning at the specified
+     * {@code beginIndex} and extending to {@code endIndex - 1}.
+     *
+     * <p>The method does not take steps to guard against the
+     * {@code CharSequence} being mutated while parsing.  No substring of
+     * {@code s} is created unless the range does not contain a parsable
+     * {@code long}; a {@code char} array may be parsed in the same way by
+     * wrapping it with {@link java.nio.CharBuffer#wrap(char[])}, or with
+     * {@link #parseLong(char[], int, int, int)}.
+     *
+     * @param      s   the {@code CharSequence} containing the {@code long}
+     *                  representation to be parsed
+     * @param      beginIndex   the beginning index, inclusive.
+     * @param      endIndex     the ending index, exclusive.
+     * @param      radix   the radix to be used while parsing {@code s}.
+     * @return     the signed {@code long} represented by the subsequence in
+     *             the specified radix.
+     * @throws     NullPointerException  if {@code s} is null.
+     * @throws     IndexOutOfBoundsException  if {@code beginIndex} is
+     *             negative, or if {@code beginIndex} is greater than
+     *             {@code endIndex} or if {@code endIndex} is greater than
+     *             {@code s.length()}.
+     * @throws     NumberFormatException  if the {@code CharSequence} does not
+     *             contain a parsable {@code long} in the specified
+     *             {@code radix}, or if {@code radix} is either smaller than
+     *             {@link java.lang.Character#MIN_RADIX} or larger than
+     *             {@link java.lang.Character#MAX_RADIX}.
+     * @since  1.8
+     */
+    public static long parseLong(CharSequence s, int beginIndex, int endIndex, int radix)
+                throws NumberFormatException {
+        if (s == null)
+            throw new NullPointerException();
+        Integer.checkParseRange(beginIndex, endIndex, s.length(), radix);
+
+        long result = 0;
+        boolean negative = false;
+        int i = beginIndex;
+        long limit = -Long.MAX_VALUE;
+        long multmin;
+        int digit;
+
+        if (i < endIndex) {
+            char firstChar = s.charAt(i);
+            if (firstChar < '0') { // Possible leading "+" or "-"
+                if (firstChar == '-') {
+                    negative = true;
+                    limit = Long.MIN_VALUE;
+                } else if (firstChar != '+')
+                    throw NumberFormatException.forCharSequence(s, beginIndex, endIndex, i);
+                i++;
+                if (i == endIndex) // Cannot have lone "+" or "-"
+                    throw NumberFormatException.forCharSequence(s, beginIndex, endIndex, i);
+            }
+            multmin = limit / radix;
+            while (i < endIndex) {
+                // Accumulating negatively avoids surprises near MAX_VALUE
+                digit = Character.digit(s.charAt(i), radix);
+                if (digit < 0 || result < multmin)
+                    throw NumberFormatException.forCharSequence(s, beginIndex, endIndex, i);
+                result *= radix;
+                if (result < limit + digit)
+                    throw NumberFormatException.forCharSequence(s, beginIndex, endIndex, i);
+                i++;
+                result -= digit;
+            }
+        } else {
+            throw NumberFormatException.forInputString("");
+        }
+        return negative ? result : -result;
+    }
+
+    /**
+     * Parses the {@code char} array argument as a signed {@code long} in
+     * the specified {@code radix}, beginning at the specified
+     * {@code beginIndex} and extending to {@code endIndex - 1}, exactly as
+     * if by {@link #parseLong(CharSequence, int, int, int)} on the array
+     * {@linkplain java.nio.CharBuffer#wrap(char[]) wrapped} in a
+     * {@code CharSequence}.
+     *
+     * @param      s   the {@code char} array containing the {@code long}
+     *                  representation to be parsed
+     * @param      beginIndex   the beginning index, inclusive.
+     * @param      endIndex     the ending index, exclusive.
+     * @param      radix   the radix to be used while parsing {@code s}.
+     * @return     the signed {@code long} represented by the subarray in
+     *             the specified radix.
+     * @throws     NullPointerException  if {@code s} is null.
+     * @throws     IndexOutOfBoundsException  if {@code beginIndex} is
+     *             negative, or if {@code beginIndex} is greater than
+     *             {@code endIndex} or if {@code endIndex} is greater than
+     *             {@code s.length}.
+     * @throws     NumberFormatException  if the subarray does not
+     *             contain a parsable {@code long} in the specified
+     *             {@code radix}, or if {@code radix} is either smaller than
+     *             {@link java.lang.Character#MIN_RADIX} or larger than
+     *             {@link java.lang.Character#MAX_RADIX}.
+     * @since  1.8
+     */
+    public static long parseLong(char[] s, int beginIndex, int endIndex, int radix)
+                throws NumberFormatException {
+        Integer.checkParseRange(beginIndex, endIndex, s.length, radix);
+
+        long result = 0;
+        boolean negative = false;
+        int i = beginIndex;
+        long limit = -Long.MAX_VALUE;
+        long multmin;
+        int digit;
+
+        if (i < endIndex) {
+            char firstChar = s[i];
+            if (firstChar < '0') { // Possible leading "+" or "-"
+                if (firstChar == '-') {
+                    negative = true;
+                    limit = Long.MIN_VALUE;
+                } else if (firstChar != '+')
+                    throw NumberFormatException.forCharSequence(java.nio.CharBuffer.wrap(s), beginIndex, endIndex, i);
+                i++;
+                if (i == endIndex) // Cannot have lone "+" or "-"
+                    throw NumberFormatException.forCharSequence(java.nio.CharBuffer.wrap(s), beginIndex, endIndex, i);
+            }
+            multmin = limit / radix;
+            while (i < endIndex) {
+                // Accumulating negatively avoids surprises near MAX_VALUE
+                digit = Character.digit(s[i], radix);
+                if (digit < 0 || result < multmin)
+                    throw NumberFormatException.forCharSequence(java.nio.CharBuffer.wrap(s), beginIndex, endIndex, i);
+                result *= radix;
+                if (result < limit + digit)
+                    throw NumberFormatException.forCharSequence(java.nio.CharBuffer.wrap(s), beginIndex, endIndex, i);
+                i++;
+                result -= digit;
+            }
+        } else {
+            throw NumberFormatException.forInputString("");
+        }
+        return negative ? result : -result;
+    }
+
+    /**
+     * Parses the ASCII bytes in the specified range of the {@code byte}
+     * array argument as a signed {@code long} in the specified
+     * {@code radix}.  Each byte is treated as the character with the same
+     * value; bytes outside the ASCII range are not digits of any radix.
+     * Otherwise, the bytes are parsed exactly as the characters of a
+     * {@code CharSequence} are by
+     * {@link #parseLong(CharSequence, int, int, int)}.
+     *
+     * <p>This method is intended for parsing fields of protocol frames or
+     * files held in byte arrays, without first decoding them into
+     * characters.
+     *
+     * @param      ascii   the {@code byte} array containing the {@code long}
+     *                  representation to be parsed
+     * @param      beginIndex   the beginning index, inclusive.
+     * @param      endIndex     the ending index, exclusive.
+     * @param      radix   the radix to be used while parsing {@code ascii}.
+     * @return     the signed {@code long} represented by the subarray in
+     *             the specified radix.
+     * @throws     NullPointerException  if {@code ascii} is null.
+     * @throws     IndexOutOfBoundsException  if {@code beginIndex} is
+     *             negative, or if {@code beginIndex} is greater than
+     *             {@code endIndex} or if {@code endIndex} is greater than
+     *             {@code ascii.length}.
+     * @throws     NumberFormatException  if the subarray does not
+     *             contain a parsable {@code long} in the specified
+     *             {@code radix}, or if {@code radix} is either smaller than
+     *             {@link java.lang.Character#MIN_RADIX} or larger than
+     *             {@link java.lang.Character#MAX_RADIX}.
+     * @since  1.8
+     */
+    public static long parseLong(byte[] ascii, int beginIndex, int endIndex, int radix)
+                throws NumberFormatException {
+        Integer.checkParseRange(beginIndex, endIndex, ascii.length, radix);
+
+        long result = 0;
+        boolean negative = false;
+        int i = beginIndex;
+        long limit = -Long.MAX_VALUE;
+        long multmin;
+        int digit;
+
+        if (i < endIndex) {
+            byte firstChar = ascii[i];
+            if (firstChar < '0') { // Possible leading "+" or "-"
+                if (firstChar == '-') {
+                    negative = true;
+                    limit = Long.MIN_VALUE;
+                } else if (firstChar != '+')
+                    throw NumberFormatException.forAsciiBytes(ascii, beginIndex, endIndex, i);
+                i++;
+                if (i == endIndex) // Cannot have lone "+" or "-"
+                    throw NumberFormatException.forAsciiBytes(ascii, beginIndex, endIndex, i);
+            }
+            multmin = limit / radix;
+            while (i < endIndex) {
+                // Accumulating negatively avoids surprises near MAX_VALUE
+                digit = Character.digit(ascii[i] & 0x7f, radix);
+                if (ascii[i] < 0 || digit < 0 || result < multmin)
+                    throw NumberFormatException.forAsciiBytes(ascii, beginIndex, endIndex, i);
+                result *= radix;
+                if (result < limit + digit)
+                    throw NumberFormatException.forAsciiBytes(ascii, beginIndex, endIndex, i);
+                i++;
+                result -= digit;
+            }
+        } else {
+            throw NumberFormatException.forInputString("");
+        }
+        return negative ? result : -result;
+    }
+
     /**
      * Parses the string argument as an unsigned {@code long} in the
      * radix specified by the second argument.  An unsigned integer
@@ -26,6 +26,7 @@
 package java.lang;
 
 import java.io.*;
+import java.nio.channels.Pipe;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -141,6 +142,77 @@ public abstract class Process {
      */
     public abstract InputStream getErrorStream();
 
+    /**
+     * Returns the channel connected to the normal input of the
+     * subprocess, if the standard input of the subprocess has been
+     * redirected to {@link ProcessBuilder.Redirect#CHANNEL
+     * Redirect.CHANNEL}.  Bytes written to the channel are piped into
+     * the standard input of the process represented by this
+     * {@code Process} object.
+     *
+     * <p>The channel can be configured non-blocking and registered with
+     * a {@link java.nio.channels.Selector} for
+     * {@link java.nio.channels.SelectionKey#OP_WRITE OP_WRITE}.
+     *
+     * <p>The default implementation returns {@code null}.
+     *
+     * @return the channel connected to the normal input of the
+     *         subprocess, or {@code null} if its standard input has not
+     *         been redirected to {@code Redirect.CHANNEL}
+     * @since 1.8
+     */
+    public Pipe.SinkChannel getOutputChannel() {
+        return null;
+    }
+
+    /**
+     * Returns the channel connected to the normal output of the
+     * subprocess, if the standard output of the subprocess has been
+     * redirected to {@link ProcessBuilder.Redirect#CHANNEL
+     * Redirect.CHANNEL}.  The channel obtains data piped from the
+     * standard output of the process represented by this {@code Process}
+     * object, merged with its standard error if
+     * {@link ProcessBuilder#redirectErrorStream(boolean)
+     * ProcessBuilder.redirectErrorStream} has been set.
+     *
+     * <p>The channel can be configured non-blocking and registered with
+     * a {@link java.nio.channels.Selector} for
+     * {@link java.nio.channels.SelectionKey#OP_READ OP_READ}.
+     *
+     * <p>The default implementation returns {@code null}.
+     *
+     * @return the channel connected to the normal output of the
+     *         subprocess, or {@code null} if its standard output has not
+     *         been redirected to {@code Redirect.CHANNEL}
+     * @since 1.8
+     */
+    public Pipe.SourceChannel getInputChannel() {
+        return null;
+    }
+
+    /**
+     * Returns the channel connected to the error output of the
+     * subprocess, if the standard error of the subprocess has been
+     * redirected to {@link ProcessBuilder.Redirect#CHANNEL
+     * Redirect.CHANNEL} and not merged with its standard output.  The
+     * channel obtains data piped from the error output of the process
+     * represented by this {@code Process} object.
+     *
+     * <p>The channel can be configured non-blocking and registered with
+     * a {@link java.nio.channels.Selector} for
+     * {@link java.nio.channels.SelectionKey#OP_READ OP_READ}.
+     *
+     * <p>The default implementation returns {@code null}.
+     *
+     * @return the channel connected to the error output of the
+     *         subprocess, or {@code null} if its standard error has not
+     *         been redirected to {@code Redirect.CHANNEL}
+     * @since 1.8
+     */
+    public Pipe.SourceChannel getErrorChannel() {
+        return null;
+    }
+
     /**
      * Causes the current thread to wait, if necessary, until the
      * process represented by this {@code Process} object has
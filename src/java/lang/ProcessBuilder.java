@@ -443,6 +443,7 @@ public final class ProcessBuilder
      * <ul>
      * <li>the special value {@link #PIPE Redirect.PIPE}
      * <li>the special value {@link #INHERIT Redirect.INHERIT}
+     * <li>the special value {@link #CHANNEL Redirect.CHANNEL}
      * <li>a redirection to read from a file, created by an invocation of
      *     {@link Redirect#from Redirect.from(File)}
      * <li>a redirection to write to a file,  created by an invocation of
@@ -487,7 +488,14 @@ public final class ProcessBuilder
              * The type of redirects returned from
              * {@link Redirect#appendTo Redirect.appendTo(File)}.
              */
-            APPEND
+            APPEND,
+
+            /**
+             * The type of {@link Redirect#CHANNEL Redirect.CHANNEL}.
+             *
+             * @since 1.8
+             */
+            CHANNEL
         };
 
         /**
@@ -527,6 +535,33 @@ public final class ProcessBuilder
                 public Type type() { return Type.INHERIT; }
                 public String toString() { return type().toString(); }};
 
+        /**
+         * Indicates that subprocess I/O will be connected to the
+         * current Java process over a pipe, whose end in the current
+         * process is a {@link java.nio.channels.SelectableChannel}
+         * rather than a stream.  The channel is returned by
+         * {@link Process#getOutputChannel()},
+         * {@link Process#getInputChannel()} or
+         * {@link Process#getErrorChannel()}, and the corresponding
+         * stream of the {@code Process} is a null stream.
+         *
+         * <p>Unlike the streams of {@link #PIPE Redirect.PIPE}, the
+         * channels can be configured non-blocking and registered with a
+         * {@link java.nio.channels.Selector}, so that one thread can
+         * serve the standard I/O of many subprocesses.
+         *
+         * <p>It will always be true that
+         *  <pre> {@code
+         * Redirect.CHANNEL.file() == null &&
+         * Redirect.CHANNEL.type() == Redirect.Type.CHANNEL
+         * }</pre>
+         *
+         * @since 1.8
+         */
+        public static final Redirect CHANNEL = new Redirect() {
+                public Type type() { return Type.CHANNEL; }
+                public String toString() { return type().toString(); }};
+
         /**
          * Returns the {@link File} source or destination associated
          * with this redirect, or {@code null} if there is no such file.
@@ -143,11 +143,11 @@ final class ProcessEnvironment
 
         public boolean equals(Object o) {
             return o instanceof ExternalData
-                && arrayEquals(getBytes(), ((ExternalData) o).getBytes());
+                && Arrays.equals(getBytes(), ((ExternalData) o).getBytes());
         }
 
         public int hashCode() {
-            return arrayHash(getBytes());
+            return Arrays.hashCode(getBytes());
         }
     }
 
@@ -176,7 +176,7 @@ final class ProcessEnvironment
         }
 
         public int compareTo(Variable variable) {
-            return arrayCompare(getBytes(), variable.getBytes());
+            return Arrays.compare(getBytes(), variable.getBytes());
         }
 
         public boolean equals(Object o) {
@@ -209,7 +209,7 @@ final class ProcessEnvironment
         }
 
         public int compareTo(Value value) {
-            return arrayCompare(getBytes(), value.getBytes());
+            return Arrays.compare(getBytes(), value.getBytes());
         }
 
         public boolean equals(Object o) {
@@ -410,31 +410,4 @@ final class ProcessEnvironment
         }
     }
 
-    // Replace with general purpose method someday
-    private static int arrayCompare(byte[]x, byte[] y) {
-        int min = x.length < y.length ? x.length : y.length;
-        for (int i = 0; i < min; i++)
-            if (x[i] != y[i])
-                return x[i] - y[i];
-        return x.length - y.length;
-    }
-
-    // Replace with general purpose method someday
-    private static boolean arrayEquals(byte[] x, byte[] y) {
-        if (x.length != y.length)
-            return false;
-        for (int i = 0; i < x.length; i++)
-            if (x[i] != y[i])
-                return false;
-        return true;
-    }
-
-    // Replace with general purpose method someday
-    private static int arrayHash(byte[] x) {
-        int hash = 0;
-        for (int i = 0; i < x.length; i++)
-            hash = 31 * hash + x[i];
-        return hash;
-    }
-
 }
@@ -28,6 +28,8 @@ package java.lang;
 import java.io.IOException;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
+import java.nio.channels.Channel;
+import java.nio.channels.Pipe;
 import java.lang.ProcessBuilder.Redirect;
 import java.lang.ProcessBuilder.Redirect;
 
@@ -44,6 +46,15 @@ final class ProcessImpl {
 
     private ProcessImpl() {}    // Not instantiable
 
+    private static int fdVal(Channel ch) {
+        return ((sun.nio.ch.SelChImpl) ch).getFDVal();
+    }
+
+    private static void close(Channel ch) throws IOException {
+        if (ch != null)
+            ch.close();
+    }
+
     private static byte[] toCString(String s) {
         if (s == null)
             return null;
@@ -91,6 +102,11 @@ final class ProcessImpl {
         FileOutputStream f1 = null;
         FileOutputStream f2 = null;
 
+        // The pipes of the streams redirected to Redirect.CHANNEL; the
+        // subprocess is given the ends that the process does not keep
+        Pipe[] pipes = new Pipe[3];
+        boolean started = false;
+
         try {
             if (redirects == null) {
                 std_fds = new int[] { -1, -1, -1 };
@@ -101,6 +117,10 @@ final class ProcessImpl {
                     std_fds[0] = -1;
                 else if (redirects[0] == Redirect.INHERIT)
                     std_fds[0] = 0;
+                else if (redirects[0] == Redirect.CHANNEL) {
+                    pipes[0] = Pipe.open();
+                    std_fds[0] = fdVal(pipes[0].source());
+                }
                 else {
                     f0 = new FileInputStream(redirects[0].file());
                     std_fds[0] = fdAccess.get(f0.getFD());
@@ -110,6 +130,10 @@ final class ProcessImpl {
                     std_fds[1] = -1;
                 else if (redirects[1] == Redirect.INHERIT)
                     std_fds[1] = 1;
+                else if (redirects[1] == Redirect.CHANNEL) {
+                    pipes[1] = Pipe.open();
+                    std_fds[1] = fdVal(pipes[1].sink());
+                }
                 else {
                     f1 = new FileOutputStream(redirects[1].file(),
                                               redirects[1].append());
@@ -120,6 +144,12 @@ final class ProcessImpl {
                     std_fds[2] = -1;
                 else if (redirects[2] == Redirect.INHERIT)
                     std_fds[2] = 2;
+                else if (redirects[2] == Redirect.CHANNEL) {
+                    if (!redirectErrorStream) {
+                        pipes[2] = Pipe.open();
+                        std_fds[2] = fdVal(pipes[2].sink());
+                    }
+                }
                 else {
                     f2 = new FileOutputStream(redirects[2].file(),
                                               redirects[2].append());
@@ -127,20 +157,50 @@ final class ProcessImpl {
                 }
             }
 
-        return new UNIXProcess
+        Process p = new UNIXProcess
             (toCString(cmdarray[0]),
              argBlock, args.length,
              envBlock, envc[0],
              toCString(dir),
                  std_fds,
-             redirectErrorStream);
+             redirectErrorStream,
+             pipes);
+        started = true;
+        return p;
         } finally {
             // In theory, close() can throw IOException
             // (although it is rather unlikely to happen here)
             try { if (f0 != null) f0.close(); }
             finally {
                 try { if (f1 != null) f1.close(); }
-                finally { if (f2 != null) f2.close(); }
+                finally {
+                    try { if (f2 != null) f2.close(); }
+                    finally { closePipes(pipes, started); }
+                }
+            }
+        }
+    }
+
+    /**
+     * Closes the ends of the pipes given to the subprocess, and the ends
+     * kept by this process too if the subprocess was not started.
+     */
+    private static void closePipes(Pipe[] pipes, boolean started)
+        throws IOException
+    {
+        try {
+            if (pipes[0] != null) {
+                close(pipes[0].source());
+                if (!started)
+                    close(pipes[0].sink());
+            }
+        } finally {
+            for (int i = 1; i < 3; i++) {
+                if (pipes[i] != null) {
+                    close(pipes[i].sink());
+                    if (!started)
+                        close(pipes[i].source());
+                }
             }
         }
     }
@@ -0,0 +1,563 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.lang;
+
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A stack walker.  The {@link #walk walk} method opens a sequential stream
+ * of {@link StackFrame StackFrame}s for the current thread and applies the
+ * given function to it, and the {@link #getCallerClass getCallerClass}
+ * method returns the class of the caller of the method invoking it.
+ *
+ * <p>Unlike {@link Throwable#getStackTrace}, which creates a
+ * {@link StackTraceElement} with its strings for every frame of the stack,
+ * the frames of a stack walk are filled in only as the stream reaches
+ * them.  A caller that needs only the first few frames, or the first frame
+ * matching some condition, pays only for those frames:
+ *
+ * <pre>{@code
+ * List<StackWalker.StackFrame> frames = StackWalker.getInstance().walk(s ->
+ *     s.limit(10).collect(Collectors.toList()));
+ *
+ * Optional<Class<?>> frameworkCaller =
+ *     StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE).walk(s ->
+ *         s.map(StackWalker.StackFrame::getDeclaringClass)
+ *          .filter(c -> !c.getName().startsWith("com.example.framework."))
+ *          .findFirst());
+ * }</pre>
+ *
+ * <p>The stream begins with the frame of the method that invoked
+ * {@code walk} and ends with the frame at the bottom of the stack.  The
+ * frames of {@link java.lang.reflect.Method#invoke Method.invoke},
+ * {@link java.lang.reflect.Constructor#newInstance Constructor.newInstance}
+ * and of their implementation are not included unless the walker is
+ * created with the {@link Option#SHOW_REFLECT_FRAMES SHOW_REFLECT_FRAMES}
+ * option.
+ *
+ * <p>The frames are those of a {@link Throwable} created when the walk
+ * begins: the virtual machine records the stack in its compact internal
+ * form, and a frame is converted to class and method names only when the
+ * stream reaches it.  The frames are therefore subject to the same
+ * limitations as stack traces; some virtual machines may omit frames, or
+ * bound the number of frames recorded, in which case the stream of a
+ * deeper stack ends before its bottom frame.  The HotSpot virtual machine
+ * records at most {@code -XX:MaxJavaStackTraceDepth} frames.
+ *
+ * <p>{@code StackWalker} is thread-safe.  Multiple threads may share a
+ * single {@code StackWalker} object to walk their own stacks.
+ *
+ * @since 1.8
+ */
+public final class StackWalker {
+
+    /**
+     * A {@code StackFrame} object represents a method invocation returned
+     * by {@link StackWalker}.
+     *
+     * @since 1.8
+     */
+    public interface StackFrame {
+        /**
+         * Gets the <a href="ClassLoader.html#name">binary name</a>
+         * of the declaring class of the method represented by this stack
+         * frame.
+         *
+         * @return the binary name of the declaring class of the method
+         *         represented by this stack frame
+         */
+        String getClassName();
+
+        /**
+         * Gets the name of the method represented by this stack frame.
+         *
+         * @return the name of the method represented by this stack frame
+         */
+        String getMethodName();
+
+        /**
+         * Gets the declaring {@code Class} for the method represented by
+         * this stack frame.
+         *
+         * <p>The classes of the frames are those of the stack when the walk
+         * began, paired in order with the frames.  The frames of native
+         * methods and of {@code Method.invoke} and its implementation have
+         * no class on that stack; their class is looked up by name from the
+         * class loader of the nearest frame above them.  If it cannot be
+         * found there, as for the accessor classes that core reflection
+         * generates, or if the frames and classes of the stack no longer
+         * match, the class of the frame is unknown and {@code null} is
+         * returned, rather than the class of another frame.
+         *
+         * @return the declaring {@code Class} of the method represented by
+         *         this stack frame, or {@code null} if it cannot be
+         *         determined
+         * @throws UnsupportedOperationException if this {@code StackWalker}
+         *         is not configured with
+         *         {@link Option#RETAIN_CLASS_REFERENCE RETAIN_CLASS_REFERENCE}
+         */
+        Class<?> getDeclaringClass();
+
+        /**
+         * Returns the name of the source file containing the execution
+         * point represented by this stack frame.
+         *
+         * @return the name of the file containing the execution point
+         *         represented by this stack frame, or {@code null} if this
+         *         information is unavailable
+         */
+        String getFileName();
+
+        /**
+         * Returns the line number of the source line containing the
+         * execution point represented by this stack frame.
+         *
+         * @return the line number of the source line containing the
+         *         execution point represented by this stack frame, or a
+         *         negative number if this information is unavailable
+         */
+        int getLineNumber();
+
+        /**
+         * Returns {@code true} if the method containing the execution point
+         * represented by this stack frame is a native method.
+         *
+         * @return {@code true} if the method containing the execution point
+         *         represented by this stack frame is a native method
+         */
+        boolean isNativeMethod();
+
+        /**
+         * Gets a {@code StackTraceElement} for this stack frame.
+         *
+         * @return {@code StackTraceElement} for this stack frame
+         */
+        StackTraceElement toStackTraceElement();
+    }
+
+    /**
+     * Stack walker option to configure the {@linkplain StackFrame stack
+     * frame} information obtained by a {@code StackWalker}.
+     *
+     * @since 1.8
+     */
+    public enum Option {
+        /**
+         * Retains {@code Class} object in {@code StackFrame}s walked by
+         * this {@code StackWalker}.
+         *
+         * <p>A {@code StackWalker} configured with this option will
+         * support {@link StackWalker#getCallerClass()} and
+         * {@link StackFrame#getDeclaringClass()
+         * StackFrame.getDeclaringClass()}.
+         */
+        RETAIN_CLASS_REFERENCE,
+
+        /**
+         * Shows all reflection frames.
+         *
+         * <p>By default, the frames of {@code Method.invoke},
+         * {@code Constructor.newInstance} and of the reflection
+         * implementation are hidden.  A {@code StackWalker} configured
+         * with this option shows them.
+         */
+        SHOW_REFLECT_FRAMES
+    }
+
+    private static final StackWalker DEFAULT_WALKER =
+        new StackWalker(EnumSet.noneOf(Option.class));
+
+    private final boolean retainClassRef;
+    private final boolean showReflectFrames;
+
+    private StackWalker(Set<Option> options) {
+        this.retainClassRef = options.contains(Option.RETAIN_CLASS_REFERENCE);
+        this.showReflectFrames = options.contains(Option.SHOW_REFLECT_FRAMES);
+    }
+
+    /**
+     * Returns a {@code StackWalker} instance.
+     *
+     * <p>This {@code StackWalker} is configured to skip all reflection
+     * frames and no class reference is retained.
+     *
+     * @return a {@code StackWalker} configured to skip all reflection
+     *         frames and no class reference is retained
+     */
+    public static StackWalker getInstance() {
+        return DEFAULT_WALKER;
+    }
+
+    /**
+     * Returns a {@code StackWalker} instance with the given option
+     * specifying the stack frame information it can access.
+     *
+     * <p>If a security manager is present and the given {@code option} is
+     * {@link Option#RETAIN_CLASS_REFERENCE RETAIN_CLASS_REFERENCE}, it
+     * calls its {@link SecurityManager#checkPermission checkPermission}
+     * method for {@code RuntimePermission("getStackWalkerWithClassReference")}.
+     *
+     * @param option {@link Option stack walking option}
+     * @return a {@code StackWalker} configured with the given option
+     * @throws SecurityException if a security manager exists and its
+     *         {@code checkPermission} method denies access
+     */
+    public static StackWalker getInstance(Option option) {
+        return getInstance(EnumSet.of(Objects.requireNonNull(option)));
+    }
+
+    /**
+     * Returns a {@code StackWalker} instance with the given {@code options}
+     * specifying the stack frame information it can access.  If the given
+     * {@code options} is empty, this {@code StackWalker} is configured to
+     * skip all reflection frames and no class reference is retained.
+     *
+     * <p>If a security manager is present and the given {@code options}
+     * contains {@link Option#RETAIN_CLASS_REFERENCE RETAIN_CLASS_REFERENCE},
+     * it calls its {@link SecurityManager#checkPermission checkPermission}
+     * method for {@code RuntimePermission("getStackWalkerWithClassReference")}.
+     *
+     * @param options {@link Option stack walking option}
+     * @return a {@code StackWalker} configured with the given options
+     * @throws SecurityException if a security manager exists and its
+     *         {@code checkPermission} method denies access
+     */
+    public static StackWalker getInstance(Set<Option> options) {
+        if (options.isEmpty())
+            return DEFAULT_WALKER;
+        if (options.contains(Option.RETAIN_CLASS_REFERENCE)) {
+            SecurityManager sm = System.getSecurityManager();
+            if (sm != null)
+                sm.checkPermission(new RuntimePermission("getStackWalkerWithClassReference"));
+        }
+        return new StackWalker(EnumSet.copyOf(options));
+    }
+
+    /**
+     * Applies the given function to the stream of {@code StackFrame}s
+     * for the current thread, traversing from the top frame of the stack,
+     * which is the method calling this {@code walk} method.
+     *
+     * <p>The frames of the stream are those of the stack when this method
+     * is invoked; the stream should not be used after the function
+     * returns.
+     *
+     * @param function a function that takes a stream of
+     *                 {@linkplain StackFrame stack frames} and returns a
+     *                 result.
+     * @param <T> The type of the result of applying the function to the
+     *            stream of {@linkplain StackFrame stack frame}.
+     * @return the result of applying the function to the stream of
+     *         {@linkplain StackFrame stack frame}.
+     */
+    public <T> T walk(Function<? super Stream<StackFrame>, ? extends T> function) {
+        Objects.requireNonNull(function);
+        Frames frames = new Frames(new Throwable(),
+                                   retainClassRef ? ClassContext.get() : null);
+        return function.apply(StreamSupport.stream(frames, false));
+    }
+
+    /**
+     * Performs the given action on each element of {@code StackFrame}
+     * stream of the current thread, traversing from the top frame of the
+     * stack, which is the method calling this {@code forEach} method.
+     *
+     * @param action an action to be performed on each {@code StackFrame}
+     *               of the stack of the current thread
+     */
+    public void forEach(Consumer<? super StackFrame> action) {
+        Objects.requireNonNull(action);
+        Frames frames = new Frames(new Throwable(),
+                                   retainClassRef ? ClassContext.get() : null);
+        frames.forEachRemaining(action);
+    }
+
+    /**
+     * Gets the {@code Class} object of the caller who invoked the method
+     * that invoked {@code getCallerClass}.
+     *
+     * <p>This method filters reflection frames regardless of the
+     * {@link Option#SHOW_REFLECT_FRAMES SHOW_REFLECT_FRAMES} option this
+     * {@code StackWalker} has been configured with.  Only the classes of
+     * the stack are obtained; no {@code StackFrame} or
+     * {@code StackTraceElement} is created.
+     *
+     * @return {@code Class} object of the caller's caller invoking this
+     *         method.
+     * @throws UnsupportedOperationException if this {@code StackWalker}
+     *         is not configured with
+     *         {@link Option#RETAIN_CLASS_REFERENCE RETAIN_CLASS_REFERENCE}.
+     * @throws IllegalStateException if this method is called from the
+     *         bottom frame of the stack
+     */
+    public Class<?> getCallerClass() {
+        if (!retainClassRef)
+            throw new UnsupportedOperationException("This stack walker " +
+                    "does not have RETAIN_CLASS_REFERENCE access");
+        Class<?>[] classes = ClassContext.get();
+        // Skip ClassContext.get, this method and the method calling it
+        int i = 3;
+        while (i < classes.length && isReflectionClass(classes[i].getName()))
+            i++;
+        if (i >= classes.length)
+            throw new IllegalStateException("no caller frame");
+        return classes[i];
+    }
+
+    /**
+     * Tests whether frames of the named class belong to core reflection.
+     */
+    static boolean isReflectionClass(String name) {
+        return name.equals("java.lang.reflect.Method") ||
+               name.equals("java.lang.reflect.Constructor") ||
+               name.startsWith("java.lang.reflect.MethodHandleAccessor") ||
+               (name.startsWith("sun.reflect.") &&
+                (name.contains("MethodAccessor") ||
+                 name.contains("ConstructorAccessor")));
+    }
+
+    /**
+     * Tests whether the class of the stack frame is in the class context.
+     * Native frames, {@code Method.invoke} and the method accessors of
+     * core reflection are left out of it by the virtual machine.
+     */
+    private static boolean inClassContext(StackTraceElement e) {
+        if (e.isNativeMethod())
+            return false;
+        String name = e.getClassName();
+        if (name.equals("java.lang.reflect.Method"))
+            return !e.getMethodName().equals("invoke");
+        return !(name.equals("sun.reflect.NativeMethodAccessorImpl") ||
+                 name.equals("sun.reflect.DelegatingMethodAccessorImpl") ||
+                 name.startsWith("sun.reflect.GeneratedMethodAccessor"));
+    }
+
+    /**
+     * Tests whether the frames of the class may be in the class context
+     * but hidden from the backtrace: method handle adapters and lambda
+     * proxies.
+     */
+    private static boolean isHiddenClass(Class<?> c) {
+        String name = c.getName();
+        return name.startsWith("java.lang.invoke.") || name.contains("$$Lambda$");
+    }
+
+    /**
+     * Tests whether the stack frame is a reflection frame.
+     */
+    private static boolean isReflectionFrame(StackTraceElement e) {
+        String name = e.getClassName();
+        if (name.equals("java.lang.reflect.Method"))
+            return e.getMethodName().equals("invoke");
+        if (name.equals("java.lang.reflect.Constructor"))
+            return e.getMethodName().equals("newInstance");
+        return isReflectionClass(name);
+    }
+
+    /**
+     * Obtains the classes of the methods on the stack.  The classes are
+     * obtained without names or other frame information, but the frames
+     * of native methods and some reflection frames are omitted.
+     */
+    private static final class ClassContext extends SecurityManager {
+        private static final ClassContext INSTANCE =
+            AccessController.doPrivileged(new PrivilegedAction<ClassContext>() {
+                public ClassContext run() {
+                    return new ClassContext();
+                }
+            });
+
+        /**
+         * Returns the classes of the stack, starting with ClassContext
+         * itself for the frame of this method.
+         */
+        static Class<?>[] get() {
+            return INSTANCE.getClassContext();
+        }
+    }
+
+    /**
+     * The frames of a stack, as recorded by a Throwable, in a spliterator
+     * that creates the stack trace element of a frame only when reaching
+     * it.  If classes are retained, the frames are paired in order with
+     * the classes of the stack.  The class context leaves out the frames
+     * of some methods, which inClassContext tells, and holds those of
+     * hidden methods, which the backtrace leaves out.  Once a frame and
+     * its class do not match, the two can no longer be paired, and the
+     * remaining frames are left without a class.
+     */
+    private final class Frames extends Spliterators.AbstractSpliterator<StackFrame> {
+        private final Throwable backtrace;
+        private final int depth;
+        private final Class<?>[] classes;
+        private int index;
+        private int classIndex;
+        private boolean paired = true;
+        private ClassLoader lastLoader;
+
+        Frames(Throwable backtrace, Class<?>[] classes) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.IMMUTABLE |
+                                  Spliterator.NONNULL);
+            this.backtrace = backtrace;
+            this.depth = backtrace.getStackTraceDepth();
+            this.classes = classes;
+            // Skip ClassContext.get
+            this.classIndex = 1;
+            skipWalkerFrames();
+        }
+
+        /**
+         * Skips the frames of this class, at the top of the stack.
+         */
+        private void skipWalkerFrames() {
+            while (index < depth) {
+                StackTraceElement e = backtrace.getStackTraceElement(index);
+                String name = e.getClassName();
+                if (!name.equals("java.lang.StackWalker") &&
+                    !name.startsWith("java.lang.StackWalker$"))
+                    break;
+                index++;
+                declaringClass(e);
+            }
+        }
+
+        /**
+         * Returns the class of the frame, or null if it has none in the
+         * class context or can no longer be paired with one.  A frame
+         * takes the next class, skipping only the classes of frames that
+         * the backtrace hides; no other class is skipped, so that a frame
+         * never takes the class of another frame of the same name.
+         */
+        private Class<?> declaringClass(StackTraceElement e) {
+            if (classes == null || !paired || !inClassContext(e))
+                return null;
+            String name = e.getClassName();
+            while (classIndex < classes.length) {
+                Class<?> c = classes[classIndex++];
+                if (c.getName().equals(name)) {
+                    lastLoader = c.getClassLoader();
+                    return c;
+                }
+                if (!isHiddenClass(c))
+                    break;
+            }
+            paired = false;
+            return null;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super StackFrame> action) {
+            while (index < depth) {
+                StackTraceElement e = backtrace.getStackTraceElement(index++);
+                Class<?> c = declaringClass(e);
+                if (!showReflectFrames && isReflectionFrame(e))
+                    continue;
+                // A frame left out of the class context is looked up by
+                // name, unless the stack can no longer be paired
+                boolean lookup = classes != null && paired && c == null;
+                action.accept(new Frame(e, c, lastLoader, lookup));
+                return true;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * A stack frame, backed by its stack trace element.
+     */
+    private final class Frame implements StackFrame {
+        private final StackTraceElement element;
+        private Class<?> declaringClass;
+        // Defines or delegates to the declaring class, if not known
+        private ClassLoader loader;
+        // Whether the declaring class is to be looked up from the loader
+        private boolean lookup;
+
+        Frame(StackTraceElement element, Class<?> declaringClass,
+              ClassLoader loader, boolean lookup) {
+            this.element = element;
+            this.declaringClass = declaringClass;
+            this.loader = lookup ? loader : null;
+            this.lookup = lookup;
+        }
+
+        public String getClassName() {
+            return element.getClassName();
+        }
+
+        public String getMethodName() {
+            return element.getMethodName();
+        }
+
+        public Class<?> getDeclaringClass() {
+            if (!retainClassRef)
+                throw new UnsupportedOperationException("No access to RETAIN_CLASS_REFERENCE");
+            if (lookup) {
+                // A native or reflection frame, whose class is looked up
+                // from the loader of the nearest frame above it
+                lookup = false;
+                try {
+                    declaringClass = Class.forName(element.getClassName(), false, loader);
+                } catch (ClassNotFoundException | LinkageError e) {
+                    // Not visible from that loader: the class is unknown
+                }
+                loader = null;
+            }
+            return declaringClass;
+        }
+
+        public String getFileName() {
+            return element.getFileName();
+        }
+
+        public int getLineNumber() {
+            return element.getLineNumber();
+        }
+
+        public boolean isNativeMethod() {
+            return element.isNativeMethod();
+        }
+
+        public StackTraceElement toStackTraceElement() {
+            return element;
+        }
+
+        @Override
+        public String toString() {
+            return element.toString();
+        }
+    }
+}
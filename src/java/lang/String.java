@@ -929,12 +929,7 @@ public final class String implements java.io.Serializable, Comparable<String>, C
 		if (n != sb.length()) {
 			return false;
 		}
-		for (int i = 0; i < n; i++) {
-			if (v1[i] != v2[i]) {
-				return false;
-			}
-		}
-		return true;
+		return Arrays.mismatch(v1, 0, n, v2, 0, n) < 0;
 	}
 
 	/**
@@ -1164,12 +1159,7 @@ public final class String implements java.io.Serializable, Comparable<String>, C
 		if ((ooffset < 0) || (toffset < 0) || (toffset > (long) value.length - len) || (ooffset > (long) other.value.length - len)) {
 			return false;
 		}
-		while (len-- > 0) {
-			if (ta[to++] != pa[po++]) {
-				return false;
-			}
-		}
-		return true;
+		return len <= 0 || Arrays.mismatch(ta, to, to + len, pa, po, po + len) < 0;
 	}
 
 	/**
@@ -1282,12 +1272,7 @@ public final class String implements java.io.Serializable, Comparable<String>, C
 		if ((toffset < 0) || (toffset > value.length - pc)) {
 			return false;
 		}
-		while (--pc >= 0) {
-			if (ta[to++] != pa[po++]) {
-				return false;
-			}
-		}
-		return true;
+		return Arrays.mismatch(ta, to, to + pc, pa, po, pc) < 0;
 	}
 
 	/**
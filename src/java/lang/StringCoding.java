@@ -106,6 +106,64 @@ class StringCoding {
         return null;
     }
 
+    // -- Latin-1 fast paths --
+    //
+    // Most strings only hold Latin-1, and usually ASCII, characters.  The
+    // trusted ISO-8859-1 charset maps these one to one to bytes, as do the
+    // UTF-8 and US-ASCII charsets for ASCII characters.  Such content is
+    // decoded and encoded directly, without a CharsetDecoder/Encoder and
+    // without allocating for the worst-case expansion of the charset.
+
+    private static final int NO_FAST_PATH = 0;
+    private static final int ASCII_FAST_PATH = 1;
+    private static final int LATIN1_FAST_PATH = 2;
+
+    private static int fastPath(Charset cs, boolean isTrusted) {
+        if (!isTrusted)
+            return NO_FAST_PATH;
+        String name = cs.name();
+        if (name.equals("ISO-8859-1"))
+            return LATIN1_FAST_PATH;
+        if (name.equals("UTF-8") || name.equals("US-ASCII"))
+            return ASCII_FAST_PATH;
+        return NO_FAST_PATH;
+    }
+
+    // Decode the given bytes one to one into chars if permitted by the
+    // fast path, otherwise return null
+    //
+    private static char[] decodeLatin1(int fastPath, byte[] ba, int off, int len) {
+        if (fastPath == NO_FAST_PATH)
+            return null;
+        if (fastPath == ASCII_FAST_PATH) {
+            for (int i = off, end = off + len; i < end; i++) {
+                if (ba[i] < 0)
+                    return null;
+            }
+        }
+        char[] ca = new char[len];
+        for (int i = 0; i < len; i++)
+            ca[i] = (char)(ba[off + i] & 0xff);
+        return ca;
+    }
+
+    // Encode the given chars one to one into bytes if permitted by the
+    // fast path, otherwise return null
+    //
+    private static byte[] encodeLatin1(int fastPath, char[] ca, int off, int len) {
+        if (fastPath == NO_FAST_PATH)
+            return null;
+        int max = (fastPath == LATIN1_FAST_PATH) ? 0xff : 0x7f;
+        for (int i = off, end = off + len; i < end; i++) {
+            if (ca[i] > max)
+                return null;
+        }
+        byte[] ba = new byte[len];
+        for (int i = 0; i < len; i++)
+            ba[i] = (byte)ca[off + i];
+        return ba;
+    }
+
     private static void warnUnsupportedCharset(String csn) {
         if (warnUnsupportedCharset) {
             // Use sun.misc.MessageUtils rather than the Logging API or
@@ -124,6 +182,7 @@ class StringCoding {
         private final Charset cs;
         private final CharsetDecoder cd;
         private final boolean isTrusted;
+        private final int fastPath;
 
         private StringDecoder(Charset cs, String rcn) {
             this.requestedCharsetName = rcn;
@@ -132,6 +191,7 @@ class StringCoding {
                 .onMalformedInput(CodingErrorAction.REPLACE)
                 .onUnmappableCharacter(CodingErrorAction.REPLACE);
             this.isTrusted = (cs.getClass().getClassLoader0() == null);
+            this.fastPath = fastPath(cs, isTrusted);
         }
 
         String charsetName() {
@@ -145,6 +205,9 @@ class StringCoding {
         }
 
         char[] decode(byte[] ba, int off, int len) {
+            char[] latin1 = decodeLatin1(fastPath, ba, off, len);
+            if (latin1 != null)
+                return latin1;
             int en = scale(len, cd.maxCharsPerByte());
             char[] ca = new char[en];
             if (len == 0)
@@ -210,6 +273,12 @@ class StringCoding {
         // check (... && (isTrusted || SM == null || getClassLoader0())) in trim
         // but it then can be argued that the SM is null when the opertaion
         // is started...
+        // (5)The trusted Latin-1 compatible charsets need neither a decoder
+        // nor a defensive copy for content they map one to one.
+        char[] latin1 = decodeLatin1(fastPath(cs, cs.getClass().getClassLoader0() == null),
+                                     ba, off, len);
+        if (latin1 != null)
+            return latin1;
         CharsetDecoder cd = cs.newDecoder();
         int en = scale(len, cd.maxCharsPerByte());
         char[] ca = new char[en];
@@ -275,6 +344,7 @@ class StringCoding {
         private CharsetEncoder ce;
         private final String requestedCharsetName;
         private final boolean isTrusted;
+        private final int fastPath;
 
         private StringEncoder(Charset cs, String rcn) {
             this.requestedCharsetName = rcn;
@@ -283,6 +353,7 @@ class StringCoding {
                 .onMalformedInput(CodingErrorAction.REPLACE)
                 .onUnmappableCharacter(CodingErrorAction.REPLACE);
             this.isTrusted = (cs.getClass().getClassLoader0() == null);
+            this.fastPath = fastPath(cs, isTrusted);
         }
 
         String charsetName() {
@@ -296,6 +367,9 @@ class StringCoding {
         }
 
         byte[] encode(char[] ca, int off, int len) {
+            byte[] latin1 = encodeLatin1(fastPath, ca, off, len);
+            if (latin1 != null)
+                return latin1;
             int en = scale(len, ce.maxBytesPerChar());
             byte[] ba = new byte[en];
             if (len == 0)
@@ -345,6 +419,11 @@ class StringCoding {
     }
 
     static byte[] encode(Charset cs, char[] ca, int off, int len) {
+        // See the comments in decode(Charset, ...)
+        byte[] latin1 = encodeLatin1(fastPath(cs, cs.getClass().getClassLoader0() == null),
+                                     ca, off, len);
+        if (latin1 != null)
+            return latin1;
         CharsetEncoder ce = cs.newEncoder();
         int en = scale(len, ce.maxBytesPerChar());
         byte[] ba = new byte[en];
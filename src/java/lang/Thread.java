@@ -186,6 +186,11 @@ public class Thread implements Runnable {
 	 */
 	ThreadLocal.ThreadLocalMap inheritableThreadLocals = null;
 
+	/*
+	 * IndexedThreadLocal values pertaining to this thread, by index. This array is maintained by the IndexedThreadLocal class.
+	 */
+	Object[] indexedThreadLocals = null;
+
 	/*
 	 * The requested stack size for this thread, or 0 if the creator did not specify a stack size. It is up to the VM to do whatever it likes with
 	 * this number; some VMs will ignore it.
@@ -658,6 +663,7 @@ public class Thread implements Runnable {
 		/* Speed the release of some of these resources */
 		threadLocals = null;
 		inheritableThreadLocals = null;
+		indexedThreadLocals = null;
 		inheritedAccessControlContext = null;
 		blocker = null;
 		uncaughtExceptionHandler = null;
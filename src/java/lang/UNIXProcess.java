@@ -34,6 +34,8 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.channels.Channel;
+import java.nio.channels.Pipe;
 import java.util.Arrays;
 import java.util.EnumSet;
 import java.util.Locale;
@@ -71,6 +73,11 @@ final class UNIXProcess extends Process {
     // only used on Solaris
     private /* final */ DeferredCloseInputStream stdout_inner_stream;
 
+    // The ends of the pipes of the streams redirected to Redirect.CHANNEL
+    private final Pipe.SinkChannel   stdinChannel;
+    private final Pipe.SourceChannel stdoutChannel;
+    private final Pipe.SourceChannel stderrChannel;
+
     private static enum LaunchMechanism {
         // order IS important!
         FORK,
@@ -241,9 +248,14 @@ final class UNIXProcess extends Process {
                 final byte[] envBlock, final int envc,
                 final byte[] dir,
                 final int[] fds,
-                final boolean redirectErrorStream)
+                final boolean redirectErrorStream,
+                final Pipe[] pipes)
             throws IOException {
 
+        stdinChannel  = (pipes[0] == null) ? null : pipes[0].sink();
+        stdoutChannel = (pipes[1] == null) ? null : pipes[1].source();
+        stderrChannel = (pipes[2] == null) ? null : pipes[2].source();
+
         pid = forkAndExec(launchMechanism.ordinal() + 1,
                           helperpath,
                           prog,
@@ -390,6 +402,27 @@ final class UNIXProcess extends Process {
         return stderr;
     }
 
+    @Override
+    public Pipe.SinkChannel getOutputChannel() {
+        return stdinChannel;
+    }
+
+    @Override
+    public Pipe.SourceChannel getInputChannel() {
+        return stdoutChannel;
+    }
+
+    @Override
+    public Pipe.SourceChannel getErrorChannel() {
+        return stderrChannel;
+    }
+
+    private static void close(Channel channel) {
+        if (channel != null) {
+            try { channel.close(); } catch (IOException ignored) {}
+        }
+    }
+
     public synchronized int waitFor() throws InterruptedException {
         while (!hasExited) {
             wait();
@@ -472,6 +505,9 @@ final class UNIXProcess extends Process {
 
             default: throw new AssertionError("Unsupported platform: " + platform);
         }
+        close(stdinChannel);
+        close(stdoutChannel);
+        close(stderrChannel);
     }
 
     public void destroy() {
@@ -27,6 +27,8 @@ package java.lang.instrument;
 
 import  java.io.File;
 import  java.io.IOException;
+import  java.util.List;
+import  java.util.concurrent.Executor;
 import  java.util.jar.JarFile;
 
 /*
@@ -257,6 +259,91 @@ public interface Instrumentation {
     void
     retransformClasses(Class<?>... classes) throws UnmodifiableClassException;
 
+    /**
+     * Retransform the supplied set of classes with the supplied transformers,
+     * invoking the transformers on different classes in parallel.
+     *
+     * <P>
+     * This function facilitates the instrumentation of large numbers of
+     * already loaded classes, where invoking the transformers on each class
+     * in turn, on the calling thread, would take long.
+     * This retransformation follows these steps:
+     *  <ul>
+     *    <li>the classes are {@linkplain #retransformClasses retransformed}
+     *      with a transformer added with <code>canRetransform</code> true,
+     *      which captures the class file bytes it is passed; these are the
+     *      class file bytes that a transformer added last would be passed
+     *    </li>
+     *    <li>for each class, the
+     *      {@link java.lang.instrument.ClassFileTransformer#transform transform}
+     *      method is called in the supplied transformers, in order, each on
+     *      the class file bytes returned by the previous one, in a task run
+     *      by the supplied executor; the tasks of different classes may run
+     *      concurrently, and the tasks rejected by the executor are run by
+     *      the calling thread
+     *    </li>
+     *    <li>once all the tasks have completed, the classes for which a
+     *      transformer returned class file bytes are retransformed all at
+     *      once with a transformer added with <code>canRetransform</code>
+     *      true, which returns the transformed class file bytes; these are
+     *      installed as the new definition of the classes
+     *    </li>
+     *  </ul>
+     * <P>
+     *
+     * The supplied transformers are not added to this
+     * <code>Instrumentation</code>, and the transformers that are added are
+     * called during both retransformations.  If a supplied transformer
+     * throws an exception, the class file bytes of the class are left
+     * unchanged, as if the transformer had returned <code>null</code>.
+     * Since the transformed class file bytes are installed by a
+     * retransformation, a later retransformation of a class starts over
+     * from its initial class file bytes, as described in
+     * {@link #retransformClasses retransformClasses}, and discards the
+     * changes made by the supplied transformers.
+     *
+     * <P>
+     * The statistics returned describe the invocations of each supplied
+     * transformer: the number of classes it was invoked on and transformed,
+     * the number of exceptions it threw, and the time spent in it.
+     *
+     * <P>
+     * If this method throws an exception, no classes have been retransformed
+     * by the supplied transformers.  If the thread calling this method is
+     * interrupted while waiting for the tasks to complete, it keeps waiting
+     * and its interrupt status is set when this method returns.
+     *
+     * @param executor the executor to run the transformations of the classes
+     * @param transformers the transformers to call, in order
+     * @param classes array of classes to retransform;
+     *                a zero-length array is allowed, in this case, this method does nothing
+     * @return the statistics of the supplied transformers, in the same order
+     * @throws java.lang.instrument.UnmodifiableClassException if a specified class cannot be modified
+     * ({@link #isModifiableClass} would return <code>false</code>)
+     * @throws java.lang.UnsupportedOperationException if the current configuration of the JVM does not allow
+     * retransformation ({@link #isRetransformClassesSupported} is false) or the retransformation attempted
+     * to make unsupported changes
+     * @throws java.lang.ClassFormatError if a transformer returned data that did not contain a valid class
+     * @throws java.lang.LinkageError if a linkage error occurs
+     * @throws java.lang.NullPointerException if the executor, the transformers
+     *                                        array or any of its components, or
+     *                                        the supplied classes array or any of
+     *                                        its components is <code>null</code>.
+     *
+     * @see #retransformClasses
+     * @see java.lang.instrument.TransformerStatistics
+     * @since 1.8
+     */
+    default List<TransformerStatistics>
+    parallelRetransformClasses(Executor executor,
+                               ClassFileTransformer[] transformers,
+                               Class<?>... classes)
+        throws UnmodifiableClassException
+    {
+        return ParallelRetransformation.retransform(this, executor,
+                                                    transformers, classes);
+    }
+
     /**
      * Returns whether or not the current JVM configuration supports redefinition
      * of classes.
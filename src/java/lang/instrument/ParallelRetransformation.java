@@ -0,0 +1,233 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.lang.instrument;
+
+import java.security.ProtectionDomain;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * The implementation of
+ * {@link Instrumentation#parallelRetransformClasses}.  The class file bytes
+ * of the classes are captured by a first retransformation, transformed by
+ * tasks submitted to the executor, and installed by a second
+ * retransformation of the classes that were transformed.  Both
+ * retransformations add a transformer of their own, which is removed
+ * when they complete.
+ */
+final class ParallelRetransformation {
+
+    /** The class file bytes of a class and the arguments of its transformation. */
+    private static final class ClassFile {
+        final ClassLoader loader;
+        final String className;
+        final ProtectionDomain protectionDomain;
+        final byte[] bytes;
+
+        ClassFile(ClassLoader loader, String className,
+                  ProtectionDomain protectionDomain, byte[] bytes) {
+            this.loader = loader;
+            this.className = className;
+            this.protectionDomain = protectionDomain;
+            this.bytes = bytes;
+        }
+    }
+
+    private final Instrumentation inst;
+    private final Executor executor;
+    private final ClassFileTransformer[] transformers;
+    private final TransformerStatistics[] statistics;
+    private final Set<Class<?>> classes;
+    private final Map<Class<?>, ClassFile> captured = new ConcurrentHashMap<>();
+    private final Map<Class<?>, byte[]> transformed = new ConcurrentHashMap<>();
+
+    private ParallelRetransformation(Instrumentation inst, Executor executor,
+                                     ClassFileTransformer[] transformers,
+                                     Class<?>[] classes) {
+        if (inst == null || executor == null) {
+            throw new NullPointerException();
+        }
+        this.inst = inst;
+        this.executor = executor;
+        this.transformers = transformers.clone();
+        this.statistics = new TransformerStatistics[this.transformers.length];
+        for (int i = 0; i < statistics.length; i++) {
+            statistics[i] = new TransformerStatistics(this.transformers[i]);
+        }
+        this.classes = Collections.newSetFromMap(new ConcurrentHashMap<>());
+        for (Class<?> c : classes) {
+            this.classes.add(c);
+        }
+    }
+
+    static List<TransformerStatistics> retransform(Instrumentation inst,
+                                                   Executor executor,
+                                                   ClassFileTransformer[] transformers,
+                                                   Class<?>[] classes)
+        throws UnmodifiableClassException
+    {
+        ParallelRetransformation r =
+            new ParallelRetransformation(inst, executor, transformers, classes);
+        if (!r.classes.isEmpty()) {
+            r.capture(classes);
+            r.transform();
+            r.install();
+        }
+        return Collections.unmodifiableList(Arrays.asList(r.statistics));
+    }
+
+    /**
+     * Captures the class file bytes of the classes, as they are passed to
+     * a retransformation capable transformer added last.
+     */
+    private void capture(Class<?>[] classes) throws UnmodifiableClassException {
+        ClassFileTransformer capturer = new ClassFileTransformer() {
+            @Override
+            public byte[] transform(ClassLoader loader, String className,
+                                    Class<?> classBeingRedefined,
+                                    ProtectionDomain protectionDomain,
+                                    byte[] classfileBuffer) {
+                if (classBeingRedefined != null &&
+                    ParallelRetransformation.this.classes.contains(classBeingRedefined)) {
+                    captured.put(classBeingRedefined,
+                                 new ClassFile(loader, className,
+                                               protectionDomain, classfileBuffer));
+                }
+                return null;
+            }
+        };
+        inst.addTransformer(capturer, true);
+        try {
+            inst.retransformClasses(classes);
+        } finally {
+            inst.removeTransformer(capturer);
+        }
+    }
+
+    /**
+     * Transforms the captured classes in tasks run by the executor, or by
+     * the current thread if the executor rejects them, and waits for all
+     * the tasks to complete.
+     */
+    private void transform() {
+        final CountDownLatch done = new CountDownLatch(captured.size());
+        for (final Map.Entry<Class<?>, ClassFile> e : captured.entrySet()) {
+            Runnable task = new Runnable() {
+                public void run() {
+                    try {
+                        transform(e.getKey(), e.getValue());
+                    } finally {
+                        done.countDown();
+                    }
+                }
+            };
+            try {
+                executor.execute(task);
+            } catch (RejectedExecutionException ex) {
+                task.run();
+            }
+        }
+
+        boolean interrupted = false;
+        while (true) {
+            try {
+                done.await();
+                break;
+            } catch (InterruptedException ex) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Invokes the transformers on a class, each on the class file bytes
+     * returned by the previous one.  As when the JVM invokes transformers,
+     * an exception thrown by a transformer leaves the bytes unchanged.
+     */
+    private void transform(Class<?> c, ClassFile cf) {
+        byte[] bytes = cf.bytes;
+        boolean changed = false;
+        for (int i = 0; i < transformers.length; i++) {
+            byte[] result = null;
+            boolean failed = false;
+            long start = System.nanoTime();
+            try {
+                result = transformers[i].transform(cf.loader, cf.className, c,
+                                                   cf.protectionDomain, bytes);
+            } catch (Throwable t) {
+                // don't let one transformer mess it up for the others
+                failed = true;
+            }
+            statistics[i].record(System.nanoTime() - start,
+                                 result != null, failed);
+            if (result != null) {
+                bytes = result;
+                changed = true;
+            }
+        }
+        if (changed) {
+            transformed.put(c, bytes);
+        }
+    }
+
+    /**
+     * Installs the transformed class file bytes by retransforming the
+     * classes transformed, all at once.
+     */
+    private void install() throws UnmodifiableClassException {
+        if (transformed.isEmpty()) {
+            return;
+        }
+        ClassFileTransformer installer = new ClassFileTransformer() {
+            @Override
+            public byte[] transform(ClassLoader loader, String className,
+                                    Class<?> classBeingRedefined,
+                                    ProtectionDomain protectionDomain,
+                                    byte[] classfileBuffer) {
+                return (classBeingRedefined == null) ? null
+                    : transformed.get(classBeingRedefined);
+            }
+        };
+        List<Class<?>> list = new ArrayList<>(transformed.keySet());
+        inst.addTransformer(installer, true);
+        try {
+            inst.retransformClasses(list.toArray(new Class<?>[list.size()]));
+        } finally {
+            inst.removeTransformer(installer);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.lang.instrument;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statistics of the invocations of a class file transformer by
+ * {@link Instrumentation#parallelRetransformClasses
+ * Instrumentation.parallelRetransformClasses}: how many classes it was
+ * invoked on, how many of them it transformed or failed to transform, and
+ * how long its invocations took.
+ *
+ * @see     Instrumentation#parallelRetransformClasses
+ * @since   1.8
+ */
+public final class TransformerStatistics {
+    private final ClassFileTransformer transformer;
+    private final LongAdder invocations = new LongAdder();
+    private final LongAdder transformed = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0L);
+
+    TransformerStatistics(ClassFileTransformer transformer) {
+        if (transformer == null) {
+            throw new NullPointerException();
+        }
+        this.transformer = transformer;
+    }
+
+    /**
+     * Records an invocation of the transformer that took the given time,
+     * and whether it returned class file bytes or threw an exception.
+     */
+    void record(long nanos, boolean didTransform, boolean failed) {
+        invocations.increment();
+        if (didTransform) {
+            transformed.increment();
+        }
+        if (failed) {
+            failures.increment();
+        }
+        totalNanos.add(nanos);
+        maxNanos.accumulate(nanos);
+    }
+
+    /**
+     * Returns the transformer of these statistics.
+     *
+     * @return the transformer
+     */
+    public ClassFileTransformer getTransformer() {
+        return transformer;
+    }
+
+    /**
+     * Returns the number of classes the transformer was invoked on.
+     *
+     * @return the number of invocations of the transformer
+     */
+    public long getInvocationCount() {
+        return invocations.sum();
+    }
+
+    /**
+     * Returns the number of invocations of the transformer that returned
+     * transformed class file bytes, rather than <code>null</code>.
+     *
+     * @return the number of classes transformed by the transformer
+     */
+    public long getTransformedCount() {
+        return transformed.sum();
+    }
+
+    /**
+     * Returns the number of invocations of the transformer that threw an
+     * exception.  The class file bytes of these invocations were left
+     * unchanged, as if the transformer had returned <code>null</code>.
+     *
+     * @return the number of failed invocations of the transformer
+     */
+    public long getFailureCount() {
+        return failures.sum();
+    }
+
+    /**
+     * Returns the total time spent in invocations of the transformer, in
+     * the given unit.  The invocations may have run concurrently, so the
+     * total time can exceed the elapsed time of the retransformation.
+     *
+     * @param unit the unit of the time returned
+     * @return the total time spent in the transformer
+     */
+    public long getTotalTime(TimeUnit unit) {
+        return unit.convert(totalNanos.sum(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Returns the time spent in the longest invocation of the transformer,
+     * in the given unit.
+     *
+     * @param unit the unit of the time returned
+     * @return the longest time spent in one invocation of the transformer
+     */
+    public long getMaxTime(TimeUnit unit) {
+        return unit.convert(maxNanos.get(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Returns a string describing these statistics.
+     *
+     * @return a string describing these statistics
+     */
+    @Override
+    public String toString() {
+        return transformer + ": " + getInvocationCount() + " invocations, " +
+            getTransformedCount() + " transformed, " +
+            getFailureCount() + " failed, " +
+            getTotalTime(TimeUnit.MICROSECONDS) + " us total, " +
+            getMaxTime(TimeUnit.MICROSECONDS) + " us max";
+    }
+}
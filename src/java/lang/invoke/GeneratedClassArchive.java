@@ -0,0 +1,310 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.lang.invoke;
+
+import sun.security.action.GetPropertyAction;
+import sun.util.logging.PlatformLogger;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.FilePermission;
+import java.io.IOException;
+import java.io.UTFDataFormatException;
+import java.nio.charset.StandardCharsets;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.PropertyPermission;
+import java.util.Set;
+
+import static java.lang.invoke.LambdaForm.*;
+
+/**
+ * An archive of the classes spun for lambda proxies by
+ * InnerClassLambdaMetafactory and compiled from LambdaForms by
+ * InvokerBytecodeGenerator, so that a later run can define them without
+ * generating their bytecode again.
+ *
+ * <p> A training run given the system property
+ * {@code jdk.internal.lambda.dumpClassArchive=<file>} writes every class
+ * it generates to the file, under a key that describes what the class was
+ * generated from: the call site of a lambda proxy, or the names and
+ * invoker type of a LambdaForm.  A run given
+ * {@code jdk.internal.lambda.classArchive=<file>} looks each class up by
+ * its key before generating it.  The archive is ignored if it was written
+ * by another runtime version or with another class path; it must be
+ * written again when the application changes.
+ *
+ * <p> Only classes without constant pool patches are archived, since the
+ * objects patched into a class are those of a single run.  LambdaForms
+ * whose code refers to such objects, such as customized LambdaForms, are
+ * always compiled.
+ *
+ * @implNote
+ * <p> This class is used by LambdaMetafactory and InvokerBytecodeGenerator
+ * while they spin lambda proxy and LambdaForm classes, so it must not use
+ * lambdas or method references, or the bootstrap recurses.
+ */
+final class GeneratedClassArchive {
+    private static final int MAGIC = 0xCAFEA4C1;
+
+    private static final String DUMP_KEY = "jdk.internal.lambda.dumpClassArchive";
+    private static final String LOAD_KEY = "jdk.internal.lambda.classArchive";
+
+    /** True if classes are looked up or recorded. */
+    static final boolean ENABLED;
+
+    /** The archived classes by key, or null if none are looked up. */
+    private static final Map<String, byte[]> archived;
+
+    /** The stream of the archive being written, or null. */
+    private static DataOutputStream out;
+
+    /** The keys of the classes written. */
+    private static final Set<String> recorded = new HashSet<>();
+
+    static {
+        String dumpPath = getProperty(DUMP_KEY);
+        String loadPath = (dumpPath != null) ? null : getProperty(LOAD_KEY);
+        archived = (loadPath == null) ? null : load(loadPath);
+        if (dumpPath != null)
+            out = create(dumpPath);
+        ENABLED = archived != null || out != null;
+    }
+
+    private GeneratedClassArchive() {}
+
+    private static String getProperty(String key) {
+        return AccessController.doPrivileged(
+                new GetPropertyAction(key), null,
+                new PropertyPermission(key, "read"));
+    }
+
+    private static String header() {
+        return getProperty("java.runtime.version") + '\n' +
+               getProperty("java.class.path");
+    }
+
+    private static void warning(String msg) {
+        PlatformLogger.getLogger(GeneratedClassArchive.class.getName())
+                      .warning(msg);
+    }
+
+    /**
+     * Reads the archive at the given path, or returns null if it cannot
+     * be used.  A record cut short by the end of the file, as when the
+     * training run exited while writing it, is ignored.
+     */
+    private static Map<String, byte[]> load(final String path) {
+        return AccessController.doPrivileged(new PrivilegedAction<Map<String, byte[]>>() {
+            @Override
+            public Map<String, byte[]> run() {
+                try (DataInputStream in = new DataInputStream(
+                         new BufferedInputStream(new FileInputStream(path)))) {
+                    if (in.readInt() != MAGIC ||
+                        !header().equals(readString(in))) {
+                        warning("Class archive " + path + " is not valid for " +
+                                "this runtime and class path - archive not used");
+                        return null;
+                    }
+                    Map<String, byte[]> map = new HashMap<>();
+                    try {
+                        for (;;) {
+                            String key = in.readUTF();
+                            int len = in.readInt();
+                            if (len < 0)
+                                throw new IOException("bad class length");
+                            byte[] classBytes = new byte[len];
+                            in.readFully(classBytes);
+                            map.put(key, classBytes);
+                        }
+                    } catch (EOFException eof) {
+                        // end of the archive
+                    }
+                    return map;
+                } catch (IOException ex) {
+                    warning("Exception reading class archive " + path +
+                            " - archive not used");
+                    return null;
+                }
+            }
+        }, null, new FilePermission("<<ALL FILES>>", "read"),
+        new PropertyPermission("*", "read"));
+    }
+
+    /**
+     * Creates the archive at the given path, or returns null if it cannot
+     * be written.  Each class is written out when it is recorded, so that
+     * the archive is usable however the training run ends.
+     */
+    private static DataOutputStream create(final String path) {
+        return AccessController.doPrivileged(new PrivilegedAction<DataOutputStream>() {
+            @Override
+            public DataOutputStream run() {
+                try {
+                    DataOutputStream stream = new DataOutputStream(
+                        new BufferedOutputStream(new FileOutputStream(path)));
+                    stream.writeInt(MAGIC);
+                    byte[] header = header().getBytes(StandardCharsets.UTF_8);
+                    stream.writeInt(header.length);
+                    stream.write(header);
+                    stream.flush();
+                    return stream;
+                } catch (IOException ex) {
+                    warning("Exception creating class archive " + path +
+                            " - archiving disabled");
+                    return null;
+                }
+            }
+        }, null, new FilePermission("<<ALL FILES>>", "read, write"),
+        new PropertyPermission("*", "read"));
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int len = in.readInt();
+        if (len < 0)
+            throw new EOFException();
+        byte[] b = new byte[len];
+        in.readFully(b);
+        return new String(b, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns the archived class of the given key, or null.
+     */
+    static byte[] lookup(String key) {
+        return (archived == null) ? null : archived.get(key);
+    }
+
+    /**
+     * Writes the given class to the archive being written, if any.
+     */
+    static synchronized void record(String key, byte[] classBytes) {
+        if (out == null || !recorded.add(key))
+            return;
+        try {
+            out.writeUTF(key);
+        } catch (UTFDataFormatException ex) {
+            return;  // key too long, nothing written
+        } catch (IOException ex) {
+            stopRecording();
+            return;
+        }
+        try {
+            out.writeInt(classBytes.length);
+            out.write(classBytes);
+            out.flush();
+        } catch (IOException ex) {
+            stopRecording();
+        }
+    }
+
+    private static void stopRecording() {
+        warning("Exception writing class archive - archiving disabled");
+        out = null;
+    }
+
+    /**
+     * Returns the key of the lambda proxy class spun for a call site.
+     */
+    static String lambdaProxyKey(AbstractValidatingLambdaMetafactory mf) {
+        StringBuilder sb = new StringBuilder("L ");
+        sb.append(mf.targetClass.getName())
+          .append(' ').append(mf.invokedType.toMethodDescriptorString())
+          .append(' ').append(mf.samMethodName)
+          .append(mf.samMethodType.toMethodDescriptorString())
+          .append(' ').append(mf.implKind)
+          .append(' ').append(mf.implDefiningClass.getName())
+          .append('.').append(mf.implInfo.getName())
+          .append(mf.implMethodType.toMethodDescriptorString())
+          .append(' ').append(mf.instantiatedMethodType.toMethodDescriptorString())
+          .append(mf.isSerializable ? " S" : " -");
+        for (Class<?> c : mf.markerInterfaces)
+            sb.append(" I").append(c.getName());
+        for (MethodType mt : mf.additionalBridges)
+            sb.append(" B").append(mt.toMethodDescriptorString());
+        return sb.toString();
+    }
+
+    /**
+     * Returns the key of the class compiled from a LambdaForm, or null if
+     * the compiled code would depend on objects of this run.
+     */
+    static String lambdaFormKey(LambdaForm form, MethodType invokerType) {
+        if (form.customized != null)
+            return null;
+        StringBuilder sb = new StringBuilder("F ");
+        sb.append(form.debugName)
+          .append(' ').append(invokerType.toMethodDescriptorString())
+          .append(form.forceInline ? " I " : " - ")
+          .append(form.arity).append(' ').append(form.result);
+        for (int i = 0; i < form.names.length; i++) {
+            Name name = form.names[i];
+            sb.append(' ').append(name.type.basicTypeChar());
+            if (name.isParam())
+                continue;
+            NamedFunction f = name.function;
+            MemberName m = f.member;
+            if (m == null || m.getDeclaringClass().getClassLoader() != null)
+                return null;
+            sb.append('=').append(m.getReferenceKind())
+              .append(m.getDeclaringClass().getName())
+              .append('.').append(m.getName());
+            Object t = m.getType();
+            sb.append(t instanceof MethodType
+                      ? ((MethodType) t).toMethodDescriptorString()
+                      : ':' + ((Class<?>) t).getName());
+            sb.append('/').append(f.intrinsicName()).append('(');
+            for (Object a : name.arguments) {
+                if (a instanceof Name) {
+                    sb.append('#').append(((Name) a).index());
+                } else if (a == null) {
+                    sb.append("null");
+                } else if (a instanceof String) {
+                    sb.append('"').append(((String) a).length())
+                      .append(':').append(a);
+                } else if (a instanceof Number || a instanceof Character ||
+                           a instanceof Boolean) {
+                    sb.append(a.getClass().getSimpleName())
+                      .append(':').append(a);
+                } else {
+                    // Patched into the constant pool
+                    return null;
+                }
+                sb.append(',');
+            }
+            sb.append(')');
+        }
+        return sb.toString();
+    }
+}
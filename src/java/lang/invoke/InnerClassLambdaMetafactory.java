@@ -247,6 +247,15 @@ import static jdk.internal.org.objectweb.asm.Opcodes.*;
      * is not found
      */
     private Class<?> spinInnerClass() throws LambdaConversionException {
+        // Define the class of the same call site of a training run, if any
+        final String archiveKey = GeneratedClassArchive.ENABLED
+            ? GeneratedClassArchive.lambdaProxyKey(this) : null;
+        if (archiveKey != null) {
+            byte[] archived = GeneratedClassArchive.lookup(archiveKey);
+            if (archived != null)
+                return UNSAFE.defineAnonymousClass(targetClass, archived, null);
+        }
+
         String[] interfaces;
         String samIntf = samBase.getName().replace('.', '/');
         boolean accidentallySerializable = !isSerializable && Serializable.class.isAssignableFrom(samBase);
@@ -323,6 +332,9 @@ import static jdk.internal.org.objectweb.asm.Opcodes.*;
             new PropertyPermission("user.dir", "read"));
         }
 
+        if (archiveKey != null)
+            GeneratedClassArchive.record(archiveKey, classBytes);
+
         return UNSAFE.defineAnonymousClass(targetClass, classBytes, null);
     }
 
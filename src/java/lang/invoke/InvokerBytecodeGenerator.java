@@ -615,7 +615,19 @@ class InvokerBytecodeGenerator {
      */
     static MemberName generateCustomizedCode(LambdaForm form, MethodType invokerType) {
         InvokerBytecodeGenerator g = new InvokerBytecodeGenerator("MH", form, invokerType);
-        return g.loadMethod(g.generateCustomizedCodeBytes());
+        // Load the class compiled from the same form in a training run, if any
+        String archiveKey = GeneratedClassArchive.ENABLED
+            ? GeneratedClassArchive.lambdaFormKey(form, invokerType) : null;
+        if (archiveKey != null) {
+            byte[] archived = GeneratedClassArchive.lookup(archiveKey);
+            if (archived != null)
+                return resolveInvokerMember(loadAndInitializeInvokerClass(archived, null),
+                                            g.invokerName, invokerType);
+        }
+        byte[] classFile = g.generateCustomizedCodeBytes();
+        if (archiveKey != null && g.cpPatches.isEmpty())
+            GeneratedClassArchive.record(archiveKey, classFile);
+        return g.loadMethod(classFile);
     }
 
     /** Generates code to check that actual receiver and LambdaForm matches */
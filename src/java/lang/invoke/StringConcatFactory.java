@@ -0,0 +1,550 @@
+/*
+ * Copyright (c) 2012, 2013, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.lang.invoke;
+
+import java.util.Arrays;
+import sun.misc.JavaLangAccess;
+import sun.misc.SharedSecrets;
+
+import static java.lang.invoke.MethodType.methodType;
+
+/**
+ * <p>Methods to facilitate the creation of String concatenation methods, that
+ * can be used to efficiently concatenate a known number of arguments of known
+ * types, possibly after type adaptation and partial evaluation of arguments.
+ * These methods are typically used as <em>bootstrap methods</em> for {@code
+ * invokedynamic} call sites, to support the <em>string concatenation</em>
+ * feature of the Java Programming Language, as an alternative to chains of
+ * {@link StringBuilder#append} calls emitted by compilers and other bytecode
+ * generators.
+ *
+ * <p>Indirect access to the behavior specified by the provided {@code
+ * MethodHandle} proceeds in order through two phases:
+ *
+ * <ol>
+ *     <li><em>Linkage</em> occurs when the methods in this class are invoked.
+ * They take as arguments a method type describing the concatenated arguments
+ * count and types, and optionally the String <em>recipe</em>, plus the
+ * constants that participate in the String concatenation.  The details on
+ * accepted recipe shapes are described further below.  Linkage may involve
+ * dynamically loading a new class that implements the expected concatenation
+ * behavior.  The {@code CallSite} holds the {@code MethodHandle} pointing to
+ * the exact concatenation method.</li>
+ *
+ *     <li><em>Invocation</em> occurs when a generated concatenation method is
+ * invoked with the exact dynamic arguments.  Each argument is converted to a
+ * string as if by {@link String#valueOf}, the exact length of the result is
+ * computed from the converted arguments and constants, and the result is
+ * filled into a single character array, which is then used as the value of
+ * the resulting {@code String} without further copying.</li>
+ * </ol>
+ *
+ * <p>This class provides two forms of linkage methods: a simple version
+ * ({@link #makeConcat(java.lang.invoke.MethodHandles.Lookup, String,
+ * MethodType)}) using only the dynamic arguments, and an advanced version
+ * ({@link #makeConcatWithConstants(java.lang.invoke.MethodHandles.Lookup,
+ * String, MethodType, String, Object...)} using the advanced forms of
+ * capturing the constant arguments.
+ *
+ * @since 1.8
+ */
+public final class StringConcatFactory {
+
+    /**
+     * Tag used to demarcate an ordinary argument.
+     */
+    private static final char TAG_ARG = '\u0001';
+
+    /**
+     * Tag used to demarcate a constant.
+     */
+    private static final char TAG_CONST = '\u0002';
+
+    /**
+     * Maximum number of argument slots in String Concat call.
+     *
+     * While the maximum number of argument slots that indy call can handle is 253,
+     * we do not use all those slots, to let the strategies with MethodHandle
+     * combinators to use some arguments.
+     */
+    private static final int MAX_INDY_CONCAT_ARG_SLOTS = 200;
+
+    private static final JavaLangAccess JLA = SharedSecrets.getJavaLangAccess();
+
+    /**
+     * Computes the length of the result, see {@link #mixLength}.
+     */
+    private static final MethodHandle MIX_STRING, MIX_INT, MIX_LONG,
+            MIX_CHAR, MIX_BOOLEAN;
+
+    /**
+     * Writes an argument and the constant fragment following it into the
+     * result, see {@link #write}.
+     */
+    private static final MethodHandle WRITE_STRING, WRITE_INT, WRITE_LONG,
+            WRITE_CHAR, WRITE_BOOLEAN;
+
+    /**
+     * Writes the constant fragment preceding the first argument, allocates
+     * the result array and wraps it as a string.
+     */
+    private static final MethodHandle WRITE_FIRST, NEW_ARRAY, NEW_STRING;
+
+    /**
+     * Converters of arguments of reference and floating-point types to
+     * their string representation.
+     */
+    private static final MethodHandle STRINGIFY_OBJECT, STRINGIFY_FLOAT,
+            STRINGIFY_DOUBLE;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.Lookup.IMPL_LOOKUP;
+            Class<?> c = StringConcatFactory.class;
+            MIX_STRING = lookup.findStatic(c, "mixLength",
+                    methodType(int.class, int.class, String.class));
+            MIX_INT = lookup.findStatic(c, "mixLength",
+                    methodType(int.class, int.class, int.class));
+            MIX_LONG = lookup.findStatic(c, "mixLength",
+                    methodType(int.class, int.class, long.class));
+            MIX_CHAR = lookup.findStatic(c, "mixLength",
+                    methodType(int.class, int.class, char.class));
+            MIX_BOOLEAN = lookup.findStatic(c, "mixLength",
+                    methodType(int.class, int.class, boolean.class));
+            WRITE_STRING = lookup.findStatic(c, "write",
+                    methodType(int.class, int.class, char[].class, String.class, String.class));
+            WRITE_INT = lookup.findStatic(c, "write",
+                    methodType(int.class, int.class, char[].class, int.class, String.class));
+            WRITE_LONG = lookup.findStatic(c, "write",
+                    methodType(int.class, int.class, char[].class, long.class, String.class));
+            WRITE_CHAR = lookup.findStatic(c, "write",
+                    methodType(int.class, int.class, char[].class, char.class, String.class));
+            WRITE_BOOLEAN = lookup.findStatic(c, "write",
+                    methodType(int.class, int.class, char[].class, boolean.class, String.class));
+            WRITE_FIRST = lookup.findStatic(c, "writeFirst",
+                    methodType(int.class, char[].class, String.class));
+            NEW_ARRAY = lookup.findStatic(c, "newArray",
+                    methodType(char[].class, int.class));
+            NEW_STRING = lookup.findStatic(c, "newString",
+                    methodType(String.class, int.class, char[].class));
+            STRINGIFY_OBJECT = lookup.findStatic(String.class, "valueOf",
+                    methodType(String.class, Object.class));
+            STRINGIFY_FLOAT = lookup.findStatic(String.class, "valueOf",
+                    methodType(String.class, float.class));
+            STRINGIFY_DOUBLE = lookup.findStatic(String.class, "valueOf",
+                    methodType(String.class, double.class));
+        } catch (ReflectiveOperationException ex) {
+            throw new InternalError(ex);
+        }
+    }
+
+    private StringConcatFactory() {
+        // no instantiation
+    }
+
+    /**
+     * Facilitates the creation of optimized String concatenation methods,
+     * that can be used to efficiently concatenate a known number of arguments
+     * of known types, possibly after type adaptation and partial evaluation
+     * of arguments.  Typically used as a <em>bootstrap method</em> for {@code
+     * invokedynamic} call sites.  The concatenation result is the
+     * concatenation of the string representations of all arguments, in
+     * order.
+     *
+     * @param lookup   Represents a lookup context with the accessibility
+     *                 privileges of the caller.  When used with {@code
+     *                 invokedynamic}, this is stacked automatically by the VM.
+     * @param name     The name of the method to implement.  This name is
+     *                 arbitrary, and has no meaning for this linkage method.
+     *                 When used with {@code invokedynamic}, this is provided by
+     *                 the {@code NameAndType} of the {@code InvokeDynamic}
+     *                 structure and is stacked automatically by the VM.
+     * @param concatType The expected signature of the {@code CallSite}.  The
+     *                   parameter types represent the types of concatenation
+     *                   arguments; the return type is always assignable from
+     *                   {@link java.lang.String}.  When used with {@code
+     *                   invokedynamic}, this is provided by the {@code
+     *                   NameAndType} of the {@code InvokeDynamic} structure and
+     *                   is stacked automatically by the VM.
+     * @return a CallSite whose target can be used to perform String
+     * concatenation, with dynamic concatenation arguments described by the given
+     * {@code concatType}.
+     * @throws StringConcatException If any of the linkage invariants described
+     *                               here are violated.
+     * @throws NullPointerException If any of the incoming arguments is null.
+     */
+    public static CallSite makeConcat(MethodHandles.Lookup lookup,
+                                      String name,
+                                      MethodType concatType) throws StringConcatException {
+        char[] recipe = new char[concatType.parameterCount()];
+        Arrays.fill(recipe, TAG_ARG);
+        return doStringConcat(lookup, name, concatType, new String(recipe));
+    }
+
+    /**
+     * Facilitates the creation of optimized String concatenation methods,
+     * that can be used to efficiently concatenate a known number of arguments
+     * of known types, possibly after type adaptation and partial evaluation
+     * of arguments.  Typically used as a <em>bootstrap method</em> for {@code
+     * invokedynamic} call sites.
+     *
+     * <p>The concatenation result is the concatenation of the recipe, in
+     * which each occurrence of the tag {@code "\1"} is replaced by the string
+     * representation of the next dynamic argument, and each occurrence of
+     * the tag {@code "\2"} by the string representation of the next constant
+     * from {@code constants}.  All other characters of the recipe are
+     * copied verbatim.
+     *
+     * @param lookup   Represents a lookup context with the accessibility
+     *                 privileges of the caller.  When used with {@code
+     *                 invokedynamic}, this is stacked automatically by the VM.
+     * @param name     The name of the method to implement.  This name is
+     *                 arbitrary, and has no meaning for this linkage method.
+     * @param concatType The expected signature of the {@code CallSite}.  The
+     *                   parameter types represent the types of dynamic
+     *                   concatenation arguments; the return type is always
+     *                   assignable from {@link java.lang.String}.
+     * @param recipe   Concatenation recipe, described above.
+     * @param constants A vararg parameter representing the constants passed to
+     *                  the linkage method.
+     * @return a CallSite whose target can be used to perform String
+     * concatenation, with dynamic concatenation arguments described by the given
+     * {@code concatType}.
+     * @throws StringConcatException If any of the linkage invariants described
+     *                               here are violated: the number of argument
+     *                               tags or constant tags in the recipe does
+     *                               not match the number of parameters or
+     *                               constants, the return type is not
+     *                               assignable from String, or the number of
+     *                               argument slots exceeds 200.
+     * @throws NullPointerException If any of the incoming arguments is null, or
+     *                              any constant in {@code recipe} is null.
+     */
+    public static CallSite makeConcatWithConstants(MethodHandles.Lookup lookup,
+                                                   String name,
+                                                   MethodType concatType,
+                                                   String recipe,
+                                                   Object... constants) throws StringConcatException {
+        return doStringConcat(lookup, name, concatType, recipe, constants);
+    }
+
+    /**
+     * Links a call site concatenating the dynamic arguments as described by
+     * the recipe and constants.
+     */
+    private static CallSite doStringConcat(MethodHandles.Lookup lookup,
+                                           String name,
+                                           MethodType concatType,
+                                           String recipe,
+                                           Object... constants) throws StringConcatException {
+        if (lookup == null || name == null || recipe == null || constants == null)
+            throw new NullPointerException();
+        if (!concatType.returnType().isAssignableFrom(String.class)) {
+            throw new StringConcatException("The return type should be compatible with String, but it is " +
+                                            concatType.returnType());
+        }
+        int paramCount = concatType.parameterCount();
+        if (paramCount > MAX_INDY_CONCAT_ARG_SLOTS ||
+                concatType.parameterSlotCount() > MAX_INDY_CONCAT_ARG_SLOTS) {
+            throw new StringConcatException("MethodType should not have more than " +
+                                            MAX_INDY_CONCAT_ARG_SLOTS + " parameters: " + concatType);
+        }
+
+        // Split the recipe into the literal fragments surrounding each
+        // argument: fragments[i] precedes argument i, and fragments[n]
+        // follows the last one.  Constants are appended to the fragment
+        // being built, so that tag characters in them are not interpreted.
+        String[] fragments = new String[paramCount + 1];
+        StringBuilder fragment = new StringBuilder();
+        int argIdx = 0;
+        int cIdx = 0;
+        for (int i = 0; i < recipe.length(); i++) {
+            char c = recipe.charAt(i);
+            if (c == TAG_ARG) {
+                if (argIdx >= paramCount) {
+                    throw new StringConcatException("Mismatched number of concat arguments: recipe wants more than " +
+                                                    paramCount + " arguments");
+                }
+                fragments[argIdx++] = fragment.toString();
+                fragment.setLength(0);
+            } else if (c == TAG_CONST) {
+                if (cIdx >= constants.length) {
+                    throw new StringConcatException("Mismatched number of concat constants: recipe wants more than " +
+                                                    constants.length + " constants");
+                }
+                Object cnst = constants[cIdx++];
+                if (cnst == null)
+                    throw new NullPointerException("Constant is null");
+                fragment.append(cnst);
+            } else {
+                fragment.append(c);
+            }
+        }
+        if (argIdx != paramCount) {
+            throw new StringConcatException("Mismatched number of concat arguments: recipe wants " +
+                                            argIdx + " arguments, but signature provides " + paramCount);
+        }
+        if (cIdx != constants.length) {
+            throw new StringConcatException("Mismatched number of concat constants: recipe wants " +
+                                            cIdx + " constants, but " + constants.length + " are passed");
+        }
+        fragments[paramCount] = fragment.toString();
+
+        return new ConstantCallSite(generate(concatType, fragments));
+    }
+
+    /**
+     * Generates the method handle concatenating arguments of the given
+     * types with the given fragments.  Arguments of reference and
+     * floating-point types are first converted to strings; the others are
+     * written directly.  The method handle then computes the exact length
+     * of the result, allocates a single array, writes the fragments and
+     * arguments into it in order, and wraps it as the result string.
+     */
+    private static MethodHandle generate(MethodType concatType, String[] fragments) {
+        int n = concatType.parameterCount();
+
+        // The argument types once converted, and the converters
+        Class<?>[] ptypes = new Class<?>[n];
+        MethodHandle[] filters = new MethodHandle[n];
+        boolean filtered = false;
+        for (int i = 0; i < n; i++) {
+            Class<?> t = concatType.parameterType(i);
+            MethodHandle filter = stringifier(t);
+            if (filter != null) {
+                filters[i] = filter;
+                filtered = true;
+                t = String.class;
+            }
+            ptypes[i] = t;
+        }
+        MethodType mt = methodType(String.class, ptypes);
+
+        // (A...)int computing the length of the result
+        int fragmentsLength = 0;
+        for (String f : fragments) {
+            fragmentsLength += f.length();
+        }
+        MethodHandle length = MethodHandles.dropArguments(
+                MethodHandles.constant(int.class, fragmentsLength), 0, ptypes);
+        for (int i = 0; i < n; i++) {
+            // length'(args) = mixLength(length(args), args[i])
+            MethodHandle mix = mixer(ptypes[i]);
+            length = MethodHandles.foldArguments(
+                    MethodHandles.permuteArguments(mix,
+                            mt.changeReturnType(int.class).insertParameterTypes(0, int.class),
+                            0, i + 1),
+                    length);
+        }
+
+        // (char[], A...)int writing the fragments and arguments, returning
+        // the index past them
+        MethodType wt = mt.changeReturnType(int.class).insertParameterTypes(0, char[].class);
+        MethodHandle write = MethodHandles.dropArguments(
+                MethodHandles.insertArguments(WRITE_FIRST, 1, fragments[0]), 1, ptypes);
+        for (int i = 0; i < n; i++) {
+            // write'(buf, args) = write(write(buf, args), buf, args[i], fragments[i + 1])
+            MethodHandle w = MethodHandles.insertArguments(writer(ptypes[i]), 3, fragments[i + 1]);
+            write = MethodHandles.foldArguments(
+                    MethodHandles.permuteArguments(w, wt.insertParameterTypes(0, int.class),
+                            0, 1, i + 2),
+                    write);
+        }
+
+        // (A...)String allocating the array, filling it and wrapping it
+        MethodHandle fill = MethodHandles.foldArguments(
+                MethodHandles.permuteArguments(NEW_STRING,
+                        wt.changeReturnType(String.class).insertParameterTypes(0, int.class),
+                        0, 1),
+                write);
+        MethodHandle mh = MethodHandles.foldArguments(fill,
+                MethodHandles.filterReturnValue(length, NEW_ARRAY));
+
+        if (filtered) {
+            mh = MethodHandles.filterArguments(mh, 0, filters);
+        }
+        return mh.asType(concatType);
+    }
+
+    /**
+     * Returns a method handle converting an argument of the given type to
+     * its string representation, as by {@link String#valueOf}, or
+     * {@code null} if arguments of the type are written directly.
+     */
+    private static MethodHandle stringifier(Class<?> t) {
+        if (!t.isPrimitive())
+            return STRINGIFY_OBJECT.asType(methodType(String.class, t));
+        if (t == float.class)
+            return STRINGIFY_FLOAT;
+        if (t == double.class)
+            return STRINGIFY_DOUBLE;
+        return null;
+    }
+
+    /**
+     * Returns the length mixer of arguments of the given type, which is
+     * {@code String} or a primitive type other than {@code float} and
+     * {@code double}.
+     */
+    private static MethodHandle mixer(Class<?> t) {
+        if (t == String.class)
+            return MIX_STRING;
+        if (t == long.class)
+            return MIX_LONG;
+        if (t == char.class)
+            return MIX_CHAR;
+        if (t == boolean.class)
+            return MIX_BOOLEAN;
+        if (t == int.class)
+            return MIX_INT;
+        // byte and short widen to int
+        return MIX_INT.asType(methodType(int.class, int.class, t));
+    }
+
+    /**
+     * Returns the writer of arguments of the given type, which is
+     * {@code String} or a primitive type other than {@code float} and
+     * {@code double}.
+     */
+    private static MethodHandle writer(Class<?> t) {
+        if (t == String.class)
+            return WRITE_STRING;
+        if (t == long.class)
+            return WRITE_LONG;
+        if (t == char.class)
+            return WRITE_CHAR;
+        if (t == boolean.class)
+            return WRITE_BOOLEAN;
+        if (t == int.class)
+            return WRITE_INT;
+        // byte and short widen to int
+        return WRITE_INT.asType(methodType(int.class, int.class, char[].class, t, String.class));
+    }
+
+    // Length mixers: add the length of the string representation of an
+    // argument to the length of the result computed so far
+
+    private static int mixLength(int len, String value) {
+        return checkLength(len + value.length());
+    }
+
+    private static int mixLength(int len, int value) {
+        return checkLength(len + stringSize(value));
+    }
+
+    private static int mixLength(int len, long value) {
+        return checkLength(len + stringSize(value));
+    }
+
+    private static int mixLength(int len, char value) {
+        return checkLength(len + 1);
+    }
+
+    private static int mixLength(int len, boolean value) {
+        return checkLength(len + (value ? 4 : 5));
+    }
+
+    private static int checkLength(int len) {
+        if (len < 0)
+            throw new OutOfMemoryError("Overflow: String length out of range");
+        return len;
+    }
+
+    // Writers: write the string representation of an argument at the given
+    // index, followed by the fragment that follows it, and return the index
+    // past them
+
+    private static int write(int index, char[] buf, String value, String fragment) {
+        value.getChars(0, value.length(), buf, index);
+        return writeFragment(buf, index + value.length(), fragment);
+    }
+
+    private static int write(int index, char[] buf, int value, String fragment) {
+        return write(index, buf, (long) value, fragment);
+    }
+
+    private static int write(int index, char[] buf, long value, String fragment) {
+        int end = index + stringSize(value);
+        // Write the digits backwards from a non-positive value, so that
+        // the most negative value needs no special case
+        long v = value;
+        if (v > 0)
+            v = -v;
+        int p = end;
+        do {
+            buf[--p] = (char) ('0' - (v % 10));
+            v /= 10;
+        } while (v != 0);
+        if (value < 0)
+            buf[--p] = '-';
+        return writeFragment(buf, end, fragment);
+    }
+
+    private static int write(int index, char[] buf, char value, String fragment) {
+        buf[index] = value;
+        return writeFragment(buf, index + 1, fragment);
+    }
+
+    private static int write(int index, char[] buf, boolean value, String fragment) {
+        return write(index, buf, value ? "true" : "false", fragment);
+    }
+
+    private static int writeFirst(char[] buf, String fragment) {
+        return writeFragment(buf, 0, fragment);
+    }
+
+    private static int writeFragment(char[] buf, int index, String fragment) {
+        fragment.getChars(0, fragment.length(), buf, index);
+        return index + fragment.length();
+    }
+
+    private static char[] newArray(int len) {
+        return new char[len];
+    }
+
+    /**
+     * Wraps the filled array as the result string, without copying it.
+     * The index past the last character written is ignored; it is the
+     * length of the array.
+     */
+    private static String newString(int index, char[] buf) {
+        return JLA.newStringUnsafe(buf);
+    }
+
+    /**
+     * Returns the number of characters of the decimal representation of
+     * the given value, including the sign.
+     */
+    private static int stringSize(long value) {
+        int size = (value < 0) ? 2 : 1;
+        long v = (value > 0) ? -value : value;
+        while (v <= -10) {
+            v /= 10;
+            size++;
+        }
+        return size;
+    }
+}
@@ -0,0 +1,481 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.lang.ref;
+
+import java.security.AccessControlContext;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@code Cleaner} manages a set of object references and corresponding
+ * cleaning actions.
+ *
+ * <p> Cleaning actions are {@link #register(Object, Runnable) registered}
+ * to run after the cleaner is notified that the object has become phantom
+ * reachable.  The cleaner uses {@link PhantomReference} and
+ * {@link ReferenceQueue} to be notified when the <a
+ * href="package-summary.html#reachability">reachability</a> changes.
+ *
+ * <p> Each cleaner operates independently, managing the pending cleaning
+ * actions and handling threading and termination when the cleaner is no
+ * longer in use.  Registering an object reference and corresponding
+ * cleaning action returns a {@link Cleanable Cleanable}.  The most
+ * efficient use is to explicitly invoke the {@link Cleanable#clean clean}
+ * method when the object is closed or no longer needed.  The cleaning
+ * action is a {@link Runnable} to be invoked at most once when the object
+ * has become phantom reachable unless it has already been explicitly
+ * cleaned.  Note that the cleaning action must not refer to the object
+ * being registered.  If so, the object will not become phantom reachable
+ * and the cleaning action will not be invoked automatically.
+ *
+ * <p> Unlike finalization, which runs the {@code finalize} methods of all
+ * objects of the virtual machine on a single thread, the cleaning actions
+ * of a cleaner are run by the threads of that cleaner, by as many threads
+ * as requested when the cleaner is {@link #create(int, ThreadFactory)
+ * created}, or by a given {@link #create(Executor) executor}.  Cleaning
+ * actions of one cleaner thus need not wait for those of another, and a
+ * cleaner with several threads keeps up with objects that become phantom
+ * reachable faster than one thread can clean them.  A cleaning action
+ * also does not resurrect its object, whose memory can be reclaimed as
+ * soon as the action is registered to run.
+ *
+ * <p> The execution of the cleaning action is performed by a thread
+ * associated with the cleaner.  All exceptions thrown by the cleaning
+ * action are ignored.  The cleaner and other cleaning actions are not
+ * affected by exceptions in a cleaning action.  The threads run until all
+ * registered cleaning actions are complete and the cleaner itself is
+ * reclaimed by the garbage collector.
+ *
+ * <p> The behavior of cleaners during {@link System#exit(int) System.exit}
+ * is implementation specific.  No guarantees are made relating to whether
+ * cleaning actions are invoked or not.
+ *
+ * <p> Unless otherwise noted, passing a {@code null} argument to a
+ * constructor or method in this class will cause a
+ * {@link NullPointerException} to be thrown.
+ *
+ * @apiNote
+ * The cleaning action is invoked only after the associated object becomes
+ * phantom reachable, so it is important that the object implementing the
+ * cleaning action does not hold references to the object.  In this
+ * example, a static class encapsulates the cleaning state and action.  An
+ * "inner" class, anonymous or not, must not be used because it implicitly
+ * contains a reference to the outer instance, preventing it from becoming
+ * phantom reachable.
+ *
+ * <pre>{@code
+ * public class CleaningExample implements AutoCloseable {
+ *     // A cleaner, preferably one shared within a library
+ *     private static final Cleaner cleaner = Cleaner.create();
+ *
+ *     static class State implements Runnable {
+ *
+ *         State(...) {
+ *             // initialize State needed for cleaning action
+ *         }
+ *
+ *         public void run() {
+ *             // cleanup action accessing State, executed at most once
+ *         }
+ *     }
+ *
+ *     private final State state;
+ *     private final Cleaner.Cleanable cleanable;
+ *
+ *     public CleaningExample() {
+ *         this.state = new State(...);
+ *         this.cleanable = cleaner.register(this, state);
+ *     }
+ *
+ *     public void close() {
+ *         cleanable.clean();
+ *     }
+ * }
+ * }</pre>
+ *
+ * The cleaning action could be a lambda but all too easily will capture
+ * the object reference, by referring to fields of the object being cleaned,
+ * preventing the object from becoming phantom reachable.  Using a static
+ * nested class, as above, will avoid accidentally retaining the object
+ * reference.
+ *
+ * <p> Cleaning actions should be prepared to be invoked concurrently with
+ * other cleaning actions.  Typically the cleaning actions should be very
+ * quick to execute and not block.  If the cleaning action blocks, it may
+ * delay processing other cleaning actions registered to the same cleaner,
+ * unless the cleaner has several threads or an executor.
+ *
+ * @see     PhantomReference
+ * @since   1.8
+ */
+public final class Cleaner {
+
+    /**
+     * The state of this cleaner that is shared with its threads; the
+     * threads do not refer to the cleaner itself.
+     */
+    private final Impl impl;
+
+    private Cleaner(Executor executor) {
+        impl = new Impl(executor, AccessController.getContext());
+    }
+
+    /**
+     * Returns a new {@code Cleaner}.
+     *
+     * <p> The cleaner creates a {@link Thread#setDaemon(boolean) daemon
+     * thread} to process the phantom reachable objects and to invoke
+     * cleaning actions.  The cleaning actions are run with the access
+     * control context in effect when this method is invoked.
+     *
+     * <p> The cleaner terminates when it is phantom reachable and all of
+     * the registered cleaning actions are complete.
+     *
+     * @return a new {@code Cleaner}
+     *
+     * @throws  SecurityException  if the current thread is not allowed to
+     *               create or start the thread.
+     */
+    public static Cleaner create() {
+        return create(1, DefaultThreadFactory.INSTANCE);
+    }
+
+    /**
+     * Returns a new {@code Cleaner} using a {@code Thread} from the
+     * {@code ThreadFactory}.
+     *
+     * <p> A thread from the thread factory's {@link ThreadFactory#newThread
+     * newThread} method is set to be a {@link Thread#setDaemon(boolean)
+     * daemon thread} and started to process phantom reachable objects and
+     * invoke cleaning actions.  On each call the {@link ThreadFactory#newThread
+     * thread factory} must provide a Thread that is suitable for performing
+     * the cleaning actions.
+     *
+     * <p> The cleaner terminates when it is phantom reachable and all of
+     * the registered cleaning actions are complete.
+     *
+     * @param threadFactory a {@code ThreadFactory} to return a new
+     *                      {@code Thread} to process cleaning actions
+     * @return a new {@code Cleaner}
+     *
+     * @throws  IllegalThreadStateException if the thread from the thread
+     *               factory was {@link Thread.State#NEW not a new thread}.
+     * @throws  SecurityException  if the current thread is not allowed to
+     *               create or start the thread.
+     */
+    public static Cleaner create(ThreadFactory threadFactory) {
+        return create(1, threadFactory);
+    }
+
+    /**
+     * Returns a new {@code Cleaner} using the given number of threads from
+     * the {@code ThreadFactory}.
+     *
+     * <p> The threads from the thread factory's {@link ThreadFactory#newThread
+     * newThread} method are set to be {@link Thread#setDaemon(boolean)
+     * daemon threads} and started to process phantom reachable objects and
+     * invoke cleaning actions.  Each phantom reachable object is processed
+     * by one of the threads; the cleaning actions of distinct objects may
+     * thus be run concurrently.
+     *
+     * <p> The cleaner terminates when it is phantom reachable and all of
+     * the registered cleaning actions are complete.
+     *
+     * @param threads the number of threads to process cleaning actions
+     * @param threadFactory a {@code ThreadFactory} to return the new
+     *                      {@code Thread}s to process cleaning actions
+     * @return a new {@code Cleaner}
+     *
+     * @throws  IllegalArgumentException if {@code threads} is not positive
+     * @throws  IllegalThreadStateException if a thread from the thread
+     *               factory was {@link Thread.State#NEW not a new thread}.
+     * @throws  SecurityException  if the current thread is not allowed to
+     *               create or start the threads.
+     */
+    public static Cleaner create(int threads, ThreadFactory threadFactory) {
+        if (threads <= 0)
+            throw new IllegalArgumentException("threads must be positive");
+        Objects.requireNonNull(threadFactory, "threadFactory");
+        Cleaner cleaner = new Cleaner(null);
+        cleaner.impl.start(cleaner, threads, threadFactory);
+        return cleaner;
+    }
+
+    /**
+     * Returns a new {@code Cleaner} that invokes cleaning actions with the
+     * given {@code Executor}.
+     *
+     * <p> The cleaner creates a {@link Thread#setDaemon(boolean) daemon
+     * thread} that only processes the phantom reachable objects: the
+     * cleaning action of each is {@link Executor#execute executed} by the
+     * executor, and invoked by the cleaner's thread if the executor
+     * rejects it.  The executor is not shut down by the cleaner.
+     *
+     * <p> The cleaner terminates when it is phantom reachable and all of
+     * the registered cleaning actions have been handed to the executor.
+     *
+     * @param executor the {@code Executor} to invoke cleaning actions
+     * @return a new {@code Cleaner}
+     *
+     * @throws  SecurityException  if the current thread is not allowed to
+     *               create or start the thread.
+     */
+    public static Cleaner create(Executor executor) {
+        Objects.requireNonNull(executor, "executor");
+        Cleaner cleaner = new Cleaner(executor);
+        cleaner.impl.start(cleaner, 1, DefaultThreadFactory.INSTANCE);
+        return cleaner;
+    }
+
+    /**
+     * Registers an object and a cleaning action to run when the object
+     * becomes phantom reachable.
+     * Refer to the API Note above for cautions about the behavior of
+     * cleaning actions.
+     *
+     * @param obj   the object to monitor
+     * @param action a {@code Runnable} to invoke when the object becomes phantom reachable
+     * @return a {@code Cleanable} instance
+     */
+    public Cleanable register(Object obj, Runnable action) {
+        Objects.requireNonNull(obj, "obj");
+        Objects.requireNonNull(action, "action");
+        return new PhantomCleanable(obj, impl, action);
+    }
+
+    /**
+     * {@code Cleanable} represents an object and a
+     * cleaning action registered in a {@code Cleaner}.
+     *
+     * @since 1.8
+     */
+    public interface Cleanable {
+        /**
+         * Unregisters the cleanable and invokes the cleaning action.
+         * The cleanable's cleaning action is invoked at most once
+         * regardless of the number of calls to {@code clean}.
+         */
+        void clean();
+    }
+
+    /**
+     * The registered objects of a cleaner, and the loop of its threads.
+     */
+    private static final class Impl implements Runnable {
+        final ReferenceQueue<Object> queue = new ReferenceQueue<>();
+
+        /**
+         * The head of the list of pending cleanables, which keeps them
+         * reachable until they are cleaned; also the lock of the list.
+         */
+        final PhantomCleanable list = new PhantomCleanable();
+
+        /**
+         * The executor of the cleaning actions, or null if the threads of
+         * the cleaner invoke them.
+         */
+        private final Executor executor;
+
+        /**
+         * The context of the creator of the cleaner, with which the
+         * cleaning actions are invoked.
+         */
+        private final AccessControlContext acc;
+
+        Impl(Executor executor, AccessControlContext acc) {
+            this.executor = executor;
+            this.acc = acc;
+        }
+
+        /**
+         * Starts the threads of the cleaner.  The cleaner registers itself,
+         * so that the threads keep running until it is phantom reachable.
+         */
+        void start(Cleaner cleaner, int threads, ThreadFactory threadFactory) {
+            new PhantomCleanable(cleaner, this, null);
+            for (int i = 0; i < threads; i++) {
+                Thread thread = threadFactory.newThread(this);
+                thread.setDaemon(true);
+                thread.start();
+            }
+        }
+
+        public void run() {
+            AccessController.doPrivileged(new PrivilegedAction<Void>() {
+                public Void run() {
+                    processQueue();
+                    return null;
+                }
+            }, acc);
+        }
+
+        /**
+         * Cleans the phantom reachable objects until the cleaner and all of
+         * its registered objects have been cleaned.
+         */
+        private void processQueue() {
+            while (!list.isListEmpty()) {
+                try {
+                    // Wake up periodically to check whether the list is empty;
+                    // the last cleanable may have been cleaned by another thread
+                    final Cleanable ref = (Cleanable) queue.remove(60 * 1000L);
+                    if (ref == null)
+                        continue;
+                    if (executor != null) {
+                        try {
+                            executor.execute(new Runnable() {
+                                public void run() {
+                                    ref.clean();
+                                }
+                            });
+                            continue;
+                        } catch (RejectedExecutionException e) {
+                            // Clean in this thread
+                        }
+                    }
+                    ref.clean();
+                } catch (Throwable e) {
+                    // ignore exceptions from the cleanup action
+                    // (including interruption of cleanup thread)
+                }
+            }
+        }
+    }
+
+    /**
+     * A phantom reference to a registered object, linked into the list of
+     * its cleaner until it is cleaned.
+     */
+    private static final class PhantomCleanable
+        extends PhantomReference<Object> implements Cleanable
+    {
+        private final PhantomCleanable list;
+        private final Runnable action;   // null for the cleaner itself
+
+        private PhantomCleanable prev = this, next = this;
+
+        PhantomCleanable(Object referent, Impl impl, Runnable action) {
+            super(referent, impl.queue);
+            this.list = impl.list;
+            this.action = action;
+            insert();
+        }
+
+        /**
+         * Creates the head of a list.
+         */
+        PhantomCleanable() {
+            super(null, null);
+            this.list = this;
+            this.action = null;
+        }
+
+        private void insert() {
+            synchronized (list) {
+                prev = list;
+                next = list.next;
+                next.prev = this;
+                list.next = this;
+            }
+        }
+
+        /**
+         * Removes this cleanable from the list.
+         *
+         * @return true if it was removed, false if it had been removed
+         */
+        private boolean remove() {
+            synchronized (list) {
+                if (next != this) {
+                    next.prev = prev;
+                    prev.next = next;
+                    prev = this;
+                    next = this;
+                    return true;
+                }
+                return false;
+            }
+        }
+
+        /**
+         * Tests whether this list head has no cleanables left.
+         */
+        boolean isListEmpty() {
+            synchronized (list) {
+                return list == list.next;
+            }
+        }
+
+        public void clean() {
+            if (remove()) {
+                super.clear();
+                if (action != null)
+                    action.run();
+            }
+        }
+
+        /**
+         * This method always throws {@link UnsupportedOperationException}.
+         * Enqueuing a cleanable would invoke its action, which is done by
+         * {@link #clean}.
+         */
+        @Override
+        public boolean enqueue() {
+            throw new UnsupportedOperationException("enqueue");
+        }
+    }
+
+    /**
+     * The thread factory of cleaners created without one: daemon threads
+     * of the system thread group that have no context class loader.
+     */
+    private static final class DefaultThreadFactory implements ThreadFactory {
+        static final DefaultThreadFactory INSTANCE = new DefaultThreadFactory();
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        public Thread newThread(final Runnable r) {
+            return AccessController.doPrivileged(new PrivilegedAction<Thread>() {
+                public Thread run() {
+                    ThreadGroup tg = Thread.currentThread().getThreadGroup();
+                    for (ThreadGroup tgn = tg;
+                         tgn != null;
+                         tg = tgn, tgn = tg.getParent());
+                    Thread t = new Thread(tg, r,
+                                          "Cleaner-" + count.getAndIncrement());
+                    t.setContextClassLoader(null);
+                    t.setPriority(Thread.MAX_PRIORITY - 2);
+                    return t;
+                }
+            });
+        }
+    }
+}
@@ -456,8 +456,11 @@ public final class Constructor<T> extends Executable {
         if (tmp != null) {
             constructorAccessor = tmp;
         } else {
-            // Otherwise fabricate one and propagate it up to the root
-            tmp = reflectionFactory.newConstructorAccessor(this);
+            // Otherwise fabricate one and propagate it up to the root,
+            // preferring one that invokes a method handle
+            tmp = MethodHandleAccessor.newConstructorAccessor(root != null ? root : this);
+            if (tmp == null)
+                tmp = reflectionFactory.newConstructorAccessor(this);
             setConstructorAccessor(tmp);
         }
 
@@ -560,8 +560,11 @@ public final class Method extends Executable {
         if (tmp != null) {
             methodAccessor = tmp;
         } else {
-            // Otherwise fabricate one and propagate it up to the root
-            tmp = reflectionFactory.newMethodAccessor(this);
+            // Otherwise fabricate one and propagate it up to the root,
+            // preferring one that invokes a method handle
+            tmp = MethodHandleAccessor.newMethodAccessor(root != null ? root : this);
+            if (tmp == null)
+                tmp = reflectionFactory.newMethodAccessor(this);
             setMethodAccessor(tmp);
         }
 
@@ -0,0 +1,295 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.lang.reflect;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import sun.misc.Unsafe;
+import sun.misc.VM;
+import sun.reflect.ConstructorAccessor;
+import sun.reflect.MethodAccessor;
+import sun.reflect.Reflection;
+
+/** Package-private class creating MethodAccessors and
+    ConstructorAccessors that invoke the underlying member through a
+    direct method handle. Unlike the accessors of the reflection factory,
+    these need no JNI transition while the member is cold and generate no
+    bytecode accessor class when it gets hot: the same handle is used for
+    every invocation. The handle is adapted to Object arguments and result
+    once, when the accessor is created, and members of up to
+    SPECIALIZED_ARITY parameters are invoked with invokeExact on the
+    elements of the argument array, without spreading it. Fields are not
+    handled here; their accessors are Unsafe-based and never generate
+    classes.
+
+    Returns null, leaving it to the reflection factory, where method
+    handles cannot be used: before the VM is booted and until the system
+    class loader is initialized (java.lang.invoke resolves its own
+    descriptors with it), for members of the method handle implementation
+    itself (which would recurse), for caller-sensitive methods (which would
+    see the method handle implementation as their caller), for
+    constructors of abstract classes and of Class, and if the system
+    property sun.reflect.useNativeAccessorOnly is "true". */
+
+final class MethodHandleAccessor {
+    private MethodHandleAccessor() {}
+
+    private static final Unsafe unsafe = Unsafe.getUnsafe();
+
+    // Read once the VM is booted
+    private static class Holder {
+        static final boolean nativeAccessorOnly =
+            "true".equals(VM.getSavedProperty("sun.reflect.useNativeAccessorOnly"));
+    }
+
+    // The greatest number of parameters for which the arguments are passed
+    // to invokeExact one by one; more are spread from the array
+    private static final int SPECIALIZED_ARITY = 4;
+
+    // ClassLoader.sclSet, which is set once the system class loader is
+    // initialized and never cleared
+    private static final Object SCL_SET_BASE;
+    private static final long SCL_SET_OFFSET;
+    private static volatile boolean systemClassLoaderSet;
+
+    static {
+        try {
+            Field f = ClassLoader.class.getDeclaredField("sclSet");
+            SCL_SET_BASE = unsafe.staticFieldBase(f);
+            SCL_SET_OFFSET = unsafe.staticFieldOffset(f);
+        } catch (NoSuchFieldException e) {
+            throw new InternalError(e);
+        }
+    }
+
+    private static boolean systemClassLoaderSet() {
+        if (!systemClassLoaderSet &&
+            unsafe.getBooleanVolatile(SCL_SET_BASE, SCL_SET_OFFSET))
+            systemClassLoaderSet = true;
+        return systemClassLoaderSet;
+    }
+
+    private static boolean useMethodHandle(Class<?> declaringClass) {
+        if (!VM.isBooted() || !systemClassLoaderSet() ||
+            Holder.nativeAccessorOnly)
+            return false;
+        String name = declaringClass.getName();
+        return !name.startsWith("java.lang.invoke.") &&
+               !name.startsWith("sun.invoke.");
+    }
+
+    // The method and constructor given are roots, which can be copied
+    static MethodAccessor newMethodAccessor(Method method) {
+        Class<?> clazz = method.getDeclaringClass();
+        if (!useMethodHandle(clazz))
+            return null;
+        if (Reflection.isCallerSensitive(method))
+            return null;
+        boolean isStatic = Modifier.isStatic(method.getModifiers());
+        Class<?>[] ptypes = method.getParameterTypes();
+        MethodHandle target;
+        try {
+            // An accessible copy is unreflected without access checks
+            Method m = method.copy();
+            m.override = true;
+            target = MethodHandles.publicLookup().unreflect(m);
+            if (isStatic)
+                target = MethodHandles.dropArguments(target, 0, Object.class);
+            target = target.asType(MethodType.genericMethodType(ptypes.length + 1));
+            if (ptypes.length > SPECIALIZED_ARITY)
+                target = target.asSpreader(Object[].class, ptypes.length);
+        } catch (IllegalAccessException | IllegalArgumentException e) {
+            return null;
+        }
+        if (isStatic) {
+            // Throw ExceptionInInitializerError as is, rather than
+            // wrapped from the invocation
+            unsafe.ensureClassInitialized(clazz);
+        }
+        return new MethodAccessorImpl(target, clazz, ptypes, isStatic);
+    }
+
+    static ConstructorAccessor newConstructorAccessor(Constructor<?> c) {
+        Class<?> clazz = c.getDeclaringClass();
+        if (!useMethodHandle(clazz) ||
+            Modifier.isAbstract(clazz.getModifiers()) ||
+            clazz == Class.class)
+            return null;
+        Class<?>[] ptypes = c.getParameterTypes();
+        MethodHandle target;
+        try {
+            // An accessible copy is unreflected without access checks
+            Constructor<?> m = c.copy();
+            m.override = true;
+            target = MethodHandles.publicLookup().unreflectConstructor(m)
+                .asType(MethodType.genericMethodType(ptypes.length));
+            if (ptypes.length > SPECIALIZED_ARITY)
+                target = target.asSpreader(Object[].class, ptypes.length);
+        } catch (IllegalAccessException | IllegalArgumentException e) {
+            return null;
+        }
+        unsafe.ensureClassInitialized(clazz);
+        return new ConstructorAccessorImpl(target, ptypes);
+    }
+
+    // The argument conversions of MethodHandle.asType from Object are
+    // those of core reflection, but a failed conversion must be reported
+    // as an IllegalArgumentException, not as an exception of the member,
+    // so the arguments are checked before the invocation
+    private static void checkArguments(Class<?>[] ptypes, Object[] args) {
+        int n = (args == null) ? 0 : args.length;
+        if (n != ptypes.length)
+            throw new IllegalArgumentException("wrong number of arguments");
+        for (int i = 0; i < n; i++) {
+            Class<?> t = ptypes[i];
+            Object a = args[i];
+            if (t.isPrimitive() ? !isWidenable(a, t)
+                                : (a != null && !t.isInstance(a)))
+                throw new IllegalArgumentException("argument type mismatch");
+        }
+    }
+
+    // Tests whether a is a wrapper whose value converts to primitive
+    // type t by identity or widening
+    private static boolean isWidenable(Object a, Class<?> t) {
+        if (a == null)
+            return false;
+        Class<?> w = a.getClass();
+        if (w == Integer.class)
+            return t == int.class || t == long.class ||
+                   t == float.class || t == double.class;
+        if (w == Long.class)
+            return t == long.class || t == float.class || t == double.class;
+        if (w == Double.class)
+            return t == double.class;
+        if (w == Boolean.class)
+            return t == boolean.class;
+        if (w == Float.class)
+            return t == float.class || t == double.class;
+        if (w == Character.class)
+            return t == char.class || t == int.class || t == long.class ||
+                   t == float.class || t == double.class;
+        if (w == Byte.class)
+            return t != boolean.class && t != char.class;
+        if (w == Short.class)
+            return t != boolean.class && t != char.class && t != byte.class;
+        return false;
+    }
+
+    static final class MethodAccessorImpl implements MethodAccessor {
+        // (Object, Object...)Object for each parameter, or
+        // (Object, Object[])Object past SPECIALIZED_ARITY
+        private final MethodHandle target;
+        private final Class<?> declaringClass;
+        private final Class<?>[] ptypes;
+        private final boolean isStatic;
+
+        MethodAccessorImpl(MethodHandle target, Class<?> declaringClass,
+                           Class<?>[] ptypes, boolean isStatic) {
+            this.target = target;
+            this.declaringClass = declaringClass;
+            this.ptypes = ptypes;
+            this.isStatic = isStatic;
+        }
+
+        public Object invoke(Object obj, Object[] args)
+            throws IllegalArgumentException, InvocationTargetException
+        {
+            if (!isStatic) {
+                if (obj == null)
+                    throw new NullPointerException();
+                if (!declaringClass.isInstance(obj))
+                    throw new IllegalArgumentException(
+                        "object is not an instance of declaring class");
+            }
+            checkArguments(ptypes, args);
+            try {
+                return invokeImpl(obj, args);
+            } catch (Throwable t) {
+                throw new InvocationTargetException(t);
+            }
+        }
+
+        private Object invokeImpl(Object obj, Object[] args) throws Throwable {
+            switch (ptypes.length) {
+                case 0:
+                    return (Object) target.invokeExact(obj);
+                case 1:
+                    return (Object) target.invokeExact(obj, args[0]);
+                case 2:
+                    return (Object) target.invokeExact(obj, args[0], args[1]);
+                case 3:
+                    return (Object) target.invokeExact(obj, args[0], args[1], args[2]);
+                case 4:
+                    return (Object) target.invokeExact(obj, args[0], args[1], args[2], args[3]);
+                default:
+                    return (Object) target.invokeExact(obj, args);
+            }
+        }
+    }
+
+    static final class ConstructorAccessorImpl implements ConstructorAccessor {
+        // (Object...)Object for each parameter, or
+        // (Object[])Object past SPECIALIZED_ARITY
+        private final MethodHandle target;
+        private final Class<?>[] ptypes;
+
+        ConstructorAccessorImpl(MethodHandle target, Class<?>[] ptypes) {
+            this.target = target;
+            this.ptypes = ptypes;
+        }
+
+        public Object newInstance(Object[] args)
+            throws InstantiationException, IllegalArgumentException,
+                   InvocationTargetException
+        {
+            checkArguments(ptypes, args);
+            try {
+                return newInstanceImpl(args);
+            } catch (Throwable t) {
+                throw new InvocationTargetException(t);
+            }
+        }
+
+        private Object newInstanceImpl(Object[] args) throws Throwable {
+            switch (ptypes.length) {
+                case 0:
+                    return (Object) target.invokeExact();
+                case 1:
+                    return (Object) target.invokeExact(args[0]);
+                case 2:
+                    return (Object) target.invokeExact(args[0], args[1]);
+                case 3:
+                    return (Object) target.invokeExact(args[0], args[1], args[2]);
+                case 4:
+                    return (Object) target.invokeExact(args[0], args[1], args[2], args[3]);
+                default:
+                    return (Object) target.invokeExact(args);
+            }
+        }
+    }
+}
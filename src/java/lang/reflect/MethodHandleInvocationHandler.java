@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.lang.reflect;
+
+import java.lang.invoke.MethodHandle;
+
+/**
+ * {@code MethodHandleInvocationHandler} is an invocation handler that
+ * provides a method handle for each method of a proxy class, rather than
+ * processing encoded method invocations.
+ *
+ * <p>A proxy instance created by {@link Proxy#newProxyInstance
+ * Proxy.newProxyInstance} with a {@code MethodHandleInvocationHandler}
+ * asks the handler, when it is created, to {@linkplain #bind bind} each
+ * method of its proxy class to a method handle.  A method invocation on
+ * the proxy instance then invokes the bound method handle directly with
+ * the proxy instance and the arguments of the invocation: no array of
+ * arguments is created, and arguments of primitive types are not wrapped.
+ *
+ * <p>The proxy class of such a proxy instance has the properties described
+ * in {@link Proxy}, but it is distinct from the proxy class returned by
+ * {@link Proxy#getProxyClass Proxy.getProxyClass} for the same class
+ * loader and interfaces.  Its constructor must be passed a
+ * {@code MethodHandleInvocationHandler}; otherwise it throws
+ * {@code ClassCastException}.  The proxy class returned by
+ * {@code getProxyClass} may be instantiated with a
+ * {@code MethodHandleInvocationHandler}, in which case methods are
+ * dispatched through the {@link #invoke invoke} method of this interface.
+ *
+ * @see         Proxy
+ * @since       1.8
+ */
+public interface MethodHandleInvocationHandler extends InvocationHandler {
+
+    /**
+     * Returns the method handle to which invocations of the given method
+     * on a proxy instance associated with this handler are dispatched.
+     * This method is invoked once for each method of the proxy class when
+     * the proxy instance is created, before the proxy instance is
+     * returned to the creator.
+     *
+     * <p>The {@code Method} object passed for a method, and for methods
+     * duplicated in multiple proxy interfaces, is the one that would be
+     * passed to {@link InvocationHandler#invoke InvocationHandler.invoke}.
+     *
+     * <p>The method handle is invoked with the proxy instance as its first
+     * argument, followed by the arguments of the method invocation.  Its
+     * type must be convertible by {@link MethodHandle#asType asType} to
+     * the type of the method with a leading {@code Object} parameter; for
+     * example, the method handle bound to
+     * {@code int compare(String, String)} may be of type
+     * {@code (Object,String,String)int}.  The method handle may throw any
+     * exception that {@code InvocationHandler.invoke} may throw, with the
+     * same effect on the method invocation on the proxy instance.
+     *
+     * @param   method the {@code Method} instance corresponding to
+     * a method of the proxy class
+     *
+     * @return  the method handle that implements the method for proxy
+     * instances associated with this handler
+     *
+     * @see     MethodHandle#asType
+     */
+    MethodHandle bind(Method method);
+
+    /**
+     * Processes a method invocation on a proxy instance by invoking the
+     * method handle to which the method is {@linkplain #bind bound} with
+     * the proxy instance and the given arguments, converted as by
+     * {@link MethodHandle#invokeWithArguments invokeWithArguments}.
+     *
+     * <p>This method is only invoked for proxy instances of a proxy class
+     * returned by {@link Proxy#getProxyClass Proxy.getProxyClass}, and it
+     * binds the method again on each invocation.
+     *
+     * @param   proxy the proxy instance that the method was invoked on
+     * @param   method the {@code Method} instance corresponding to
+     * the interface method invoked on the proxy instance
+     * @param   args an array of objects containing the values of the
+     * arguments passed in the method invocation on the proxy instance,
+     * or {@code null} if interface method takes no arguments
+     * @return  the value returned by the method handle, with a primitive
+     * value wrapped in an instance of the corresponding wrapper class
+     * @throws  Throwable the exception thrown by the method handle
+     */
+    @Override
+    default Object invoke(Object proxy, Method method, Object[] args)
+        throws Throwable
+    {
+        int n = (args == null) ? 0 : args.length;
+        Object[] arguments = new Object[n + 1];
+        arguments[0] = proxy;
+        if (n > 0) {
+            System.arraycopy(args, 0, arguments, 1, n);
+        }
+        return bind(method).invokeWithArguments(arguments);
+    }
+}
@@ -0,0 +1,599 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.lang.reflect;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Map;
+import jdk.internal.org.objectweb.asm.ClassWriter;
+import jdk.internal.org.objectweb.asm.Label;
+import jdk.internal.org.objectweb.asm.MethodVisitor;
+import jdk.internal.org.objectweb.asm.Type;
+
+import static jdk.internal.org.objectweb.asm.Opcodes.*;
+
+/**
+ * Generates the proxy classes of proxy instances created with a
+ * {@link MethodHandleInvocationHandler}.  The proxy class has the methods
+ * that sun.misc.ProxyGenerator generates for the same interfaces, with the
+ * same {@code Method} objects, throws clauses and wrapping of undeclared
+ * checked exceptions, but each method invokes a method handle that the
+ * handler bound when the proxy instance was created:
+ *
+ * <pre>
+ *     public final class $Proxy42 extends Proxy implements Foo {
+ *         private static final Method[] methods = { ... };
+ *         private final transient MethodHandle[] handles;
+ *
+ *         public $Proxy42(InvocationHandler h) {
+ *             super(h);
+ *             MethodHandleInvocationHandler mh = (MethodHandleInvocationHandler) h;
+ *             handles = new MethodHandle[] {
+ *                 mh.bind(methods[0]).asType(methodType(int.class, Object.class)),
+ *                 ...
+ *             };
+ *         }
+ *
+ *         public final int compare(String a, String b) throws IOException {
+ *             try {
+ *                 return (int) handles[3].invokeExact((Object) this,
+ *                                                     (Object) a, (Object) b);
+ *             } catch (Error | RuntimeException | IOException e) {
+ *                 throw e;
+ *             } catch (Throwable t) {
+ *                 throw new UndeclaredThrowableException(t);
+ *             }
+ *         }
+ *         ...
+ *     }
+ * </pre>
+ *
+ * Reference types are erased to {@code Object} in the invocations of the
+ * method handles, whose types then resolve from the proxy class however
+ * accessible the parameter types are; the method handles are adapted to
+ * the erased types when they are bound.
+ */
+final class MethodHandleProxyGenerator {
+
+    private static final int CLASSFILE_VERSION = 52;
+    private static final String JAVA_LANG_OBJECT = "java/lang/Object";
+    private static final String JAVA_LANG_CLASS = "java/lang/Class";
+    private static final String JAVA_LANG_THROWABLE = "java/lang/Throwable";
+    private static final String NAME_PROXY = "java/lang/reflect/Proxy";
+    private static final String NAME_METHOD = "java/lang/reflect/Method";
+    private static final String NAME_HANDLER = "java/lang/reflect/MethodHandleInvocationHandler";
+    private static final String NAME_METHOD_HANDLE = "java/lang/invoke/MethodHandle";
+    private static final String NAME_UNDECLARED = "java/lang/reflect/UndeclaredThrowableException";
+    private static final String DESCR_METHOD_HANDLE = "Ljava/lang/invoke/MethodHandle;";
+    private static final String DESCR_METHODS = "[Ljava/lang/reflect/Method;";
+    private static final String DESCR_HANDLES = "[Ljava/lang/invoke/MethodHandle;";
+    private static final String DESCR_CTOR = "(Ljava/lang/reflect/InvocationHandler;)V";
+    private static final String DESCR_OBJECT = "Ljava/lang/Object;";
+    private static final String FIELD_METHODS = "methods";
+    private static final String FIELD_HANDLES = "handles";
+
+    /* preloaded Method objects for methods in java.lang.Object */
+    private static final Method hashCodeMethod;
+    private static final Method equalsMethod;
+    private static final Method toStringMethod;
+    static {
+        try {
+            hashCodeMethod = Object.class.getMethod("hashCode");
+            equalsMethod = Object.class.getMethod("equals", Object.class);
+            toStringMethod = Object.class.getMethod("toString");
+        } catch (NoSuchMethodException e) {
+            throw new NoSuchMethodError(e.getMessage());
+        }
+    }
+
+    /**
+     * Generates a proxy class for the given interfaces, to be instantiated
+     * with a MethodHandleInvocationHandler.
+     */
+    static byte[] generateProxyClass(String name, Class<?>[] interfaces,
+                                     int accessFlags) {
+        return new MethodHandleProxyGenerator(name, interfaces, accessFlags)
+                .generateClassFile();
+    }
+
+    private final String className;
+    private final Class<?>[] interfaces;
+    private final int accessFlags;
+
+    /* proxy methods by name and parameter descriptor */
+    private final Map<String, List<ProxyMethod>> proxyMethods = new LinkedHashMap<>();
+
+    /* proxy methods in the order of the methods and handles arrays */
+    private final List<ProxyMethod> methods = new ArrayList<>();
+
+    private MethodHandleProxyGenerator(String className, Class<?>[] interfaces,
+                                       int accessFlags) {
+        this.className = className.replace('.', '/');
+        this.interfaces = interfaces;
+        this.accessFlags = accessFlags;
+    }
+
+    private byte[] generateClassFile() {
+        /*
+         * The methods of java.lang.Object come first, so that their
+         * Method objects are those of Object when a proxy interface
+         * declares them too.
+         */
+        addProxyMethod(hashCodeMethod, Object.class);
+        addProxyMethod(equalsMethod, Object.class);
+        addProxyMethod(toStringMethod, Object.class);
+        for (Class<?> intf : interfaces) {
+            for (Method m : intf.getMethods()) {
+                if (!Modifier.isStatic(m.getModifiers())) {
+                    addProxyMethod(m, intf);
+                }
+            }
+        }
+        for (List<ProxyMethod> sigmethods : proxyMethods.values()) {
+            checkReturnTypes(sigmethods);
+            methods.addAll(sigmethods);
+        }
+        if (methods.size() > 65535) {
+            throw new IllegalArgumentException("method limit exceeded");
+        }
+
+        String[] interfaceNames = new String[interfaces.length];
+        for (int i = 0; i < interfaces.length; i++) {
+            interfaceNames[i] = Type.getInternalName(interfaces[i]);
+        }
+
+        ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS + ClassWriter.COMPUTE_FRAMES);
+        cw.visit(CLASSFILE_VERSION, accessFlags | ACC_SUPER, className, null,
+                 NAME_PROXY, interfaceNames);
+        cw.visitField(ACC_PRIVATE + ACC_STATIC + ACC_FINAL, FIELD_METHODS,
+                      DESCR_METHODS, null, null).visitEnd();
+        cw.visitField(ACC_PRIVATE + ACC_FINAL + ACC_TRANSIENT, FIELD_HANDLES,
+                      DESCR_HANDLES, null, null).visitEnd();
+        generateConstructor(cw);
+        for (int i = 0; i < methods.size(); i++) {
+            generateMethod(cw, methods.get(i), i);
+        }
+        generateStaticInitializer(cw);
+        cw.visitEnd();
+        try {
+            return cw.toByteArray();
+        } catch (RuntimeException e) {
+            // a method exceeds the code size limit
+            throw new IllegalArgumentException(e.toString());
+        }
+    }
+
+    /**
+     * Adds a method to the proxy class, or merges its exception types
+     * with those of a method of the same signature and return type from
+     * a preceding interface.
+     */
+    private void addProxyMethod(Method m, Class<?> fromClass) {
+        String name = m.getName();
+        Class<?>[] parameterTypes = m.getParameterTypes();
+        Class<?> returnType = m.getReturnType();
+        Class<?>[] exceptionTypes = m.getExceptionTypes();
+
+        StringBuilder sig = new StringBuilder(name).append('(');
+        for (Class<?> p : parameterTypes) {
+            sig.append(Type.getDescriptor(p));
+        }
+        List<ProxyMethod> sigmethods = proxyMethods.get(sig.toString());
+        if (sigmethods != null) {
+            for (ProxyMethod pm : sigmethods) {
+                if (returnType == pm.returnType) {
+                    /*
+                     * Only the exception types that can be thrown by both
+                     * methods may be thrown by the proxy method.
+                     */
+                    List<Class<?>> legalExceptions = new ArrayList<>();
+                    collectCompatibleTypes(exceptionTypes, pm.exceptionTypes,
+                                           legalExceptions);
+                    collectCompatibleTypes(pm.exceptionTypes, exceptionTypes,
+                                           legalExceptions);
+                    pm.exceptionTypes = legalExceptions.toArray(
+                        new Class<?>[legalExceptions.size()]);
+                    return;
+                }
+            }
+        } else {
+            sigmethods = new ArrayList<>(3);
+            proxyMethods.put(sig.toString(), sigmethods);
+        }
+        sigmethods.add(new ProxyMethod(name, parameterTypes, returnType,
+                                       exceptionTypes, fromClass));
+    }
+
+    /**
+     * Checks that the methods of the same signature have return types
+     * of which one is assignable to all the others.
+     */
+    private static void checkReturnTypes(List<ProxyMethod> methods) {
+        if (methods.size() < 2) {
+            return;
+        }
+        LinkedList<Class<?>> uncoveredReturnTypes = new LinkedList<>();
+    nextNewReturnType:
+        for (ProxyMethod pm : methods) {
+            Class<?> newReturnType = pm.returnType;
+            if (newReturnType.isPrimitive()) {
+                throw new IllegalArgumentException(
+                    "methods with same signature " + pm.signature() +
+                    " but incompatible return types: " +
+                    newReturnType.getName() + " and others");
+            }
+            boolean added = false;
+            ListIterator<Class<?>> liter = uncoveredReturnTypes.listIterator();
+            while (liter.hasNext()) {
+                Class<?> uncoveredReturnType = liter.next();
+                if (newReturnType.isAssignableFrom(uncoveredReturnType)) {
+                    continue nextNewReturnType;
+                }
+                if (uncoveredReturnType.isAssignableFrom(newReturnType)) {
+                    if (!added) {
+                        liter.set(newReturnType);
+                        added = true;
+                    } else {
+                        liter.remove();
+                    }
+                }
+            }
+            if (!added) {
+                uncoveredReturnTypes.add(newReturnType);
+            }
+        }
+        if (uncoveredReturnTypes.size() > 1) {
+            throw new IllegalArgumentException(
+                "methods with same signature " + methods.get(0).signature() +
+                " but incompatible return types: " + uncoveredReturnTypes);
+        }
+    }
+
+    /**
+     * Adds to list the types of from that are assignable to a type of
+     * with.
+     */
+    private static void collectCompatibleTypes(Class<?>[] from, Class<?>[] with,
+                                               List<Class<?>> list) {
+        for (Class<?> fc : from) {
+            if (!list.contains(fc)) {
+                for (Class<?> wc : with) {
+                    if (wc.isAssignableFrom(fc)) {
+                        list.add(fc);
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the exception types to rethrow as is: Error,
+     * RuntimeException and the declared exception types, without
+     * subclasses of one another.  An empty list means that all exceptions
+     * are rethrown.
+     */
+    private static List<Class<?>> computeUniqueCatchList(Class<?>[] exceptions) {
+        List<Class<?>> uniqueList = new ArrayList<>();
+        uniqueList.add(Error.class);
+        uniqueList.add(RuntimeException.class);
+    nextException:
+        for (Class<?> ex : exceptions) {
+            if (ex.isAssignableFrom(Throwable.class)) {
+                uniqueList.clear();
+                break;
+            } else if (!Throwable.class.isAssignableFrom(ex)) {
+                continue;
+            }
+            for (int j = 0; j < uniqueList.size();) {
+                Class<?> ex2 = uniqueList.get(j);
+                if (ex2.isAssignableFrom(ex)) {
+                    continue nextException;
+                } else if (ex.isAssignableFrom(ex2)) {
+                    uniqueList.remove(j);
+                } else {
+                    j++;
+                }
+            }
+            uniqueList.add(ex);
+        }
+        return uniqueList;
+    }
+
+    /**
+     * Generates the constructor, which binds the methods of the proxy
+     * class with the invocation handler.
+     */
+    private void generateConstructor(ClassWriter cw) {
+        MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, "<init>", DESCR_CTOR, null, null);
+        mv.visitCode();
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitVarInsn(ALOAD, 1);
+        mv.visitMethodInsn(INVOKESPECIAL, NAME_PROXY, "<init>", DESCR_CTOR, false);
+        mv.visitVarInsn(ALOAD, 1);
+        mv.visitTypeInsn(CHECKCAST, NAME_HANDLER);
+        mv.visitVarInsn(ASTORE, 2);
+
+        mv.visitVarInsn(ALOAD, 0);
+        pushInt(mv, methods.size());
+        mv.visitTypeInsn(ANEWARRAY, NAME_METHOD_HANDLE);
+        for (int i = 0; i < methods.size(); i++) {
+            mv.visitInsn(DUP);
+            pushInt(mv, i);
+            mv.visitVarInsn(ALOAD, 2);
+            mv.visitFieldInsn(GETSTATIC, className, FIELD_METHODS, DESCR_METHODS);
+            pushInt(mv, i);
+            mv.visitInsn(AALOAD);
+            mv.visitMethodInsn(INVOKEINTERFACE, NAME_HANDLER, "bind",
+                               "(Ljava/lang/reflect/Method;)" + DESCR_METHOD_HANDLE, true);
+            mv.visitLdcInsn(Type.getMethodType(methods.get(i).erasedDescriptor()));
+            mv.visitMethodInsn(INVOKEVIRTUAL, NAME_METHOD_HANDLE, "asType",
+                               "(Ljava/lang/invoke/MethodType;)" + DESCR_METHOD_HANDLE, false);
+            mv.visitInsn(AASTORE);
+        }
+        mv.visitFieldInsn(PUTFIELD, className, FIELD_HANDLES, DESCR_HANDLES);
+        mv.visitInsn(RETURN);
+        mv.visitMaxs(-1, -1);
+        mv.visitEnd();
+    }
+
+    /**
+     * Generates a proxy method, which invokes its bound method handle.
+     */
+    private void generateMethod(ClassWriter cw, ProxyMethod pm, int index) {
+        String[] exceptions = new String[pm.exceptionTypes.length];
+        for (int i = 0; i < exceptions.length; i++) {
+            exceptions[i] = Type.getInternalName(pm.exceptionTypes[i]);
+        }
+        MethodVisitor mv = cw.visitMethod(ACC_PUBLIC + ACC_FINAL, pm.name,
+                                          pm.descriptor(), null, exceptions);
+        mv.visitCode();
+
+        List<Class<?>> catchList = computeUniqueCatchList(pm.exceptionTypes);
+        Label tryStart = new Label();
+        Label tryEnd = new Label();
+        Label[] rethrow = new Label[catchList.size()];
+        Label wrap = new Label();
+        if (!catchList.isEmpty()) {
+            for (int i = 0; i < rethrow.length; i++) {
+                rethrow[i] = new Label();
+                mv.visitTryCatchBlock(tryStart, tryEnd, rethrow[i],
+                                      Type.getInternalName(catchList.get(i)));
+            }
+            mv.visitTryCatchBlock(tryStart, tryEnd, wrap, JAVA_LANG_THROWABLE);
+        }
+
+        mv.visitLabel(tryStart);
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitFieldInsn(GETFIELD, className, FIELD_HANDLES, DESCR_HANDLES);
+        pushInt(mv, index);
+        mv.visitInsn(AALOAD);
+        mv.visitVarInsn(ALOAD, 0);
+        int slot = 1;
+        for (Class<?> p : pm.parameterTypes) {
+            Type t = Type.getType(p);
+            mv.visitVarInsn(t.getOpcode(ILOAD), slot);
+            slot += t.getSize();
+        }
+        mv.visitMethodInsn(INVOKEVIRTUAL, NAME_METHOD_HANDLE, "invokeExact",
+                           pm.erasedDescriptor(), false);
+        Class<?> rtype = pm.returnType;
+        if (!rtype.isPrimitive() && rtype != Object.class) {
+            mv.visitTypeInsn(CHECKCAST, Type.getInternalName(rtype));
+        }
+        mv.visitInsn(Type.getType(rtype).getOpcode(IRETURN));
+        mv.visitLabel(tryEnd);
+
+        if (!catchList.isEmpty()) {
+            for (Label l : rethrow) {
+                mv.visitLabel(l);
+                mv.visitInsn(ATHROW);
+            }
+            mv.visitLabel(wrap);
+            mv.visitVarInsn(ASTORE, slot);
+            mv.visitTypeInsn(NEW, NAME_UNDECLARED);
+            mv.visitInsn(DUP);
+            mv.visitVarInsn(ALOAD, slot);
+            mv.visitMethodInsn(INVOKESPECIAL, NAME_UNDECLARED, "<init>",
+                               "(Ljava/lang/Throwable;)V", false);
+            mv.visitInsn(ATHROW);
+        }
+        mv.visitMaxs(-1, -1);
+        mv.visitEnd();
+    }
+
+    /**
+     * Generates the static initializer, which looks up the Method objects
+     * as sun.misc.ProxyGenerator does: through Class.forName from the proxy
+     * class, which may name classes that it cannot access directly.
+     */
+    private void generateStaticInitializer(ClassWriter cw) {
+        MethodVisitor mv = cw.visitMethod(ACC_STATIC, "<clinit>", "()V", null, null);
+        mv.visitCode();
+        Label tryStart = new Label();
+        Label tryEnd = new Label();
+        Label noSuchMethod = new Label();
+        Label classNotFound = new Label();
+        mv.visitTryCatchBlock(tryStart, tryEnd, noSuchMethod,
+                              "java/lang/NoSuchMethodException");
+        mv.visitTryCatchBlock(tryStart, tryEnd, classNotFound,
+                              "java/lang/ClassNotFoundException");
+
+        mv.visitLabel(tryStart);
+        pushInt(mv, methods.size());
+        mv.visitTypeInsn(ANEWARRAY, NAME_METHOD);
+        for (int i = 0; i < methods.size(); i++) {
+            ProxyMethod pm = methods.get(i);
+            mv.visitInsn(DUP);
+            pushInt(mv, i);
+            pushClass(mv, pm.fromClass);
+            mv.visitLdcInsn(pm.name);
+            pushInt(mv, pm.parameterTypes.length);
+            mv.visitTypeInsn(ANEWARRAY, JAVA_LANG_CLASS);
+            for (int j = 0; j < pm.parameterTypes.length; j++) {
+                mv.visitInsn(DUP);
+                pushInt(mv, j);
+                pushClass(mv, pm.parameterTypes[j]);
+                mv.visitInsn(AASTORE);
+            }
+            mv.visitMethodInsn(INVOKEVIRTUAL, JAVA_LANG_CLASS, "getMethod",
+                               "(Ljava/lang/String;[Ljava/lang/Class;)Ljava/lang/reflect/Method;",
+                               false);
+            mv.visitInsn(AASTORE);
+        }
+        mv.visitFieldInsn(PUTSTATIC, className, FIELD_METHODS, DESCR_METHODS);
+        mv.visitInsn(RETURN);
+        mv.visitLabel(tryEnd);
+
+        throwError(mv, noSuchMethod, "java/lang/NoSuchMethodError");
+        throwError(mv, classNotFound, "java/lang/NoClassDefFoundError");
+        mv.visitMaxs(-1, -1);
+        mv.visitEnd();
+    }
+
+    /**
+     * Generates a handler throwing an error of the given class with the
+     * message of the exception caught.
+     */
+    private static void throwError(MethodVisitor mv, Label handler, String errorClass) {
+        mv.visitLabel(handler);
+        mv.visitVarInsn(ASTORE, 0);
+        mv.visitTypeInsn(NEW, errorClass);
+        mv.visitInsn(DUP);
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitMethodInsn(INVOKEVIRTUAL, JAVA_LANG_THROWABLE, "getMessage",
+                           "()Ljava/lang/String;", false);
+        mv.visitMethodInsn(INVOKESPECIAL, errorClass, "<init>",
+                           "(Ljava/lang/String;)V", false);
+        mv.visitInsn(ATHROW);
+    }
+
+    /**
+     * Generates code pushing the Class object of the given type: the TYPE
+     * field of its wrapper class for a primitive type, and the result of
+     * Class.forName otherwise.
+     */
+    private static void pushClass(MethodVisitor mv, Class<?> c) {
+        if (c.isPrimitive()) {
+            String wrapper;
+            if (c == int.class) {
+                wrapper = "java/lang/Integer";
+            } else if (c == boolean.class) {
+                wrapper = "java/lang/Boolean";
+            } else if (c == byte.class) {
+                wrapper = "java/lang/Byte";
+            } else if (c == char.class) {
+                wrapper = "java/lang/Character";
+            } else if (c == short.class) {
+                wrapper = "java/lang/Short";
+            } else if (c == long.class) {
+                wrapper = "java/lang/Long";
+            } else if (c == float.class) {
+                wrapper = "java/lang/Float";
+            } else if (c == double.class) {
+                wrapper = "java/lang/Double";
+            } else {
+                throw new AssertionError(c);
+            }
+            mv.visitFieldInsn(GETSTATIC, wrapper, "TYPE", "Ljava/lang/Class;");
+        } else {
+            mv.visitLdcInsn(c.getName());
+            mv.visitMethodInsn(INVOKESTATIC, JAVA_LANG_CLASS, "forName",
+                               "(Ljava/lang/String;)Ljava/lang/Class;", false);
+        }
+    }
+
+    private static void pushInt(MethodVisitor mv, int value) {
+        if (value <= 5) {
+            mv.visitInsn(ICONST_0 + value);
+        } else if (value <= Byte.MAX_VALUE) {
+            mv.visitIntInsn(BIPUSH, value);
+        } else if (value <= Short.MAX_VALUE) {
+            mv.visitIntInsn(SIPUSH, value);
+        } else {
+            mv.visitLdcInsn(value);
+        }
+    }
+
+    /**
+     * A method of the proxy class.
+     */
+    private static final class ProxyMethod {
+        final String name;
+        final Class<?>[] parameterTypes;
+        final Class<?> returnType;
+        Class<?>[] exceptionTypes;
+        final Class<?> fromClass;
+
+        ProxyMethod(String name, Class<?>[] parameterTypes, Class<?> returnType,
+                    Class<?>[] exceptionTypes, Class<?> fromClass) {
+            this.name = name;
+            this.parameterTypes = parameterTypes;
+            this.returnType = returnType;
+            this.exceptionTypes = exceptionTypes;
+            this.fromClass = fromClass;
+        }
+
+        /** Returns the descriptor of the method. */
+        String descriptor() {
+            StringBuilder sb = new StringBuilder("(");
+            for (Class<?> p : parameterTypes) {
+                sb.append(Type.getDescriptor(p));
+            }
+            return sb.append(')').append(Type.getDescriptor(returnType)).toString();
+        }
+
+        /**
+         * Returns the descriptor of the invocation of the method handle:
+         * the descriptor of the method with a leading Object parameter for
+         * the proxy instance, and reference types erased to Object.
+         */
+        String erasedDescriptor() {
+            StringBuilder sb = new StringBuilder("(").append(DESCR_OBJECT);
+            for (Class<?> p : parameterTypes) {
+                sb.append(p.isPrimitive() ? Type.getDescriptor(p) : DESCR_OBJECT);
+            }
+            sb.append(')');
+            return sb.append(returnType.isPrimitive() ? Type.getDescriptor(returnType)
+                                                      : DESCR_OBJECT).toString();
+        }
+
+        /** Returns the name and parameter types, for messages. */
+        String signature() {
+            StringBuilder sb = new StringBuilder(name).append('(');
+            for (int i = 0; i < parameterTypes.length; i++) {
+                if (i > 0) {
+                    sb.append(',');
+                }
+                sb.append(parameterTypes[i].getName());
+            }
+            return sb.append(')').toString();
+        }
+    }
+}
@@ -237,7 +237,14 @@ public class Proxy implements java.io.Serializable {
      * a cache of proxy classes
      */
     private static final WeakCache<ClassLoader, Class<?>[], Class<?>>
-        proxyClassCache = new WeakCache<>(new KeyFactory(), new ProxyClassFactory());
+        proxyClassCache = new WeakCache<>(new KeyFactory(), new ProxyClassFactory(false));
+
+    /**
+     * a cache of proxy classes instantiated with a
+     * {@code MethodHandleInvocationHandler}
+     */
+    private static final WeakCache<ClassLoader, Class<?>[], Class<?>>
+        handleProxyClassCache = new WeakCache<>(new KeyFactory(), new ProxyClassFactory(true));
 
     /**
      * the invocation handler for this proxy instance.
@@ -368,7 +375,7 @@ public class Proxy implements java.io.Serializable {
             checkProxyAccess(Reflection.getCallerClass(), loader, intfs);
         }
 
-        return getProxyClass0(loader, intfs);
+        return getProxyClass0(loader, intfs, false);
     }
 
     /*
@@ -404,11 +411,14 @@ public class Proxy implements java.io.Serializable {
     }
 
     /**
-     * Generate a proxy class.  Must call the checkProxyAccess method
-     * to perform permission checks before calling this.
+     * Generate a proxy class, which binds method handles with a
+     * {@code MethodHandleInvocationHandler} if {@code methodHandles} is true.
+     * Must call the checkProxyAccess method to perform permission checks
+     * before calling this.
      */
     private static Class<?> getProxyClass0(ClassLoader loader,
-                                           Class<?>... interfaces) {
+                                           Class<?>[] interfaces,
+                                           boolean methodHandles) {
         if (interfaces.length > 65535) {
             throw new IllegalArgumentException("interface limit exceeded");
         }
@@ -416,7 +426,8 @@ public class Proxy implements java.io.Serializable {
         // If the proxy class defined by the given loader implementing
         // the given interfaces exists, this will simply return the cached copy;
         // otherwise, it will create the proxy class via the ProxyClassFactory
-        return proxyClassCache.get(loader, interfaces);
+        return (methodHandles ? handleProxyClassCache : proxyClassCache)
+            .get(loader, interfaces);
     }
 
     /*
@@ -563,6 +574,13 @@ public class Proxy implements java.io.Serializable {
         // next number to use for generation of unique proxy class names
         private static final AtomicLong nextUniqueNumber = new AtomicLong();
 
+        // whether to generate proxy classes dispatching to method handles
+        private final boolean methodHandles;
+
+        ProxyClassFactory(boolean methodHandles) {
+            this.methodHandles = methodHandles;
+        }
+
         @Override
         public Class<?> apply(ClassLoader loader, Class<?>[] interfaces) {
 
@@ -636,8 +654,11 @@ public class Proxy implements java.io.Serializable {
             /*
              * Generate the specified proxy class.
              */
-            byte[] proxyClassFile = ProxyGenerator.generateProxyClass(
-                proxyName, interfaces, accessFlags);
+            byte[] proxyClassFile = methodHandles
+                ? MethodHandleProxyGenerator.generateProxyClass(
+                    proxyName, interfaces, accessFlags)
+                : ProxyGenerator.generateProxyClass(
+                    proxyName, interfaces, accessFlags);
             try {
                 return defineClass0(loader, proxyName,
                                     proxyClassFile, 0, proxyClassFile.length);
@@ -663,6 +684,11 @@ public class Proxy implements java.io.Serializable {
      * {@code IllegalArgumentException} for the same reasons that
      * {@code Proxy.getProxyClass} does.
      *
+     * <p>If the invocation handler is a {@link MethodHandleInvocationHandler},
+     * the proxy instance is of a proxy class whose methods invoke the method
+     * handles bound by the handler, as described in that interface, and the
+     * handler is asked to bind the methods before this method returns.
+     *
      * @param   loader the class loader to define the proxy class
      * @param   interfaces the list of interfaces for the proxy class
      *          to implement
@@ -716,7 +742,8 @@ public class Proxy implements java.io.Serializable {
         /*
          * Look up or generate the designated proxy class.
          */
-        Class<?> cl = getProxyClass0(loader, intfs);
+        Class<?> cl = getProxyClass0(loader, intfs,
+                                     h instanceof MethodHandleInvocationHandler);
 
         /*
          * Invoke its constructor with the designated invocation handler.
@@ -788,7 +815,9 @@ public class Proxy implements java.io.Serializable {
      * @throws  NullPointerException if {@code cl} is {@code null}
      */
     public static boolean isProxyClass(Class<?> cl) {
-        return Proxy.class.isAssignableFrom(cl) && proxyClassCache.containsValue(cl);
+        return Proxy.class.isAssignableFrom(cl) &&
+            (proxyClassCache.containsValue(cl) ||
+             handleProxyClassCache.containsValue(cl));
     }
 
     /**
@@ -35,6 +35,8 @@ import java.io.ObjectOutputStream;
 import java.io.ObjectStreamField;
 import java.util.Arrays;
 import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 import java.util.concurrent.ThreadLocalRandom;
 import sun.misc.DoubleConsts;
 import sun.misc.FloatConsts;
@@ -242,6 +244,22 @@ public class BigInteger extends Number implements Comparable<BigInteger> {
      */
     private static final int TOOM_COOK_SQUARE_THRESHOLD = 216;
 
+    /**
+     * The threshold value for using FFT multiplication.  If the number of
+     * ints in both mag arrays are greater than this number, then the
+     * product is computed with number-theoretic transforms, as long as it
+     * is no longer than {@code FFT_MAX_LENGTH} ints.  This value is found
+     * experimentally to work well.
+     */
+    private static final int FFT_THRESHOLD = 24576;
+
+    /**
+     * The threshold value for using FFT squaring.  If the number of ints
+     * in the number are larger than this value, FFT squaring will be used.
+     * This value is found experimentally to work well.
+     */
+    private static final int FFT_SQUARE_THRESHOLD = 24576;
+
     /**
      * The threshold value for using Burnikel-Ziegler division.  If the number
      * of ints in the divisor are larger than this value, Burnikel-Ziegler
@@ -453,12 +471,37 @@ public class BigInteger extends Number implements Comparable<BigInteger> {
         numDigits = len - cursor;
         signum = sign;
 
-        // Pre-allocate array of expected size. May be too large but can
-        // never be too small. Typically exact.
+        // Check the expected size, which may be too large but can never be
+        // too small.
         long numBits = ((numDigits * bitsPerDigit[radix]) >>> 10) + 1;
         if (numBits + 31 >= (1L << 32)) {
             reportOverflow();
         }
+
+        // Convert large numbers by recursively splitting their digits
+        if (numDigits > SCHOENHAGE_BASE_CONVERSION_THRESHOLD * digitsPerInt[radix])
+            mag = parseDigits(val, cursor, len, radix).mag;
+        else
+            mag = parseGroups(val, cursor, len, radix);
+        if (mag.length >= MAX_MAG_LENGTH) {
+            checkRange();
+        }
+    }
+
+    /**
+     * Returns the magnitude of the digits of {@code val} from index
+     * {@code from} to index {@code to}, in the given radix.  The digits are
+     * processed a group at a time, multiplying the magnitude by the radix
+     * to the number of digits in a group, so this takes time quadratic in
+     * the number of digits.
+     */
+    private static int[] parseGroups(String val, int from, int to, int radix) {
+        int numDigits = to - from;
+        int cursor = from;
+
+        // Pre-allocate array of expected size. May be too large but can
+        // never be too small. Typically exact.
+        long numBits = ((numDigits * bitsPerDigit[radix]) >>> 10) + 1;
         int numWords = (int) (numBits + 31) >>> 5;
         int[] magnitude = new int[numWords];
 
@@ -474,7 +517,7 @@ public class BigInteger extends Number implements Comparable<BigInteger> {
         // Process remaining digit groups
         int superRadix = intRadix[radix];
         int groupVal = 0;
-        while (cursor < len) {
+        while (cursor < to) {
             group = val.substring(cursor, cursor += digitsPerInt[radix]);
             groupVal = Integer.parseInt(group, radix);
             if (groupVal < 0)
@@ -482,10 +525,34 @@ public class BigInteger extends Number implements Comparable<BigInteger> {
             destructiveMulAdd(magnitude, superRadix, groupVal);
         }
         // Required for cases where the array was overallocated.
-        mag = trustedStripLeadingZeroInts(magnitude);
-        if (mag.length >= MAX_MAG_LENGTH) {
-            checkRange();
+        return trustedStripLeadingZeroInts(magnitude);
+    }
+
+    /**
+     * Returns the non-negative BigInteger whose digits in the given radix
+     * are those of {@code val} from index {@code from} to index
+     * {@code to}.  This is the inverse of the recursive Schoenhage
+     * conversion of {@link #toString(BigInteger, StringBuilder, int, int)}:
+     * the digits are split into a lower part of 2^n digits and an upper
+     * part, which are converted recursively and combined as
+     * {@code upper * radix^(2^n) + lower}, with the power taken from the
+     * cache of radix powers.  The time taken is that of the multiplications,
+     * which is subquadratic.
+     */
+    private static BigInteger parseDigits(String val, int from, int to,
+                                          int radix) {
+        int numDigits = to - from;
+        if (numDigits <= SCHOENHAGE_BASE_CONVERSION_THRESHOLD * digitsPerInt[radix]) {
+            int[] magnitude = parseGroups(val, from, to, radix);
+            return (magnitude.length == 0) ? ZERO : new BigInteger(magnitude, 1);
         }
+
+        // the largest power of two less than the number of digits
+        int n = 31 - Integer.numberOfLeadingZeros(numDigits - 1);
+        int split = to - (1 << n);
+        BigInteger upper = parseDigits(val, from, split, radix);
+        BigInteger lower = parseDigits(val, split, to, radix);
+        return upper.multiply(getRadixConversionCache(radix, n)).add(lower);
     }
 
     /*
@@ -1482,13 +1549,48 @@ public class BigInteger extends Number implements Comparable<BigInteger> {
      * @return {@code this * val}
      */
     public BigInteger multiply(BigInteger val) {
+        return multiply(val, 0);
+    }
+
+    /**
+     * Returns a BigInteger whose value is {@code (this * val)}.  When both
+     * {@code this} and {@code val} are large, typically in the thousands of
+     * bits, parallel multiply might be used.  This method returns the exact
+     * same mathematical result as {@link #multiply}.
+     *
+     * @implNote This implementation may offer better algorithmic
+     * performance when {@code val == this}.
+     *
+     * @implNote Compared to {@link #multiply}, an implementation's
+     * parallel multiplication algorithm would typically use more CPU
+     * resources to compute the result faster, and may do so with a slight
+     * increase in memory consumption.  This implementation computes the
+     * partial products of 3-way Toom-Cook multiplication in tasks of the
+     * {@linkplain java.util.concurrent.ForkJoinPool#commonPool() common
+     * pool}.
+     *
+     * @param  val value to be multiplied by this BigInteger.
+     * @return {@code this * val}
+     * @see #multiply
+     * @since 1.8
+     */
+    public BigInteger parallelMultiply(BigInteger val) {
+        return multiply(val, RecursiveOp.forkDepth());
+    }
+
+    /**
+     * Returns a BigInteger whose value is {@code (this * val)}.  The
+     * partial products of Toom-Cook multiplication are computed in
+     * parallel tasks down to {@code forkDepth} levels of recursion.
+     */
+    private BigInteger multiply(BigInteger val, int forkDepth) {
         if (val.signum == 0 || signum == 0)
             return ZERO;
 
         int xlen = mag.length;
 
         if (val == this && xlen > MULTIPLY_SQUARE_THRESHOLD) {
-            return square();
+            return square(forkDepth);
         }
 
         int ylen = val.mag.length;
@@ -1508,8 +1610,12 @@ public class BigInteger extends Number implements Comparable<BigInteger> {
         } else {
             if ((xlen < TOOM_COOK_THRESHOLD) && (ylen < TOOM_COOK_THRESHOLD)) {
                 return multiplyKaratsuba(this, val);
+            } else if (forkDepth == 0 &&
+                       xlen >= FFT_THRESHOLD && ylen >= FFT_THRESHOLD &&
+                       xlen + ylen <= FFT_MAX_LENGTH) {
+                return multiplyFFT(this, val);
             } else {
-                return multiplyToomCook3(this, val);
+                return multiplyToomCook3(this, val, forkDepth);
             }
         }
     }
@@ -1684,8 +1790,11 @@ public class BigInteger extends Number implements Comparable<BigInteger> {
      * In C.Carlet and B.Sunar, Eds., "WAIFI'07 proceedings", p. 116-133,
      * LNCS #4547. Springer, Madrid, Spain, June 21-22, 2007.
      *
+     * If {@code forkDepth} is positive, the five partial products are
+     * computed in parallel, each with one less level of forking.
      */
-    private static BigInteger multiplyToomCook3(BigInteger a, BigInteger b) {
+    private static BigInteger multiplyToomCook3(BigInteger a, BigInteger b,
+                                                int forkDepth) {
         int alen = a.mag.length;
         int blen = b.mag.length;
 
@@ -1709,16 +1818,36 @@ public class BigInteger extends Number implements Comparable<BigInteger> {
 
         BigInteger v0, v1, v2, vm1, vinf, t1, t2, tm1, da1, db1;
 
-        v0 = a0.multiply(b0);
-        da1 = a2.add(a0);
-        db1 = b2.add(b0);
-        vm1 = da1.subtract(a1).multiply(db1.subtract(b1));
-        da1 = da1.add(a1);
-        db1 = db1.add(b1);
-        v1 = da1.multiply(db1);
-        v2 = da1.add(a2).shiftLeft(1).subtract(a0).multiply(
-             db1.add(b2).shiftLeft(1).subtract(b0));
-        vinf = a2.multiply(b2);
+        if (forkDepth > 0) {
+            int depth = forkDepth - 1;
+            RecursiveOp v0Op = RecursiveOp.multiply(a0, b0, depth);
+            da1 = a2.add(a0);
+            db1 = b2.add(b0);
+            RecursiveOp vm1Op = RecursiveOp.multiply(da1.subtract(a1),
+                                                     db1.subtract(b1), depth);
+            da1 = da1.add(a1);
+            db1 = db1.add(b1);
+            RecursiveOp v1Op = RecursiveOp.multiply(da1, db1, depth);
+            RecursiveOp v2Op = RecursiveOp.multiply(
+                da1.add(a2).shiftLeft(1).subtract(a0),
+                db1.add(b2).shiftLeft(1).subtract(b0), depth);
+            vinf = a2.multiply(b2, depth);
+            v0 = v0Op.join();
+            vm1 = vm1Op.join();
+            v1 = v1Op.join();
+            v2 = v2Op.join();
+        } else {
+            v0 = a0.multiply(b0);
+            da1 = a2.add(a0);
+            db1 = b2.add(b0);
+            vm1 = da1.subtract(a1).multiply(db1.subtract(b1));
+            da1 = da1.add(a1);
+            db1 = db1.add(b1);
+            v1 = da1.multiply(db1);
+            v2 = da1.add(a2).shiftLeft(1).subtract(a0).multiply(
+                 db1.add(b2).shiftLeft(1).subtract(b0));
+            vinf = a2.multiply(b2);
+        }
 
         // The algorithm requires two divisions by 2 and one by 3.
         // All divisions are known to be exact, that is, they do not produce
@@ -1884,6 +2013,17 @@ public class BigInteger extends Number implements Comparable<BigInteger> {
      * @return {@code this<sup>2</sup>}
      */
     private BigInteger square() {
+        return square(0);
+    }
+
+    /**
+     * Returns a BigInteger whose value is {@code (this<sup>2</sup>)}.  The
+     * partial squares of Toom-Cook squaring are computed in parallel tasks
+     * down to {@code forkDepth} levels of recursion.
+     *
+     * @return {@code this<sup>2</sup>}
+     */
+    private BigInteger square(int forkDepth) {
         if (signum == 0) {
             return ZERO;
         }
@@ -1895,8 +2035,11 @@ public class BigInteger extends Number implements Comparable<BigInteger> {
         } else {
             if (len < TOOM_COOK_SQUARE_THRESHOLD) {
                 return squareKaratsuba();
+            } else if (forkDepth == 0 && len >= FFT_SQUARE_THRESHOLD &&
+                       2 * len <= FFT_MAX_LENGTH) {
+                return squareFFT();
             } else {
-                return squareToomCook3();
+                return squareToomCook3(forkDepth);
             }
         }
     }
@@ -2027,9 +2170,11 @@ public class BigInteger extends Number implements Comparable<BigInteger> {
      * should be used when both numbers are larger than a certain threshold
      * (found experimentally).  It is a recursive divide-and-conquer algorithm
      * that has better asymptotic performance than the algorithm used in
-     * squareToLen or squareKaratsuba.
+     * squareToLen or squareKaratsuba.  If {@code forkDepth} is positive,
+     * the five partial squares are computed in parallel, each with one less
+     * level of forking.
      */
-    private BigInteger squareToomCook3() {
+    private BigInteger squareToomCook3(int forkDepth) {
         int len = mag.length;
 
         // k is the size (in ints) of the lower-order slices.
@@ -2046,13 +2191,29 @@ public class BigInteger extends Number implements Comparable<BigInteger> {
         a0 = getToomSlice(k, r, 2, len);
         BigInteger v0, v1, v2, vm1, vinf, t1, t2, tm1, da1;
 
-        v0 = a0.square();
-        da1 = a2.add(a0);
-        vm1 = da1.subtract(a1).square();
-        da1 = da1.add(a1);
-        v1 = da1.square();
-        vinf = a2.square();
-        v2 = da1.add(a2).shiftLeft(1).subtract(a0).square();
+        if (forkDepth > 0) {
+            int depth = forkDepth - 1;
+            RecursiveOp v0Op = RecursiveOp.square(a0, depth);
+            da1 = a2.add(a0);
+            RecursiveOp vm1Op = RecursiveOp.square(da1.subtract(a1), depth);
+            da1 = da1.add(a1);
+            RecursiveOp v1Op = RecursiveOp.square(da1, depth);
+            RecursiveOp v2Op = RecursiveOp.square(
+                da1.add(a2).shiftLeft(1).subtract(a0), depth);
+            vinf = a2.square(depth);
+            v0 = v0Op.join();
+            vm1 = vm1Op.join();
+            v1 = v1Op.join();
+            v2 = v2Op.join();
+        } else {
+            v0 = a0.square();
+            da1 = a2.add(a0);
+            vm1 = da1.subtract(a1).square();
+            da1 = da1.add(a1);
+            v1 = da1.square();
+            vinf = a2.square();
+            v2 = da1.add(a2).shiftLeft(1).subtract(a0).square();
+        }
 
         // The algorithm requires two divisions by 2 and one by 3.
         // All divisions are known to be exact, that is, they do not produce
@@ -2074,6 +2235,343 @@ public class BigInteger extends Number implements Comparable<BigInteger> {
         return vinf.shiftLeft(ss).add(t2).shiftLeft(ss).add(t1).shiftLeft(ss).add(tm1).shiftLeft(ss).add(v0);
     }
 
+    // FFT multiplication
+
+    /*
+     * The products are computed as the cyclic convolution of the 16-bit
+     * digits of the numbers, by number-theoretic transforms (NTTs) modulo
+     * two primes of the form c*2^k + 1, which have primitive roots of unity
+     * of order 2^k.  Each coefficient of the convolution is a sum of at
+     * most 2^26 products of two 16-bit digits, less than 2^58, and so is
+     * below the product of the primes (about 2^59.7); it is recovered
+     * exactly from its residues by the Chinese remainder theorem.
+     *
+     * The residues, all less than 2^31, are stored in int arrays.  The
+     * transforms multiply by Montgomery reduction with R = 2^32, with the
+     * roots of unity kept in Montgomery form, so that a multiplication by a
+     * root is one reduction.
+     */
+
+    /** The first prime modulus, 15*2^27 + 1. */
+    private static final long FFT_P0 = 2013265921L;
+
+    /** A primitive root modulo {@code FFT_P0}. */
+    private static final long FFT_G0 = 31;
+
+    /** The second prime modulus, 7*2^26 + 1. */
+    private static final long FFT_P1 = 469762049L;
+
+    /** A primitive root modulo {@code FFT_P1}. */
+    private static final long FFT_G1 = 3;
+
+    /** The largest transform length supported by both moduli. */
+    private static final int FFT_MAX_POINTS = 1 << 26;
+
+    /**
+     * The largest product, in ints, computed by one FFT multiplication.
+     * Larger products are split by Toom-Cook multiplication.
+     */
+    private static final int FFT_MAX_LENGTH = FFT_MAX_POINTS / 2;
+
+    /**
+     * Multiplies two BigIntegers by FFT, as the convolution of their 16-bit
+     * digits.  This has a complexity of O(n log n), and should be used when
+     * both numbers are larger than a certain threshold (found
+     * experimentally), and their product is no longer than
+     * {@code FFT_MAX_LENGTH} ints.
+     */
+    private static BigInteger multiplyFFT(BigInteger a, BigInteger b) {
+        int[] x = a.mag;
+        int[] y = b.mag;
+        int n = fftLength(x.length + y.length);
+
+        int[] r0 = fftConvolve(x, y, n, FFT_P0, FFT_G0);
+        int[] r1 = fftConvolve(x, y, n, FFT_P1, FFT_G1);
+        int[] z = fftCombine(r0, r1, x.length + y.length);
+
+        return new BigInteger(trustedStripLeadingZeroInts(z),
+                              a.signum == b.signum ? 1 : -1);
+    }
+
+    /**
+     * Squares a BigInteger by FFT, transforming the number once.  It should
+     * be used when the number is larger than a certain threshold (found
+     * experimentally), and its square is no longer than
+     * {@code FFT_MAX_LENGTH} ints.
+     */
+    private BigInteger squareFFT() {
+        int[] x = mag;
+        int n = fftLength(2 * x.length);
+
+        int[] r0 = fftConvolve(x, null, n, FFT_P0, FFT_G0);
+        int[] r1 = fftConvolve(x, null, n, FFT_P1, FFT_G1);
+        int[] z = fftCombine(r0, r1, 2 * x.length);
+
+        return new BigInteger(trustedStripLeadingZeroInts(z), 1);
+    }
+
+    /**
+     * Returns the transform length for a product of the given number of
+     * ints: the least power of two no less than its number of 16-bit digits.
+     */
+    private static int fftLength(int productLength) {
+        int points = 2 * productLength;
+        return (points <= 2) ? 2 : Integer.highestOneBit(points - 1) << 1;
+    }
+
+    /**
+     * Returns the residues modulo {@code p} of the cyclic convolution of
+     * length {@code n} of the 16-bit digits of two magnitudes, least
+     * significant first, or of the digits of {@code x} with themselves if
+     * {@code y} is null.
+     */
+    private static int[] fftConvolve(int[] x, int[] y, int n, long p, long g) {
+        long pInv = montgomeryInverse(p);
+        int[] tw = new int[n >>> 1];
+
+        int[] fx = fftDigits(x, n);
+        fftForward(fx, n, p, pInv, g, tw);
+        int[] fy = fx;
+        if (y != null) {
+            fy = fftDigits(y, n);
+            fftForward(fy, n, p, pInv, g, tw);
+        }
+        for (int i = 0; i < n; i++) {
+            fx[i] = (int) montgomeryMultiply(fx[i], fy[i], p, pInv);
+        }
+        fftInverse(fx, n, p, pInv, g, tw);
+        return fx;
+    }
+
+    /**
+     * Returns the 16-bit digits of a magnitude, least significant first,
+     * in an array of length {@code n}.
+     */
+    private static int[] fftDigits(int[] mag, int n) {
+        int[] digits = new int[n];
+        for (int i = 0, j = mag.length - 1; j >= 0; i += 2, j--) {
+            digits[i] = mag[j] & 0xFFFF;
+            digits[i + 1] = mag[j] >>> 16;
+        }
+        return digits;
+    }
+
+    /**
+     * Transforms {@code a} in place by decimation in frequency.  The
+     * elements are taken in natural order and left in bit-reversed order.
+     */
+    private static void fftForward(int[] a, int n, long p, long pInv, long g,
+                                   int[] tw) {
+        // the Montgomery form of a root of unity of order n
+        long w = toMontgomery(modPow(g, (p - 1) / n, p), p);
+        long[] roots = fftStageRoots(w, n, p, pInv);
+
+        for (int len = n, s = roots.length - 1; len >= 2; len >>>= 1, s--) {
+            int half = len >>> 1;
+            fftTwiddles(tw, half, roots[s], p, pInv);
+            for (int i = 0; i < n; i += len) {
+                for (int j = i, k = 0; k < half; j++, k++) {
+                    long u = a[j];
+                    long v = a[j + half];
+                    // reduce u + v and u - v modulo p without branches
+                    long sum = u + v - p;
+                    long diff = u - v;
+                    a[j] = (int) (sum + ((sum >> 63) & p));
+                    a[j + half] = (int) montgomeryMultiply(
+                        diff + ((diff >> 63) & p), tw[k], p, pInv);
+                }
+            }
+        }
+    }
+
+    /**
+     * Inverts {@link #fftForward} in place by decimation in time, and
+     * converts the result out of the Montgomery form of the pointwise
+     * products.  The elements are taken in bit-reversed order and left in
+     * natural order.
+     */
+    private static void fftInverse(int[] a, int n, long p, long pInv, long g,
+                                   int[] tw) {
+        // the Montgomery form of the inverse of a root of unity of order n
+        long w = toMontgomery(modPow(g, (p - 1) - (p - 1) / n, p), p);
+        long[] roots = fftStageRoots(w, n, p, pInv);
+
+        for (int len = 2, s = 1; len <= n; len <<= 1, s++) {
+            int half = len >>> 1;
+            fftTwiddles(tw, half, roots[s], p, pInv);
+            for (int i = 0; i < n; i += len) {
+                for (int j = i, k = 0; k < half; j++, k++) {
+                    long u = a[j];
+                    long v = montgomeryMultiply(a[j + half], tw[k], p, pInv);
+                    long sum = u + v - p;
+                    long diff = u - v;
+                    a[j] = (int) (sum + ((sum >> 63) & p));
+                    a[j + half] = (int) (diff + ((diff >> 63) & p));
+                }
+            }
+        }
+
+        // The pointwise products carry a factor of 1/R, and the inverse
+        // transform a factor of n: multiply by R^2/n, reduced once.
+        long r = (1L << 32) % p;
+        long scale = toMontgomery(r * modPow(n, p - 2, p) % p, p);
+        for (int i = 0; i < n; i++) {
+            a[i] = (int) montgomeryMultiply(a[i], scale, p, pInv);
+        }
+    }
+
+    /**
+     * Returns the roots of unity used by the stages of a transform of
+     * length {@code n}, in Montgomery form: element {@code s} is a root of
+     * order 2^s, the power of {@code w}, a root of order n.
+     */
+    private static long[] fftStageRoots(long w, int n, long p, long pInv) {
+        int stages = Integer.numberOfTrailingZeros(n);
+        long[] roots = new long[stages + 1];
+        roots[stages] = w;
+        for (int s = stages; s > 0; s--) {
+            roots[s - 1] = montgomeryMultiply(roots[s], roots[s], p, pInv);
+        }
+        return roots;
+    }
+
+    /**
+     * Stores the first {@code half} powers of {@code w} in {@code tw}, in
+     * Montgomery form.
+     */
+    private static void fftTwiddles(int[] tw, int half, long w, long p,
+                                    long pInv) {
+        long t = (1L << 32) % p;
+        for (int k = 0; k < half; k++) {
+            tw[k] = (int) t;
+            t = montgomeryMultiply(t, w, p, pInv);
+        }
+    }
+
+    /**
+     * Recovers the convolution from its residues modulo the two primes,
+     * and returns its value, with carries propagated between the 16-bit
+     * digits, as a magnitude of {@code len} ints.
+     */
+    private static int[] fftCombine(int[] r0, int[] r1, int len) {
+        long pInv = montgomeryInverse(FFT_P1);
+        // the Montgomery form of the inverse of P0 modulo P1
+        long p0Inv = toMontgomery(modPow(FFT_P0 % FFT_P1, FFT_P1 - 2, FFT_P1),
+                                  FFT_P1);
+        int[] z = new int[len];
+        long carry = 0;
+        for (int i = 0, j = len - 1; j >= 0; i += 2, j--) {
+            long lo = carry + fftCoefficient(r0[i], r1[i], p0Inv, pInv);
+            long hi = (lo >>> 16) +
+                      fftCoefficient(r0[i + 1], r1[i + 1], p0Inv, pInv);
+            z[j] = (int) ((lo & 0xFFFF) | (hi << 16));
+            carry = hi >>> 16;
+        }
+        return z;
+    }
+
+    /**
+     * Returns the coefficient, less than P0*P1, with residues {@code x0}
+     * modulo P0 and {@code x1} modulo P1, by Garner's algorithm.
+     */
+    private static long fftCoefficient(long x0, long x1, long p0Inv, long pInv) {
+        long d = x1 - x0 % FFT_P1;
+        if (d < 0)
+            d += FFT_P1;
+        return x0 + FFT_P0 * montgomeryMultiply(d, p0Inv, FFT_P1, pInv);
+    }
+
+    /**
+     * Returns {@code -p^-1 mod 2^32} for an odd {@code p}, by Newton's
+     * iteration, each step of which doubles the number of correct bits.
+     */
+    private static long montgomeryInverse(long p) {
+        long inv = p;              // correct to 3 bits, as p*p == 1 mod 8
+        for (int i = 0; i < 4; i++)
+            inv *= 2 - p * inv;
+        return -inv & LONG_MASK;
+    }
+
+    /**
+     * Returns {@code a*b/2^32 mod p}, for {@code a} and {@code b} less
+     * than {@code p < 2^31}, where {@code pInv} is
+     * {@code -p^-1 mod 2^32}.
+     */
+    private static long montgomeryMultiply(long a, long b, long p, long pInv) {
+        long t = a * b;
+        long m = ((t & LONG_MASK) * pInv) & LONG_MASK;
+        // t + m*p is less than 2^64, and divisible by 2^32; the quotient
+        // is less than 2p, and p is subtracted without a branch if needed
+        long u = ((t + m * p) >>> 32) - p;
+        return u + ((u >> 63) & p);
+    }
+
+    /** Returns the Montgomery form {@code a*2^32 mod p} of {@code a < p}. */
+    private static long toMontgomery(long a, long p) {
+        return (a << 32) % p;
+    }
+
+    /** Returns {@code b^e mod p}, for {@code b < p < 2^31}. */
+    private static long modPow(long b, long e, long p) {
+        long r = 1;
+        for (; e > 0; e >>>= 1) {
+            if ((e & 1) != 0)
+                r = r * b % p;
+            b = b * b % p;
+        }
+        return r;
+    }
+
+    /**
+     * A task computing a partial product or square of parallel Toom-Cook
+     * multiplication, forked when it is created.
+     */
+    @SuppressWarnings("serial")
+    private static final class RecursiveOp extends RecursiveTask<BigInteger> {
+        private final BigInteger a;
+        private final BigInteger b;     // null to square a
+        private final int forkDepth;
+
+        private RecursiveOp(BigInteger a, BigInteger b, int forkDepth) {
+            this.a = a;
+            this.b = b;
+            this.forkDepth = forkDepth;
+        }
+
+        @Override
+        protected BigInteger compute() {
+            return (b == null) ? a.square(forkDepth) : a.multiply(b, forkDepth);
+        }
+
+        static RecursiveOp multiply(BigInteger a, BigInteger b, int forkDepth) {
+            RecursiveOp op = new RecursiveOp(a, b, forkDepth);
+            op.fork();
+            return op;
+        }
+
+        static RecursiveOp square(BigInteger a, int forkDepth) {
+            RecursiveOp op = new RecursiveOp(a, null, forkDepth);
+            op.fork();
+            return op;
+        }
+
+        /**
+         * Returns the number of levels of Toom-Cook recursion in which to
+         * fork tasks: enough for each thread of the common pool to have a
+         * few of the 5^depth partial products, or 0 if the common pool
+         * does not run tasks in parallel.
+         */
+        static int forkDepth() {
+            int parallelism = ForkJoinPool.getCommonPoolParallelism();
+            if (parallelism <= 1)
+                return 0;
+            int depth = 0;
+            for (long tasks = 1; tasks < 4L * parallelism; tasks *= 5)
+                depth++;
+            return depth;
+        }
+    }
+
     // Division
 
     /**
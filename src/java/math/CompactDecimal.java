@@ -0,0 +1,781 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.math;
+
+import static java.math.BigDecimal.INFLATED;
+
+/**
+ * A mutable decimal number with a fixed scale, for arithmetic that does
+ * not allocate an object for each result.  The scale and the rounding mode
+ * of a {@code CompactDecimal} are chosen when it is created: its value is
+ * always an integer multiple of 10<sup>-scale</sup>, and each operation
+ * stores in it the exact result of the operation rounded to that scale
+ * with that rounding mode.  The operations modify this decimal and return
+ * it, so that they can be chained.
+ *
+ * <p>The value is held as an unscaled {@code long}, in the same way as the
+ * compact representation of a {@link BigDecimal}, for as long as it fits
+ * in one; operations on such values, and on operands given as an unscaled
+ * {@code long} and a scale, are computed in {@code long} arithmetic and do
+ * not allocate.  A value that does not fit is held as a {@code BigDecimal}
+ * instead, so a result is never wrong because of overflow; it returns to
+ * the compact representation as soon as the value fits again.
+ *
+ * <p>The static methods operate on columns of unscaled values of a common
+ * scale held in {@code long} arrays, such as the amounts of a batch of
+ * transactions, and compute sums exactly without allocating for each
+ * element.
+ *
+ * <p>For example, the following adds up the amounts, in cents, of a column
+ * of prices multiplied by a rate with four fraction digits, rounding each
+ * product to the cent:
+ * <pre>{@code
+ * CompactDecimal total = new CompactDecimal(2);
+ * CompactDecimal amount = new CompactDecimal(2);
+ * for (int i = 0; i < prices.length; i++) {
+ *     total.add(amount.set(prices[i], 2).multiply(rates[i], 4));
+ * }
+ * }</pre>
+ *
+ * <p>{@code CompactDecimal} does not override {@code equals} and
+ * {@code hashCode}; its values are compared by {@link #compareTo
+ * compareTo}.  Instances of {@code CompactDecimal} are not safe for use by
+ * multiple threads.
+ *
+ * <p>Unless otherwise specified, passing a {@code null} argument to a
+ * method of this class will cause a {@code NullPointerException} to be
+ * thrown.
+ *
+ * @see     BigDecimal
+ * @see     RoundingMode
+ * @since   1.8
+ */
+public final class CompactDecimal implements Comparable<CompactDecimal> {
+
+    /**
+     * The unscaled value of this decimal, if it fits in a {@code long}
+     * other than {@code INFLATED}; {@code INFLATED} otherwise.
+     */
+    private long intCompact;
+
+    /**
+     * The value of this decimal, at the scale of this decimal, if its
+     * unscaled value does not fit in {@code intCompact}; {@code null}
+     * otherwise.
+     */
+    private BigDecimal inflated;
+
+    /**
+     * The scale of this decimal.
+     */
+    private final int scale;
+
+    /**
+     * The rounding mode of the results of the operations on this decimal.
+     */
+    private final RoundingMode roundingMode;
+
+    /**
+     * The {@code BigDecimal} constant of {@code roundingMode}.
+     */
+    private final int mode;
+
+    /**
+     * Constructs a {@code CompactDecimal} with value zero and the given
+     * scale, whose results are rounded with {@link RoundingMode#HALF_EVEN
+     * HALF_EVEN}.
+     *
+     * @param  scale the scale of the {@code CompactDecimal}.
+     */
+    public CompactDecimal(int scale) {
+        this(scale, RoundingMode.HALF_EVEN);
+    }
+
+    /**
+     * Constructs a {@code CompactDecimal} with value zero and the given
+     * scale, whose results are rounded with the given rounding mode.
+     *
+     * @param  scale the scale of the {@code CompactDecimal}.
+     * @param  roundingMode the rounding mode of the results.
+     */
+    public CompactDecimal(int scale, RoundingMode roundingMode) {
+        this.scale = scale;
+        this.roundingMode = roundingMode;
+        this.mode = roundingMode.oldMode;
+    }
+
+    // Accessors
+
+    /**
+     * Returns the scale of this {@code CompactDecimal}.
+     *
+     * @return the scale of this {@code CompactDecimal}.
+     */
+    public int scale() {
+        return scale;
+    }
+
+    /**
+     * Returns the rounding mode of the results of the operations on this
+     * {@code CompactDecimal}.
+     *
+     * @return the rounding mode of this {@code CompactDecimal}.
+     */
+    public RoundingMode roundingMode() {
+        return roundingMode;
+    }
+
+    /**
+     * Returns {@code true} if the value of this {@code CompactDecimal} is
+     * held as an unscaled {@code long}, in which case operations on it do
+     * not allocate.
+     *
+     * @return {@code true} if the unscaled value of this
+     *         {@code CompactDecimal} is held as a {@code long}.
+     */
+    public boolean isCompact() {
+        return intCompact != INFLATED;
+    }
+
+    /**
+     * Returns the unscaled value of this {@code CompactDecimal}, which
+     * is {@code (this * 10^this.scale())}, as a {@code long}.
+     *
+     * @return the unscaled value of this {@code CompactDecimal}.
+     * @throws ArithmeticException if the unscaled value does not fit in
+     *         a {@code long}.
+     */
+    public long unscaledValue() {
+        if (intCompact == INFLATED)
+            return unscaledLongValueExact(inflated);
+        return intCompact;
+    }
+
+    /**
+     * Returns the signum function of this {@code CompactDecimal}.
+     *
+     * @return -1, 0, or 1 as the value of this {@code CompactDecimal}
+     *         is negative, zero, or positive.
+     */
+    public int signum() {
+        return (intCompact != INFLATED) ? Long.signum(intCompact)
+            : inflated.signum();
+    }
+
+    /**
+     * Compares this {@code CompactDecimal} with the specified one by
+     * value.  Two {@code CompactDecimal} objects that are equal in value
+     * but have a different scale (like 2.0 and 2.00) are considered equal.
+     *
+     * @param  val {@code CompactDecimal} to which this one is to be
+     *         compared.
+     * @return -1, 0, or 1 as this {@code CompactDecimal} is numerically
+     *         less than, equal to, or greater than {@code val}.
+     */
+    @Override
+    public int compareTo(CompactDecimal val) {
+        if (scale == val.scale && intCompact != INFLATED &&
+            val.intCompact != INFLATED)
+            return Long.compare(intCompact, val.intCompact);
+        return toBigDecimal().compareTo(val.toBigDecimal());
+    }
+
+    /**
+     * Returns the value of this {@code CompactDecimal} as a
+     * {@code BigDecimal} with the scale of this {@code CompactDecimal}.
+     *
+     * @return the value of this {@code CompactDecimal}.
+     */
+    public BigDecimal toBigDecimal() {
+        return (intCompact != INFLATED) ? BigDecimal.valueOf(intCompact, scale)
+            : inflated;
+    }
+
+    /**
+     * Returns the string representation of this {@code CompactDecimal},
+     * which is that of {@link #toBigDecimal toBigDecimal()}.
+     *
+     * @return string representation of this {@code CompactDecimal}.
+     * @see    BigDecimal#toString()
+     */
+    @Override
+    public String toString() {
+        return toBigDecimal().toString();
+    }
+
+    // Operations
+
+    /**
+     * Sets this {@code CompactDecimal} to
+     * {@code (unscaledVal * 10^-scale)}, rounded to the scale of this
+     * {@code CompactDecimal}.
+     *
+     * @param  unscaledVal the unscaled value of the value to set.
+     * @param  scale the scale of the value to set.
+     * @return {@code this}
+     * @throws ArithmeticException if the rounding mode is
+     *         {@code UNNECESSARY} and rounding is necessary.
+     */
+    public CompactDecimal set(long unscaledVal, int scale) {
+        return setRounded(unscaledVal, scale);
+    }
+
+    /**
+     * Sets this {@code CompactDecimal} to the value of {@code val},
+     * rounded to the scale of this {@code CompactDecimal}.
+     *
+     * @param  val the value to set.
+     * @return {@code this}
+     * @throws ArithmeticException if the rounding mode is
+     *         {@code UNNECESSARY} and rounding is necessary.
+     */
+    public CompactDecimal set(BigDecimal val) {
+        long u = val.intCompact;
+        return (u != INFLATED) ? setRounded(u, val.scale()) : setRounded(val);
+    }
+
+    /**
+     * Sets this {@code CompactDecimal} to the value of {@code val},
+     * rounded to the scale of this {@code CompactDecimal}.
+     *
+     * @param  val the value to set.
+     * @return {@code this}
+     * @throws ArithmeticException if the rounding mode is
+     *         {@code UNNECESSARY} and rounding is necessary.
+     */
+    public CompactDecimal set(CompactDecimal val) {
+        long u = val.intCompact;
+        return (u != INFLATED) ? setRounded(u, val.scale)
+            : setRounded(val.inflated);
+    }
+
+    /**
+     * Adds {@code (unscaledVal * 10^-scale)} to this
+     * {@code CompactDecimal}, rounding the sum to the scale of this
+     * {@code CompactDecimal}.
+     *
+     * @param  unscaledVal the unscaled value of the value to add.
+     * @param  scale the scale of the value to add.
+     * @return {@code this}
+     * @throws ArithmeticException if the rounding mode is
+     *         {@code UNNECESSARY} and rounding is necessary.
+     */
+    public CompactDecimal add(long unscaledVal, int scale) {
+        long x = intCompact;
+        if (x != INFLATED && unscaledVal != INFLATED) {
+            long d = (long) scale - this.scale;
+            if (d <= 0) {
+                // The sum is at the scale of this decimal; no rounding
+                long y = rescale(unscaledVal, d, mode);
+                long sum = (y != INFLATED) ? BigDecimal.add(x, y) : INFLATED;
+                if (sum != INFLATED)
+                    return setCompact(sum);
+            } else {
+                // Add at the finer scale, and round the sum once
+                long xs = rescale(x, -d, mode);
+                long sum = (xs != INFLATED) ? BigDecimal.add(xs, unscaledVal)
+                    : INFLATED;
+                if (sum != INFLATED)
+                    return setRounded(sum, scale);
+            }
+        }
+        return setRounded(toBigDecimal().add(BigDecimal.valueOf(unscaledVal, scale)));
+    }
+
+    /**
+     * Adds the value of {@code val} to this {@code CompactDecimal},
+     * rounding the sum to the scale of this {@code CompactDecimal}.
+     *
+     * @param  val the value to add.
+     * @return {@code this}
+     * @throws ArithmeticException if the rounding mode is
+     *         {@code UNNECESSARY} and rounding is necessary.
+     */
+    public CompactDecimal add(BigDecimal val) {
+        long u = val.intCompact;
+        return (u != INFLATED) ? add(u, val.scale())
+            : setRounded(toBigDecimal().add(val));
+    }
+
+    /**
+     * Adds the value of {@code val} to this {@code CompactDecimal},
+     * rounding the sum to the scale of this {@code CompactDecimal}.
+     *
+     * @param  val the value to add.
+     * @return {@code this}
+     * @throws ArithmeticException if the rounding mode is
+     *         {@code UNNECESSARY} and rounding is necessary.
+     */
+    public CompactDecimal add(CompactDecimal val) {
+        long u = val.intCompact;
+        return (u != INFLATED) ? add(u, val.scale) : add(val.inflated);
+    }
+
+    /**
+     * Subtracts {@code (unscaledVal * 10^-scale)} from this
+     * {@code CompactDecimal}, rounding the difference to the scale of this
+     * {@code CompactDecimal}.
+     *
+     * @param  unscaledVal the unscaled value of the value to subtract.
+     * @param  scale the scale of the value to subtract.
+     * @return {@code this}
+     * @throws ArithmeticException if the rounding mode is
+     *         {@code UNNECESSARY} and rounding is necessary.
+     */
+    public CompactDecimal subtract(long unscaledVal, int scale) {
+        return (unscaledVal != INFLATED) ? add(-unscaledVal, scale)
+            : setRounded(toBigDecimal().subtract(BigDecimal.valueOf(unscaledVal, scale)));
+    }
+
+    /**
+     * Subtracts the value of {@code val} from this {@code CompactDecimal},
+     * rounding the difference to the scale of this {@code CompactDecimal}.
+     *
+     * @param  val the value to subtract.
+     * @return {@code this}
+     * @throws ArithmeticException if the rounding mode is
+     *         {@code UNNECESSARY} and rounding is necessary.
+     */
+    public CompactDecimal subtract(BigDecimal val) {
+        long u = val.intCompact;
+        return (u != INFLATED) ? add(-u, val.scale())
+            : setRounded(toBigDecimal().subtract(val));
+    }
+
+    /**
+     * Subtracts the value of {@code val} from this {@code CompactDecimal},
+     * rounding the difference to the scale of this {@code CompactDecimal}.
+     *
+     * @param  val the value to subtract.
+     * @return {@code this}
+     * @throws ArithmeticException if the rounding mode is
+     *         {@code UNNECESSARY} and rounding is necessary.
+     */
+    public CompactDecimal subtract(CompactDecimal val) {
+        long u = val.intCompact;
+        return (u != INFLATED) ? add(-u, val.scale) : subtract(val.inflated);
+    }
+
+    /**
+     * Multiplies this {@code CompactDecimal} by
+     * {@code (unscaledVal * 10^-scale)}, rounding the product to the scale
+     * of this {@code CompactDecimal}.
+     *
+     * @param  unscaledVal the unscaled value of the multiplier.
+     * @param  scale the scale of the multiplier.
+     * @return {@code this}
+     * @throws ArithmeticException if the rounding mode is
+     *         {@code UNNECESSARY} and rounding is necessary.
+     */
+    public CompactDecimal multiply(long unscaledVal, int scale) {
+        long x = intCompact;
+        long productScale = (long) this.scale + scale;
+        if (x != INFLATED && unscaledVal != INFLATED &&
+            productScale == (int) productScale) {
+            long product = BigDecimal.multiply(x, unscaledVal);
+            if (product != INFLATED)
+                return setRounded(product, (int) productScale);
+        }
+        return setRounded(toBigDecimal().multiply(BigDecimal.valueOf(unscaledVal, scale)));
+    }
+
+    /**
+     * Multiplies this {@code CompactDecimal} by the value of {@code val},
+     * rounding the product to the scale of this {@code CompactDecimal}.
+     *
+     * @param  val the multiplier.
+     * @return {@code this}
+     * @throws ArithmeticException if the rounding mode is
+     *         {@code UNNECESSARY} and rounding is necessary.
+     */
+    public CompactDecimal multiply(BigDecimal val) {
+        long u = val.intCompact;
+        return (u != INFLATED) ? multiply(u, val.scale())
+            : setRounded(toBigDecimal().multiply(val));
+    }
+
+    /**
+     * Multiplies this {@code CompactDecimal} by the value of {@code val},
+     * rounding the product to the scale of this {@code CompactDecimal}.
+     *
+     * @param  val the multiplier.
+     * @return {@code this}
+     * @throws ArithmeticException if the rounding mode is
+     *         {@code UNNECESSARY} and rounding is necessary.
+     */
+    public CompactDecimal multiply(CompactDecimal val) {
+        long u = val.intCompact;
+        return (u != INFLATED) ? multiply(u, val.scale) : multiply(val.inflated);
+    }
+
+    /**
+     * Divides this {@code CompactDecimal} by
+     * {@code (unscaledVal * 10^-scale)}, rounding the quotient to the scale
+     * of this {@code CompactDecimal}.
+     *
+     * @param  unscaledVal the unscaled value of the divisor.
+     * @param  scale the scale of the divisor.
+     * @return {@code this}
+     * @throws ArithmeticException if the divisor is zero, or the rounding
+     *         mode is {@code UNNECESSARY} and rounding is necessary.
+     */
+    public CompactDecimal divide(long unscaledVal, int scale) {
+        long x = intCompact;
+        if (x != INFLATED && unscaledVal != INFLATED && unscaledVal != 0) {
+            // The unscaled quotient is x * 10^scale / unscaledVal
+            long dividend = x;
+            long divisor = unscaledVal;
+            if (scale >= 0)
+                dividend = rescale(x, -(long) scale, mode);
+            else
+                divisor = rescale(unscaledVal, scale, mode);
+            if (dividend != INFLATED && divisor != INFLATED) {
+                long q = BigDecimal.divideAndRound(dividend, divisor, mode);
+                if (q != INFLATED)
+                    return setCompact(q);
+            }
+        }
+        return setRounded(toBigDecimal().divide(BigDecimal.valueOf(unscaledVal, scale),
+                                                this.scale, roundingMode));
+    }
+
+    /**
+     * Divides this {@code CompactDecimal} by the value of {@code val},
+     * rounding the quotient to the scale of this {@code CompactDecimal}.
+     *
+     * @param  val the divisor.
+     * @return {@code this}
+     * @throws ArithmeticException if {@code val} is zero, or the rounding
+     *         mode is {@code UNNECESSARY} and rounding is necessary.
+     */
+    public CompactDecimal divide(BigDecimal val) {
+        long u = val.intCompact;
+        return (u != INFLATED) ? divide(u, val.scale())
+            : setRounded(toBigDecimal().divide(val, scale, roundingMode));
+    }
+
+    /**
+     * Divides this {@code CompactDecimal} by the value of {@code val},
+     * rounding the quotient to the scale of this {@code CompactDecimal}.
+     *
+     * @param  val the divisor.
+     * @return {@code this}
+     * @throws ArithmeticException if {@code val} is zero, or the rounding
+     *         mode is {@code UNNECESSARY} and rounding is necessary.
+     */
+    public CompactDecimal divide(CompactDecimal val) {
+        long u = val.intCompact;
+        return (u != INFLATED) ? divide(u, val.scale) : divide(val.inflated);
+    }
+
+    /**
+     * Negates this {@code CompactDecimal}.
+     *
+     * @return {@code this}
+     */
+    public CompactDecimal negate() {
+        if (intCompact != INFLATED)
+            intCompact = -intCompact;
+        else
+            inflated = inflated.negate();
+        return this;
+    }
+
+    /**
+     * Sets this decimal to the given unscaled value, which is not
+     * {@code INFLATED}.
+     */
+    private CompactDecimal setCompact(long unscaledVal) {
+        intCompact = unscaledVal;
+        inflated = null;
+        return this;
+    }
+
+    /**
+     * Sets this decimal to {@code (unscaledVal * 10^-scale)} rounded to
+     * the scale of this decimal, in {@code long} arithmetic if the rounded
+     * value fits.
+     */
+    private CompactDecimal setRounded(long unscaledVal, int scale) {
+        if (unscaledVal != INFLATED) {
+            long v = rescale(unscaledVal, (long) scale - this.scale, mode);
+            if (v != INFLATED)
+                return setCompact(v);
+        }
+        return setRounded(BigDecimal.valueOf(unscaledVal, scale));
+    }
+
+    /**
+     * Sets this decimal to {@code val} rounded to the scale of this
+     * decimal, returning to the compact representation if the rounded
+     * value fits.
+     */
+    private CompactDecimal setRounded(BigDecimal val) {
+        BigDecimal r = val.setScale(scale, roundingMode);
+        long u = r.intCompact;
+        if (u == INFLATED) {
+            BigInteger b = r.unscaledValue();
+            if (b.bitLength() < Long.SIZE)
+                u = b.longValue();
+        }
+        intCompact = u;
+        inflated = (u != INFLATED) ? null : r;
+        return this;
+    }
+
+    // Bulk operations on unscaled values
+
+    /**
+     * Returns the exact sum of the values of an array of unscaled values
+     * with a common scale.
+     *
+     * @param  unscaled the unscaled values.
+     * @param  scale the scale of the values.
+     * @return the sum of the values, with scale {@code scale}.
+     */
+    public static BigDecimal sum(long[] unscaled, int scale) {
+        return sum(unscaled, 0, unscaled.length, scale);
+    }
+
+    /**
+     * Returns the exact sum of the values of a range of an array of
+     * unscaled values with a common scale.  The range extends from index
+     * {@code fromIndex}, inclusive, to index {@code toIndex}, exclusive;
+     * the sum of an empty range is zero.  The sum is accumulated in
+     * {@code long} arithmetic, with the overflows of the accumulator
+     * counted rather than inflated, so that only the result is allocated.
+     *
+     * @param  unscaled the unscaled values.
+     * @param  fromIndex the index of the first value to add, inclusive.
+     * @param  toIndex the index of the last value to add, exclusive.
+     * @param  scale the scale of the values.
+     * @return the sum of the values, with scale {@code scale}.
+     * @throws IllegalArgumentException if {@code fromIndex > toIndex}
+     * @throws ArrayIndexOutOfBoundsException
+     *         if {@code fromIndex < 0} or {@code toIndex > unscaled.length}
+     */
+    public static BigDecimal sum(long[] unscaled, int fromIndex, int toIndex,
+                                 int scale) {
+        rangeCheck(unscaled.length, fromIndex, toIndex);
+        long lo = 0;
+        long hi = 0;
+        for (int i = fromIndex; i < toIndex; i++) {
+            long x = unscaled[i];
+            long s = lo + x;
+            // On overflow the sum is off by 2^64; see BigDecimal.add
+            if (((s ^ lo) & (s ^ x)) < 0)
+                hi += (x < 0) ? -1 : 1;
+            lo = s;
+        }
+        return valueOf(hi, lo, scale);
+    }
+
+    /**
+     * Returns the exact sum of the products of the elements of two arrays
+     * of unscaled values, such as a column of prices and a column of
+     * quantities.  The products are computed and accumulated in
+     * {@code long} arithmetic, with the overflows of the accumulator
+     * counted rather than inflated; only a product that does not fit in
+     * a {@code long} is computed with {@code BigInteger}.
+     *
+     * @param  a the unscaled values of the multiplicands.
+     * @param  aScale the scale of the multiplicands.
+     * @param  b the unscaled values of the multipliers.
+     * @param  bScale the scale of the multipliers.
+     * @return the sum of the products, with scale {@code aScale + bScale}.
+     * @throws IllegalArgumentException if the arrays have different
+     *         lengths.
+     * @throws ArithmeticException if {@code aScale + bScale} is outside the
+     *         range of an {@code int}.
+     */
+    public static BigDecimal sumOfProducts(long[] a, int aScale,
+                                           long[] b, int bScale) {
+        int n = a.length;
+        if (b.length != n)
+            throw new IllegalArgumentException("Array lengths differ");
+        long productScale = (long) aScale + bScale;
+        if (productScale != (int) productScale)
+            throw new ArithmeticException(productScale > 0 ? "Underflow" : "Overflow");
+        long lo = 0;
+        long hi = 0;
+        BigInteger big = null;
+        for (int i = 0; i < n; i++) {
+            long x = BigDecimal.multiply(a[i], b[i]);
+            if (x == INFLATED) {
+                BigInteger p = BigInteger.valueOf(a[i]).multiply(b[i]);
+                big = (big == null) ? p : big.add(p);
+                continue;
+            }
+            long s = lo + x;
+            if (((s ^ lo) & (s ^ x)) < 0)
+                hi += (x < 0) ? -1 : 1;
+            lo = s;
+        }
+        BigDecimal result = valueOf(hi, lo, (int) productScale);
+        if (big != null)
+            result = result.add(new BigDecimal(big, (int) productScale));
+        return result;
+    }
+
+    /**
+     * Multiplies two arrays of unscaled values element by element, and
+     * stores the unscaled values of the products, rounded to
+     * {@code resultScale} with the given rounding mode, in the result
+     * array.  The result array may be one of the operand arrays.
+     *
+     * @param  a the unscaled values of the multiplicands.
+     * @param  aScale the scale of the multiplicands.
+     * @param  b the unscaled values of the multipliers.
+     * @param  bScale the scale of the multipliers.
+     * @param  result the array in which to store the unscaled products.
+     * @param  resultScale the scale of the products.
+     * @param  roundingMode the rounding mode of the products.
+     * @throws IllegalArgumentException if the arrays have different
+     *         lengths.
+     * @throws ArithmeticException if a rounded product does not fit in a
+     *         {@code long}, or the rounding mode is {@code UNNECESSARY} and
+     *         rounding is necessary; the products of the elements before it
+     *         have been stored.
+     */
+    public static void multiply(long[] a, int aScale, long[] b, int bScale,
+                                long[] result, int resultScale,
+                                RoundingMode roundingMode) {
+        int n = a.length;
+        if (b.length != n || result.length != n)
+            throw new IllegalArgumentException("Array lengths differ");
+        int mode = roundingMode.oldMode;
+        long d = (long) aScale + bScale - resultScale;
+        for (int i = 0; i < n; i++) {
+            long x = BigDecimal.multiply(a[i], b[i]);
+            if (x != INFLATED)
+                x = rescale(x, d, mode);
+            if (x == INFLATED) {
+                BigDecimal p = BigDecimal.valueOf(a[i], aScale)
+                    .multiply(BigDecimal.valueOf(b[i], bScale));
+                x = unscaledLongValueExact(p.setScale(resultScale, roundingMode));
+            }
+            result[i] = x;
+        }
+    }
+
+    /**
+     * Converts an array of unscaled values to another scale, and stores
+     * the unscaled values, rounded to {@code resultScale} with the given
+     * rounding mode, in the result array.  The result array may be the
+     * array converted.
+     *
+     * @param  unscaled the unscaled values.
+     * @param  scale the scale of the values.
+     * @param  result the array in which to store the converted values.
+     * @param  resultScale the scale to convert to.
+     * @param  roundingMode the rounding mode of the conversion.
+     * @throws IllegalArgumentException if the arrays have different
+     *         lengths.
+     * @throws ArithmeticException if a converted value does not fit in a
+     *         {@code long}, or the rounding mode is {@code UNNECESSARY} and
+     *         rounding is necessary; the values before it have been
+     *         converted.
+     */
+    public static void rescale(long[] unscaled, int scale,
+                               long[] result, int resultScale,
+                               RoundingMode roundingMode) {
+        int n = unscaled.length;
+        if (result.length != n)
+            throw new IllegalArgumentException("Array lengths differ");
+        int mode = roundingMode.oldMode;
+        long d = (long) scale - resultScale;
+        for (int i = 0; i < n; i++) {
+            long x = unscaled[i];
+            if (x != INFLATED)
+                x = rescale(x, d, mode);
+            if (x == INFLATED) {
+                BigDecimal v = BigDecimal.valueOf(unscaled[i], scale);
+                x = unscaledLongValueExact(v.setScale(resultScale, roundingMode));
+            }
+            result[i] = x;
+        }
+    }
+
+    /**
+     * Returns {@code (val * 10^-n)} rounded to an integer with the given
+     * {@code BigDecimal} rounding mode, or {@code INFLATED} if it does not
+     * fit in a {@code long} or cannot be computed in {@code long}
+     * arithmetic.  The value must not be {@code INFLATED}.
+     */
+    private static long rescale(long val, long n, int mode) {
+        if (n <= 0)
+            return BigDecimal.longMultiplyPowerTen(val, (int) Math.min(-n, 19));
+        if (n < BigDecimal.LONG_TEN_POWERS_TABLE.length)
+            return BigDecimal.divideAndRound(val, BigDecimal.LONG_TEN_POWERS_TABLE[(int) n],
+                                             mode);
+        return INFLATED;
+    }
+
+    /**
+     * Returns the unscaled value of a {@code BigDecimal} as a
+     * {@code long}, throwing {@code ArithmeticException} if it does not
+     * fit.
+     */
+    private static long unscaledLongValueExact(BigDecimal val) {
+        long u = val.intCompact;
+        if (u == INFLATED) {
+            BigInteger b = val.unscaledValue();
+            if (b.bitLength() >= Long.SIZE)
+                throw new ArithmeticException("Overflow");
+            u = b.longValue();
+        }
+        return u;
+    }
+
+    /**
+     * Returns a {@code BigDecimal} whose unscaled value is
+     * {@code (hi * 2^64 + lo)}, where {@code lo} is signed.
+     */
+    private static BigDecimal valueOf(long hi, long lo, int scale) {
+        if (hi == 0)
+            return BigDecimal.valueOf(lo, scale);
+        BigInteger u = BigInteger.valueOf(hi).shiftLeft(Long.SIZE)
+            .add(BigInteger.valueOf(lo));
+        return new BigDecimal(u, scale);
+    }
+
+    /**
+     * Checks that {@code fromIndex} and {@code toIndex} are in
+     * the range and throws an exception if they aren't.
+     */
+    private static void rangeCheck(int arrayLength, int fromIndex, int toIndex) {
+        if (fromIndex > toIndex) {
+            throw new IllegalArgumentException(
+                "fromIndex(" + fromIndex + ") > toIndex(" + toIndex + ")");
+        }
+        if (fromIndex < 0) {
+            throw new ArrayIndexOutOfBoundsException(fromIndex);
+        }
+        if (toIndex > arrayLength) {
+            throw new ArrayIndexOutOfBoundsException(toIndex);
+        }
+    }
+}
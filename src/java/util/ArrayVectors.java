@@ -0,0 +1,1023 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.util;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.security.AccessController;
+
+import sun.misc.Unsafe;
+import sun.nio.ch.DirectBuffer;
+import sun.security.action.GetPropertyAction;
+
+/**
+ * This class contains methods that compute reductions, such as sums, dot
+ * products and extrema, and comparisons over arrays of primitive values
+ * and byte buffers.  The elements are processed several at a time, in
+ * lanes of a fixed number of elements:
+ *
+ * <ul>
+ * <li>Bytes are compared eight at a time, as the 64-bit words that contain
+ * them, where the platform supports unaligned memory access.
+ * <li>Reductions of {@code int}, {@code long}, {@code float} and
+ * {@code double} values are computed in four independent lanes, which are
+ * combined at the end, so that each step depends on the one four elements
+ * before it rather than on the one immediately before it.
+ * </ul>
+ *
+ * <p>Each method is equivalent to a loop that processes the elements one
+ * at a time, which it falls back to for the elements that do not fill a
+ * lane, and, for byte buffers, where the content of a buffer cannot be
+ * accessed as memory.
+ *
+ * <p>The methods in this class all throw a {@code NullPointerException}
+ * if the specified array or buffer reference is null.
+ *
+ * @implNote
+ * The floating-point sums and dot products add the elements in lanes, in
+ * an order that differs from the order of the elements; like
+ * {@link java.util.stream.DoubleStream#sum DoubleStream.sum}, their
+ * result may differ, by the rounding errors of the additions, from that
+ * of a loop adding the elements in order.  The other results are exact.
+ *
+ * @see Arrays
+ * @since 1.8
+ */
+public final class ArrayVectors {
+
+    // Suppresses default constructor, ensuring non-instantiability.
+    private ArrayVectors() {}
+
+    private static final Unsafe U = Unsafe.getUnsafe();
+
+    /** True if 64-bit words may be read at any byte address. */
+    private static final boolean UNALIGNED;
+
+    /** True if the first byte of a word is its most significant byte. */
+    private static final boolean BIG_ENDIAN =
+        ByteOrder.nativeOrder() == ByteOrder.BIG_ENDIAN;
+
+    static {
+        String arch = AccessController.doPrivileged(
+            new GetPropertyAction("os.arch"));
+        UNALIGNED = arch.equals("i386") || arch.equals("x86")
+            || arch.equals("amd64") || arch.equals("x86_64")
+            || arch.equals("ppc64") || arch.equals("ppc64le");
+    }
+
+    static final int LOG2_ARRAY_BOOLEAN_INDEX_SCALE = 0;
+    static final int LOG2_ARRAY_BYTE_INDEX_SCALE = 0;
+    static final int LOG2_ARRAY_CHAR_INDEX_SCALE = 1;
+    static final int LOG2_ARRAY_SHORT_INDEX_SCALE = 1;
+    static final int LOG2_ARRAY_INT_INDEX_SCALE = 2;
+    static final int LOG2_ARRAY_FLOAT_INDEX_SCALE = 2;
+    static final int LOG2_ARRAY_LONG_INDEX_SCALE = 3;
+    static final int LOG2_ARRAY_DOUBLE_INDEX_SCALE = 3;
+
+    /**
+     * Checks that {@code fromIndex} and {@code toIndex} are in the range and
+     * throws an exception if they aren't.
+     */
+    private static void rangeCheck(int arrayLength, int fromIndex, int toIndex) {
+        if (fromIndex > toIndex) {
+            throw new IllegalArgumentException(
+                "fromIndex(" + fromIndex + ") > toIndex(" + toIndex + ")");
+        }
+        if (fromIndex < 0) {
+            throw new ArrayIndexOutOfBoundsException(fromIndex);
+        }
+        if (toIndex > arrayLength) {
+            throw new ArrayIndexOutOfBoundsException(toIndex);
+        }
+    }
+
+    /**
+     * Checks that a range of {@code length} elements starting at
+     * {@code fromIndex} is within an array of {@code arrayLength} elements.
+     */
+    private static void lengthCheck(int arrayLength, int fromIndex, int length) {
+        if (length < 0) {
+            throw new IllegalArgumentException("length(" + length + ") < 0");
+        }
+        if (fromIndex < 0) {
+            throw new ArrayIndexOutOfBoundsException(fromIndex);
+        }
+        if (fromIndex > arrayLength - length) {
+            throw new ArrayIndexOutOfBoundsException(fromIndex + length);
+        }
+    }
+
+    /**
+     * Checks that a range is not empty, for the reductions that have no
+     * value for an empty range.
+     */
+    private static void nonEmptyCheck(int fromIndex, int toIndex) {
+        if (fromIndex == toIndex) {
+            throw new NoSuchElementException();
+        }
+    }
+
+    // Mismatch
+
+    /**
+     * Finds the index of the first element that differs between two
+     * ranges of memory, comparing the bytes of the elements a word at a
+     * time.  Each range is an array and the offset of its first element,
+     * or null and the address of its first element.
+     *
+     * @param a the first array, or null
+     * @param aOffset the offset of the first element of the first range
+     * @param b the second array, or null
+     * @param bOffset the offset of the first element of the second range
+     * @param length the number of elements to compare
+     * @param log2Scale the log2 of the size in bytes of an element
+     * @return the index of the first element that differs, relative to
+     *         the start of the ranges, or -1 if all the elements are equal
+     */
+    static int vectorizedMismatch(Object a, long aOffset,
+                                  Object b, long bOffset,
+                                  int length, int log2Scale) {
+        long bytes = (long) length << log2Scale;
+        long i = 0;
+        if (UNALIGNED || ((aOffset | bOffset) & 7) == 0) {
+            int words = (int) (bytes >>> 3);
+            for (int w = 0; w < words; w++, i += 8) {
+                long av = U.getLong(a, aOffset + i);
+                long bv = U.getLong(b, bOffset + i);
+                if (av != bv) {
+                    return (int) ((i + firstDifferentByte(av ^ bv)) >> log2Scale);
+                }
+            }
+        }
+        for (; i < bytes; i++) {
+            if (U.getByte(a, aOffset + i) != U.getByte(b, bOffset + i)) {
+                return (int) (i >> log2Scale);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the index, in memory order, of the first non-zero byte of
+     * the exclusive-or of two words.
+     */
+    private static int firstDifferentByte(long diff) {
+        return (BIG_ENDIAN ? Long.numberOfLeadingZeros(diff)
+                           : Long.numberOfTrailingZeros(diff)) >> 3;
+    }
+
+    /**
+     * Finds the index of the first byte that differs between two ranges
+     * of bytes of the same length.
+     *
+     * @param a the first array
+     * @param aFromIndex the index of the first byte of the first range
+     * @param b the second array
+     * @param bFromIndex the index of the first byte of the second range
+     * @param length the number of bytes to compare
+     * @return the index of the first byte that differs, relative to the
+     *         start of the ranges, or -1 if all the bytes are equal
+     * @throws IllegalArgumentException if {@code length < 0}
+     * @throws ArrayIndexOutOfBoundsException if a range is not within
+     *         its array
+     */
+    public static int mismatch(byte[] a, int aFromIndex,
+                               byte[] b, int bFromIndex, int length) {
+        lengthCheck(a.length, aFromIndex, length);
+        lengthCheck(b.length, bFromIndex, length);
+        return vectorizedMismatch(
+            a, (long) Unsafe.ARRAY_BYTE_BASE_OFFSET + aFromIndex,
+            b, (long) Unsafe.ARRAY_BYTE_BASE_OFFSET + bFromIndex,
+            length, LOG2_ARRAY_BYTE_INDEX_SCALE);
+    }
+
+    /**
+     * Finds the index of the first byte that differs between the
+     * remaining bytes of two buffers.  If the remaining bytes of one
+     * buffer are a proper prefix of those of the other, the index
+     * returned is the number of remaining bytes of the shorter buffer.
+     * The positions, limits and marks of the buffers are not changed.
+     *
+     * @param a the first buffer
+     * @param b the second buffer
+     * @return the index of the first byte that differs, relative to the
+     *         positions of the buffers, or -1 if the remaining bytes of
+     *         the buffers are equal
+     */
+    public static int mismatch(ByteBuffer a, ByteBuffer b) {
+        int aPos = a.position(), aRem = a.limit() - aPos;
+        int bPos = b.position(), bRem = b.limit() - bPos;
+        int length = Math.min(aRem, bRem);
+
+        int i;
+        Object aBase = memoryBase(a), bBase = memoryBase(b);
+        if (aBase != a && bBase != b) {
+            i = vectorizedMismatch(aBase, memoryOffset(a, aPos),
+                                   bBase, memoryOffset(b, bPos),
+                                   length, LOG2_ARRAY_BYTE_INDEX_SCALE);
+        } else {
+            for (i = 0; i < length; i++) {
+                if (a.get(aPos + i) != b.get(bPos + i)) {
+                    break;
+                }
+            }
+            if (i == length) {
+                i = -1;
+            }
+        }
+        if (i >= 0) {
+            return i;
+        }
+        return (aRem == bRem) ? -1 : length;
+    }
+
+    /**
+     * Returns the array of a buffer, null if its content is memory at an
+     * address, or the buffer itself if its content cannot be accessed as
+     * either.
+     */
+    private static Object memoryBase(ByteBuffer bb) {
+        if (bb.hasArray()) {
+            return bb.array();
+        }
+        return bb.isDirect() ? null : bb;
+    }
+
+    /**
+     * Returns the offset in the array, or the address, of the byte at the
+     * given index of a buffer whose {@link #memoryBase} is not the buffer.
+     */
+    private static long memoryOffset(ByteBuffer bb, int index) {
+        if (bb.hasArray()) {
+            return (long) Unsafe.ARRAY_BYTE_BASE_OFFSET + bb.arrayOffset() + index;
+        }
+        return ((DirectBuffer) bb).address() + index;
+    }
+
+    // Hash codes
+
+    /*
+     * The hash codes are those of Arrays.hashCode, result = 31 * result + e
+     * for each element e, computed four elements at a time:
+     * result = 31^4 * result + 31^3 * e0 + 31^2 * e1 + 31 * e2 + e3.
+     * Only the first multiplication depends on the previous step.
+     */
+
+    private static final int P1 = 31;
+    private static final int P2 = 31 * 31;
+    private static final int P3 = 31 * 31 * 31;
+    private static final int P4 = 31 * 31 * 31 * 31;
+
+    static int hashCode(int result, int[] a, int fromIndex, int toIndex) {
+        int i = fromIndex;
+        for (; i < toIndex - 3; i += 4) {
+            result = P4 * result + P3 * a[i] + P2 * a[i + 1]
+                + P1 * a[i + 2] + a[i + 3];
+        }
+        for (; i < toIndex; i++) {
+            result = 31 * result + a[i];
+        }
+        return result;
+    }
+
+    static int hashCode(int result, long[] a, int fromIndex, int toIndex) {
+        int i = fromIndex;
+        for (; i < toIndex - 3; i += 4) {
+            long e0 = a[i], e1 = a[i + 1], e2 = a[i + 2], e3 = a[i + 3];
+            result = P4 * result + P3 * (int) (e0 ^ (e0 >>> 32))
+                + P2 * (int) (e1 ^ (e1 >>> 32))
+                + P1 * (int) (e2 ^ (e2 >>> 32))
+                + (int) (e3 ^ (e3 >>> 32));
+        }
+        for (; i < toIndex; i++) {
+            long e = a[i];
+            result = 31 * result + (int) (e ^ (e >>> 32));
+        }
+        return result;
+    }
+
+    static int hashCode(int result, short[] a, int fromIndex, int toIndex) {
+        int i = fromIndex;
+        for (; i < toIndex - 3; i += 4) {
+            result = P4 * result + P3 * a[i] + P2 * a[i + 1]
+                + P1 * a[i + 2] + a[i + 3];
+        }
+        for (; i < toIndex; i++) {
+            result = 31 * result + a[i];
+        }
+        return result;
+    }
+
+    static int hashCode(int result, char[] a, int fromIndex, int toIndex) {
+        int i = fromIndex;
+        for (; i < toIndex - 3; i += 4) {
+            result = P4 * result + P3 * a[i] + P2 * a[i + 1]
+                + P1 * a[i + 2] + a[i + 3];
+        }
+        for (; i < toIndex; i++) {
+            result = 31 * result + a[i];
+        }
+        return result;
+    }
+
+    static int hashCode(int result, byte[] a, int fromIndex, int toIndex) {
+        int i = fromIndex;
+        for (; i < toIndex - 3; i += 4) {
+            result = P4 * result + P3 * a[i] + P2 * a[i + 1]
+                + P1 * a[i + 2] + a[i + 3];
+        }
+        for (; i < toIndex; i++) {
+            result = 31 * result + a[i];
+        }
+        return result;
+    }
+
+    // Sums
+
+    /**
+     * Returns the sum of the elements of an array, as a {@code long}.
+     *
+     * @param a the array
+     * @return the sum of the elements, which is 0 if the array is empty
+     */
+    public static long sum(int[] a) {
+        return sum(a, 0, a.length);
+    }
+
+    /**
+     * Returns the sum of a range of elements of an array, as a
+     * {@code long}.  The range extends from index {@code fromIndex},
+     * inclusive, to index {@code toIndex}, exclusive.
+     *
+     * @param a the array
+     * @param fromIndex the index of the first element, inclusive
+     * @param toIndex the index of the last element, exclusive
+     * @return the sum of the elements, which is 0 if the range is empty
+     * @throws IllegalArgumentException if {@code fromIndex > toIndex}
+     * @throws ArrayIndexOutOfBoundsException if {@code fromIndex < 0} or
+     *         {@code toIndex > a.length}
+     */
+    public static long sum(int[] a, int fromIndex, int toIndex) {
+        rangeCheck(a.length, fromIndex, toIndex);
+        long s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+        int i = fromIndex;
+        for (; i < toIndex - 3; i += 4) {
+            s0 += a[i];
+            s1 += a[i + 1];
+            s2 += a[i + 2];
+            s3 += a[i + 3];
+        }
+        for (; i < toIndex; i++) {
+            s0 += a[i];
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    /**
+     * Returns the sum of the elements of an array.  The sum wraps around
+     * on overflow, as does the {@code +} operator.
+     *
+     * @param a the array
+     * @return the sum of the elements, which is 0 if the array is empty
+     */
+    public static long sum(long[] a) {
+        return sum(a, 0, a.length);
+    }
+
+    /**
+     * Returns the sum of a range of elements of an array.  The range
+     * extends from index {@code fromIndex}, inclusive, to index
+     * {@code toIndex}, exclusive.  The sum wraps around on overflow, as
+     * does the {@code +} operator.
+     *
+     * @param a the array
+     * @param fromIndex the index of the first element, inclusive
+     * @param toIndex the index of the last element, exclusive
+     * @return the sum of the elements, which is 0 if the range is empty
+     * @throws IllegalArgumentException if {@code fromIndex > toIndex}
+     * @throws ArrayIndexOutOfBoundsException if {@code fromIndex < 0} or
+     *         {@code toIndex > a.length}
+     */
+    public static long sum(long[] a, int fromIndex, int toIndex) {
+        rangeCheck(a.length, fromIndex, toIndex);
+        long s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+        int i = fromIndex;
+        for (; i < toIndex - 3; i += 4) {
+            s0 += a[i];
+            s1 += a[i + 1];
+            s2 += a[i + 2];
+            s3 += a[i + 3];
+        }
+        for (; i < toIndex; i++) {
+            s0 += a[i];
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    /**
+     * Returns the sum of the elements of an array, as a {@code long}.
+     *
+     * @param a the array
+     * @return the sum of the elements, which is 0 if the array is empty
+     */
+    public static long sum(byte[] a) {
+        return sum(a, 0, a.length);
+    }
+
+    /**
+     * Returns the sum of a range of elements of an array, as a
+     * {@code long}.  The range extends from index {@code fromIndex},
+     * inclusive, to index {@code toIndex}, exclusive.
+     *
+     * @param a the array
+     * @param fromIndex the index of the first element, inclusive
+     * @param toIndex the index of the last element, exclusive
+     * @return the sum of the elements, which is 0 if the range is empty
+     * @throws IllegalArgumentException if {@code fromIndex > toIndex}
+     * @throws ArrayIndexOutOfBoundsException if {@code fromIndex < 0} or
+     *         {@code toIndex > a.length}
+     */
+    public static long sum(byte[] a, int fromIndex, int toIndex) {
+        rangeCheck(a.length, fromIndex, toIndex);
+        long s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+        int i = fromIndex;
+        for (; i < toIndex - 3; i += 4) {
+            s0 += a[i];
+            s1 += a[i + 1];
+            s2 += a[i + 2];
+            s3 += a[i + 3];
+        }
+        for (; i < toIndex; i++) {
+            s0 += a[i];
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    /**
+     * Returns the sum of the elements of an array, as a {@code double}.
+     *
+     * @param a the array
+     * @return the sum of the elements, which is 0 if the array is empty
+     */
+    public static double sum(float[] a) {
+        return sum(a, 0, a.length);
+    }
+
+    /**
+     * Returns the sum of a range of elements of an array, as a
+     * {@code double}.  The range extends from index {@code fromIndex},
+     * inclusive, to index {@code toIndex}, exclusive.
+     *
+     * @param a the array
+     * @param fromIndex the index of the first element, inclusive
+     * @param toIndex the index of the last element, exclusive
+     * @return the sum of the elements, which is 0 if the range is empty
+     * @throws IllegalArgumentException if {@code fromIndex > toIndex}
+     * @throws ArrayIndexOutOfBoundsException if {@code fromIndex < 0} or
+     *         {@code toIndex > a.length}
+     */
+    public static double sum(float[] a, int fromIndex, int toIndex) {
+        rangeCheck(a.length, fromIndex, toIndex);
+        double s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+        int i = fromIndex;
+        for (; i < toIndex - 3; i += 4) {
+            s0 += a[i];
+            s1 += a[i + 1];
+            s2 += a[i + 2];
+            s3 += a[i + 3];
+        }
+        for (; i < toIndex; i++) {
+            s0 += a[i];
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    /**
+     * Returns the sum of the elements of an array.
+     *
+     * @param a the array
+     * @return the sum of the elements, which is 0 if the array is empty
+     */
+    public static double sum(double[] a) {
+        return sum(a, 0, a.length);
+    }
+
+    /**
+     * Returns the sum of a range of elements of an array.  The range
+     * extends from index {@code fromIndex}, inclusive, to index
+     * {@code toIndex}, exclusive.
+     *
+     * @param a the array
+     * @param fromIndex the index of the first element, inclusive
+     * @param toIndex the index of the last element, exclusive
+     * @return the sum of the elements, which is 0 if the range is empty
+     * @throws IllegalArgumentException if {@code fromIndex > toIndex}
+     * @throws ArrayIndexOutOfBoundsException if {@code fromIndex < 0} or
+     *         {@code toIndex > a.length}
+     */
+    public static double sum(double[] a, int fromIndex, int toIndex) {
+        rangeCheck(a.length, fromIndex, toIndex);
+        double s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+        int i = fromIndex;
+        for (; i < toIndex - 3; i += 4) {
+            s0 += a[i];
+            s1 += a[i + 1];
+            s2 += a[i + 2];
+            s3 += a[i + 3];
+        }
+        for (; i < toIndex; i++) {
+            s0 += a[i];
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    // Dot products
+
+    /**
+     * Returns the dot product of two arrays of the same length, the sum
+     * of the products of their corresponding elements, as a {@code long}.
+     *
+     * @param a the first array
+     * @param b the second array
+     * @return the dot product, which is 0 if the arrays are empty
+     * @throws IllegalArgumentException if the arrays differ in length
+     */
+    public static long dot(int[] a, int[] b) {
+        int length = a.length;
+        if (b.length != length) {
+            throw new IllegalArgumentException("array lengths differ");
+        }
+        long s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+        int i = 0;
+        for (; i < length - 3; i += 4) {
+            s0 += (long) a[i] * b[i];
+            s1 += (long) a[i + 1] * b[i + 1];
+            s2 += (long) a[i + 2] * b[i + 2];
+            s3 += (long) a[i + 3] * b[i + 3];
+        }
+        for (; i < length; i++) {
+            s0 += (long) a[i] * b[i];
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    /**
+     * Returns the dot product of two arrays of the same length, the sum
+     * of the products of their corresponding elements.  The products and
+     * their sum wrap around on overflow, as do the {@code *} and
+     * {@code +} operators.
+     *
+     * @param a the first array
+     * @param b the second array
+     * @return the dot product, which is 0 if the arrays are empty
+     * @throws IllegalArgumentException if the arrays differ in length
+     */
+    public static long dot(long[] a, long[] b) {
+        int length = a.length;
+        if (b.length != length) {
+            throw new IllegalArgumentException("array lengths differ");
+        }
+        long s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+        int i = 0;
+        for (; i < length - 3; i += 4) {
+            s0 += a[i] * b[i];
+            s1 += a[i + 1] * b[i + 1];
+            s2 += a[i + 2] * b[i + 2];
+            s3 += a[i + 3] * b[i + 3];
+        }
+        for (; i < length; i++) {
+            s0 += a[i] * b[i];
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    /**
+     * Returns the dot product of two arrays of the same length, the sum
+     * of the products of their corresponding elements, as a
+     * {@code double}.
+     *
+     * @param a the first array
+     * @param b the second array
+     * @return the dot product, which is 0 if the arrays are empty
+     * @throws IllegalArgumentException if the arrays differ in length
+     */
+    public static double dot(float[] a, float[] b) {
+        int length = a.length;
+        if (b.length != length) {
+            throw new IllegalArgumentException("array lengths differ");
+        }
+        double s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+        int i = 0;
+        for (; i < length - 3; i += 4) {
+            s0 += (double) a[i] * b[i];
+            s1 += (double) a[i + 1] * b[i + 1];
+            s2 += (double) a[i + 2] * b[i + 2];
+            s3 += (double) a[i + 3] * b[i + 3];
+        }
+        for (; i < length; i++) {
+            s0 += (double) a[i] * b[i];
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    /**
+     * Returns the dot product of two arrays of the same length, the sum
+     * of the products of their corresponding elements.
+     *
+     * @param a the first array
+     * @param b the second array
+     * @return the dot product, which is 0 if the arrays are empty
+     * @throws IllegalArgumentException if the arrays differ in length
+     */
+    public static double dot(double[] a, double[] b) {
+        int length = a.length;
+        if (b.length != length) {
+            throw new IllegalArgumentException("array lengths differ");
+        }
+        double s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+        int i = 0;
+        for (; i < length - 3; i += 4) {
+            s0 += a[i] * b[i];
+            s1 += a[i + 1] * b[i + 1];
+            s2 += a[i + 2] * b[i + 2];
+            s3 += a[i + 3] * b[i + 3];
+        }
+        for (; i < length; i++) {
+            s0 += a[i] * b[i];
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    // Minimum and maximum
+
+    /**
+     * Returns the smallest element of an array.
+     *
+     * @param a the array
+     * @return the smallest element
+     * @throws NoSuchElementException if the array is empty
+     */
+    public static int min(int[] a) {
+        return min(a, 0, a.length);
+    }
+
+    /**
+     * Returns the smallest element of a range of an array.  The range
+     * extends from index {@code fromIndex}, inclusive, to index
+     * {@code toIndex}, exclusive.
+     *
+     * @param a the array
+     * @param fromIndex the index of the first element, inclusive
+     * @param toIndex the index of the last element, exclusive
+     * @return the smallest element
+     * @throws NoSuchElementException if the range is empty
+     * @throws IllegalArgumentException if {@code fromIndex > toIndex}
+     * @throws ArrayIndexOutOfBoundsException if {@code fromIndex < 0} or
+     *         {@code toIndex > a.length}
+     */
+    public static int min(int[] a, int fromIndex, int toIndex) {
+        rangeCheck(a.length, fromIndex, toIndex);
+        nonEmptyCheck(fromIndex, toIndex);
+        int m0 = a[fromIndex], m1 = m0, m2 = m0, m3 = m0;
+        int i = fromIndex + 1;
+        for (; i < toIndex - 3; i += 4) {
+            m0 = Math.min(m0, a[i]);
+            m1 = Math.min(m1, a[i + 1]);
+            m2 = Math.min(m2, a[i + 2]);
+            m3 = Math.min(m3, a[i + 3]);
+        }
+        for (; i < toIndex; i++) {
+            m0 = Math.min(m0, a[i]);
+        }
+        return Math.min(Math.min(m0, m1), Math.min(m2, m3));
+    }
+
+    /**
+     * Returns the largest element of an array.
+     *
+     * @param a the array
+     * @return the largest element
+     * @throws NoSuchElementException if the array is empty
+     */
+    public static int max(int[] a) {
+        return max(a, 0, a.length);
+    }
+
+    /**
+     * Returns the largest element of a range of an array.  The range
+     * extends from index {@code fromIndex}, inclusive, to index
+     * {@code toIndex}, exclusive.
+     *
+     * @param a the array
+     * @param fromIndex the index of the first element, inclusive
+     * @param toIndex the index of the last element, exclusive
+     * @return the largest element
+     * @throws NoSuchElementException if the range is empty
+     * @throws IllegalArgumentException if {@code fromIndex > toIndex}
+     * @throws ArrayIndexOutOfBoundsException if {@code fromIndex < 0} or
+     *         {@code toIndex > a.length}
+     */
+    public static int max(int[] a, int fromIndex, int toIndex) {
+        rangeCheck(a.length, fromIndex, toIndex);
+        nonEmptyCheck(fromIndex, toIndex);
+        int m0 = a[fromIndex], m1 = m0, m2 = m0, m3 = m0;
+        int i = fromIndex + 1;
+        for (; i < toIndex - 3; i += 4) {
+            m0 = Math.max(m0, a[i]);
+            m1 = Math.max(m1, a[i + 1]);
+            m2 = Math.max(m2, a[i + 2]);
+            m3 = Math.max(m3, a[i + 3]);
+        }
+        for (; i < toIndex; i++) {
+            m0 = Math.max(m0, a[i]);
+        }
+        return Math.max(Math.max(m0, m1), Math.max(m2, m3));
+    }
+
+    /**
+     * Returns the smallest element of an array.
+     *
+     * @param a the array
+     * @return the smallest element
+     * @throws NoSuchElementException if the array is empty
+     */
+    public static long min(long[] a) {
+        return min(a, 0, a.length);
+    }
+
+    /**
+     * Returns the smallest element of a range of an array.  The range
+     * extends from index {@code fromIndex}, inclusive, to index
+     * {@code toIndex}, exclusive.
+     *
+     * @param a the array
+     * @param fromIndex the index of the first element, inclusive
+     * @param toIndex the index of the last element, exclusive
+     * @return the smallest element
+     * @throws NoSuchElementException if the range is empty
+     * @throws IllegalArgumentException if {@code fromIndex > toIndex}
+     * @throws ArrayIndexOutOfBoundsException if {@code fromIndex < 0} or
+     *         {@code toIndex > a.length}
+     */
+    public static long min(long[] a, int fromIndex, int toIndex) {
+        rangeCheck(a.length, fromIndex, toIndex);
+        nonEmptyCheck(fromIndex, toIndex);
+        long m0 = a[fromIndex], m1 = m0, m2 = m0, m3 = m0;
+        int i = fromIndex + 1;
+        for (; i < toIndex - 3; i += 4) {
+            m0 = Math.min(m0, a[i]);
+            m1 = Math.min(m1, a[i + 1]);
+            m2 = Math.min(m2, a[i + 2]);
+            m3 = Math.min(m3, a[i + 3]);
+        }
+        for (; i < toIndex; i++) {
+            m0 = Math.min(m0, a[i]);
+        }
+        return Math.min(Math.min(m0, m1), Math.min(m2, m3));
+    }
+
+    /**
+     * Returns the largest element of an array.
+     *
+     * @param a the array
+     * @return the largest element
+     * @throws NoSuchElementException if the array is empty
+     */
+    public static long max(long[] a) {
+        return max(a, 0, a.length);
+    }
+
+    /**
+     * Returns the largest element of a range of an array.  The range
+     * extends from index {@code fromIndex}, inclusive, to index
+     * {@code toIndex}, exclusive.
+     *
+     * @param a the array
+     * @param fromIndex the index of the first element, inclusive
+     * @param toIndex the index of the last element, exclusive
+     * @return the largest element
+     * @throws NoSuchElementException if the range is empty
+     * @throws IllegalArgumentException if {@code fromIndex > toIndex}
+     * @throws ArrayIndexOutOfBoundsException if {@code fromIndex < 0} or
+     *         {@code toIndex > a.length}
+     */
+    public static long max(long[] a, int fromIndex, int toIndex) {
+        rangeCheck(a.length, fromIndex, toIndex);
+        nonEmptyCheck(fromIndex, toIndex);
+        long m0 = a[fromIndex], m1 = m0, m2 = m0, m3 = m0;
+        int i = fromIndex + 1;
+        for (; i < toIndex - 3; i += 4) {
+            m0 = Math.max(m0, a[i]);
+            m1 = Math.max(m1, a[i + 1]);
+            m2 = Math.max(m2, a[i + 2]);
+            m3 = Math.max(m3, a[i + 3]);
+        }
+        for (; i < toIndex; i++) {
+            m0 = Math.max(m0, a[i]);
+        }
+        return Math.max(Math.max(m0, m1), Math.max(m2, m3));
+    }
+
+    /**
+     * Returns the smallest element of an array, as determined by
+     * {@link Math#min(float, float) Math.min}: NaN if any element is NaN,
+     * and {@code -0.0f} rather than {@code 0.0f}.
+     *
+     * @param a the array
+     * @return the smallest element
+     * @throws NoSuchElementException if the array is empty
+     */
+    public static float min(float[] a) {
+        return min(a, 0, a.length);
+    }
+
+    /**
+     * Returns the smallest element of a range of an array, as determined
+     * by {@link Math#min(float, float) Math.min}.  The range extends from
+     * index {@code fromIndex}, inclusive, to index {@code toIndex},
+     * exclusive.
+     *
+     * @param a the array
+     * @param fromIndex the index of the first element, inclusive
+     * @param toIndex the index of the last element, exclusive
+     * @return the smallest element
+     * @throws NoSuchElementException if the range is empty
+     * @throws IllegalArgumentException if {@code fromIndex > toIndex}
+     * @throws ArrayIndexOutOfBoundsException if {@code fromIndex < 0} or
+     *         {@code toIndex > a.length}
+     */
+    public static float min(float[] a, int fromIndex, int toIndex) {
+        rangeCheck(a.length, fromIndex, toIndex);
+        nonEmptyCheck(fromIndex, toIndex);
+        float m0 = a[fromIndex], m1 = m0, m2 = m0, m3 = m0;
+        int i = fromIndex + 1;
+        for (; i < toIndex - 3; i += 4) {
+            m0 = Math.min(m0, a[i]);
+            m1 = Math.min(m1, a[i + 1]);
+            m2 = Math.min(m2, a[i + 2]);
+            m3 = Math.min(m3, a[i + 3]);
+        }
+        for (; i < toIndex; i++) {
+            m0 = Math.min(m0, a[i]);
+        }
+        return Math.min(Math.min(m0, m1), Math.min(m2, m3));
+    }
+
+    /**
+     * Returns the largest element of an array, as determined by
+     * {@link Math#max(float, float) Math.max}: NaN if any element is NaN,
+     * and {@code 0.0f} rather than {@code -0.0f}.
+     *
+     * @param a the array
+     * @return the largest element
+     * @throws NoSuchElementException if the array is empty
+     */
+    public static float max(float[] a) {
+        return max(a, 0, a.length);
+    }
+
+    /**
+     * Returns the largest element of a range of an array, as determined
+     * by {@link Math#max(float, float) Math.max}.  The range extends from
+     * index {@code fromIndex}, inclusive, to index {@code toIndex},
+     * exclusive.
+     *
+     * @param a the array
+     * @param fromIndex the index of the first element, inclusive
+     * @param toIndex the index of the last element, exclusive
+     * @return the largest element
+     * @throws NoSuchElementException if the range is empty
+     * @throws IllegalArgumentException if {@code fromIndex > toIndex}
+     * @throws ArrayIndexOutOfBoundsException if {@code fromIndex < 0} or
+     *         {@code toIndex > a.length}
+     */
+    public static float max(float[] a, int fromIndex, int toIndex) {
+        rangeCheck(a.length, fromIndex, toIndex);
+        nonEmptyCheck(fromIndex, toIndex);
+        float m0 = a[fromIndex], m1 = m0, m2 = m0, m3 = m0;
+        int i = fromIndex + 1;
+        for (; i < toIndex - 3; i += 4) {
+            m0 = Math.max(m0, a[i]);
+            m1 = Math.max(m1, a[i + 1]);
+            m2 = Math.max(m2, a[i + 2]);
+            m3 = Math.max(m3, a[i + 3]);
+        }
+        for (; i < toIndex; i++) {
+            m0 = Math.max(m0, a[i]);
+        }
+        return Math.max(Math.max(m0, m1), Math.max(m2, m3));
+    }
+
+    /**
+     * Returns the smallest element of an array, as determined by
+     * {@link Math#min(double, double) Math.min}: NaN if any element is
+     * NaN, and {@code -0.0} rather than {@code 0.0}.
+     *
+     * @param a the array
+     * @return the smallest element
+     * @throws NoSuchElementException if the array is empty
+     */
+    public static double min(double[] a) {
+        return min(a, 0, a.length);
+    }
+
+    /**
+     * Returns the smallest element of a range of an array, as determined
+     * by {@link Math#min(double, double) Math.min}.  The range extends
+     * from index {@code fromIndex}, inclusive, to index {@code toIndex},
+     * exclusive.
+     *
+     * @param a the array
+     * @param fromIndex the index of the first element, inclusive
+     * @param toIndex the index of the last element, exclusive
+     * @return the smallest element
+     * @throws NoSuchElementException if the range is empty
+     * @throws IllegalArgumentException if {@code fromIndex > toIndex}
+     * @throws ArrayIndexOutOfBoundsException if {@code fromIndex < 0} or
+     *         {@code toIndex > a.length}
+     */
+    public static double min(double[] a, int fromIndex, int toIndex) {
+        rangeCheck(a.length, fromIndex, toIndex);
+        nonEmptyCheck(fromIndex, toIndex);
+        double m0 = a[fromIndex], m1 = m0, m2 = m0, m3 = m0;
+        int i = fromIndex + 1;
+        for (; i < toIndex - 3; i += 4) {
+            m0 = Math.min(m0, a[i]);
+            m1 = Math.min(m1, a[i + 1]);
+            m2 = Math.min(m2, a[i + 2]);
+            m3 = Math.min(m3, a[i + 3]);
+        }
+        for (; i < toIndex; i++) {
+            m0 = Math.min(m0, a[i]);
+        }
+        return Math.min(Math.min(m0, m1), Math.min(m2, m3));
+    }
+
+    /**
+     * Returns the largest element of an array, as determined by
+     * {@link Math#max(double, double) Math.max}: NaN if any element is
+     * NaN, and {@code 0.0} rather than {@code -0.0}.
+     *
+     * @param a the array
+     * @return the largest element
+     * @throws NoSuchElementException if the array is empty
+     */
+    public static double max(double[] a) {
+        return max(a, 0, a.length);
+    }
+
+    /**
+     * Returns the largest element of a range of an array, as determined
+     * by {@link Math#max(double, double) Math.max}.  The range extends
+     * from index {@code fromIndex}, inclusive, to index {@code toIndex},
+     * exclusive.
+     *
+     * @param a the array
+     * @param fromIndex the index of the first element, inclusive
+     * @param toIndex the index of the last element, exclusive
+     * @return the largest element
+     * @throws NoSuchElementException if the range is empty
+     * @throws IllegalArgumentException if {@code fromIndex > toIndex}
+     * @throws ArrayIndexOutOfBoundsException if {@code fromIndex < 0} or
+     *         {@code toIndex > a.length}
+     */
+    public static double max(double[] a, int fromIndex, int toIndex) {
+        rangeCheck(a.length, fromIndex, toIndex);
+        nonEmptyCheck(fromIndex, toIndex);
+        double m0 = a[fromIndex], m1 = m0, m2 = m0, m3 = m0;
+        int i = fromIndex + 1;
+        for (; i < toIndex - 3; i += 4) {
+            m0 = Math.max(m0, a[i]);
+            m1 = Math.max(m1, a[i + 1]);
+            m2 = Math.max(m2, a[i + 2]);
+            m3 = Math.max(m3, a[i + 3]);
+        }
+        for (; i < toIndex; i++) {
+            m0 = Math.max(m0, a[i]);
+        }
+        return Math.max(Math.max(m0, m1), Math.max(m2, m3));
+    }
+}
@@ -43,6 +43,8 @@ import java.util.stream.LongStream;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
+import sun.misc.Unsafe;
+
 /**
  * This class contains various methods for manipulating arrays (such as sorting
  * and searching). This class also contains a static factory that allows arrays
@@ -2437,11 +2439,10 @@ public class Arrays {
 		if (a2.length != length)
 			return false;
 
-		for (int i = 0; i < length; i++)
-			if (a[i] != a2[i])
-				return false;
-
-		return true;
+		return ArrayVectors.vectorizedMismatch(
+				a, Unsafe.ARRAY_LONG_BASE_OFFSET,
+				a2, Unsafe.ARRAY_LONG_BASE_OFFSET,
+				length, ArrayVectors.LOG2_ARRAY_LONG_INDEX_SCALE) < 0;
 	}
 
 	/**
@@ -2467,11 +2468,10 @@ public class Arrays {
 		if (a2.length != length)
 			return false;
 
-		for (int i = 0; i < length; i++)
-			if (a[i] != a2[i])
-				return false;
-
-		return true;
+		return ArrayVectors.vectorizedMismatch(
+				a, Unsafe.ARRAY_INT_BASE_OFFSET,
+				a2, Unsafe.ARRAY_INT_BASE_OFFSET,
+				length, ArrayVectors.LOG2_ARRAY_INT_INDEX_SCALE) < 0;
 	}
 
 	/**
@@ -2497,11 +2497,10 @@ public class Arrays {
 		if (a2.length != length)
 			return false;
 
-		for (int i = 0; i < length; i++)
-			if (a[i] != a2[i])
-				return false;
-
-		return true;
+		return ArrayVectors.vectorizedMismatch(
+				a, Unsafe.ARRAY_SHORT_BASE_OFFSET,
+				a2, Unsafe.ARRAY_SHORT_BASE_OFFSET,
+				length, ArrayVectors.LOG2_ARRAY_SHORT_INDEX_SCALE) < 0;
 	}
 
 	/**
@@ -2527,11 +2526,10 @@ public class Arrays {
 		if (a2.length != length)
 			return false;
 
-		for (int i = 0; i < length; i++)
-			if (a[i] != a2[i])
-				return false;
-
-		return true;
+		return ArrayVectors.vectorizedMismatch(
+				a, Unsafe.ARRAY_CHAR_BASE_OFFSET,
+				a2, Unsafe.ARRAY_CHAR_BASE_OFFSET,
+				length, ArrayVectors.LOG2_ARRAY_CHAR_INDEX_SCALE) < 0;
 	}
 
 	/**
@@ -2557,11 +2555,10 @@ public class Arrays {
 		if (a2.length != length)
 			return false;
 
-		for (int i = 0; i < length; i++)
-			if (a[i] != a2[i])
-				return false;
-
-		return true;
+		return ArrayVectors.vectorizedMismatch(
+				a, Unsafe.ARRAY_BYTE_BASE_OFFSET,
+				a2, Unsafe.ARRAY_BYTE_BASE_OFFSET,
+				length, ArrayVectors.LOG2_ARRAY_BYTE_INDEX_SCALE) < 0;
 	}
 
 	/**
@@ -2587,11 +2584,10 @@ public class Arrays {
 		if (a2.length != length)
 			return false;
 
-		for (int i = 0; i < length; i++)
-			if (a[i] != a2[i])
-				return false;
-
-		return true;
+		return ArrayVectors.vectorizedMismatch(
+				a, Unsafe.ARRAY_BOOLEAN_BASE_OFFSET,
+				a2, Unsafe.ARRAY_BOOLEAN_BASE_OFFSET,
+				length, ArrayVectors.LOG2_ARRAY_BOOLEAN_INDEX_SCALE) < 0;
 	}
 
 	/**
@@ -2627,11 +2623,7 @@ public class Arrays {
 		if (a2.length != length)
 			return false;
 
-		for (int i = 0; i < length; i++)
-			if (Double.doubleToLongBits(a[i]) != Double.doubleToLongBits(a2[i]))
-				return false;
-
-		return true;
+		return mismatch(a, 0, length, a2, 0, length) < 0;
 	}
 
 	/**
@@ -2667,11 +2659,7 @@ public class Arrays {
 		if (a2.length != length)
 			return false;
 
-		for (int i = 0; i < length; i++)
-			if (Float.floatToIntBits(a[i]) != Float.floatToIntBits(a2[i]))
-				return false;
-
-		return true;
+		return mismatch(a, 0, length, a2, 0, length) < 0;
 	}
 
 	/**
@@ -2709,6 +2697,1069 @@ public class Arrays {
 		return true;
 	}
 
+	// Comparison and mismatch
+
+	/**
+	 * Finds and returns the index of the first mismatch between two arrays of
+	 * longs, otherwise returns -1 if no mismatch is found. If the arrays share a
+	 * common prefix, the index returned is the length of the common prefix, and
+	 * the elements at that index differ. If one array is a proper prefix of the
+	 * other, the index returned is the length of the shorter array.
+	 * <p>
+	 *
+	 * @param a the first array to be tested for a mismatch
+	 * @param b the second array to be tested for a mismatch
+	 * @return the index of the first mismatch between the two arrays, otherwise
+	 *         <tt>-1</tt>
+	 * @throws NullPointerException if either array is <tt>null</tt>
+	 * @since 1.8
+	 */
+	public static int mismatch(long[] a, long[] b) {
+		return mismatch(a, 0, a.length, b, 0, b.length);
+	}
+
+	/**
+	 * Finds and returns the relative index of the first mismatch between two
+	 * ranges of arrays of longs, otherwise returns -1 if no mismatch is found.
+	 * The index returned is relative to the start of the ranges, and is defined
+	 * over the ranges as by {@link #mismatch(long[], long[])} over arrays.
+	 *
+	 * @param a          the first array to be tested for a mismatch
+	 * @param aFromIndex the index (inclusive) of the first element in the first
+	 *                   array to be tested
+	 * @param aToIndex   the index (exclusive) of the last element in the first
+	 *                   array to be tested
+	 * @param b          the second array to be tested for a mismatch
+	 * @param bFromIndex the index (inclusive) of the first element in the second
+	 *                   array to be tested
+	 * @param bToIndex   the index (exclusive) of the last element in the second
+	 *                   array to be tested
+	 * @return the relative index of the first mismatch between the two ranges,
+	 *         otherwise <tt>-1</tt>
+	 * @throws IllegalArgumentException       if <tt>aFromIndex &gt; aToIndex</tt>
+	 *                                        or <tt>bFromIndex &gt; bToIndex</tt>
+	 * @throws ArrayIndexOutOfBoundsException if a range is not within its array
+	 * @throws NullPointerException           if either array is <tt>null</tt>
+	 * @since 1.8
+	 */
+	public static int mismatch(long[] a, int aFromIndex, int aToIndex,
+			long[] b, int bFromIndex, int bToIndex) {
+		rangeCheck(a.length, aFromIndex, aToIndex);
+		rangeCheck(b.length, bFromIndex, bToIndex);
+
+		int aLength = aToIndex - aFromIndex;
+		int bLength = bToIndex - bFromIndex;
+		int length = Math.min(aLength, bLength);
+		int i = ArrayVectors.vectorizedMismatch(
+				a, Unsafe.ARRAY_LONG_BASE_OFFSET
+						+ ((long) aFromIndex << ArrayVectors.LOG2_ARRAY_LONG_INDEX_SCALE),
+				b, Unsafe.ARRAY_LONG_BASE_OFFSET
+						+ ((long) bFromIndex << ArrayVectors.LOG2_ARRAY_LONG_INDEX_SCALE),
+				length, ArrayVectors.LOG2_ARRAY_LONG_INDEX_SCALE);
+		if (i >= 0)
+			return i;
+
+		return (aLength == bLength) ? -1 : length;
+	}
+
+	/**
+	 * Compares two arrays of longs lexicographically. If the arrays share a
+	 * common prefix, the result is that of comparing the two elements at the
+	 * index of the first mismatch, as returned by
+	 * {@link #mismatch(long[], long[])}. Otherwise one array is a prefix of the
+	 * other, and the result is that of comparing the two array lengths. A
+	 * <tt>null</tt> array reference is considered lexicographically less than a
+	 * non-<tt>null</tt> array reference, and two <tt>null</tt> array references
+	 * are considered equal.
+	 * <p>
+	 * Elements are compared as signed values, as if by
+	 * {@link Long#compare(long, long)}.
+	 *
+	 * @param a the first array to compare
+	 * @param b the second array to compare
+	 * @return <tt>0</tt> if the arrays are equal and contain the same elements in
+	 *         the same order; a value less than <tt>0</tt> if the first array is
+	 *         lexicographically less than the second array; and a value greater
+	 *         than <tt>0</tt> if the first array is lexicographically greater than
+	 *         the second array
+	 * @since 1.8
+	 */
+	public static int compare(long[] a, long[] b) {
+		if (a == b)
+			return 0;
+		if (a == null || b == null)
+			return (a == null) ? -1 : 1;
+
+		return compare(a, 0, a.length, b, 0, b.length);
+	}
+
+	/**
+	 * Compares two ranges of arrays of longs lexicographically, as by
+	 * {@link #compare(long[], long[])} over arrays.
+	 *
+	 * @param a          the first array to compare
+	 * @param aFromIndex the index (inclusive) of the first element in the first
+	 *                   array to be compared
+	 * @param aToIndex   the index (exclusive) of the last element in the first
+	 *                   array to be compared
+	 * @param b          the second array to compare
+	 * @param bFromIndex the index (inclusive) of the first element in the second
+	 *                   array to be compared
+	 * @param bToIndex   the index (exclusive) of the last element in the second
+	 *                   array to be compared
+	 * @return <tt>0</tt> if the ranges are equal and contain the same elements in
+	 *         the same order; a value less than <tt>0</tt> if the first range is
+	 *         lexicographically less than the second range; and a value greater
+	 *         than <tt>0</tt> if the first range is lexicographically greater than
+	 *         the second range
+	 * @throws IllegalArgumentException       if <tt>aFromIndex &gt; aToIndex</tt>
+	 *                                        or <tt>bFromIndex &gt; bToIndex</tt>
+	 * @throws ArrayIndexOutOfBoundsException if a range is not within its array
+	 * @throws NullPointerException           if either array is <tt>null</tt>
+	 * @since 1.8
+	 */
+	public static int compare(long[] a, int aFromIndex, int aToIndex,
+			long[] b, int bFromIndex, int bToIndex) {
+		int i = mismatch(a, aFromIndex, aToIndex, b, bFromIndex, bToIndex);
+		int aLength = aToIndex - aFromIndex;
+		int bLength = bToIndex - bFromIndex;
+		if (i >= 0 && i < Math.min(aLength, bLength))
+			return Long.compare(a[aFromIndex + i], b[bFromIndex + i]);
+
+		return aLength - bLength;
+	}
+
+	/**
+	 * Finds and returns the index of the first mismatch between two arrays of
+	 * ints, otherwise returns -1 if no mismatch is found. If the arrays share a
+	 * common prefix, the index returned is the length of the common prefix, and
+	 * the elements at that index differ. If one array is a proper prefix of the
+	 * other, the index returned is the length of the shorter array.
+	 * <p>
+	 *
+	 * @param a the first array to be tested for a mismatch
+	 * @param b the second array to be tested for a mismatch
+	 * @return the index of the first mismatch between the two arrays, otherwise
+	 *         <tt>-1</tt>
+	 * @throws NullPointerException if either array is <tt>null</tt>
+	 * @since 1.8
+	 */
+	public static int mismatch(int[] a, int[] b) {
+		return mismatch(a, 0, a.length, b, 0, b.length);
+	}
+
+	/**
+	 * Finds and returns the relative index of the first mismatch between two
+	 * ranges of arrays of ints, otherwise returns -1 if no mismatch is found.
+	 * The index returned is relative to the start of the ranges, and is defined
+	 * over the ranges as by {@link #mismatch(int[], int[])} over arrays.
+	 *
+	 * @param a          the first array to be tested for a mismatch
+	 * @param aFromIndex the index (inclusive) of the first element in the first
+	 *                   array to be tested
+	 * @param aToIndex   the index (exclusive) of the last element in the first
+	 *                   array to be tested
+	 * @param b          the second array to be tested for a mismatch
+	 * @param bFromIndex the index (inclusive) of the first element in the second
+	 *                   array to be tested
+	 * @param bToIndex   the index (exclusive) of the last element in the second
+	 *                   array to be tested
+	 * @return the relative index of the first mismatch between the two ranges,
+	 *         otherwise <tt>-1</tt>
+	 * @throws IllegalArgumentException       if <tt>aFromIndex &gt; aToIndex</tt>
+	 *                                        or <tt>bFromIndex &gt; bToIndex</tt>
+	 * @throws ArrayIndexOutOfBoundsException if a range is not within its array
+	 * @throws NullPointerException           if either array is <tt>null</tt>
+	 * @since 1.8
+	 */
+	public static int mismatch(int[] a, int aFromIndex, int aToIndex,
+			int[] b, int bFromIndex, int bToIndex) {
+		rangeCheck(a.length, aFromIndex, aToIndex);
+		rangeCheck(b.length, bFromIndex, bToIndex);
+
+		int aLength = aToIndex - aFromIndex;
+		int bLength = bToIndex - bFromIndex;
+		int length = Math.min(aLength, bLength);
+		int i = ArrayVectors.vectorizedMismatch(
+				a, Unsafe.ARRAY_INT_BASE_OFFSET
+						+ ((long) aFromIndex << ArrayVectors.LOG2_ARRAY_INT_INDEX_SCALE),
+				b, Unsafe.ARRAY_INT_BASE_OFFSET
+						+ ((long) bFromIndex << ArrayVectors.LOG2_ARRAY_INT_INDEX_SCALE),
+				length, ArrayVectors.LOG2_ARRAY_INT_INDEX_SCALE);
+		if (i >= 0)
+			return i;
+
+		return (aLength == bLength) ? -1 : length;
+	}
+
+	/**
+	 * Compares two arrays of ints lexicographically. If the arrays share a
+	 * common prefix, the result is that of comparing the two elements at the
+	 * index of the first mismatch, as returned by
+	 * {@link #mismatch(int[], int[])}. Otherwise one array is a prefix of the
+	 * other, and the result is that of comparing the two array lengths. A
+	 * <tt>null</tt> array reference is considered lexicographically less than a
+	 * non-<tt>null</tt> array reference, and two <tt>null</tt> array references
+	 * are considered equal.
+	 * <p>
+	 * Elements are compared as signed values, as if by
+	 * {@link Integer#compare(int, int)}.
+	 *
+	 * @param a the first array to compare
+	 * @param b the second array to compare
+	 * @return <tt>0</tt> if the arrays are equal and contain the same elements in
+	 *         the same order; a value less than <tt>0</tt> if the first array is
+	 *         lexicographically less than the second array; and a value greater
+	 *         than <tt>0</tt> if the first array is lexicographically greater than
+	 *         the second array
+	 * @since 1.8
+	 */
+	public static int compare(int[] a, int[] b) {
+		if (a == b)
+			return 0;
+		if (a == null || b == null)
+			return (a == null) ? -1 : 1;
+
+		return compare(a, 0, a.length, b, 0, b.length);
+	}
+
+	/**
+	 * Compares two ranges of arrays of ints lexicographically, as by
+	 * {@link #compare(int[], int[])} over arrays.
+	 *
+	 * @param a          the first array to compare
+	 * @param aFromIndex the index (inclusive) of the first element in the first
+	 *                   array to be compared
+	 * @param aToIndex   the index (exclusive) of the last element in the first
+	 *                   array to be compared
+	 * @param b          the second array to compare
+	 * @param bFromIndex the index (inclusive) of the first element in the second
+	 *                   array to be compared
+	 * @param bToIndex   the index (exclusive) of the last element in the second
+	 *                   array to be compared
+	 * @return <tt>0</tt> if the ranges are equal and contain the same elements in
+	 *         the same order; a value less than <tt>0</tt> if the first range is
+	 *         lexicographically less than the second range; and a value greater
+	 *         than <tt>0</tt> if the first range is lexicographically greater than
+	 *         the second range
+	 * @throws IllegalArgumentException       if <tt>aFromIndex &gt; aToIndex</tt>
+	 *                                        or <tt>bFromIndex &gt; bToIndex</tt>
+	 * @throws ArrayIndexOutOfBoundsException if a range is not within its array
+	 * @throws NullPointerException           if either array is <tt>null</tt>
+	 * @since 1.8
+	 */
+	public static int compare(int[] a, int aFromIndex, int aToIndex,
+			int[] b, int bFromIndex, int bToIndex) {
+		int i = mismatch(a, aFromIndex, aToIndex, b, bFromIndex, bToIndex);
+		int aLength = aToIndex - aFromIndex;
+		int bLength = bToIndex - bFromIndex;
+		if (i >= 0 && i < Math.min(aLength, bLength))
+			return Integer.compare(a[aFromIndex + i], b[bFromIndex + i]);
+
+		return aLength - bLength;
+	}
+
+	/**
+	 * Finds and returns the index of the first mismatch between two arrays of
+	 * shorts, otherwise returns -1 if no mismatch is found. If the arrays share a
+	 * common prefix, the index returned is the length of the common prefix, and
+	 * the elements at that index differ. If one array is a proper prefix of the
+	 * other, the index returned is the length of the shorter array.
+	 * <p>
+	 *
+	 * @param a the first array to be tested for a mismatch
+	 * @param b the second array to be tested for a mismatch
+	 * @return the index of the first mismatch between the two arrays, otherwise
+	 *         <tt>-1</tt>
+	 * @throws NullPointerException if either array is <tt>null</tt>
+	 * @since 1.8
+	 */
+	public static int mismatch(short[] a, short[] b) {
+		return mismatch(a, 0, a.length, b, 0, b.length);
+	}
+
+	/**
+	 * Finds and returns the relative index of the first mismatch between two
+	 * ranges of arrays of shorts, otherwise returns -1 if no mismatch is found.
+	 * The index returned is relative to the start of the ranges, and is defined
+	 * over the ranges as by {@link #mismatch(short[], short[])} over arrays.
+	 *
+	 * @param a          the first array to be tested for a mismatch
+	 * @param aFromIndex the index (inclusive) of the first element in the first
+	 *                   array to be tested
+	 * @param aToIndex   the index (exclusive) of the last element in the first
+	 *                   array to be tested
+	 * @param b          the second array to be tested for a mismatch
+	 * @param bFromIndex the index (inclusive) of the first element in the second
+	 *                   array to be tested
+	 * @param bToIndex   the index (exclusive) of the last element in the second
+	 *                   array to be tested
+	 * @return the relative index of the first mismatch between the two ranges,
+	 *         otherwise <tt>-1</tt>
+	 * @throws IllegalArgumentException       if <tt>aFromIndex &gt; aToIndex</tt>
+	 *                                        or <tt>bFromIndex &gt; bToIndex</tt>
+	 * @throws ArrayIndexOutOfBoundsException if a range is not within its array
+	 * @throws NullPointerException           if either array is <tt>null</tt>
+	 * @since 1.8
+	 */
+	public static int mismatch(short[] a, int aFromIndex, int aToIndex,
+			short[] b, int bFromIndex, int bToIndex) {
+		rangeCheck(a.length, aFromIndex, aToIndex);
+		rangeCheck(b.length, bFromIndex, bToIndex);
+
+		int aLength = aToIndex - aFromIndex;
+		int bLength = bToIndex - bFromIndex;
+		int length = Math.min(aLength, bLength);
+		int i = ArrayVectors.vectorizedMismatch(
+				a, Unsafe.ARRAY_SHORT_BASE_OFFSET
+						+ ((long) aFromIndex << ArrayVectors.LOG2_ARRAY_SHORT_INDEX_SCALE),
+				b, Unsafe.ARRAY_SHORT_BASE_OFFSET
+						+ ((long) bFromIndex << ArrayVectors.LOG2_ARRAY_SHORT_INDEX_SCALE),
+				length, ArrayVectors.LOG2_ARRAY_SHORT_INDEX_SCALE);
+		if (i >= 0)
+			return i;
+
+		return (aLength == bLength) ? -1 : length;
+	}
+
+	/**
+	 * Compares two arrays of shorts lexicographically. If the arrays share a
+	 * common prefix, the result is that of comparing the two elements at the
+	 * index of the first mismatch, as returned by
+	 * {@link #mismatch(short[], short[])}. Otherwise one array is a prefix of the
+	 * other, and the result is that of comparing the two array lengths. A
+	 * <tt>null</tt> array reference is considered lexicographically less than a
+	 * non-<tt>null</tt> array reference, and two <tt>null</tt> array references
+	 * are considered equal.
+	 * <p>
+	 * Elements are compared as signed values, as if by
+	 * {@link Short#compare(short, short)}.
+	 *
+	 * @param a the first array to compare
+	 * @param b the second array to compare
+	 * @return <tt>0</tt> if the arrays are equal and contain the same elements in
+	 *         the same order; a value less than <tt>0</tt> if the first array is
+	 *         lexicographically less than the second array; and a value greater
+	 *         than <tt>0</tt> if the first array is lexicographically greater than
+	 *         the second array
+	 * @since 1.8
+	 */
+	public static int compare(short[] a, short[] b) {
+		if (a == b)
+			return 0;
+		if (a == null || b == null)
+			return (a == null) ? -1 : 1;
+
+		return compare(a, 0, a.length, b, 0, b.length);
+	}
+
+	/**
+	 * Compares two ranges of arrays of shorts lexicographically, as by
+	 * {@link #compare(short[], short[])} over arrays.
+	 *
+	 * @param a          the first array to compare
+	 * @param aFromIndex the index (inclusive) of the first element in the first
+	 *                   array to be compared
+	 * @param aToIndex   the index (exclusive) of the last element in the first
+	 *                   array to be compared
+	 * @param b          the second array to compare
+	 * @param bFromIndex the index (inclusive) of the first element in the second
+	 *                   array to be compared
+	 * @param bToIndex   the index (exclusive) of the last element in the second
+	 *                   array to be compared
+	 * @return <tt>0</tt> if the ranges are equal and contain the same elements in
+	 *         the same order; a value less than <tt>0</tt> if the first range is
+	 *         lexicographically less than the second range; and a value greater
+	 *         than <tt>0</tt> if the first range is lexicographically greater than
+	 *         the second range
+	 * @throws IllegalArgumentException       if <tt>aFromIndex &gt; aToIndex</tt>
+	 *                                        or <tt>bFromIndex &gt; bToIndex</tt>
+	 * @throws ArrayIndexOutOfBoundsException if a range is not within its array
+	 * @throws NullPointerException           if either array is <tt>null</tt>
+	 * @since 1.8
+	 */
+	public static int compare(short[] a, int aFromIndex, int aToIndex,
+			short[] b, int bFromIndex, int bToIndex) {
+		int i = mismatch(a, aFromIndex, aToIndex, b, bFromIndex, bToIndex);
+		int aLength = aToIndex - aFromIndex;
+		int bLength = bToIndex - bFromIndex;
+		if (i >= 0 && i < Math.min(aLength, bLength))
+			return Short.compare(a[aFromIndex + i], b[bFromIndex + i]);
+
+		return aLength - bLength;
+	}
+
+	/**
+	 * Finds and returns the index of the first mismatch between two arrays of
+	 * chars, otherwise returns -1 if no mismatch is found. If the arrays share a
+	 * common prefix, the index returned is the length of the common prefix, and
+	 * the elements at that index differ. If one array is a proper prefix of the
+	 * other, the index returned is the length of the shorter array.
+	 * <p>
+	 *
+	 * @param a the first array to be tested for a mismatch
+	 * @param b the second array to be tested for a mismatch
+	 * @return the index of the first mismatch between the two arrays, otherwise
+	 *         <tt>-1</tt>
+	 * @throws NullPointerException if either array is <tt>null</tt>
+	 * @since 1.8
+	 */
+	public static int mismatch(char[] a, char[] b) {
+		return mismatch(a, 0, a.length, b, 0, b.length);
+	}
+
+	/**
+	 * Finds and returns the relative index of the first mismatch between two
+	 * ranges of arrays of chars, otherwise returns -1 if no mismatch is found.
+	 * The index returned is relative to the start of the ranges, and is defined
+	 * over the ranges as by {@link #mismatch(char[], char[])} over arrays.
+	 *
+	 * @param a          the first array to be tested for a mismatch
+	 * @param aFromIndex the index (inclusive) of the first element in the first
+	 *                   array to be tested
+	 * @param aToIndex   the index (exclusive) of the last element in the first
+	 *                   array to be tested
+	 * @param b          the second array to be tested for a mismatch
+	 * @param bFromIndex the index (inclusive) of the first element in the second
+	 *                   array to be tested
+	 * @param bToIndex   the index (exclusive) of the last element in the second
+	 *                   array to be tested
+	 * @return the relative index of the first mismatch between the two ranges,
+	 *         otherwise <tt>-1</tt>
+	 * @throws IllegalArgumentException       if <tt>aFromIndex &gt; aToIndex</tt>
+	 *                                        or <tt>bFromIndex &gt; bToIndex</tt>
+	 * @throws ArrayIndexOutOfBoundsException if a range is not within its array
+	 * @throws NullPointerException           if either array is <tt>null</tt>
+	 * @since 1.8
+	 */
+	public static int mismatch(char[] a, int aFromIndex, int aToIndex,
+			char[] b, int bFromIndex, int bToIndex) {
+		rangeCheck(a.length, aFromIndex, aToIndex);
+		rangeCheck(b.length, bFromIndex, bToIndex);
+
+		int aLength = aToIndex - aFromIndex;
+		int bLength = bToIndex - bFromIndex;
+		int length = Math.min(aLength, bLength);
+		int i = ArrayVectors.vectorizedMismatch(
+				a, Unsafe.ARRAY_CHAR_BASE_OFFSET
+						+ ((long) aFromIndex << ArrayVectors.LOG2_ARRAY_CHAR_INDEX_SCALE),
+				b, Unsafe.ARRAY_CHAR_BASE_OFFSET
+						+ ((long) bFromIndex << ArrayVectors.LOG2_ARRAY_CHAR_INDEX_SCALE),
+				length, ArrayVectors.LOG2_ARRAY_CHAR_INDEX_SCALE);
+		if (i >= 0)
+			return i;
+
+		return (aLength == bLength) ? -1 : length;
+	}
+
+	/**
+	 * Compares two arrays of chars lexicographically. If the arrays share a
+	 * common prefix, the result is that of comparing the two elements at the
+	 * index of the first mismatch, as returned by
+	 * {@link #mismatch(char[], char[])}. Otherwise one array is a prefix of the
+	 * other, and the result is that of comparing the two array lengths. A
+	 * <tt>null</tt> array reference is considered lexicographically less than a
+	 * non-<tt>null</tt> array reference, and two <tt>null</tt> array references
+	 * are considered equal.
+	 * <p>
+	 * Elements are compared numerically, as if by
+	 * {@link Character#compare(char, char)}.
+	 *
+	 * @param a the first array to compare
+	 * @param b the second array to compare
+	 * @return <tt>0</tt> if the arrays are equal and contain the same elements in
+	 *         the same order; a value less than <tt>0</tt> if the first array is
+	 *         lexicographically less than the second array; and a value greater
+	 *         than <tt>0</tt> if the first array is lexicographically greater than
+	 *         the second array
+	 * @since 1.8
+	 */
+	public static int compare(char[] a, char[] b) {
+		if (a == b)
+			return 0;
+		if (a == null || b == null)
+			return (a == null) ? -1 : 1;
+
+		return compare(a, 0, a.length, b, 0, b.length);
+	}
+
+	/**
+	 * Compares two ranges of arrays of chars lexicographically, as by
+	 * {@link #compare(char[], char[])} over arrays.
+	 *
+	 * @param a          the first array to compare
+	 * @param aFromIndex the index (inclusive) of the first element in the first
+	 *                   array to be compared
+	 * @param aToIndex   the index (exclusive) of the last element in the first
+	 *                   array to be compared
+	 * @param b          the second array to compare
+	 * @param bFromIndex the index (inclusive) of the first element in the second
+	 *                   array to be compared
+	 * @param bToIndex   the index (exclusive) of the last element in the second
+	 *                   array to be compared
+	 * @return <tt>0</tt> if the ranges are equal and contain the same elements in
+	 *         the same order; a value less than <tt>0</tt> if the first range is
+	 *         lexicographically less than the second range; and a value greater
+	 *         than <tt>0</tt> if the first range is lexicographically greater than
+	 *         the second range
+	 * @throws IllegalArgumentException       if <tt>aFromIndex &gt; aToIndex</tt>
+	 *                                        or <tt>bFromIndex &gt; bToIndex</tt>
+	 * @throws ArrayIndexOutOfBoundsException if a range is not within its array
+	 * @throws NullPointerException           if either array is <tt>null</tt>
+	 * @since 1.8
+	 */
+	public static int compare(char[] a, int aFromIndex, int aToIndex,
+			char[] b, int bFromIndex, int bToIndex) {
+		int i = mismatch(a, aFromIndex, aToIndex, b, bFromIndex, bToIndex);
+		int aLength = aToIndex - aFromIndex;
+		int bLength = bToIndex - bFromIndex;
+		if (i >= 0 && i < Math.min(aLength, bLength))
+			return Character.compare(a[aFromIndex + i], b[bFromIndex + i]);
+
+		return aLength - bLength;
+	}
+
+	/**
+	 * Finds and returns the index of the first mismatch between two arrays of
+	 * bytes, otherwise returns -1 if no mismatch is found. If the arrays share a
+	 * common prefix, the index returned is the length of the common prefix, and
+	 * the elements at that index differ. If one array is a proper prefix of the
+	 * other, the index returned is the length of the shorter array.
+	 * <p>
+	 *
+	 * @param a the first array to be tested for a mismatch
+	 * @param b the second array to be tested for a mismatch
+	 * @return the index of the first mismatch between the two arrays, otherwise
+	 *         <tt>-1</tt>
+	 * @throws NullPointerException if either array is <tt>null</tt>
+	 * @since 1.8
+	 */
+	public static int mismatch(byte[] a, byte[] b) {
+		return mismatch(a, 0, a.length, b, 0, b.length);
+	}
+
+	/**
+	 * Finds and returns the relative index of the first mismatch between two
+	 * ranges of arrays of bytes, otherwise returns -1 if no mismatch is found.
+	 * The index returned is relative to the start of the ranges, and is defined
+	 * over the ranges as by {@link #mismatch(byte[], byte[])} over arrays.
+	 *
+	 * @param a          the first array to be tested for a mismatch
+	 * @param aFromIndex the index (inclusive) of the first element in the first
+	 *                   array to be tested
+	 * @param aToIndex   the index (exclusive) of the last element in the first
+	 *                   array to be tested
+	 * @param b          the second array to be tested for a mismatch
+	 * @param bFromIndex the index (inclusive) of the first element in the second
+	 *                   array to be tested
+	 * @param bToIndex   the index (exclusive) of the last element in the second
+	 *                   array to be tested
+	 * @return the relative index of the first mismatch between the two ranges,
+	 *         otherwise <tt>-1</tt>
+	 * @throws IllegalArgumentException       if <tt>aFromIndex &gt; aToIndex</tt>
+	 *                                        or <tt>bFromIndex &gt; bToIndex</tt>
+	 * @throws ArrayIndexOutOfBoundsException if a range is not within its array
+	 * @throws NullPointerException           if either array is <tt>null</tt>
+	 * @since 1.8
+	 */
+	public static int mismatch(byte[] a, int aFromIndex, int aToIndex,
+			byte[] b, int bFromIndex, int bToIndex) {
+		rangeCheck(a.length, aFromIndex, aToIndex);
+		rangeCheck(b.length, bFromIndex, bToIndex);
+
+		int aLength = aToIndex - aFromIndex;
+		int bLength = bToIndex - bFromIndex;
+		int length = Math.min(aLength, bLength);
+		int i = ArrayVectors.vectorizedMismatch(
+				a, Unsafe.ARRAY_BYTE_BASE_OFFSET
+						+ ((long) aFromIndex << ArrayVectors.LOG2_ARRAY_BYTE_INDEX_SCALE),
+				b, Unsafe.ARRAY_BYTE_BASE_OFFSET
+						+ ((long) bFromIndex << ArrayVectors.LOG2_ARRAY_BYTE_INDEX_SCALE),
+				length, ArrayVectors.LOG2_ARRAY_BYTE_INDEX_SCALE);
+		if (i >= 0)
+			return i;
+
+		return (aLength == bLength) ? -1 : length;
+	}
+
+	/**
+	 * Compares two arrays of bytes lexicographically. If the arrays share a
+	 * common prefix, the result is that of comparing the two elements at the
+	 * index of the first mismatch, as returned by
+	 * {@link #mismatch(byte[], byte[])}. Otherwise one array is a prefix of the
+	 * other, and the result is that of comparing the two array lengths. A
+	 * <tt>null</tt> array reference is considered lexicographically less than a
+	 * non-<tt>null</tt> array reference, and two <tt>null</tt> array references
+	 * are considered equal.
+	 * <p>
+	 * Elements are compared as signed values, as if by
+	 * {@link Byte#compare(byte, byte)}.
+	 *
+	 * @param a the first array to compare
+	 * @param b the second array to compare
+	 * @return <tt>0</tt> if the arrays are equal and contain the same elements in
+	 *         the same order; a value less than <tt>0</tt> if the first array is
+	 *         lexicographically less than the second array; and a value greater
+	 *         than <tt>0</tt> if the first array is lexicographically greater than
+	 *         the second array
+	 * @since 1.8
+	 */
+	public static int compare(byte[] a, byte[] b) {
+		if (a == b)
+			return 0;
+		if (a == null || b == null)
+			return (a == null) ? -1 : 1;
+
+		return compare(a, 0, a.length, b, 0, b.length);
+	}
+
+	/**
+	 * Compares two ranges of arrays of bytes lexicographically, as by
+	 * {@link #compare(byte[], byte[])} over arrays.
+	 *
+	 * @param a          the first array to compare
+	 * @param aFromIndex the index (inclusive) of the first element in the first
+	 *                   array to be compared
+	 * @param aToIndex   the index (exclusive) of the last element in the first
+	 *                   array to be compared
+	 * @param b          the second array to compare
+	 * @param bFromIndex the index (inclusive) of the first element in the second
+	 *                   array to be compared
+	 * @param bToIndex   the index (exclusive) of the last element in the second
+	 *                   array to be compared
+	 * @return <tt>0</tt> if the ranges are equal and contain the same elements in
+	 *         the same order; a value less than <tt>0</tt> if the first range is
+	 *         lexicographically less than the second range; and a value greater
+	 *         than <tt>0</tt> if the first range is lexicographically greater than
+	 *         the second range
+	 * @throws IllegalArgumentException       if <tt>aFromIndex &gt; aToIndex</tt>
+	 *                                        or <tt>bFromIndex &gt; bToIndex</tt>
+	 * @throws ArrayIndexOutOfBoundsException if a range is not within its array
+	 * @throws NullPointerException           if either array is <tt>null</tt>
+	 * @since 1.8
+	 */
+	public static int compare(byte[] a, int aFromIndex, int aToIndex,
+			byte[] b, int bFromIndex, int bToIndex) {
+		int i = mismatch(a, aFromIndex, aToIndex, b, bFromIndex, bToIndex);
+		int aLength = aToIndex - aFromIndex;
+		int bLength = bToIndex - bFromIndex;
+		if (i >= 0 && i < Math.min(aLength, bLength))
+			return Byte.compare(a[aFromIndex + i], b[bFromIndex + i]);
+
+		return aLength - bLength;
+	}
+
+	/**
+	 * Finds and returns the index of the first mismatch between two arrays of
+	 * booleans, otherwise returns -1 if no mismatch is found. If the arrays share a
+	 * common prefix, the index returned is the length of the common prefix, and
+	 * the elements at that index differ. If one array is a proper prefix of the
+	 * other, the index returned is the length of the shorter array.
+	 * <p>
+	 *
+	 * @param a the first array to be tested for a mismatch
+	 * @param b the second array to be tested for a mismatch
+	 * @return the index of the first mismatch between the two arrays, otherwise
+	 *         <tt>-1</tt>
+	 * @throws NullPointerException if either array is <tt>null</tt>
+	 * @since 1.8
+	 */
+	public static int mismatch(boolean[] a, boolean[] b) {
+		return mismatch(a, 0, a.length, b, 0, b.length);
+	}
+
+	/**
+	 * Finds and returns the relative index of the first mismatch between two
+	 * ranges of arrays of booleans, otherwise returns -1 if no mismatch is found.
+	 * The index returned is relative to the start of the ranges, and is defined
+	 * over the ranges as by {@link #mismatch(boolean[], boolean[])} over arrays.
+	 *
+	 * @param a          the first array to be tested for a mismatch
+	 * @param aFromIndex the index (inclusive) of the first element in the first
+	 *                   array to be tested
+	 * @param aToIndex   the index (exclusive) of the last element in the first
+	 *                   array to be tested
+	 * @param b          the second array to be tested for a mismatch
+	 * @param bFromIndex the index (inclusive) of the first element in the second
+	 *                   array to be tested
+	 * @param bToIndex   the index (exclusive) of the last element in the second
+	 *                   array to be tested
+	 * @return the relative index of the first mismatch between the two ranges,
+	 *         otherwise <tt>-1</tt>
+	 * @throws IllegalArgumentException       if <tt>aFromIndex &gt; aToIndex</tt>
+	 *                                        or <tt>bFromIndex &gt; bToIndex</tt>
+	 * @throws ArrayIndexOutOfBoundsException if a range is not within its array
+	 * @throws NullPointerException           if either array is <tt>null</tt>
+	 * @since 1.8
+	 */
+	public static int mismatch(boolean[] a, int aFromIndex, int aToIndex,
+			boolean[] b, int bFromIndex, int bToIndex) {
+		rangeCheck(a.length, aFromIndex, aToIndex);
+		rangeCheck(b.length, bFromIndex, bToIndex);
+
+		int aLength = aToIndex - aFromIndex;
+		int bLength = bToIndex - bFromIndex;
+		int length = Math.min(aLength, bLength);
+		int i = ArrayVectors.vectorizedMismatch(
+				a, Unsafe.ARRAY_BOOLEAN_BASE_OFFSET
+						+ ((long) aFromIndex << ArrayVectors.LOG2_ARRAY_BOOLEAN_INDEX_SCALE),
+				b, Unsafe.ARRAY_BOOLEAN_BASE_OFFSET
+						+ ((long) bFromIndex << ArrayVectors.LOG2_ARRAY_BOOLEAN_INDEX_SCALE),
+				length, ArrayVectors.LOG2_ARRAY_BOOLEAN_INDEX_SCALE);
+		if (i >= 0)
+			return i;
+
+		return (aLength == bLength) ? -1 : length;
+	}
+
+	/**
+	 * Compares two arrays of booleans lexicographically. If the arrays share a
+	 * common prefix, the result is that of comparing the two elements at the
+	 * index of the first mismatch, as returned by
+	 * {@link #mismatch(boolean[], boolean[])}. Otherwise one array is a prefix of the
+	 * other, and the result is that of comparing the two array lengths. A
+	 * <tt>null</tt> array reference is considered lexicographically less than a
+	 * non-<tt>null</tt> array reference, and two <tt>null</tt> array references
+	 * are considered equal.
+	 * <p>
+	 * Elements are compared as if by {@link Boolean#compare(boolean, boolean)}.
+	 *
+	 * @param a the first array to compare
+	 * @param b the second array to compare
+	 * @return <tt>0</tt> if the arrays are equal and contain the same elements in
+	 *         the same order; a value less than <tt>0</tt> if the first array is
+	 *         lexicographically less than the second array; and a value greater
+	 *         than <tt>0</tt> if the first array is lexicographically greater than
+	 *         the second array
+	 * @since 1.8
+	 */
+	public static int compare(boolean[] a, boolean[] b) {
+		if (a == b)
+			return 0;
+		if (a == null || b == null)
+			return (a == null) ? -1 : 1;
+
+		return compare(a, 0, a.length, b, 0, b.length);
+	}
+
+	/**
+	 * Compares two ranges of arrays of booleans lexicographically, as by
+	 * {@link #compare(boolean[], boolean[])} over arrays.
+	 *
+	 * @param a          the first array to compare
+	 * @param aFromIndex the index (inclusive) of the first element in the first
+	 *                   array to be compared
+	 * @param aToIndex   the index (exclusive) of the last element in the first
+	 *                   array to be compared
+	 * @param b          the second array to compare
+	 * @param bFromIndex the index (inclusive) of the first element in the second
+	 *                   array to be compared
+	 * @param bToIndex   the index (exclusive) of the last element in the second
+	 *                   array to be compared
+	 * @return <tt>0</tt> if the ranges are equal and contain the same elements in
+	 *         the same order; a value less than <tt>0</tt> if the first range is
+	 *         lexicographically less than the second range; and a value greater
+	 *         than <tt>0</tt> if the first range is lexicographically greater than
+	 *         the second range
+	 * @throws IllegalArgumentException       if <tt>aFromIndex &gt; aToIndex</tt>
+	 *                                        or <tt>bFromIndex &gt; bToIndex</tt>
+	 * @throws ArrayIndexOutOfBoundsException if a range is not within its array
+	 * @throws NullPointerException           if either array is <tt>null</tt>
+	 * @since 1.8
+	 */
+	public static int compare(boolean[] a, int aFromIndex, int aToIndex,
+			boolean[] b, int bFromIndex, int bToIndex) {
+		int i = mismatch(a, aFromIndex, aToIndex, b, bFromIndex, bToIndex);
+		int aLength = aToIndex - aFromIndex;
+		int bLength = bToIndex - bFromIndex;
+		if (i >= 0 && i < Math.min(aLength, bLength))
+			return Boolean.compare(a[aFromIndex + i], b[bFromIndex + i]);
+
+		return aLength - bLength;
+	}
+
+	/**
+	 * Finds and returns the index of the first mismatch between two arrays of
+	 * doubles, otherwise returns -1 if no mismatch is found. If the arrays share a
+	 * common prefix, the index returned is the length of the common prefix, and
+	 * the elements at that index differ. If one array is a proper prefix of the
+	 * other, the index returned is the length of the shorter array.
+	 * <p>
+	 * Two doubles <tt>x</tt> and <tt>y</tt> are considered the same if
+	 * <tt>Double.doubleToLongBits(x) == Double.doubleToLongBits(y)</tt>,
+	 * as in {@link #equals(double[], double[])}.
+	 *
+	 * @param a the first array to be tested for a mismatch
+	 * @param b the second array to be tested for a mismatch
+	 * @return the index of the first mismatch between the two arrays, otherwise
+	 *         <tt>-1</tt>
+	 * @throws NullPointerException if either array is <tt>null</tt>
+	 * @since 1.8
+	 */
+	public static int mismatch(double[] a, double[] b) {
+		return mismatch(a, 0, a.length, b, 0, b.length);
+	}
+
+	/**
+	 * Finds and returns the relative index of the first mismatch between two
+	 * ranges of arrays of doubles, otherwise returns -1 if no mismatch is found.
+	 * The index returned is relative to the start of the ranges, and is defined
+	 * over the ranges as by {@link #mismatch(double[], double[])} over arrays.
+	 *
+	 * @param a          the first array to be tested for a mismatch
+	 * @param aFromIndex the index (inclusive) of the first element in the first
+	 *                   array to be tested
+	 * @param aToIndex   the index (exclusive) of the last element in the first
+	 *                   array to be tested
+	 * @param b          the second array to be tested for a mismatch
+	 * @param bFromIndex the index (inclusive) of the first element in the second
+	 *                   array to be tested
+	 * @param bToIndex   the index (exclusive) of the last element in the second
+	 *                   array to be tested
+	 * @return the relative index of the first mismatch between the two ranges,
+	 *         otherwise <tt>-1</tt>
+	 * @throws IllegalArgumentException       if <tt>aFromIndex &gt; aToIndex</tt>
+	 *                                        or <tt>bFromIndex &gt; bToIndex</tt>
+	 * @throws ArrayIndexOutOfBoundsException if a range is not within its array
+	 * @throws NullPointerException           if either array is <tt>null</tt>
+	 * @since 1.8
+	 */
+	public static int mismatch(double[] a, int aFromIndex, int aToIndex,
+			double[] b, int bFromIndex, int bToIndex) {
+		rangeCheck(a.length, aFromIndex, aToIndex);
+		rangeCheck(b.length, bFromIndex, bToIndex);
+
+		int aLength = aToIndex - aFromIndex;
+		int bLength = bToIndex - bFromIndex;
+		int length = Math.min(aLength, bLength);
+		// The raw bits are compared, so NaNs with different bits are
+		// skipped over as the same value
+		int i = 0;
+		while (i < length) {
+			int j = ArrayVectors.vectorizedMismatch(
+					a, Unsafe.ARRAY_DOUBLE_BASE_OFFSET
+							+ ((long) (aFromIndex + i) << ArrayVectors.LOG2_ARRAY_DOUBLE_INDEX_SCALE),
+					b, Unsafe.ARRAY_DOUBLE_BASE_OFFSET
+							+ ((long) (bFromIndex + i) << ArrayVectors.LOG2_ARRAY_DOUBLE_INDEX_SCALE),
+					length - i, ArrayVectors.LOG2_ARRAY_DOUBLE_INDEX_SCALE);
+			if (j < 0)
+				break;
+			i += j;
+			if (!Double.isNaN(a[aFromIndex + i]) || !Double.isNaN(b[bFromIndex + i]))
+				return i;
+			i++;
+		}
+
+		return (aLength == bLength) ? -1 : length;
+	}
+
+	/**
+	 * Compares two arrays of doubles lexicographically. If the arrays share a
+	 * common prefix, the result is that of comparing the two elements at the
+	 * index of the first mismatch, as returned by
+	 * {@link #mismatch(double[], double[])}. Otherwise one array is a prefix of the
+	 * other, and the result is that of comparing the two array lengths. A
+	 * <tt>null</tt> array reference is considered lexicographically less than a
+	 * non-<tt>null</tt> array reference, and two <tt>null</tt> array references
+	 * are considered equal.
+	 * <p>
+	 * Elements are compared as if by {@link Double#compare(double, double)}.
+	 *
+	 * @param a the first array to compare
+	 * @param b the second array to compare
+	 * @return <tt>0</tt> if the arrays are equal and contain the same elements in
+	 *         the same order; a value less than <tt>0</tt> if the first array is
+	 *         lexicographically less than the second array; and a value greater
+	 *         than <tt>0</tt> if the first array is lexicographically greater than
+	 *         the second array
+	 * @since 1.8
+	 */
+	public static int compare(double[] a, double[] b) {
+		if (a == b)
+			return 0;
+		if (a == null || b == null)
+			return (a == null) ? -1 : 1;
+
+		return compare(a, 0, a.length, b, 0, b.length);
+	}
+
+	/**
+	 * Compares two ranges of arrays of doubles lexicographically, as by
+	 * {@link #compare(double[], double[])} over arrays.
+	 *
+	 * @param a          the first array to compare
+	 * @param aFromIndex the index (inclusive) of the first element in the first
+	 *                   array to be compared
+	 * @param aToIndex   the index (exclusive) of the last element in the first
+	 *                   array to be compared
+	 * @param b          the second array to compare
+	 * @param bFromIndex the index (inclusive) of the first element in the second
+	 *                   array to be compared
+	 * @param bToIndex   the index (exclusive) of the last element in the second
+	 *                   array to be compared
+	 * @return <tt>0</tt> if the ranges are equal and contain the same elements in
+	 *         the same order; a value less than <tt>0</tt> if the first range is
+	 *         lexicographically less than the second range; and a value greater
+	 *         than <tt>0</tt> if the first range is lexicographically greater than
+	 *         the second range
+	 * @throws IllegalArgumentException       if <tt>aFromIndex &gt; aToIndex</tt>
+	 *                                        or <tt>bFromIndex &gt; bToIndex</tt>
+	 * @throws ArrayIndexOutOfBoundsException if a range is not within its array
+	 * @throws NullPointerException           if either array is <tt>null</tt>
+	 * @since 1.8
+	 */
+	public static int compare(double[] a, int aFromIndex, int aToIndex,
+			double[] b, int bFromIndex, int bToIndex) {
+		int i = mismatch(a, aFromIndex, aToIndex, b, bFromIndex, bToIndex);
+		int aLength = aToIndex - aFromIndex;
+		int bLength = bToIndex - bFromIndex;
+		if (i >= 0 && i < Math.min(aLength, bLength))
+			return Double.compare(a[aFromIndex + i], b[bFromIndex + i]);
+
+		return aLength - bLength;
+	}
+
+	/**
+	 * Finds and returns the index of the first mismatch between two arrays of
+	 * floats, otherwise returns -1 if no mismatch is found. If the arrays share a
+	 * common prefix, the index returned is the length of the common prefix, and
+	 * the elements at that index differ. If one array is a proper prefix of the
+	 * other, the index returned is the length of the shorter array.
+	 * <p>
+	 * Two floats <tt>x</tt> and <tt>y</tt> are considered the same if
+	 * <tt>Float.floatToIntBits(x) == Float.floatToIntBits(y)</tt>,
+	 * as in {@link #equals(float[], float[])}.
+	 *
+	 * @param a the first array to be tested for a mismatch
+	 * @param b the second array to be tested for a mismatch
+	 * @return the index of the first mismatch between the two arrays, otherwise
+	 *         <tt>-1</tt>
+	 * @throws NullPointerException if either array is <tt>null</tt>
+	 * @since 1.8
+	 */
+	public static int mismatch(float[] a, float[] b) {
+		return mismatch(a, 0, a.length, b, 0, b.length);
+	}
+
+	/**
+	 * Finds and returns the relative index of the first mismatch between two
+	 * ranges of arrays of floats, otherwise returns -1 if no mismatch is found.
+	 * The index returned is relative to the start of the ranges, and is defined
+	 * over the ranges as by {@link #mismatch(float[], float[])} over arrays.
+	 *
+	 * @param a          the first array to be tested for a mismatch
+	 * @param aFromIndex the index (inclusive) of the first element in the first
+	 *                   array to be tested
+	 * @param aToIndex   the index (exclusive) of the last element in the first
+	 *                   array to be tested
+	 * @param b          the second array to be tested for a mismatch
+	 * @param bFromIndex the index (inclusive) of the first element in the second
+	 *                   array to be tested
+	 * @param bToIndex   the index (exclusive) of the last element in the second
+	 *                   array to be tested
+	 * @return the relative index of the first mismatch between the two ranges,
+	 *         otherwise <tt>-1</tt>
+	 * @throws IllegalArgumentException       if <tt>aFromIndex &gt; aToIndex</tt>
+	 *                                        or <tt>bFromIndex &gt; bToIndex</tt>
+	 * @throws ArrayIndexOutOfBoundsException if a range is not within its array
+	 * @throws NullPointerException           if either array is <tt>null</tt>
+	 * @since 1.8
+	 */
+	public static int mismatch(float[] a, int aFromIndex, int aToIndex,
+			float[] b, int bFromIndex, int bToIndex) {
+		rangeCheck(a.length, aFromIndex, aToIndex);
+		rangeCheck(b.length, bFromIndex, bToIndex);
+
+		int aLength = aToIndex - aFromIndex;
+		int bLength = bToIndex - bFromIndex;
+		int length = Math.min(aLength, bLength);
+		// The raw bits are compared, so NaNs with different bits are
+		// skipped over as the same value
+		int i = 0;
+		while (i < length) {
+			int j = ArrayVectors.vectorizedMismatch(
+					a, Unsafe.ARRAY_FLOAT_BASE_OFFSET
+							+ ((long) (aFromIndex + i) << ArrayVectors.LOG2_ARRAY_FLOAT_INDEX_SCALE),
+					b, Unsafe.ARRAY_FLOAT_BASE_OFFSET
+							+ ((long) (bFromIndex + i) << ArrayVectors.LOG2_ARRAY_FLOAT_INDEX_SCALE),
+					length - i, ArrayVectors.LOG2_ARRAY_FLOAT_INDEX_SCALE);
+			if (j < 0)
+				break;
+			i += j;
+			if (!Float.isNaN(a[aFromIndex + i]) || !Float.isNaN(b[bFromIndex + i]))
+				return i;
+			i++;
+		}
+
+		return (aLength == bLength) ? -1 : length;
+	}
+
+	/**
+	 * Compares two arrays of floats lexicographically. If the arrays share a
+	 * common prefix, the result is that of comparing the two elements at the
+	 * index of the first mismatch, as returned by
+	 * {@link #mismatch(float[], float[])}. Otherwise one array is a prefix of the
+	 * other, and the result is that of comparing the two array lengths. A
+	 * <tt>null</tt> array reference is considered lexicographically less than a
+	 * non-<tt>null</tt> array reference, and two <tt>null</tt> array references
+	 * are considered equal.
+	 * <p>
+	 * Elements are compared as if by {@link Float#compare(float, float)}.
+	 *
+	 * @param a the first array to compare
+	 * @param b the second array to compare
+	 * @return <tt>0</tt> if the arrays are equal and contain the same elements in
+	 *         the same order; a value less than <tt>0</tt> if the first array is
+	 *         lexicographically less than the second array; and a value greater
+	 *         than <tt>0</tt> if the first array is lexicographically greater than
+	 *         the second array
+	 * @since 1.8
+	 */
+	public static int compare(float[] a, float[] b) {
+		if (a == b)
+			return 0;
+		if (a == null || b == null)
+			return (a == null) ? -1 : 1;
+
+		return compare(a, 0, a.length, b, 0, b.length);
+	}
+
+	/**
+	 * Compares two ranges of arrays of floats lexicographically, as by
+	 * {@link #compare(float[], float[])} over arrays.
+	 *
+	 * @param a          the first array to compare
+	 * @param aFromIndex the index (inclusive) of the first element in the first
+	 *                   array to be compared
+	 * @param aToIndex   the index (exclusive) of the last element in the first
+	 *                   array to be compared
+	 * @param b          the second array to compare
+	 * @param bFromIndex the index (inclusive) of the first element in the second
+	 *                   array to be compared
+	 * @param bToIndex   the index (exclusive) of the last element in the second
+	 *                   array to be compared
+	 * @return <tt>0</tt> if the ranges are equal and contain the same elements in
+	 *         the same order; a value less than <tt>0</tt> if the first range is
+	 *         lexicographically less than the second range; and a value greater
+	 *         than <tt>0</tt> if the first range is lexicographically greater than
+	 *         the second range
+	 * @throws IllegalArgumentException       if <tt>aFromIndex &gt; aToIndex</tt>
+	 *                                        or <tt>bFromIndex &gt; bToIndex</tt>
+	 * @throws ArrayIndexOutOfBoundsException if a range is not within its array
+	 * @throws NullPointerException           if either array is <tt>null</tt>
+	 * @since 1.8
+	 */
+	public static int compare(float[] a, int aFromIndex, int aToIndex,
+			float[] b, int bFromIndex, int bToIndex) {
+		int i = mismatch(a, aFromIndex, aToIndex, b, bFromIndex, bToIndex);
+		int aLength = aToIndex - aFromIndex;
+		int bLength = bToIndex - bFromIndex;
+		if (i >= 0 && i < Math.min(aLength, bLength))
+			return Float.compare(a[aFromIndex + i], b[bFromIndex + i]);
+
+		return aLength - bLength;
+	}
+
 	// Filling
 
 	/**
@@ -3755,13 +4806,7 @@ public class Arrays {
 		if (a == null)
 			return 0;
 
-		int result = 1;
-		for (long element : a) {
-			int elementHash = (int) (element ^ (element >>> 32));
-			result = 31 * result + elementHash;
-		}
-
-		return result;
+		return ArrayVectors.hashCode(1, a, 0, a.length);
 	}
 
 	/**
@@ -3785,11 +4830,7 @@ public class Arrays {
 		if (a == null)
 			return 0;
 
-		int result = 1;
-		for (int element : a)
-			result = 31 * result + element;
-
-		return result;
+		return ArrayVectors.hashCode(1, a, 0, a.length);
 	}
 
 	/**
@@ -3813,11 +4854,7 @@ public class Arrays {
 		if (a == null)
 			return 0;
 
-		int result = 1;
-		for (short element : a)
-			result = 31 * result + element;
-
-		return result;
+		return ArrayVectors.hashCode(1, a, 0, a.length);
 	}
 
 	/**
@@ -3841,11 +4878,7 @@ public class Arrays {
 		if (a == null)
 			return 0;
 
-		int result = 1;
-		for (char element : a)
-			result = 31 * result + element;
-
-		return result;
+		return ArrayVectors.hashCode(1, a, 0, a.length);
 	}
 
 	/**
@@ -3869,11 +4902,7 @@ public class Arrays {
 		if (a == null)
 			return 0;
 
-		int result = 1;
-		for (byte element : a)
-			result = 31 * result + element;
-
-		return result;
+		return ArrayVectors.hashCode(1, a, 0, a.length);
 	}
 
 	/**
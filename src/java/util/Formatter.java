@@ -1857,6 +1857,11 @@ public final class Formatter implements Closeable, Flushable {
     private final char zero;
     private static double scaleUp;
 
+    // The template last used by this formatter, and its format strings
+    // bound to this formatter
+    private Template boundTemplate;
+    private FormatString[] bound;
+
     // 1 (sign) + 19 (max # sig digits) + 1 ('.') + 1 ('e') + 1 (sign)
     // + 3 (max # exp digits) + 4 (error) = 30
     private static final int MAX_FD_CHARS = 30;
@@ -2492,13 +2497,114 @@ public final class Formatter implements Closeable, Flushable {
      */
     public Formatter format(Locale l, String format, Object ... args) {
         ensureOpen();
+        return print(l, bind(Template.cached(format)), args);
+    }
+
+    /**
+     * Writes a formatted string to this object's destination using the
+     * specified compiled format string and arguments.  The locale used is
+     * the one defined during the construction of this formatter.
+     *
+     * <p> An invocation of this method behaves in exactly the same way as
+     * the invocation {@code format(template.toString(), args)}, except
+     * that the format string is not parsed again.
+     *
+     * @param  template
+     *         A compiled format string
+     *
+     * @param  args
+     *         Arguments referenced by the format specifiers in the format
+     *         string.  If there are more arguments than format specifiers, the
+     *         extra arguments are ignored.
+     *
+     * @throws  IllegalFormatException
+     *          If a format specifier is incompatible with the given
+     *          arguments, or there are insufficient arguments given the
+     *          format string
+     *
+     * @throws  FormatterClosedException
+     *          If this formatter has been closed by invoking its {@link
+     *          #close()} method
+     *
+     * @return  This formatter
+     *
+     * @since 1.8
+     */
+    public Formatter format(Template template, Object ... args) {
+        return format(l, template, args);
+    }
+
+    /**
+     * Writes a formatted string to this object's destination using the
+     * specified locale, compiled format string, and arguments.
+     *
+     * <p> An invocation of this method behaves in exactly the same way as
+     * the invocation {@code format(l, template.toString(), args)}, except
+     * that the format string is not parsed again.
+     *
+     * @param  l
+     *         The {@linkplain java.util.Locale locale} to apply during
+     *         formatting.  If {@code l} is {@code null} then no localization
+     *         is applied.  This does not change this object's locale that was
+     *         set during construction.
+     *
+     * @param  template
+     *         A compiled format string
+     *
+     * @param  args
+     *         Arguments referenced by the format specifiers in the format
+     *         string.  If there are more arguments than format specifiers, the
+     *         extra arguments are ignored.
+     *
+     * @throws  IllegalFormatException
+     *          If a format specifier is incompatible with the given
+     *          arguments, or there are insufficient arguments given the
+     *          format string
+     *
+     * @throws  FormatterClosedException
+     *          If this formatter has been closed by invoking its {@link
+     *          #close()} method
+     *
+     * @return  This formatter
+     *
+     * @since 1.8
+     */
+    public Formatter format(Locale l, Template template, Object ... args) {
+        ensureOpen();
+        return print(l, bind(template), args);
+    }
+
+    /**
+     * Returns the format strings of the given template bound to this
+     * formatter.  The format strings of a template are bound to a shared
+     * formatter that only parses and never prints; they are copied the first time the
+     * template is used by each formatter, and the copies are kept for as
+     * long as the same template is used again.
+     */
+    private FormatString[] bind(Template template) {
+        FormatString[] fsa = bound;
+        if (boundTemplate != template) {
+            FormatString[] proto = template.fsa;
+            fsa = new FormatString[proto.length];
+            for (int i = 0; i < proto.length; i++) {
+                FormatString fs = proto[i];
+                if (fs instanceof FormatSpecifier)
+                    fsa[i] = new FormatSpecifier((FormatSpecifier) fs);
+                else
+                    fsa[i] = new FixedString(fs.toString());
+            }
+            bound = fsa;
+            boundTemplate = template;
+        }
+        return fsa;
+    }
 
+    private Formatter print(Locale l, FormatString[] fsa, Object ... args) {
         // index of last argument referenced
         int last = -1;
         // last ordinary index
         int lasto = -1;
 
-        FormatString[] fsa = parse(format);
         for (int i = 0; i < fsa.length; i++) {
             FormatString fs = fsa[i];
             int index = fs.index();
@@ -2533,6 +2639,161 @@ public final class Formatter implements Closeable, Flushable {
         return this;
     }
 
+    /**
+     * A compiled representation of a format string.
+     *
+     * <p> A format string, as described in <a href="#syntax">Format string
+     * syntax</a>, must first be compiled into an instance of this class.
+     * The resulting template can then be used to format arguments any
+     * number of times with {@link Formatter#format(Template, Object...)},
+     * writing to the destination of that formatter, without the format
+     * string being parsed again.  A typical invocation sequence is thus
+     *
+     * <blockquote><pre>
+     * static final Formatter.Template ROW = Formatter.Template.compile("%-10s %8.2f%n");
+     * ...
+     * Formatter f = new Formatter(out);
+     * for (Item item : items)
+     *     f.format(ROW, item.name(), item.price());
+     * </pre></blockquote>
+     *
+     * <p> Instances of this class are immutable and are safe for use by
+     * multiple concurrent threads.
+     *
+     * <p> The {@link Formatter#format(Locale,String,Object...) format}
+     * methods taking a format string, and hence {@link String#format
+     * String.format}, keep a small cache of recently compiled templates,
+     * so that repeatedly used format strings are not parsed each time.
+     *
+     * @since 1.8
+     */
+    public static final class Template {
+
+        /**
+         * The number of entries of the cache of compiled format strings,
+         * a power of two.
+         */
+        private static final int CACHE_SIZE = 64;
+
+        /**
+         * Direct-mapped cache of recently compiled format strings, indexed
+         * by the hash code of the format string.  Races between threads
+         * may lose entries, which is harmless since templates are
+         * immutable.
+         */
+        private static final Template[] cache = new Template[CACHE_SIZE];
+
+        /**
+         * The formatter, without a destination, to which the format strings
+         * of all templates are bound when they are parsed.  It is only used
+         * to parse, never to print, so its state is never modified and it
+         * can be shared by all templates and threads.
+         */
+        private static final Formatter PROTOTYPE =
+            new Formatter((Locale) null, (Appendable) null);
+
+        private final String format;
+
+        private final FormatString[] fsa;
+
+        private Template(String format) {
+            this.format = format;
+            this.fsa = PROTOTYPE.parse(format);
+        }
+
+        /**
+         * Compiles the given format string into a template.
+         *
+         * @param  format
+         *         A format string as described in <a
+         *         href="#syntax">Format string syntax</a>
+         *
+         * @return  The compiled template
+         *
+         * @throws  IllegalFormatException
+         *          If the format string contains an illegal syntax, or a
+         *          format specifier with an illegal combination of flags,
+         *          width, precision, and conversion
+         *
+         * @throws  NullPointerException
+         *          If {@code format} is {@code null}
+         */
+        public static Template compile(String format) {
+            return new Template(format);
+        }
+
+        /**
+         * Returns the template for the given format string, compiling it
+         * unless it is found in the cache.
+         */
+        static Template cached(String format) {
+            int i = format.hashCode() & (CACHE_SIZE - 1);
+            Template t = cache[i];
+            if (t == null || !t.format.equals(format)) {
+                t = new Template(format);
+                cache[i] = t;
+            }
+            return t;
+        }
+
+        /**
+         * Returns a formatted string using this template and the given
+         * arguments, in the {@linkplain Locale#getDefault(Locale.Category)
+         * default locale} for {@linkplain Locale.Category#FORMAT formatting}.
+         *
+         * @param  args
+         *         Arguments referenced by the format specifiers in the format
+         *         string.
+         *
+         * @throws  IllegalFormatException
+         *          If a format specifier is incompatible with the given
+         *          arguments, or there are insufficient arguments given the
+         *          format string
+         *
+         * @return  A formatted string
+         *
+         * @see  String#format(String, Object...)
+         */
+        public String format(Object ... args) {
+            return new Formatter().format(this, args).toString();
+        }
+
+        /**
+         * Returns a formatted string using this template, the specified
+         * locale, and the given arguments.
+         *
+         * @param  l
+         *         The {@linkplain java.util.Locale locale} to apply during
+         *         formatting.  If {@code l} is {@code null} then no
+         *         localization is applied.
+         *
+         * @param  args
+         *         Arguments referenced by the format specifiers in the format
+         *         string.
+         *
+         * @throws  IllegalFormatException
+         *          If a format specifier is incompatible with the given
+         *          arguments, or there are insufficient arguments given the
+         *          format string
+         *
+         * @return  A formatted string
+         *
+         * @see  String#format(Locale, String, Object...)
+         */
+        public String format(Locale l, Object ... args) {
+            return new Formatter(l).format(this, args).toString();
+        }
+
+        /**
+         * Returns the format string from which this template was compiled.
+         *
+         * @return  The format string
+         */
+        public String toString() {
+            return format;
+        }
+    }
+
     // %[argument_index$][flags][width][.precision][t]conversion
     private static final String formatSpecifier
         = "%(\\d+\\$)?([-#+ 0,(\\<]*)?(\\d+)?(\\.\\d+)?([tT])?([a-zA-Z%])";
@@ -2735,6 +2996,18 @@ public final class Formatter implements Closeable, Flushable {
                 throw new UnknownFormatConversionException(String.valueOf(c));
         }
 
+        /**
+         * Creates a copy of the given specifier bound to this formatter.
+         */
+        FormatSpecifier(FormatSpecifier fs) {
+            index = fs.index;
+            f = fs.f;
+            width = fs.width;
+            precision = fs.precision;
+            dt = fs.dt;
+            c = fs.c;
+        }
+
         public void print(Object arg, Locale l) throws IOException {
             if (dt) {
                 printDateTime(arg, l);
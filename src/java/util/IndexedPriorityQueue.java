@@ -0,0 +1,648 @@
+/*
+ * Copyright (c) 2003, 2017, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.util;
+
+/**
+ * An unbounded priority {@linkplain Queue queue} based on an indexed
+ * <em>d</em>-ary heap, in which each queued element is tracked by a
+ * {@link Handle}.  The elements of the queue are ordered according to their
+ * {@linkplain Comparable natural ordering}, or by a {@link Comparator}
+ * provided at queue construction time, depending on which constructor is
+ * used.  An indexed priority queue does not permit {@code null} elements.
+ *
+ * <p>The <em>head</em> of this queue is the <em>least</em> element
+ * with respect to the specified ordering.  If multiple elements are
+ * tied for least value, the head is one of those elements -- ties are
+ * broken arbitrarily.
+ *
+ * <p>Unlike {@link PriorityQueue}, a handle returned by {@link #insert}
+ * remembers the position of its element in the heap.  This allows an
+ * element to be removed with {@link #remove(Handle)}, or repositioned after
+ * its ordering has changed with {@link #update(Handle)} or
+ * {@link #replace(Handle, Object)}, in logarithmic rather than linear time.
+ * A typical use is the <em>decrease-key</em> step of shortest path or
+ * scheduling algorithms, which would otherwise re-insert duplicate
+ * elements.  The ordering of a queued element must not change other than
+ * through these methods; if the ordering of an element is changed in
+ * place, {@code update} must be invoked before any other operation on the
+ * queue.
+ *
+ * <p>The number of children of each node of the heap, its <em>arity</em>,
+ * is chosen at construction time.  Wider heaps are shallower, which makes
+ * insertion and decrease-key cheaper and improves locality of the sift
+ * operations, at the cost of more comparisons on removal of the head.
+ *
+ * <p>This class and its iterator implement all of the
+ * <em>optional</em> methods of the {@link Collection} and {@link
+ * Iterator} interfaces.  The Iterator provided in method {@link
+ * #iterator()} is <em>not</em> guaranteed to traverse the elements of
+ * the priority queue in any particular order.
+ *
+ * <p><strong>Note that this implementation is not synchronized.</strong>
+ * Multiple threads should not access an {@code IndexedPriorityQueue}
+ * instance concurrently if any of the threads modifies the queue.
+ *
+ * <p>Implementation note: this implementation provides
+ * O(log(n)) time for the enqueuing and dequeuing methods
+ * ({@code insert}, {@code offer}, {@code poll}, {@code remove()} and
+ * {@code add}) and for the handle based methods ({@code update},
+ * {@code replace} and {@code remove(Handle)}); linear time for the
+ * {@code remove(Object)} and {@code contains(Object)} methods; and
+ * constant time for the retrieval methods ({@code peek}, {@code element},
+ * and {@code size}).
+ *
+ * <p>This class is a member of the
+ * <a href="{@docRoot}/../technotes/guides/collections/index.html">
+ * Java Collections Framework</a>.
+ *
+ * @since 1.8
+ * @param <E> the type of elements held in this collection
+ * @see LongPriorityQueue
+ */
+public class IndexedPriorityQueue<E> extends AbstractQueue<E> {
+
+    private static final int DEFAULT_INITIAL_CAPACITY = 11;
+
+    private static final int DEFAULT_ARITY = 4;
+
+    /**
+     * The maximum size of array to allocate.
+     * Some VMs reserve some header words in an array.
+     * Attempts to allocate larger arrays may result in
+     * OutOfMemoryError: Requested array size exceeds VM limit
+     */
+    private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+
+    /**
+     * A reference to an element held in an {@code IndexedPriorityQueue}.
+     * A handle is obtained when the element is inserted, and remains valid
+     * until the element is removed from the queue.
+     *
+     * @param <E> the type of the element
+     */
+    public static final class Handle<E> {
+        E element;
+
+        /** The position of the element in the heap, or -1 if removed. */
+        int index;
+
+        /** The queue holding the element, or null if removed. */
+        IndexedPriorityQueue<E> queue;
+
+        Handle(E element, IndexedPriorityQueue<E> queue) {
+            this.element = element;
+            this.queue = queue;
+        }
+
+        /**
+         * Returns the element referenced by this handle.
+         *
+         * @return the element
+         */
+        public E element() {
+            return element;
+        }
+
+        /**
+         * Returns {@code true} if the element referenced by this handle is
+         * still held in the queue it was inserted into.
+         *
+         * @return {@code true} if the element is still queued
+         */
+        public boolean isQueued() {
+            return queue != null;
+        }
+    }
+
+    /**
+     * Priority queue represented as a balanced d-ary heap: the children of
+     * heap[n] are heap[d*n+1] through heap[d*n+d].  The priority queue is
+     * ordered by comparator, or by the elements' natural ordering, if
+     * comparator is null: For each node n in the heap and each descendant
+     * d of n, n <= d.  The element with the lowest value is in heap[0],
+     * assuming the queue is nonempty.  Each handle records its own index.
+     */
+    private Handle<E>[] heap;
+
+    /**
+     * The number of elements in the priority queue.
+     */
+    private int size = 0;
+
+    /**
+     * The number of children of each node.
+     */
+    private final int arity;
+
+    /**
+     * The comparator, or null if priority queue uses elements'
+     * natural ordering.
+     */
+    private final Comparator<? super E> comparator;
+
+    /**
+     * The number of times this priority queue has been
+     * <i>structurally modified</i>.  See AbstractList for gory details.
+     */
+    transient int modCount = 0; // non-private to simplify nested class access
+
+    /**
+     * Creates an {@code IndexedPriorityQueue} with the default initial
+     * capacity (11) and arity (4) that orders its elements according to
+     * their {@linkplain Comparable natural ordering}.
+     */
+    public IndexedPriorityQueue() {
+        this(DEFAULT_ARITY, DEFAULT_INITIAL_CAPACITY, null);
+    }
+
+    /**
+     * Creates an {@code IndexedPriorityQueue} with the default initial
+     * capacity (11) and arity (4) whose elements are ordered according to
+     * the specified comparator.
+     *
+     * @param  comparator the comparator that will be used to order this
+     *         priority queue.  If {@code null}, the {@linkplain Comparable
+     *         natural ordering} of the elements will be used.
+     */
+    public IndexedPriorityQueue(Comparator<? super E> comparator) {
+        this(DEFAULT_ARITY, DEFAULT_INITIAL_CAPACITY, comparator);
+    }
+
+    /**
+     * Creates an {@code IndexedPriorityQueue} with the specified arity and
+     * initial capacity that orders its elements according to the specified
+     * comparator.
+     *
+     * @param  arity the number of children of each node of the heap
+     * @param  initialCapacity the initial capacity for this priority queue
+     * @param  comparator the comparator that will be used to order this
+     *         priority queue.  If {@code null}, the {@linkplain Comparable
+     *         natural ordering} of the elements will be used.
+     * @throws IllegalArgumentException if {@code arity} is less than 2 or
+     *         {@code initialCapacity} is less than 1
+     */
+    @SuppressWarnings("unchecked")
+    public IndexedPriorityQueue(int arity, int initialCapacity,
+                                Comparator<? super E> comparator) {
+        if (arity < 2 || initialCapacity < 1)
+            throw new IllegalArgumentException();
+        this.heap = (Handle<E>[]) new Handle<?>[initialCapacity];
+        this.arity = arity;
+        this.comparator = comparator;
+    }
+
+    /**
+     * Increases the capacity of the array.
+     *
+     * @param minCapacity the desired minimum capacity
+     */
+    private void grow(int minCapacity) {
+        int oldCapacity = heap.length;
+        // Double size if small; else grow by 50%
+        int newCapacity = oldCapacity + ((oldCapacity < 64) ?
+                                         (oldCapacity + 2) :
+                                         (oldCapacity >> 1));
+        // overflow-conscious code
+        if (newCapacity - MAX_ARRAY_SIZE > 0)
+            newCapacity = hugeCapacity(minCapacity);
+        heap = Arrays.copyOf(heap, newCapacity);
+    }
+
+    private static int hugeCapacity(int minCapacity) {
+        if (minCapacity < 0) // overflow
+            throw new OutOfMemoryError();
+        return (minCapacity > MAX_ARRAY_SIZE) ?
+            Integer.MAX_VALUE :
+            MAX_ARRAY_SIZE;
+    }
+
+    /**
+     * Inserts the specified element into this priority queue, returning a
+     * handle through which the element may later be updated or removed.
+     *
+     * @param e the element to add
+     * @return the handle of the inserted element
+     * @throws ClassCastException if the specified element cannot be
+     *         compared with elements currently in this priority queue
+     *         according to the priority queue's ordering
+     * @throws NullPointerException if the specified element is null
+     */
+    public Handle<E> insert(E e) {
+        if (e == null)
+            throw new NullPointerException();
+        modCount++;
+        int i = size;
+        if (i >= heap.length)
+            grow(i + 1);
+        size = i + 1;
+        Handle<E> h = new Handle<>(e, this);
+        if (i == 0) {
+            h.index = 0;
+            heap[0] = h;
+        } else
+            siftUp(i, h);
+        return h;
+    }
+
+    /**
+     * Inserts the specified element into this priority queue.
+     *
+     * @return {@code true} (as specified by {@link Queue#offer})
+     * @throws ClassCastException if the specified element cannot be
+     *         compared with elements currently in this priority queue
+     *         according to the priority queue's ordering
+     * @throws NullPointerException if the specified element is null
+     */
+    public boolean offer(E e) {
+        insert(e);
+        return true;
+    }
+
+    public E peek() {
+        return (size == 0) ? null : heap[0].element;
+    }
+
+    /**
+     * Retrieves, but does not remove, the handle of the head of this queue,
+     * or returns {@code null} if this queue is empty.
+     *
+     * @return the handle of the head of this queue, or {@code null} if this
+     *         queue is empty
+     */
+    public Handle<E> peekHandle() {
+        return (size == 0) ? null : heap[0];
+    }
+
+    /**
+     * Restores the ordering of the element referenced by the given handle,
+     * after the properties determining its ordering have changed.  The
+     * element is moved towards the head if its ordering decreased, or
+     * towards the tail if it increased.
+     *
+     * @param h the handle of the element
+     * @return {@code true} if the element is held in this queue, otherwise
+     *         {@code false}, in which case the queue is unchanged
+     * @throws NullPointerException if the specified handle is null
+     */
+    public boolean update(Handle<E> h) {
+        if (h.queue != this)
+            return false;
+        int i = h.index;
+        siftUp(i, h);
+        if (h.index == i)
+            siftDown(i, h);
+        return true;
+    }
+
+    /**
+     * Replaces the element referenced by the given handle with the
+     * specified element, and repositions it according to the ordering of
+     * the new element.  This is the <em>decrease-key</em> (or increase-key)
+     * operation for elements whose ordering cannot be changed in place.
+     *
+     * @param h the handle of the element to replace
+     * @param e the new element
+     * @return {@code true} if the element referenced by the handle was held
+     *         in this queue and has been replaced, otherwise {@code false}
+     * @throws ClassCastException if the specified element cannot be
+     *         compared with elements currently in this priority queue
+     *         according to the priority queue's ordering
+     * @throws NullPointerException if the specified handle or element is
+     *         null
+     */
+    public boolean replace(Handle<E> h, E e) {
+        if (e == null)
+            throw new NullPointerException();
+        if (h.queue != this)
+            return false;
+        E old = h.element;
+        h.element = e;
+        try {
+            return update(h);
+        } catch (RuntimeException | Error ex) {
+            // The sift leaves the handle in the heap, out of order only
+            // with respect to its neighbours; put back the old element
+            // and reorder it so the queue is as before the call
+            h.element = old;
+            update(h);
+            throw ex;
+        }
+    }
+
+    /**
+     * Removes the element referenced by the given handle from this queue.
+     *
+     * @param h the handle of the element to remove
+     * @return {@code true} if the element was held in this queue and has
+     *         been removed, otherwise {@code false}
+     * @throws NullPointerException if the specified handle is null
+     */
+    public boolean remove(Handle<E> h) {
+        if (h.queue != this)
+            return false;
+        removeAt(h.index);
+        return true;
+    }
+
+    /**
+     * Returns {@code true} if the element referenced by the given handle is
+     * held in this queue.
+     *
+     * @param h the handle to look up
+     * @return {@code true} if the element referenced by the handle is held
+     *         in this queue
+     * @throws NullPointerException if the specified handle is null
+     */
+    public boolean contains(Handle<E> h) {
+        return h.queue == this;
+    }
+
+    public boolean remove(Object o) {
+        if (o != null) {
+            for (int i = 0; i < size; i++) {
+                if (o.equals(heap[i].element)) {
+                    removeAt(i);
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    public boolean contains(Object o) {
+        if (o != null) {
+            for (int i = 0; i < size; i++)
+                if (o.equals(heap[i].element))
+                    return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns an iterator over the elements in this queue. The iterator
+     * does not return the elements in any particular order.
+     *
+     * @return an iterator over the elements in this queue
+     */
+    public Iterator<E> iterator() {
+        return new Itr();
+    }
+
+    private final class Itr implements Iterator<E> {
+        /**
+         * Index (into heap array) of element to be returned by
+         * subsequent call to next.
+         */
+        private int cursor = 0;
+
+        /**
+         * Handle of the element returned by the most recent call to next,
+         * or null if that element has been removed.
+         */
+        private Handle<E> lastRet = null;
+
+        /**
+         * Whether lastRet was drawn from the forgetMeNot list rather than
+         * from the position preceding the cursor.
+         */
+        private boolean lastRetForgotten;
+
+        /**
+         * A queue of handles that were moved from the unvisited portion of
+         * the heap into the visited portion as a result of "unlucky" element
+         * removals during the iteration, as for {@link PriorityQueue}.  We
+         * must visit all of the elements in this list to complete the
+         * iteration.
+         */
+        private ArrayDeque<Handle<E>> forgetMeNot = null;
+
+        /**
+         * The modCount value that the iterator believes that the backing
+         * Queue should have.  If this expectation is violated, the iterator
+         * has detected concurrent modification.
+         */
+        private int expectedModCount = modCount;
+
+        public boolean hasNext() {
+            return cursor < size ||
+                (forgetMeNot != null && !forgetMeNot.isEmpty());
+        }
+
+        public E next() {
+            if (expectedModCount != modCount)
+                throw new ConcurrentModificationException();
+            if (cursor < size) {
+                lastRetForgotten = false;
+                return (lastRet = heap[cursor++]).element;
+            }
+            if (forgetMeNot != null) {
+                lastRetForgotten = true;
+                lastRet = forgetMeNot.poll();
+                if (lastRet != null)
+                    return lastRet.element;
+            }
+            throw new NoSuchElementException();
+        }
+
+        public void remove() {
+            if (expectedModCount != modCount)
+                throw new ConcurrentModificationException();
+            if (lastRet == null)
+                throw new IllegalStateException();
+            if (lastRetForgotten)
+                removeAt(lastRet.index);
+            else {
+                Handle<E> moved = removeAt(lastRet.index);
+                if (moved == null)
+                    cursor--;
+                else {
+                    if (forgetMeNot == null)
+                        forgetMeNot = new ArrayDeque<>();
+                    forgetMeNot.add(moved);
+                }
+            }
+            lastRet = null;
+            expectedModCount = modCount;
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Removes all of the elements from this priority queue.
+     * The queue will be empty after this call returns, and all handles
+     * previously returned by {@link #insert} become invalid.
+     */
+    public void clear() {
+        modCount++;
+        for (int i = 0; i < size; i++) {
+            Handle<E> h = heap[i];
+            h.queue = null;
+            h.index = -1;
+            heap[i] = null;
+        }
+        size = 0;
+    }
+
+    public E poll() {
+        if (size == 0)
+            return null;
+        Handle<E> result = heap[0];
+        removeAt(0);
+        return result.element;
+    }
+
+    /**
+     * Removes the ith element from the heap, invalidating its handle.
+     *
+     * Normally this method leaves the elements at up to i-1,
+     * inclusive, untouched.  Under these circumstances, it returns
+     * null.  Occasionally, in order to maintain the heap invariant,
+     * it must swap a later element of the list with one earlier than
+     * i.  Under these circumstances, this method returns the handle of
+     * the element that was previously at the end of the list and is now
+     * at some position before i.
+     */
+    private Handle<E> removeAt(int i) {
+        // assert i >= 0 && i < size;
+        modCount++;
+        Handle<E> removed = heap[i];
+        removed.queue = null;
+        removed.index = -1;
+        int s = --size;
+        if (s == i) // removed last element
+            heap[i] = null;
+        else {
+            Handle<E> moved = heap[s];
+            heap[s] = null;
+            siftDown(i, moved);
+            if (heap[i] == moved) {
+                siftUp(i, moved);
+                if (heap[i] != moved)
+                    return moved;
+            }
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private int compare(E a, E b) {
+        return (comparator != null) ? comparator.compare(a, b)
+            : ((Comparable<? super E>) a).compareTo(b);
+    }
+
+    /**
+     * Inserts handle x at position k, maintaining heap invariant by
+     * promoting x up the tree until it is greater than or equal to
+     * its parent, or is the root.
+     *
+     * @param k the position to fill
+     * @param x the handle to insert
+     */
+    private void siftUp(int k, Handle<E> x) {
+        E key = x.element;
+        try {
+            while (k > 0) {
+                int parent = (k - 1) / arity;
+                Handle<E> e = heap[parent];
+                if (compare(key, e.element) >= 0)
+                    break;
+                heap[k] = e;
+                e.index = k;
+                k = parent;
+            }
+        } finally {
+            // fill the hole even if a comparison throws
+            heap[k] = x;
+            x.index = k;
+        }
+    }
+
+    /**
+     * Inserts handle x at position k, maintaining heap invariant by
+     * demoting x down the tree repeatedly until it is less than or
+     * equal to its children or is a leaf.
+     *
+     * @param k the position to fill
+     * @param x the handle to insert
+     */
+    private void siftDown(int k, Handle<E> x) {
+        E key = x.element;
+        int n = size;
+        try {
+            for (;;) {
+                int first = arity * k + 1;
+                if (first >= n || first < 0) // no children, or overflow
+                    break;
+                // find the least child
+                int last = (n - first <= arity) ? n : first + arity;
+                int child = first;
+                Handle<E> c = heap[first];
+                for (int j = first + 1; j < last; j++) {
+                    Handle<E> r = heap[j];
+                    if (compare(c.element, r.element) > 0) {
+                        c = r;
+                        child = j;
+                    }
+                }
+                if (compare(key, c.element) <= 0)
+                    break;
+                heap[k] = c;
+                c.index = k;
+                k = child;
+            }
+        } finally {
+            // fill the hole even if a comparison throws
+            heap[k] = x;
+            x.index = k;
+        }
+    }
+
+    /**
+     * Returns the comparator used to order the elements in this
+     * queue, or {@code null} if this queue is sorted according to
+     * the {@linkplain Comparable natural ordering} of its elements.
+     *
+     * @return the comparator used to order this queue, or
+     *         {@code null} if this queue is sorted according to the
+     *         natural ordering of its elements
+     */
+    public Comparator<? super E> comparator() {
+        return comparator;
+    }
+
+    /**
+     * Returns the number of children of each node of the heap backing
+     * this queue.
+     *
+     * @return the arity of the heap
+     */
+    public int arity() {
+        return arity;
+    }
+}
@@ -0,0 +1,474 @@
+/*
+ * Copyright (c) 2003, 2017, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.util;
+
+/**
+ * An unbounded priority queue of elements associated with {@code long}
+ * priorities, based on an indexed <em>d</em>-ary heap.  The head of the
+ * queue is an element with the least priority; ties are broken
+ * arbitrarily.  Elements may be {@code null}, and the same element may be
+ * queued more than once with different priorities.
+ *
+ * <p>This class is a primitive specialization of the ordering of
+ * {@link IndexedPriorityQueue}: priorities are held in a {@code long}
+ * array parallel to the heap and are compared directly, without
+ * {@code Comparator} invocations or boxing, and without dereferencing the
+ * elements while sifting.  Each insertion returns a {@link Handle} through
+ * which the priority of the element may later be changed with
+ * {@link #changePriority}, or the element removed with
+ * {@link #remove(Handle)}, in logarithmic time.
+ *
+ * <p>Priorities of other primitive types may be used through an order
+ * preserving mapping to {@code long}.  {@code double} priorities, negative
+ * ones included, are mapped by {@link #doublePriority(double)} and mapped
+ * back by {@link #toDouble(long)}.
+ *
+ * <p><strong>Note that this implementation is not synchronized.</strong>
+ * Multiple threads should not access a {@code LongPriorityQueue}
+ * instance concurrently if any of the threads modifies the queue.
+ *
+ * <p>Implementation note: this implementation provides
+ * O(log(n)) time for the {@code insert}, {@code poll},
+ * {@code changePriority} and {@code remove} methods, and constant time for
+ * the retrieval methods ({@code peek}, {@code peekPriority}, and
+ * {@code size}).
+ *
+ * @since 1.8
+ * @param <E> the type of elements held in this queue
+ * @see IndexedPriorityQueue
+ */
+public class LongPriorityQueue<E> {
+
+    private static final int DEFAULT_INITIAL_CAPACITY = 11;
+
+    private static final int DEFAULT_ARITY = 4;
+
+    /**
+     * The maximum size of array to allocate.
+     * Some VMs reserve some header words in an array.
+     * Attempts to allocate larger arrays may result in
+     * OutOfMemoryError: Requested array size exceeds VM limit
+     */
+    private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+
+    /**
+     * A reference to an element held in a {@code LongPriorityQueue}.
+     * A handle is obtained when the element is inserted, and remains valid
+     * until the element is removed from the queue.
+     *
+     * @param <E> the type of the element
+     */
+    public static final class Handle<E> {
+        final E element;
+
+        /** The position of the element in the heap, or -1 if removed. */
+        int index;
+
+        /** The queue holding the element, or null if removed. */
+        LongPriorityQueue<E> queue;
+
+        Handle(E element, LongPriorityQueue<E> queue) {
+            this.element = element;
+            this.queue = queue;
+        }
+
+        /**
+         * Returns the element referenced by this handle.
+         *
+         * @return the element
+         */
+        public E element() {
+            return element;
+        }
+
+        /**
+         * Returns {@code true} if the element referenced by this handle is
+         * still held in the queue it was inserted into.
+         *
+         * @return {@code true} if the element is still queued
+         */
+        public boolean isQueued() {
+            return queue != null;
+        }
+    }
+
+    /**
+     * Priority queue represented as a balanced d-ary heap of handles, with
+     * the priority of handles[n] held in priorities[n]: the children of
+     * node n are nodes d*n+1 through d*n+d.  For each node n in the heap
+     * and each descendant d of n, priorities[n] <= priorities[d].
+     */
+    private Handle<E>[] handles;
+
+    private long[] priorities;
+
+    /**
+     * The number of elements in the priority queue.
+     */
+    private int size = 0;
+
+    /**
+     * The number of children of each node.
+     */
+    private final int arity;
+
+    /**
+     * Creates a {@code LongPriorityQueue} with the default initial
+     * capacity (11) and arity (4).
+     */
+    public LongPriorityQueue() {
+        this(DEFAULT_ARITY, DEFAULT_INITIAL_CAPACITY);
+    }
+
+    /**
+     * Creates a {@code LongPriorityQueue} with the specified arity and
+     * initial capacity.
+     *
+     * @param  arity the number of children of each node of the heap
+     * @param  initialCapacity the initial capacity for this priority queue
+     * @throws IllegalArgumentException if {@code arity} is less than 2 or
+     *         {@code initialCapacity} is less than 1
+     */
+    @SuppressWarnings("unchecked")
+    public LongPriorityQueue(int arity, int initialCapacity) {
+        if (arity < 2 || initialCapacity < 1)
+            throw new IllegalArgumentException();
+        this.handles = (Handle<E>[]) new Handle<?>[initialCapacity];
+        this.priorities = new long[initialCapacity];
+        this.arity = arity;
+    }
+
+    /**
+     * Increases the capacity of the arrays.
+     *
+     * @param minCapacity the desired minimum capacity
+     */
+    private void grow(int minCapacity) {
+        int oldCapacity = handles.length;
+        // Double size if small; else grow by 50%
+        int newCapacity = oldCapacity + ((oldCapacity < 64) ?
+                                         (oldCapacity + 2) :
+                                         (oldCapacity >> 1));
+        // overflow-conscious code
+        if (newCapacity - MAX_ARRAY_SIZE > 0)
+            newCapacity = hugeCapacity(minCapacity);
+        handles = Arrays.copyOf(handles, newCapacity);
+        priorities = Arrays.copyOf(priorities, newCapacity);
+    }
+
+    private static int hugeCapacity(int minCapacity) {
+        if (minCapacity < 0) // overflow
+            throw new OutOfMemoryError();
+        return (minCapacity > MAX_ARRAY_SIZE) ?
+            Integer.MAX_VALUE :
+            MAX_ARRAY_SIZE;
+    }
+
+    /**
+     * Inserts the specified element with the specified priority into this
+     * priority queue.
+     *
+     * @param e the element to add
+     * @param priority the priority of the element
+     * @return the handle of the inserted element
+     */
+    public Handle<E> insert(E e, long priority) {
+        int i = size;
+        if (i >= handles.length)
+            grow(i + 1);
+        size = i + 1;
+        Handle<E> h = new Handle<>(e, this);
+        siftUp(i, h, priority);
+        return h;
+    }
+
+    /**
+     * Retrieves, but does not remove, the element with the least priority,
+     * or returns {@code null} if this queue is empty.
+     *
+     * @return the head of this queue, or {@code null} if this queue is empty
+     */
+    public E peek() {
+        return (size == 0) ? null : handles[0].element;
+    }
+
+    /**
+     * Retrieves, but does not remove, the handle of the element with the
+     * least priority, or returns {@code null} if this queue is empty.
+     *
+     * @return the handle of the head of this queue, or {@code null} if this
+     *         queue is empty
+     */
+    public Handle<E> peekHandle() {
+        return (size == 0) ? null : handles[0];
+    }
+
+    /**
+     * Returns the least priority of the elements in this queue.
+     *
+     * @return the priority of the head of this queue
+     * @throws NoSuchElementException if this queue is empty
+     */
+    public long peekPriority() {
+        if (size == 0)
+            throw new NoSuchElementException();
+        return priorities[0];
+    }
+
+    /**
+     * Retrieves and removes the element with the least priority, or returns
+     * {@code null} if this queue is empty.
+     *
+     * @return the head of this queue, or {@code null} if this queue is empty
+     */
+    public E poll() {
+        if (size == 0)
+            return null;
+        E result = handles[0].element;
+        removeAt(0);
+        return result;
+    }
+
+    /**
+     * Returns the priority of the element referenced by the given handle.
+     *
+     * @param h the handle of the element
+     * @return the priority of the element
+     * @throws IllegalArgumentException if the element referenced by the
+     *         handle is not held in this queue
+     * @throws NullPointerException if the specified handle is null
+     */
+    public long priority(Handle<E> h) {
+        if (h.queue != this)
+            throw new IllegalArgumentException();
+        return priorities[h.index];
+    }
+
+    /**
+     * Changes the priority of the element referenced by the given handle,
+     * moving it towards the head of the queue if the priority decreased
+     * (the <em>decrease-key</em> operation), or towards the tail if it
+     * increased.
+     *
+     * @param h the handle of the element
+     * @param priority the new priority of the element
+     * @return {@code true} if the element is held in this queue, otherwise
+     *         {@code false}, in which case the queue is unchanged
+     * @throws NullPointerException if the specified handle is null
+     */
+    public boolean changePriority(Handle<E> h, long priority) {
+        if (h.queue != this)
+            return false;
+        int i = h.index;
+        if (priority < priorities[i])
+            siftUp(i, h, priority);
+        else
+            siftDown(i, h, priority);
+        return true;
+    }
+
+    /**
+     * Removes the element referenced by the given handle from this queue.
+     *
+     * @param h the handle of the element to remove
+     * @return {@code true} if the element was held in this queue and has
+     *         been removed, otherwise {@code false}
+     * @throws NullPointerException if the specified handle is null
+     */
+    public boolean remove(Handle<E> h) {
+        if (h.queue != this)
+            return false;
+        removeAt(h.index);
+        return true;
+    }
+
+    /**
+     * Returns {@code true} if the element referenced by the given handle is
+     * held in this queue.
+     *
+     * @param h the handle to look up
+     * @return {@code true} if the element referenced by the handle is held
+     *         in this queue
+     * @throws NullPointerException if the specified handle is null
+     */
+    public boolean contains(Handle<E> h) {
+        return h.queue == this;
+    }
+
+    /**
+     * Returns the number of elements in this queue.
+     *
+     * @return the number of elements in this queue
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns {@code true} if this queue contains no elements.
+     *
+     * @return {@code true} if this queue contains no elements
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes all of the elements from this priority queue.
+     * The queue will be empty after this call returns, and all handles
+     * previously returned by {@link #insert} become invalid.
+     */
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            Handle<E> h = handles[i];
+            h.queue = null;
+            h.index = -1;
+            handles[i] = null;
+        }
+        size = 0;
+    }
+
+    /**
+     * Returns the number of children of each node of the heap backing
+     * this queue.
+     *
+     * @return the arity of the heap
+     */
+    public int arity() {
+        return arity;
+    }
+
+    /**
+     * Returns a {@code long} priority that orders the same as the specified
+     * {@code double} priority does under {@link Double#compare}: negative
+     * values order before positive ones, {@code -0.0} before {@code 0.0},
+     * and NaN after positive infinity.
+     *
+     * @implNote The bits of {@link Double#doubleToLongBits} of a negative
+     * value order backwards as a {@code long}, so all but the sign bit are
+     * inverted for them.  This mapping is its own inverse.
+     *
+     * @param d the {@code double} priority
+     * @return the equivalent {@code long} priority
+     * @see #toDouble(long)
+     */
+    public static long doublePriority(double d) {
+        long bits = Double.doubleToLongBits(d);
+        return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+    }
+
+    /**
+     * Returns the {@code double} priority mapped to the specified
+     * {@code long} priority by {@link #doublePriority(double)}.
+     *
+     * @param priority a priority returned by {@code doublePriority}
+     * @return the {@code double} priority
+     */
+    public static double toDouble(long priority) {
+        return Double.longBitsToDouble(priority ^ ((priority >> 63) & Long.MAX_VALUE));
+    }
+
+    /**
+     * Removes the ith element from the heap, invalidating its handle.
+     */
+    private void removeAt(int i) {
+        // assert i >= 0 && i < size;
+        Handle<E> removed = handles[i];
+        removed.queue = null;
+        removed.index = -1;
+        int s = --size;
+        if (s == i) // removed last element
+            handles[i] = null;
+        else {
+            Handle<E> moved = handles[s];
+            long p = priorities[s];
+            handles[s] = null;
+            siftDown(i, moved, p);
+            if (handles[i] == moved)
+                siftUp(i, moved, p);
+        }
+    }
+
+    /**
+     * Inserts handle x with priority p at position k, maintaining heap
+     * invariant by promoting x up the tree until its priority is greater
+     * than or equal to that of its parent, or it is the root.
+     */
+    private void siftUp(int k, Handle<E> x, long p) {
+        Handle<E>[] hs = handles;
+        long[] ps = priorities;
+        while (k > 0) {
+            int parent = (k - 1) / arity;
+            long pp = ps[parent];
+            if (p >= pp)
+                break;
+            Handle<E> e = hs[parent];
+            hs[k] = e;
+            ps[k] = pp;
+            e.index = k;
+            k = parent;
+        }
+        hs[k] = x;
+        ps[k] = p;
+        x.index = k;
+    }
+
+    /**
+     * Inserts handle x with priority p at position k, maintaining heap
+     * invariant by demoting x down the tree repeatedly until its priority
+     * is less than or equal to that of its children or it is a leaf.
+     */
+    private void siftDown(int k, Handle<E> x, long p) {
+        Handle<E>[] hs = handles;
+        long[] ps = priorities;
+        int n = size;
+        for (;;) {
+            int first = arity * k + 1;
+            if (first >= n || first < 0) // no children, or overflow
+                break;
+            // find the child with the least priority
+            int last = (n - first <= arity) ? n : first + arity;
+            int child = first;
+            long cp = ps[first];
+            for (int j = first + 1; j < last; j++) {
+                if (ps[j] < cp) {
+                    cp = ps[j];
+                    child = j;
+                }
+            }
+            if (p <= cp)
+                break;
+            Handle<E> c = hs[child];
+            hs[k] = c;
+            ps[k] = cp;
+            c.index = k;
+            k = child;
+        }
+        hs[k] = x;
+        ps[k] = p;
+        x.index = k;
+    }
+}
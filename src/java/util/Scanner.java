@@ -348,6 +348,11 @@ public final class Scanner implements Iterator<String>, Closeable {
     // Boolean indicating if a match result is available
     private boolean matchValid = false;
 
+    // Bounds of the last token scanned without the matcher, whose match
+    // result has yet to be computed; the start is -1 if there is none
+    private int simpleTokenStart = -1;
+    private int simpleTokenEnd;
+
     // Boolean indicating if this scanner has been closed
     private boolean closed = false;
 
@@ -869,6 +874,7 @@ public final class Scanner implements Iterator<String>, Closeable {
     // means that there will be another token with or without more input.
     private boolean hasTokenInBuffer() {
         matchValid = false;
+        simpleTokenStart = -1;
         matcher.usePattern(delimPattern);
         matcher.region(position, buf.limit());
 
@@ -900,6 +906,7 @@ public final class Scanner implements Iterator<String>, Closeable {
      */
     private String getCompleteTokenInBuffer(Pattern pattern) {
         matchValid = false;
+        simpleTokenStart = -1;
 
         // Skip delims first
         matcher.usePattern(delimPattern);
@@ -998,6 +1005,7 @@ public final class Scanner implements Iterator<String>, Closeable {
     // Returns a match for the specified input pattern.
     private String findPatternInBuffer(Pattern pattern, int horizon) {
         matchValid = false;
+        simpleTokenStart = -1;
         matcher.usePattern(pattern);
         int bufferLimit = buf.limit();
         int horizonLimit = -1;
@@ -1044,6 +1052,7 @@ public final class Scanner implements Iterator<String>, Closeable {
     // the current position
     private String matchPatternInBuffer(Pattern pattern) {
         matchValid = false;
+        simpleTokenStart = -1;
         matcher.usePattern(pattern);
         matcher.region(position, buf.limit());
         if (matcher.lookingAt()) {
@@ -1064,6 +1073,66 @@ public final class Scanner implements Iterator<String>, Closeable {
         return null;
     }
 
+    /*
+     * Finds the next token without the matcher when the delimiter is the
+     * default one and the token is a plain numeral: an optional sign and
+     * ASCII digits in the current radix. Such a token always matches the
+     * integer pattern whatever the locale, so the integer pattern need not
+     * be run. Reads more input as needed.
+     *
+     * Returns true with the token bounds in simpleTokenStart and
+     * simpleTokenEnd, or false if the token must be scanned with the
+     * matcher. The position is left unchanged.
+     */
+    private boolean simpleIntegerToken() {
+        if (closed || delimPattern != WHITESPACE_PATTERN)
+            return false;
+        matchValid = false;
+        simpleTokenStart = -1;
+        // Offsets are relative to position, which moves if the buffer
+        // is compacted while reading input
+        int i = 0;
+        int start = -1;
+        while (true) {
+            int p = position;
+            int n = buf.limit() - p;
+            if (start < 0) {
+                // Skip delims first
+                while (i < n && Character.isWhitespace(buf.get(p + i)))
+                    i++;
+                if (i == n) {
+                    if (sourceClosed)
+                        return false;
+                    readInput();
+                    continue;
+                }
+                start = i;
+                char c = buf.get(p + i);
+                if (c == '-' || c == '+')
+                    i++;
+            }
+            while (i < n) {
+                char c = buf.get(p + i);
+                if (c >= 128 || Character.digit(c, radix) < 0)
+                    break;
+                i++;
+            }
+            if (i == n && !sourceClosed) {
+                // The token may continue
+                readInput();
+                continue;
+            }
+            char c = buf.get(p + start);
+            if (i == start + ((c == '-' || c == '+') ? 1 : 0))
+                return false; // No digits
+            if (i < n && !Character.isWhitespace(buf.get(p + i)))
+                return false; // Not the end of the token
+            simpleTokenStart = p + start;
+            simpleTokenEnd = p + i;
+            return true;
+        }
+    }
+
     // Throws if the scanner is closed
     private void ensureOpen() {
         if (closed)
@@ -1291,6 +1360,13 @@ public final class Scanner implements Iterator<String>, Closeable {
     public MatchResult match() {
         if (!matchValid)
             throw new IllegalStateException("No match result available");
+        if (simpleTokenStart >= 0) {
+            // The token was scanned without the matcher
+            matcher.usePattern(integerPattern());
+            matcher.region(simpleTokenStart, simpleTokenEnd);
+            matcher.matches();
+            simpleTokenStart = -1;
+        }
         return matcher.toMatchResult();
     }
 
@@ -2019,6 +2095,18 @@ public final class Scanner implements Iterator<String>, Closeable {
      */
     public boolean hasNextInt(int radix) {
         setRadix(radix);
+        if (simpleIntegerToken()) {
+            try {
+                typeCache = Integer.parseInt(buf, simpleTokenStart, simpleTokenEnd,
+                                            radix);
+                hasNextPattern = null;
+                hasNextPosition = simpleTokenEnd;
+                matchValid = true;
+                return true;
+            } catch (NumberFormatException nfe) {
+                // Scan it with the matcher to find out
+            }
+        }
         boolean result = hasNext(integerPattern());
         if (result) { // Cache it
             try {
@@ -2112,6 +2200,16 @@ public final class Scanner implements Iterator<String>, Closeable {
         }
         setRadix(radix);
         clearCaches();
+        if (simpleIntegerToken()) {
+            try {
+                int val = Integer.parseInt(buf, simpleTokenStart, simpleTokenEnd, radix);
+                position = simpleTokenEnd;
+                matchValid = true;
+                return val;
+            } catch (NumberFormatException nfe) {
+                // Scan it with the matcher to report the error
+            }
+        }
         // Search for next int
         try {
             String s = next(integerPattern());
@@ -2124,6 +2222,75 @@ public final class Scanner implements Iterator<String>, Closeable {
         }
     }
 
+    /**
+     * Scans the next tokens of the input as <tt>int</tt>s in the default
+     * radix into the specified array, until the array is full.
+     *
+     * <p> An invocation of this method of the form
+     * <tt>nextInts(a)</tt> behaves in exactly the same way as the
+     * invocation <tt>nextInts(a, 0, a.length)</tt>.
+     *
+     * @param a the array into which the values are scanned
+     * @return the number of values scanned
+     * @throws NullPointerException if <code>a</code> is null
+     * @throws IllegalStateException if this scanner is closed
+     * @since 1.8
+     */
+    public int nextInts(int[] a) {
+        return nextInts(a, 0, a.length);
+    }
+
+    /**
+     * Scans up to <code>len</code> next tokens of the input as
+     * <tt>int</tt>s in the default radix into the specified array,
+     * starting at index <code>off</code>. Scanning stops early, without
+     * advancing past the token, at the first token that is not an
+     * <tt>int</tt> value, and at the end of input.
+     *
+     * <p> The result is the same as that of invoking {@link #nextInt()}
+     * while {@link #hasNextInt()} returns true, but when the default
+     * delimiter is in use, tokens that are plain numerals are scanned
+     * without matching regular expressions or creating strings.
+     *
+     * @param a the array into which the values are scanned
+     * @param off the index in <code>a</code> of the first value
+     * @param len the maximum number of values to scan
+     * @return the number of values scanned
+     * @throws IndexOutOfBoundsException if <code>off</code> or
+     *         <code>len</code> is negative, or <code>off + len</code> is
+     *         greater than <code>a.length</code>
+     * @throws NullPointerException if <code>a</code> is null
+     * @throws IllegalStateException if this scanner is closed
+     * @since 1.8
+     */
+    public int nextInts(int[] a, int off, int len) {
+        if ((off < 0) || (len < 0) || (len > a.length - off))
+            throw new IndexOutOfBoundsException();
+        ensureOpen();
+        int radix = defaultRadix;
+        setRadix(radix);
+        int n = 0;
+        while (n < len) {
+            clearCaches();
+            if (simpleIntegerToken()) {
+                try {
+                    a[off + n] = Integer.parseInt(buf, simpleTokenStart,
+                                                  simpleTokenEnd, radix);
+                    position = simpleTokenEnd;
+                    matchValid = true;
+                    n++;
+                    continue;
+                } catch (NumberFormatException nfe) {
+                    // Out of range; scan it with the matcher as usual
+                }
+            }
+            if (!hasNextInt(radix))
+                break;
+            a[off + n++] = nextInt(radix);
+        }
+        return n;
+    }
+
     /**
      * Returns true if the next token in this scanner's input can be
      * interpreted as a long value in the default radix using the
@@ -2149,6 +2316,18 @@ public final class Scanner implements Iterator<String>, Closeable {
      */
     public boolean hasNextLong(int radix) {
         setRadix(radix);
+        if (simpleIntegerToken()) {
+            try {
+                typeCache = Long.parseLong(buf, simpleTokenStart, simpleTokenEnd,
+                                            radix);
+                hasNextPattern = null;
+                hasNextPosition = simpleTokenEnd;
+                matchValid = true;
+                return true;
+            } catch (NumberFormatException nfe) {
+                // Scan it with the matcher to find out
+            }
+        }
         boolean result = hasNext(integerPattern());
         if (result) { // Cache it
             try {
@@ -2218,6 +2397,16 @@ public final class Scanner implements Iterator<String>, Closeable {
         }
         setRadix(radix);
         clearCaches();
+        if (simpleIntegerToken()) {
+            try {
+                long val = Long.parseLong(buf, simpleTokenStart, simpleTokenEnd, radix);
+                position = simpleTokenEnd;
+                matchValid = true;
+                return val;
+            } catch (NumberFormatException nfe) {
+                // Scan it with the matcher to report the error
+            }
+        }
         try {
             String s = next(integerPattern());
             if (matcher.group(SIMPLE_GROUP_INDEX) == null)
@@ -2229,6 +2418,75 @@ public final class Scanner implements Iterator<String>, Closeable {
         }
     }
 
+    /**
+     * Scans the next tokens of the input as <tt>long</tt>s in the default
+     * radix into the specified array, until the array is full.
+     *
+     * <p> An invocation of this method of the form
+     * <tt>nextLongs(a)</tt> behaves in exactly the same way as the
+     * invocation <tt>nextLongs(a, 0, a.length)</tt>.
+     *
+     * @param a the array into which the values are scanned
+     * @return the number of values scanned
+     * @throws NullPointerException if <code>a</code> is null
+     * @throws IllegalStateException if this scanner is closed
+     * @since 1.8
+     */
+    public int nextLongs(long[] a) {
+        return nextLongs(a, 0, a.length);
+    }
+
+    /**
+     * Scans up to <code>len</code> next tokens of the input as
+     * <tt>long</tt>s in the default radix into the specified array,
+     * starting at index <code>off</code>. Scanning stops early, without
+     * advancing past the token, at the first token that is not a
+     * <tt>long</tt> value, and at the end of input.
+     *
+     * <p> The result is the same as that of invoking {@link #nextLong()}
+     * while {@link #hasNextLong()} returns true, but when the default
+     * delimiter is in use, tokens that are plain numerals are scanned
+     * without matching regular expressions or creating strings.
+     *
+     * @param a the array into which the values are scanned
+     * @param off the index in <code>a</code> of the first value
+     * @param len the maximum number of values to scan
+     * @return the number of values scanned
+     * @throws IndexOutOfBoundsException if <code>off</code> or
+     *         <code>len</code> is negative, or <code>off + len</code> is
+     *         greater than <code>a.length</code>
+     * @throws NullPointerException if <code>a</code> is null
+     * @throws IllegalStateException if this scanner is closed
+     * @since 1.8
+     */
+    public int nextLongs(long[] a, int off, int len) {
+        if ((off < 0) || (len < 0) || (len > a.length - off))
+            throw new IndexOutOfBoundsException();
+        ensureOpen();
+        int radix = defaultRadix;
+        setRadix(radix);
+        int n = 0;
+        while (n < len) {
+            clearCaches();
+            if (simpleIntegerToken()) {
+                try {
+                    a[off + n] = Long.parseLong(buf, simpleTokenStart,
+                                                  simpleTokenEnd, radix);
+                    position = simpleTokenEnd;
+                    matchValid = true;
+                    n++;
+                    continue;
+                } catch (NumberFormatException nfe) {
+                    // Out of range; scan it with the matcher as usual
+                }
+            }
+            if (!hasNextLong(radix))
+                break;
+            a[off + n++] = nextLong(radix);
+        }
+        return n;
+    }
+
     /**
      * The float token must be stripped of prefixes, group separators,
      * and suffixes, non ascii digits must be converted into ascii digits
@@ -1389,6 +1389,45 @@ public final class Pattern implements java.io.Serializable {
 	 */
 	public static final int UNICODE_CHARACTER_CLASS = 0x100;
 
+	/**
+	 * Enables linear-time matching.
+	 *
+	 * <p>
+	 * By default a pattern is matched by backtracking, which for some patterns,
+	 * such as <tt>(a|aa)*b</tt> or <tt>(a*)*b</tt>, may take time exponential in
+	 * the length of the input. When this flag is specified the pattern is instead
+	 * matched by simulating all of its alternatives in lockstep, so that a match
+	 * operation takes time proportional to the length of the input multiplied by
+	 * the size of the pattern, whatever the pattern and the input.
+	 *
+	 * <p>
+	 * Matches and the contents of capturing groups are those found by
+	 * backtracking: the leftmost match is found, and between alternatives and
+	 * repetitions the one backtracking would try first is preferred. They may
+	 * only differ for repetitions of groups that can match the empty string,
+	 * where an iteration matching the empty string at the end of the repetition
+	 * does not set the groups it contains, and where backtracking gives up
+	 * repeating a group after such an iteration even if the minimum number of
+	 * repetitions was not reached. Constructs
+	 * whose semantics depend on backtracking have no linear-time equivalent, and
+	 * compiling a pattern using any of them with this flag throws a
+	 * {@link PatternSyntaxException}: back references, lookahead and lookbehind,
+	 * possessive quantifiers, independent groups, and <tt>\R</tt>. Counted
+	 * repetitions are expanded, so a pattern whose expansion is very large is
+	 * also rejected.
+	 *
+	 * <p>
+	 * Linear-time matching is usually slower than backtracking for patterns that
+	 * do not backtrack much, so this flag is best reserved for patterns that are
+	 * not trusted, such as patterns supplied by users.
+	 *
+	 * <p>
+	 * There is no embedded flag character for enabling linear-time matching.
+	 *
+	 * @since 1.8
+	 */
+	public static final int LINEAR = 0x200;
+
 	/*
 	 * Pattern has only two serialized components: The pattern string and the flags,
 	 * which are all that is needed to recompile the pattern when it is
@@ -1435,6 +1474,17 @@ public final class Pattern implements java.io.Serializable {
 	 */
 	transient Node matchRoot;
 
+	/**
+	 * The literal characters every match starts with, or null if there are
+	 * none. Used by PatternSet to find candidate match positions.
+	 */
+	transient char[] literalPrefix;
+
+	/**
+	 * True if a match is exactly the literal prefix, with nothing after it.
+	 */
+	transient boolean literalOnly;
+
 	/**
 	 * Temporary storage used by parsing pattern slice.
 	 */
@@ -1503,8 +1553,8 @@ public final class Pattern implements java.io.Serializable {
 	 * @param flags Match flags, a bit mask that may include
 	 *              {@link #CASE_INSENSITIVE}, {@link #MULTILINE}, {@link #DOTALL},
 	 *              {@link #UNICODE_CASE}, {@link #CANON_EQ}, {@link #UNIX_LINES},
-	 *              {@link #LITERAL}, {@link #UNICODE_CHARACTER_CLASS} and
-	 *              {@link #COMMENTS}
+	 *              {@link #LITERAL}, {@link #UNICODE_CHARACTER_CLASS},
+	 *              {@link #COMMENTS} and {@link #LINEAR}
 	 *
 	 * @return the given regular expression compiled into a pattern with the given
 	 *         flags
@@ -2213,6 +2263,27 @@ public final class Pattern implements java.io.Serializable {
 			root = hasSupplementary ? new StartS(matchRoot) : new Start(matchRoot);
 		}
 
+		// Record the literal that starts every match, if any
+		if (matchRoot instanceof Slice) {
+			int[] buf = ((Slice) matchRoot).buffer;
+			literalPrefix = new char[buf.length];
+			for (int i = 0; i < buf.length; i++)
+				literalPrefix[i] = (char) buf[i];
+		} else if (matchRoot instanceof Single) {
+			literalPrefix = new char[] { (char) ((Single) matchRoot).c };
+		}
+		literalOnly = literalPrefix != null && matchRoot.next == lastAccept;
+
+		// Linear-time mode replaces the backtracking tree by a program
+		// simulating it, keeping the tree only to build the program
+		if (has(LINEAR)) {
+			LinearProgram prog = LinearProgram.compile(matchRoot, capturingGroupCount, localCount);
+			if (prog == null)
+				throw new PatternSyntaxException("Construct not supported in linear-time mode", normalizedPattern, -1);
+			root = new Linear(prog, true);
+			matchRoot = new Linear(prog, false);
+		}
+
 		// Release temporary storage
 		temp = null;
 		buffer = null;
@@ -6077,6 +6148,493 @@ public final class Pattern implements java.io.Serializable {
 		}
 	}
 
+	/**
+	 * Program for linear-time matching, compiled from the node tree of a
+	 * pattern. Each instruction either consumes one character, or is followed
+	 * without consuming input: SPLIT to its two targets in order of preference,
+	 * JMP to its target, SAVE the position to a group slot, and ASSERT a zero
+	 * width condition. The program is run by simulating all threads of control
+	 * in lockstep over the input (a "Pike VM"), in order of preference, so that
+	 * the thread that backtracking would have succeeded with wins. A thread is
+	 * dropped when a preferred thread reaches the same instruction at the same
+	 * position, which bounds the work per character by the program size.
+	 *
+	 * Like the Loop and Curly nodes, a repetition whose iteration matches the
+	 * empty string is not iterated again: each iteration saves its starting
+	 * position in a register, one per nesting level of repetitions, held in the
+	 * slots past the group slots, and PROGRESS leaves the repetition if it is
+	 * still there.
+	 */
+	static final class LinearProgram {
+		/**
+		 * Maximum number of instructions; counted repetitions are expanded.
+		 */
+		static final int MAX_SIZE = 1 << 13;
+
+		static final int CHAR = 0; // obj: CharProperty
+		static final int LIT = 1; // x: code point, y: case folding
+		static final int SPLIT = 2; // x: preferred target, y: other target
+		static final int JMP = 3; // x: target
+		static final int SAVE = 4; // x: group slot
+		static final int ASSERT = 5; // obj: zero width Node ending in asserted
+		static final int NOP = 6;
+		static final int MATCH = 7;
+		static final int PROGRESS = 8; // x: register, y: target if at x
+
+		// Case folding of LIT instructions
+		static final int EXACT = 0;
+		static final int ASCII_FOLD = 1;
+		static final int UNICODE_FOLD = 2;
+
+		/**
+		 * The continuation of the copies of zero width nodes run by ASSERT.
+		 */
+		static final Node asserted = new Node() {
+			boolean match(Matcher matcher, int i, CharSequence seq) {
+				return true;
+			}
+		};
+
+		int[] op = new int[16];
+		int[] x = new int[16];
+		int[] y = new int[16];
+		Object[] obj = new Object[16];
+		int size;
+
+		/**
+		 * The number of group slots, two per capturing group.
+		 */
+		final int groupSlots;
+
+		/**
+		 * The number of slots of a thread, the group slots and the registers.
+		 */
+		int slots;
+
+		/**
+		 * The nesting level of the repetition being emitted.
+		 */
+		private int depth;
+
+		/**
+		 * The NOP placeholders of group heads waiting for their tails to tell
+		 * whether they capture, by local index.
+		 */
+		private int[] heads;
+
+		private LinearProgram(int capturingGroupCount, int localCount) {
+			groupSlots = slots = capturingGroupCount * 2;
+			heads = new int[localCount];
+			Arrays.fill(heads, -1);
+		}
+
+		/**
+		 * Compiles the node tree starting at matchRoot, returning null if it
+		 * contains constructs that cannot be simulated in linear time.
+		 */
+		static LinearProgram compile(Node matchRoot, int capturingGroupCount, int localCount) {
+			LinearProgram p = new LinearProgram(capturingGroupCount, localCount);
+			p.emit(SAVE, 0, 0, null);
+			if (!p.sequence(matchRoot, lastAccept))
+				return null;
+			p.emit(SAVE, 1, 0, null);
+			p.emit(MATCH, 0, 0, null);
+			p.heads = null;
+			return p;
+		}
+
+		private int emit(int o, int a, int b, Object ob) {
+			if (size == op.length) {
+				int n = size * 2;
+				op = Arrays.copyOf(op, n);
+				x = Arrays.copyOf(x, n);
+				y = Arrays.copyOf(y, n);
+				obj = Arrays.copyOf(obj, n);
+			}
+			op[size] = o;
+			x[size] = a;
+			y[size] = b;
+			obj[size] = ob;
+			return size++;
+		}
+
+		/**
+		 * Emits the nodes from node up to, but excluding, stop.
+		 */
+		private boolean sequence(Node node, Node stop) {
+			while (node != stop) {
+				if (size > MAX_SIZE)
+					return false;
+				if (node instanceof CharProperty) {
+					// BMP properties would match a lone surrogate of a pair
+					if ((node instanceof Single && Character.isSurrogate((char) ((Single) node).c))
+							|| (node instanceof SingleI && Character.isSurrogate((char) ((SingleI) node).lower)))
+						return false;
+					emit(CHAR, 0, 0, node);
+				} else if (node instanceof SliceNode) {
+					int fold;
+					if (node instanceof Slice || node instanceof SliceS)
+						fold = EXACT;
+					else if (node instanceof SliceU || node instanceof SliceUS)
+						fold = UNICODE_FOLD;
+					else
+						fold = ASCII_FOLD;
+					for (int c : ((SliceNode) node).buffer)
+						emit(LIT, c, fold, null);
+				} else if (node instanceof GroupHead) {
+					heads[((GroupHead) node).localIndex] = emit(NOP, 0, 0, null);
+				} else if (node instanceof GroupTail) {
+					GroupTail tail = (GroupTail) node;
+					int head = heads[tail.localIndex];
+					// No head for the tail of a GroupCurly, which saves itself
+					if (head >= 0) {
+						heads[tail.localIndex] = -1;
+						if (tail.groupIndex > 0) {
+							op[head] = SAVE;
+							x[head] = tail.groupIndex;
+							emit(SAVE, tail.groupIndex + 1, 0, null);
+						}
+					}
+				} else if (node instanceof Branch) {
+					Branch branch = (Branch) node;
+					int[] jumps = new int[branch.size];
+					for (int n = 0; n < branch.size; n++) {
+						int split = (n < branch.size - 1) ? emit(SPLIT, size + 1, 0, null) : -1;
+						if (branch.atoms[n] != null && !sequence(branch.atoms[n], branch.conn))
+							return false;
+						if (split >= 0) {
+							jumps[n] = emit(JMP, 0, 0, null);
+							y[split] = size;
+						}
+					}
+					for (int n = 0; n < branch.size - 1; n++)
+						x[jumps[n]] = size;
+					node = branch.conn.next;
+					continue;
+				} else if (node instanceof Ques) {
+					Ques ques = (Ques) node;
+					if (ques.type != GREEDY && ques.type != LAZY)
+						return false;
+					if (!repeat(ques.atom, accept, 0, 1, ques.type == GREEDY, -1))
+						return false;
+				} else if (node instanceof Curly) {
+					Curly curly = (Curly) node;
+					if (curly.type != GREEDY && curly.type != LAZY)
+						return false;
+					if (!repeat(curly.atom, accept, curly.cmin, curly.cmax, curly.type == GREEDY, -1))
+						return false;
+				} else if (node instanceof GroupCurly) {
+					GroupCurly curly = (GroupCurly) node;
+					if (curly.type != GREEDY && curly.type != LAZY)
+						return false;
+					if (!repeat(curly.atom, accept, curly.cmin, curly.cmax, curly.type == GREEDY,
+							curly.capture ? curly.groupIndex : -1))
+						return false;
+				} else if (node instanceof Prolog) {
+					Loop loop = ((Prolog) node).loop;
+					if (!repeat(loop.body, loop, loop.cmin, loop.cmax, !(loop instanceof LazyLoop), -1))
+						return false;
+					node = loop.next;
+					continue;
+				} else if (node instanceof BranchConn) {
+					// Nothing to do but follow it
+				} else {
+					Node assertion = copyAssertion(node);
+					if (assertion == null)
+						return false;
+					emit(ASSERT, 0, 0, assertion);
+				}
+				node = node.next;
+			}
+			return true;
+		}
+
+		/**
+		 * Emits cmin to cmax copies of the nodes from atom up to stop, saving
+		 * the bounds of each copy in the group slot pair at slot if it is not
+		 * negative.
+		 */
+		private boolean repeat(Node atom, Node stop, int cmin, int cmax, boolean greedy, int slot) {
+			if (cmin > MAX_SIZE || (cmax != MAX_REPS && cmax - cmin > MAX_SIZE))
+				return false;
+			for (int n = 0; n < cmin; n++) {
+				if (!item(atom, stop, slot))
+					return false;
+			}
+			if (cmax == cmin)
+				return true;
+			int reg = groupSlots + depth++;
+			slots = Math.max(slots, reg + 1);
+			if (cmax == MAX_REPS) {
+				int split = emit(SPLIT, 0, 0, null);
+				emit(SAVE, reg, 0, null);
+				if (!item(atom, stop, slot))
+					return false;
+				int progress = emit(PROGRESS, reg, 0, null);
+				emit(JMP, split, 0, null);
+				prefer(split, split + 1, size, greedy);
+				y[progress] = size;
+			} else {
+				int[] splits = new int[cmax - cmin];
+				for (int n = 0; n < splits.length; n++) {
+					splits[n] = emit(SPLIT, 0, 0, null);
+					emit(SAVE, reg, 0, null);
+					if (!item(atom, stop, slot))
+						return false;
+					emit(PROGRESS, reg, 0, null);
+				}
+				for (int split : splits)
+					prefer(split, split + 1, size, greedy);
+				for (int pc = splits[0]; pc < size; pc++) {
+					if (op[pc] == PROGRESS && x[pc] == reg)
+						y[pc] = size;
+				}
+			}
+			depth--;
+			return true;
+		}
+
+		private boolean item(Node atom, Node stop, int slot) {
+			if (slot >= 0)
+				emit(SAVE, slot, 0, null);
+			if (!sequence(atom, stop))
+				return false;
+			if (slot >= 0)
+				emit(SAVE, slot + 1, 0, null);
+			return true;
+		}
+
+		private void prefer(int split, int body, int out, boolean greedy) {
+			x[split] = greedy ? body : out;
+			y[split] = greedy ? out : body;
+		}
+
+		/**
+		 * Returns a copy of the zero width node, asserting its condition without
+		 * matching its continuation, or null if node is not a zero width
+		 * assertion that can be evaluated on its own.
+		 */
+		private static Node copyAssertion(Node node) {
+			Node copy;
+			if (node instanceof Begin)
+				copy = new Begin();
+			else if (node instanceof End)
+				copy = new End();
+			else if (node instanceof Caret)
+				copy = new Caret();
+			else if (node instanceof UnixCaret)
+				copy = new UnixCaret();
+			else if (node instanceof LastMatch)
+				copy = new LastMatch();
+			else if (node instanceof Dollar)
+				copy = new Dollar(((Dollar) node).multiline);
+			else if (node instanceof UnixDollar)
+				copy = new UnixDollar(((UnixDollar) node).multiline);
+			else if (node instanceof Bound)
+				copy = new Bound(((Bound) node).type, ((Bound) node).useUWORD);
+			else
+				return null;
+			copy.next = asserted;
+			return copy;
+		}
+
+		/**
+		 * Runs the program from position from, either anchored there or
+		 * searching forward for the first position at which it matches.
+		 */
+		boolean run(Matcher matcher, int from, CharSequence seq, boolean search) {
+			int to = matcher.to;
+			if (from > to) {
+				matcher.hitEnd = true;
+				return false;
+			}
+			Threads clist = new Threads(size, slots);
+			Threads nlist = new Threads(size, slots);
+			int[] caps = new int[slots];
+			int[] stack = new int[2 * size + 2];
+			int[] matched = null;
+			int pos = from;
+			for (;;) {
+				// A new thread is the least preferred: a match starting at an
+				// earlier position wins
+				if (matched == null && (search || pos == from)) {
+					Arrays.fill(caps, -1);
+					add(clist, 0, pos, caps, stack, matcher, seq);
+				}
+				if (clist.size == 0)
+					break;
+				int ch = -1;
+				int next = pos;
+				if (pos < to) {
+					ch = Character.codePointAt(seq, pos);
+					next = pos + Character.charCount(ch);
+				}
+				for (int t = 0; t < clist.size; t++) {
+					int pc = clist.dense[t];
+					boolean ok;
+					switch (op[pc]) {
+					case MATCH:
+						if (matcher.acceptMode == Matcher.ENDANCHOR && pos != to)
+							continue;
+						if (matched == null)
+							matched = new int[slots];
+						System.arraycopy(clist.caps, t * slots, matched, 0, slots);
+						// Cut off the less preferred threads
+						t = clist.size;
+						continue;
+					case CHAR:
+						if (pos >= to) {
+							matcher.hitEnd = true;
+							continue;
+						}
+						ok = ((CharProperty) obj[pc]).isSatisfiedBy(ch);
+						break;
+					case LIT:
+						if (pos >= to) {
+							matcher.hitEnd = true;
+							continue;
+						}
+						int c = x[pc];
+						switch (y[pc]) {
+						case ASCII_FOLD:
+							ok = (c == ch || c == ASCII.toLower(ch));
+							break;
+						case UNICODE_FOLD:
+							ok = (c == ch || c == Character.toLowerCase(Character.toUpperCase(ch)));
+							break;
+						default:
+							ok = (c == ch);
+						}
+						break;
+					default:
+						// Instructions followed by add(), kept only to visit
+						// each of them once per position
+						continue;
+					}
+					if (ok) {
+						System.arraycopy(clist.caps, t * slots, caps, 0, slots);
+						add(nlist, pc + 1, next, caps, stack, matcher, seq);
+					}
+				}
+				Threads tmp = clist;
+				clist = nlist;
+				nlist = tmp;
+				nlist.size = 0;
+				if (pos >= to)
+					break;
+				pos = next;
+			}
+			if (matched == null) {
+				if (search)
+					matcher.hitEnd = true;
+				return false;
+			}
+			matcher.first = matched[0];
+			matcher.last = matched[1];
+			System.arraycopy(matched, 0, matcher.groups, 0, groupSlots);
+			return true;
+		}
+
+		/**
+		 * Adds a thread at pc to list, following SPLIT, JMP, SAVE, ASSERT, PROGRESS
+		 * and NOP instructions, with an explicit stack rather than recursion. The
+		 * stack holds targets of SPLIT still to follow, and the complement of
+		 * slots overwritten by SAVE above their previous values, to restore
+		 * them when backing up to an earlier SPLIT.
+		 */
+		private void add(Threads list, int pc, int pos, int[] caps, int[] stack, Matcher matcher, CharSequence seq) {
+			int sp = 0;
+			stack[sp++] = pc;
+			while (sp > 0) {
+				pc = stack[--sp];
+				if (pc < 0) {
+					caps[~pc] = stack[--sp];
+					continue;
+				}
+				for (;;) {
+					if (list.contains(pc))
+						break;
+					int t = list.add(pc);
+					int o = op[pc];
+					if (o == SPLIT) {
+						stack[sp++] = y[pc];
+						pc = x[pc];
+					} else if (o == JMP) {
+						pc = x[pc];
+					} else if (o == SAVE) {
+						int slot = x[pc];
+						stack[sp++] = caps[slot];
+						stack[sp++] = ~slot;
+						caps[slot] = pos;
+						pc++;
+					} else if (o == ASSERT) {
+						if (!((Node) obj[pc]).match(matcher, pos, seq))
+							break;
+						pc++;
+					} else if (o == PROGRESS) {
+						pc = (caps[x[pc]] == pos) ? y[pc] : pc + 1;
+					} else if (o == NOP) {
+						pc++;
+					} else {
+						System.arraycopy(caps, 0, list.caps, t * slots, slots);
+						break;
+					}
+				}
+			}
+		}
+
+		/**
+		 * An ordered set of threads, each an instruction with its group slots.
+		 */
+		static final class Threads {
+			final int[] dense;
+			final int[] sparse;
+			final int[] caps;
+			int size;
+
+			Threads(int n, int slots) {
+				dense = new int[n];
+				sparse = new int[n];
+				caps = new int[n * slots];
+			}
+
+			boolean contains(int pc) {
+				int t = sparse[pc];
+				return t < size && dense[t] == pc;
+			}
+
+			int add(int pc) {
+				sparse[pc] = size;
+				dense[size] = pc;
+				return size++;
+			}
+		}
+	}
+
+	/**
+	 * Root of a pattern compiled in linear-time mode, searching for a match or
+	 * matching at the current position.
+	 */
+	static final class Linear extends Node {
+		final LinearProgram prog;
+		final boolean search;
+
+		Linear(LinearProgram prog, boolean search) {
+			this.prog = prog;
+			this.search = search;
+		}
+
+		boolean match(Matcher matcher, int i, CharSequence seq) {
+			return prog.run(matcher, i, seq, search);
+		}
+
+		boolean study(TreeInfo info) {
+			info.maxValid = false;
+			info.deterministic = false;
+			return false;
+		}
+	}
+
 ///////////////////////////////////////////////////////////////////////////////
 ///////////////////////////////////////////////////////////////////////////////
 
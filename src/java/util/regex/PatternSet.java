@@ -0,0 +1,409 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.util.regex;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A compiled set of regular expressions that are searched for together.
+ *
+ * <p> A pattern set answers the question "which of these patterns occur in
+ * this input?" for many patterns at once.  For every pattern whose
+ * {@link Matcher#find() find} method would succeed on the input, the
+ * {@link #find(CharSequence) find} method of the set reports the index of
+ * the pattern in the set, and {@link #findAny(CharSequence) findAny}
+ * reports whether there is any such pattern:
+ *
+ * <blockquote><pre>
+ * PatternSet set = PatternSet.compile("ERROR", "WARN(ING)?", "timeout after \\d+ms");
+ * int[] hits = set.find(line);   // e.g. {0, 2}
+ * </pre></blockquote>
+ *
+ * <p> The result is the same as trying each pattern in turn, but the
+ * patterns are not each scanned over the input.  Most patterns require every
+ * match to start with some literal text, such as {@code "WARN"} above.  The
+ * literal prefixes of all patterns of the set are compiled into a single
+ * Aho-Corasick automaton, which finds every occurrence of every prefix in
+ * one pass over the input, in time independent of the number of patterns.
+ * A pattern is then tried only at the positions where its prefix occurs,
+ * and not at all once it is known to match.  A pattern that consists only
+ * of literal text, such as {@code "ERROR"}, needs no further matching.
+ *
+ * <p> Patterns that may match without a literal prefix, for example those
+ * starting with a character class, a group, an alternation, a
+ * case-insensitive character or a supplementary character, cannot be
+ * prefiltered and are searched for individually.  Their cost is that of
+ * {@link Matcher#find()}; grouping the literal text of such patterns into a
+ * leading literal, e.g. writing {@code "WARN(ING)?"} rather than
+ * {@code "(WARN|WARNING)"}, lets them take part in the single pass.
+ *
+ * <p> Instances of this class are immutable and are safe for use by
+ * multiple concurrent threads.
+ *
+ * @see Pattern
+ * @since 1.8
+ */
+public final class PatternSet {
+
+    /**
+     * The patterns of the set.
+     */
+    private final Pattern[] patterns;
+
+    /**
+     * The indices of the patterns that have no literal prefix and are
+     * searched for individually.
+     */
+    private final int[] unprefixed;
+
+    /**
+     * The goto function of the automaton: the transitions of state s are on
+     * the sorted characters labels[s], to the states targets[s].  State 0
+     * is the root.
+     */
+    private final char[][] labels;
+    private final int[][] targets;
+
+    /**
+     * The failure function of the automaton: the state of the longest
+     * proper suffix of the text of state s that is also a trie path.
+     */
+    private final int[] fail;
+
+    /**
+     * The patterns whose prefix is the text of state s, or null.
+     */
+    private final int[][] output;
+
+    /**
+     * The nearest state reachable from s through failure links that has
+     * an output, or -1 if there is none.
+     */
+    private final int[] dict;
+
+    private PatternSet(Pattern[] patterns) {
+        this.patterns = patterns;
+
+        // Build the trie of the literal prefixes
+        ArrayList<char[]> lbls = new ArrayList<>();
+        ArrayList<int[]> tgts = new ArrayList<>();
+        ArrayList<int[]> outs = new ArrayList<>();
+        lbls.add(new char[0]);
+        tgts.add(new int[0]);
+        outs.add(null);
+        int[] others = new int[patterns.length];
+        int otherCount = 0;
+        for (int k = 0; k < patterns.length; k++) {
+            char[] prefix = patterns[k].literalPrefix;
+            if (prefix == null) {
+                others[otherCount++] = k;
+                continue;
+            }
+            int s = 0;
+            for (char c : prefix) {
+                char[] l = lbls.get(s);
+                int j = Arrays.binarySearch(l, c);
+                if (j >= 0) {
+                    s = tgts.get(s)[j];
+                    continue;
+                }
+                j = -j - 1;
+                int t = lbls.size();
+                lbls.add(new char[0]);
+                tgts.add(new int[0]);
+                outs.add(null);
+                lbls.set(s, insert(l, j, c));
+                tgts.set(s, insert(tgts.get(s), j, t));
+                s = t;
+            }
+            int[] o = outs.get(s);
+            outs.set(s, o == null ? new int[] { k } : insert(o, o.length, k));
+        }
+        int n = lbls.size();
+        labels = lbls.toArray(new char[n][]);
+        targets = tgts.toArray(new int[n][]);
+        output = outs.toArray(new int[n][]);
+        unprefixed = Arrays.copyOf(others, otherCount);
+
+        // Compute the failure and dictionary links breadth first
+        fail = new int[n];
+        dict = new int[n];
+        dict[0] = -1;
+        int[] queue = new int[n];
+        int head = 0, tail = 0;
+        queue[tail++] = 0;
+        while (head < tail) {
+            int s = queue[head++];
+            char[] l = labels[s];
+            int[] t = targets[s];
+            for (int j = 0; j < l.length; j++) {
+                int u = t[j];
+                int f = 0;
+                if (s != 0) {
+                    for (f = fail[s]; ; f = fail[f]) {
+                        int v = next(f, l[j]);
+                        if (v >= 0) {
+                            f = v;
+                            break;
+                        }
+                        if (f == 0)
+                            break;
+                    }
+                }
+                fail[u] = f;
+                dict[u] = output[f] != null ? f : dict[f];
+                queue[tail++] = u;
+            }
+        }
+    }
+
+    private static char[] insert(char[] a, int i, char c) {
+        char[] b = new char[a.length + 1];
+        System.arraycopy(a, 0, b, 0, i);
+        b[i] = c;
+        System.arraycopy(a, i, b, i + 1, a.length - i);
+        return b;
+    }
+
+    private static int[] insert(int[] a, int i, int v) {
+        int[] b = new int[a.length + 1];
+        System.arraycopy(a, 0, b, 0, i);
+        b[i] = v;
+        System.arraycopy(a, i, b, i + 1, a.length - i);
+        return b;
+    }
+
+    /**
+     * Returns the state reached from state s on character c by the goto
+     * function, or -1 if there is no such transition.
+     */
+    private int next(int s, char c) {
+        char[] l = labels[s];
+        if (l.length == 0)
+            return -1;
+        if (l.length == 1)
+            return l[0] == c ? targets[s][0] : -1;
+        int j = Arrays.binarySearch(l, c);
+        return j >= 0 ? targets[s][j] : -1;
+    }
+
+    /**
+     * Compiles the given regular expressions into a pattern set.
+     *
+     * @param  regexes
+     *         The expressions to be compiled
+     *
+     * @return the given regular expressions compiled into a pattern set
+     *
+     * @throws  PatternSyntaxException
+     *          If the syntax of any of the expressions is invalid
+     */
+    public static PatternSet compile(String... regexes) {
+        return compile(0, regexes);
+    }
+
+    /**
+     * Compiles the given regular expressions into a pattern set, each with
+     * the given flags.
+     *
+     * @param  flags
+     *         Match flags, a bit mask that may include the flags accepted
+     *         by {@link Pattern#compile(String, int)}
+     *
+     * @param  regexes
+     *         The expressions to be compiled
+     *
+     * @return the given regular expressions compiled into a pattern set
+     *
+     * @throws  IllegalArgumentException
+     *          If bit values other than those corresponding to the defined
+     *          match flags are set in <tt>flags</tt>
+     *
+     * @throws  PatternSyntaxException
+     *          If the syntax of any of the expressions is invalid
+     */
+    public static PatternSet compile(int flags, String... regexes) {
+        Pattern[] ps = new Pattern[regexes.length];
+        for (int i = 0; i < ps.length; i++)
+            ps[i] = Pattern.compile(regexes[i], flags);
+        return new PatternSet(ps);
+    }
+
+    /**
+     * Returns a pattern set of the given compiled patterns.
+     *
+     * @param  patterns
+     *         The patterns of the set
+     *
+     * @return a pattern set of the given patterns
+     *
+     * @throws  NullPointerException
+     *          If any of the patterns is null
+     */
+    public static PatternSet of(Pattern... patterns) {
+        Pattern[] ps = patterns.clone();
+        for (Pattern p : ps) {
+            // Compiles a deserialized pattern
+            p.matcher("");
+        }
+        return new PatternSet(ps);
+    }
+
+    /**
+     * Returns the number of patterns in this set.
+     *
+     * @return the number of patterns in this set
+     */
+    public int size() {
+        return patterns.length;
+    }
+
+    /**
+     * Returns the pattern at the given index in this set.
+     *
+     * @param  index
+     *         The index of the pattern
+     *
+     * @return the pattern at the given index
+     *
+     * @throws  IndexOutOfBoundsException
+     *          If the index is negative or not less than {@link #size()}
+     */
+    public Pattern pattern(int index) {
+        return patterns[index];
+    }
+
+    /**
+     * Returns the indices of the patterns of this set that occur in the
+     * given input.  These are the patterns for which {@link Matcher#find()}
+     * on a new matcher of the input would return <tt>true</tt>.
+     *
+     * @param  input
+     *         The character sequence to be searched
+     *
+     * @return the indices of the patterns found in the input, in increasing
+     *         order
+     */
+    public int[] find(CharSequence input) {
+        boolean[] found = new boolean[patterns.length];
+        int count = search(input, found, false);
+        int[] result = new int[count];
+        for (int k = 0, i = 0; i < count; k++) {
+            if (found[k])
+                result[i++] = k;
+        }
+        return result;
+    }
+
+    /**
+     * Tells whether any pattern of this set occurs in the given input.
+     * Returns as soon as one is found.
+     *
+     * @param  input
+     *         The character sequence to be searched
+     *
+     * @return <tt>true</tt> if, and only if, {@link Matcher#find()} on a new
+     *         matcher of the input would return <tt>true</tt> for some
+     *         pattern of this set
+     */
+    public boolean findAny(CharSequence input) {
+        return search(input, new boolean[patterns.length], true) > 0;
+    }
+
+    /**
+     * Marks the patterns found in the input and returns their number,
+     * stopping at the first one if any is set.
+     */
+    private int search(CharSequence input, boolean[] found, boolean any) {
+        Objects.requireNonNull(input, "input");
+        Matcher[] matchers = null;
+        int count = 0;
+        // Patterns without a prefix cannot be prefiltered
+        for (int k : unprefixed) {
+            if (patterns[k].matcher(input).find()) {
+                found[k] = true;
+                if (any)
+                    return 1;
+                count++;
+            }
+        }
+        int remaining = patterns.length - unprefixed.length;
+        if (remaining == 0)
+            return count;
+
+        int len = input.length();
+        int s = 0;
+        for (int i = 0; i < len; i++) {
+            char c = input.charAt(i);
+            int t;
+            while ((t = next(s, c)) < 0 && s != 0)
+                s = fail[s];
+            s = t < 0 ? 0 : t;
+            for (int o = output[s] != null ? s : dict[s]; o >= 0; o = dict[o]) {
+                for (int k : output[o]) {
+                    if (found[k])
+                        continue;
+                    Pattern p = patterns[k];
+                    if (!p.literalOnly) {
+                        // Try the pattern at the start of its prefix
+                        if (matchers == null)
+                            matchers = new Matcher[patterns.length];
+                        Matcher m = matchers[k];
+                        if (m == null)
+                            matchers[k] = m = p.matcher(input);
+                        if (!m.match(i + 1 - p.literalPrefix.length, Matcher.NOANCHOR))
+                            continue;
+                    }
+                    found[k] = true;
+                    if (any)
+                        return 1;
+                    count++;
+                    if (--remaining == 0)
+                        return count;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the string representation of this pattern set: the source
+     * strings of its patterns, in order.
+     *
+     * @return The string representation of this pattern set
+     */
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        for (int k = 0; k < patterns.length; k++) {
+            if (k > 0)
+                sb.append(", ");
+            sb.append(patterns[k].pattern());
+        }
+        return sb.append(']').toString();
+    }
+}
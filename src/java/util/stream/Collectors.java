@@ -51,6 +51,7 @@ import java.util.function.BiFunction;
 import java.util.function.BinaryOperator;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.IntFunction;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.function.ToDoubleFunction;
@@ -135,6 +136,14 @@ public final class Collectors {
 		return i -> (R) i;
 	}
 
+	/**
+	 * Returns the initial capacity of a hash based container expected to hold the given number of mappings without resizing under the default load
+	 * factor.
+	 */
+	private static int hashCapacity(int expectedSize) {
+		return expectedSize < (1 << 30) ? (int) (expectedSize / 0.75f) + 1 : Integer.MAX_VALUE;
+	}
+
 	/**
 	 * Simple implementation class for {@code Collector}.
 	 *
@@ -147,18 +156,38 @@ public final class Collectors {
 		private final BinaryOperator<A> combiner;
 		private final Function<A, R> finisher;
 		private final Set<Characteristics> characteristics;
+		private final IntFunction<A> sizedSupplier;
 
-		CollectorImpl(Supplier<A> supplier, BiConsumer<A, T> accumulator, BinaryOperator<A> combiner, Function<A, R> finisher,
-				Set<Characteristics> characteristics) {
+		CollectorImpl(Supplier<A> supplier, IntFunction<A> sizedSupplier, BiConsumer<A, T> accumulator, BinaryOperator<A> combiner,
+				Function<A, R> finisher, Set<Characteristics> characteristics) {
 			this.supplier = supplier;
+			this.sizedSupplier = sizedSupplier;
 			this.accumulator = accumulator;
 			this.combiner = combiner;
 			this.finisher = finisher;
 			this.characteristics = characteristics;
 		}
 
+		CollectorImpl(Supplier<A> supplier, BiConsumer<A, T> accumulator, BinaryOperator<A> combiner, Function<A, R> finisher,
+				Set<Characteristics> characteristics) {
+			this(supplier, null, accumulator, combiner, finisher, characteristics);
+		}
+
+		CollectorImpl(Supplier<A> supplier, IntFunction<A> sizedSupplier, BiConsumer<A, T> accumulator, BinaryOperator<A> combiner,
+				Set<Characteristics> characteristics) {
+			this(supplier, sizedSupplier, accumulator, combiner, castingIdentity(), characteristics);
+		}
+
 		CollectorImpl(Supplier<A> supplier, BiConsumer<A, T> accumulator, BinaryOperator<A> combiner, Set<Characteristics> characteristics) {
-			this(supplier, accumulator, combiner, castingIdentity(), characteristics);
+			this(supplier, null, accumulator, combiner, castingIdentity(), characteristics);
+		}
+
+		/**
+		 * Returns a function producing a new result container presized to hold the given number of elements, or {@code null} if the container
+		 * cannot be presized. Used by {@link ReduceOps} when the exact size of the input is known.
+		 */
+		IntFunction<A> sizedSupplier() {
+			return sizedSupplier;
 		}
 
 		@Override
@@ -212,7 +241,7 @@ public final class Collectors {
 	 * @return a {@code Collector} which collects all the input elements into a {@code List}, in encounter order
 	 */
 	public static <T> Collector<T, ?, List<T>> toList() {
-		return new CollectorImpl<>((Supplier<List<T>>) ArrayList::new, List::add, (left, right) -> {
+		return new CollectorImpl<>((Supplier<List<T>>) ArrayList::new, (IntFunction<List<T>>) ArrayList::new, List::add, (left, right) -> {
 			left.addAll(right);
 			return left;
 		}, CH_ID);
@@ -230,7 +259,7 @@ public final class Collectors {
 	 * @return a {@code Collector} which collects all the input elements into a {@code Set}
 	 */
 	public static <T> Collector<T, ?, Set<T>> toSet() {
-		return new CollectorImpl<>((Supplier<Set<T>>) HashSet::new, Set::add, (left, right) -> {
+		return new CollectorImpl<>((Supplier<Set<T>>) HashSet::new, size -> new HashSet<>(hashCapacity(size)), Set::add, (left, right) -> {
 			left.addAll(right);
 			return left;
 		}, CH_UNORDERED_ID);
@@ -353,8 +382,9 @@ public final class Collectors {
 				characteristics = Collections.unmodifiableSet(characteristics);
 			}
 		}
-		return new CollectorImpl<>(downstream.supplier(), downstream.accumulator(), downstream.combiner(), downstream.finisher().andThen(finisher),
-				characteristics);
+		IntFunction<A> sizedSupplier = (downstream instanceof CollectorImpl) ? ((CollectorImpl<T, A, R>) downstream).sizedSupplier() : null;
+		return new CollectorImpl<>(downstream.supplier(), sizedSupplier, downstream.accumulator(), downstream.combiner(),
+				downstream.finisher().andThen(finisher), characteristics);
 	}
 
 	/**
@@ -1101,7 +1131,7 @@ public final class Collectors {
 	 */
 	public static <T, K, U> Collector<T, ?, Map<K, U>> toMap(Function<? super T, ? extends K> keyMapper,
 			Function<? super T, ? extends U> valueMapper) {
-		return toMap(keyMapper, valueMapper, throwingMerger(), HashMap::new);
+		return toHashMap(keyMapper, valueMapper, throwingMerger());
 	}
 
 	/**
@@ -1149,7 +1179,7 @@ public final class Collectors {
 	 */
 	public static <T, K, U> Collector<T, ?, Map<K, U>> toMap(Function<? super T, ? extends K> keyMapper, Function<? super T, ? extends U> valueMapper,
 			BinaryOperator<U> mergeFunction) {
-		return toMap(keyMapper, valueMapper, mergeFunction, HashMap::new);
+		return toHashMap(keyMapper, valueMapper, mergeFunction);
 	}
 
 	/**
@@ -1188,6 +1218,17 @@ public final class Collectors {
 		return new CollectorImpl<>(mapSupplier, accumulator, mapMerger(mergeFunction), CH_ID);
 	}
 
+	/**
+	 * Returns a {@code Collector} like {@link #toMap(Function, Function, BinaryOperator, Supplier)} accumulating into a {@code HashMap}, which is
+	 * presized when the number of input elements is known in advance.
+	 */
+	private static <T, K, U> Collector<T, ?, Map<K, U>> toHashMap(Function<? super T, ? extends K> keyMapper,
+			Function<? super T, ? extends U> valueMapper, BinaryOperator<U> mergeFunction) {
+		BiConsumer<Map<K, U>, T> accumulator = (map, element) -> map.merge(keyMapper.apply(element), valueMapper.apply(element), mergeFunction);
+		return new CollectorImpl<>((Supplier<Map<K, U>>) HashMap::new, size -> new HashMap<>(hashCapacity(size)), accumulator,
+				mapMerger(mergeFunction), CH_ID);
+	}
+
 	/**
 	 * Returns a concurrent {@code Collector} that accumulates elements into a {@code ConcurrentMap} whose keys and values are the result of applying
 	 * the provided mapping functions to the input elements.
@@ -0,0 +1,776 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+package java.util.stream;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
+import java.util.function.IntConsumer;
+import java.util.function.LongConsumer;
+
+/**
+ * An ordered collection of primitive values whose chunks are allocated in
+ * direct memory rather than on the Java heap.  Otherwise it behaves as
+ * {@link SpinedBuffer.OfPrimitive}: elements can be added, but not removed,
+ * and growing the buffer never copies elements.
+ *
+ * <p>The content can be copied into a primitive array, or viewed without
+ * copying as a sequence of read-only buffers, one for each chunk.  Chunks
+ * are never freed explicitly; the memory of a chunk is released once the
+ * spined buffer and all views of the chunk are unreachable.
+ *
+ * @param <E> the wrapper type for this primitive type
+ * @param <T_ARR> the array type for this primitive type
+ * @param <T_BUF> the buffer type for this primitive type
+ * @param <T_CONS> the Consumer type for this primitive type
+ * @since 1.8
+ */
+abstract class DirectSpinedBuffer<E, T_ARR, T_BUF extends Buffer, T_CONS>
+        extends AbstractSpinedBuffer implements Iterable<E> {
+
+    /**
+     * Minimum power-of-two for the first chunk.  Direct allocations are
+     * expensive, so small chunks are not worth it.
+     */
+    static final int MIN_DIRECT_CHUNK_POWER = 10;
+
+    /**
+     * Max power-of-two for chunks, such that the size in bytes of a chunk
+     * of eight-byte elements still fits in a buffer.
+     */
+    static final int MAX_DIRECT_CHUNK_POWER = 27;
+
+    private static final int SPLITERATOR_CHARACTERISTICS
+            = Spliterator.SIZED | Spliterator.ORDERED | Spliterator.SUBSIZED;
+
+    /*
+     * The chunks are managed exactly as the arrays of
+     * SpinedBuffer.OfPrimitive.  Elements are written and read with absolute
+     * operations, so the position and limit of a chunk are never changed.
+     */
+
+    // The chunk we're currently writing into
+    T_BUF curChunk;
+
+    // All chunks, or null if there is only one chunk
+    T_BUF[] spine;
+
+    /**
+     * Constructs an empty buffer with the specified initial capacity.
+     *
+     * @param  initialCapacity  the initial capacity of the buffer
+     * @throws IllegalArgumentException if the specified initial capacity
+     *         is negative
+     */
+    DirectSpinedBuffer(int initialCapacity) {
+        super(Math.max(initialCapacity, 1 << MIN_DIRECT_CHUNK_POWER));
+        curChunk = newBuffer(chunkSize(0));
+    }
+
+    @Override
+    public abstract Iterator<E> iterator();
+
+    @Override
+    public abstract void forEach(Consumer<? super E> consumer);
+
+    /** Create a new array-of-buffer of the proper type and size */
+    protected abstract T_BUF[] newBufferArray(int size);
+
+    /** Create a new direct buffer of the proper type and size */
+    protected abstract T_BUF newBuffer(int size);
+
+    /** Create a new array of the proper type and size */
+    public abstract T_ARR newArray(int size);
+
+    /** Get the length of an array */
+    protected abstract int arrayLength(T_ARR array);
+
+    /** Iterate a buffer with the provided consumer */
+    protected abstract void bufferForEach(T_BUF buffer, int from, int to,
+                                          T_CONS consumer);
+
+    /** Copy the first {@code len} elements of a buffer into an array */
+    protected abstract void bufferCopy(T_BUF buffer, int len,
+                                       T_ARR array, int offset);
+
+    /** Create a read-only view of the first {@code len} elements of a buffer */
+    protected abstract T_BUF bufferView(T_BUF buffer, int len);
+
+    @Override
+    protected int chunkSize(int n) {
+        int power = (n == 0 || n == 1)
+                    ? initialChunkPower
+                    : initialChunkPower + n - 1;
+        return 1 << Math.min(power, MAX_DIRECT_CHUNK_POWER);
+    }
+
+    protected long capacity() {
+        return (spineIndex == 0)
+               ? curChunk.capacity()
+               : priorElementCount[spineIndex] + spine[spineIndex].capacity();
+    }
+
+    private void inflateSpine() {
+        if (spine == null) {
+            spine = newBufferArray(MIN_SPINE_SIZE);
+            priorElementCount = new long[MIN_SPINE_SIZE];
+            spine[0] = curChunk;
+        }
+    }
+
+    protected final void ensureCapacity(long targetSize) {
+        long capacity = capacity();
+        if (targetSize > capacity) {
+            inflateSpine();
+            for (int i=spineIndex+1; targetSize > capacity; i++) {
+                if (i >= spine.length) {
+                    int newSpineSize = spine.length * 2;
+                    spine = Arrays.copyOf(spine, newSpineSize);
+                    priorElementCount = Arrays.copyOf(priorElementCount, newSpineSize);
+                }
+                int nextChunkSize = chunkSize(i);
+                spine[i] = newBuffer(nextChunkSize);
+                priorElementCount[i] = priorElementCount[i-1] + spine[i - 1].capacity();
+                capacity += nextChunkSize;
+            }
+        }
+    }
+
+    protected void increaseCapacity() {
+        ensureCapacity(capacity() + 1);
+    }
+
+    protected int chunkFor(long index) {
+        if (spineIndex == 0) {
+            if (index < elementIndex)
+                return 0;
+            else
+                throw new IndexOutOfBoundsException(Long.toString(index));
+        }
+
+        if (index >= count())
+            throw new IndexOutOfBoundsException(Long.toString(index));
+
+        for (int j=0; j <= spineIndex; j++)
+            if (index < priorElementCount[j] + spine[j].capacity())
+                return j;
+
+        throw new IndexOutOfBoundsException(Long.toString(index));
+    }
+
+    public void copyInto(T_ARR array, int offset) {
+        long finalOffset = offset + count();
+        if (finalOffset > arrayLength(array) || finalOffset < offset) {
+            throw new IndexOutOfBoundsException("does not fit");
+        }
+
+        if (spineIndex == 0)
+            bufferCopy(curChunk, elementIndex, array, offset);
+        else {
+            // full chunks
+            for (int i=0; i < spineIndex; i++) {
+                bufferCopy(spine[i], spine[i].capacity(), array, offset);
+                offset += spine[i].capacity();
+            }
+            if (elementIndex > 0)
+                bufferCopy(curChunk, elementIndex, array, offset);
+        }
+    }
+
+    public T_ARR asPrimitiveArray() {
+        long size = count();
+        if (size >= Nodes.MAX_ARRAY_SIZE)
+            throw new IllegalArgumentException(Nodes.BAD_SIZE);
+        T_ARR result = newArray((int) size);
+        copyInto(result, 0);
+        return result;
+    }
+
+    /**
+     * Views the content as read-only buffers, one for each chunk in order.
+     * The buffers share their content with this spined buffer, so elements
+     * added afterwards are not seen, but elements overwritten after a
+     * {@link #clear()} are.
+     *
+     * @return the buffers holding the content of this spined buffer
+     */
+    public T_BUF[] asPrimitiveBuffers() {
+        T_BUF[] buffers = newBufferArray(spineIndex + 1);
+        for (int i=0; i < spineIndex; i++)
+            buffers[i] = bufferView(spine[i], spine[i].capacity());
+        buffers[spineIndex] = bufferView(curChunk, elementIndex);
+        return buffers;
+    }
+
+    protected void preAccept() {
+        if (elementIndex == curChunk.capacity()) {
+            inflateSpine();
+            if (spineIndex+1 >= spine.length || spine[spineIndex+1] == null)
+                increaseCapacity();
+            elementIndex = 0;
+            ++spineIndex;
+            curChunk = spine[spineIndex];
+        }
+    }
+
+    public void clear() {
+        if (spine != null) {
+            curChunk = spine[0];
+            spine = null;
+            priorElementCount = null;
+        }
+        elementIndex = 0;
+        spineIndex = 0;
+    }
+
+    @SuppressWarnings("overloads")
+    public void forEach(T_CONS consumer) {
+        // completed chunks, if any
+        for (int j = 0; j < spineIndex; j++)
+            bufferForEach(spine[j], 0, spine[j].capacity(), consumer);
+
+        // current chunk
+        bufferForEach(curChunk, 0, elementIndex, consumer);
+    }
+
+    abstract class BaseSpliterator<T_SPLITR extends Spliterator.OfPrimitive<E, T_CONS, T_SPLITR>>
+            implements Spliterator.OfPrimitive<E, T_CONS, T_SPLITR> {
+        // The current spine index
+        int splSpineIndex;
+
+        // Last spine index
+        final int lastSpineIndex;
+
+        // The current element index into the current spine
+        int splElementIndex;
+
+        // Last spine's last element index + 1
+        final int lastSpineElementFence;
+
+        // The current spine buffer
+        T_BUF splChunk;
+
+        BaseSpliterator(int firstSpineIndex, int lastSpineIndex,
+                        int firstSpineElementIndex, int lastSpineElementFence) {
+            this.splSpineIndex = firstSpineIndex;
+            this.lastSpineIndex = lastSpineIndex;
+            this.splElementIndex = firstSpineElementIndex;
+            this.lastSpineElementFence = lastSpineElementFence;
+            assert spine != null || firstSpineIndex == 0 && lastSpineIndex == 0;
+            splChunk = (spine == null) ? curChunk : spine[firstSpineIndex];
+        }
+
+        abstract T_SPLITR newSpliterator(int firstSpineIndex, int lastSpineIndex,
+                                         int firstSpineElementIndex, int lastSpineElementFence);
+
+        abstract void bufferForOne(T_BUF buffer, int index, T_CONS consumer);
+
+        @Override
+        public long estimateSize() {
+            return (splSpineIndex == lastSpineIndex)
+                   ? (long) lastSpineElementFence - splElementIndex
+                   : // # of elements prior to end -
+                   priorElementCount[lastSpineIndex] + lastSpineElementFence -
+                   // # of elements prior to current
+                   priorElementCount[splSpineIndex] - splElementIndex;
+        }
+
+        @Override
+        public int characteristics() {
+            return SPLITERATOR_CHARACTERISTICS;
+        }
+
+        @Override
+        public boolean tryAdvance(T_CONS consumer) {
+            Objects.requireNonNull(consumer);
+
+            if (splSpineIndex < lastSpineIndex
+                || (splSpineIndex == lastSpineIndex && splElementIndex < lastSpineElementFence)) {
+                bufferForOne(splChunk, splElementIndex++, consumer);
+
+                if (splElementIndex == splChunk.capacity()) {
+                    splElementIndex = 0;
+                    ++splSpineIndex;
+                    if (spine != null && splSpineIndex <= lastSpineIndex)
+                        splChunk = spine[splSpineIndex];
+                }
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(T_CONS consumer) {
+            Objects.requireNonNull(consumer);
+
+            if (splSpineIndex < lastSpineIndex
+                || (splSpineIndex == lastSpineIndex && splElementIndex < lastSpineElementFence)) {
+                int i = splElementIndex;
+                // completed chunks, if any
+                for (int sp = splSpineIndex; sp < lastSpineIndex; sp++) {
+                    T_BUF chunk = spine[sp];
+                    bufferForEach(chunk, i, chunk.capacity(), consumer);
+                    i = 0;
+                }
+                // last (or current uncompleted) chunk
+                T_BUF chunk = (splSpineIndex == lastSpineIndex) ? splChunk : spine[lastSpineIndex];
+                bufferForEach(chunk, i, lastSpineElementFence, consumer);
+                // mark consumed
+                splSpineIndex = lastSpineIndex;
+                splElementIndex = lastSpineElementFence;
+            }
+        }
+
+        @Override
+        public T_SPLITR trySplit() {
+            if (splSpineIndex < lastSpineIndex) {
+                // split just before last chunk (if it is full this means 50:50 split)
+                T_SPLITR ret = newSpliterator(splSpineIndex, lastSpineIndex - 1,
+                                              splElementIndex, spine[lastSpineIndex - 1].capacity());
+                // position us to start of last chunk
+                splSpineIndex = lastSpineIndex;
+                splElementIndex = 0;
+                splChunk = spine[splSpineIndex];
+                return ret;
+            }
+            else if (splSpineIndex == lastSpineIndex) {
+                int t = (lastSpineElementFence - splElementIndex) / 2;
+                if (t == 0)
+                    return null;
+                else {
+                    // split within the last chunk
+                    T_SPLITR ret = newSpliterator(splSpineIndex, splSpineIndex,
+                                                  splElementIndex, splElementIndex + t);
+                    splElementIndex += t;
+                    return ret;
+                }
+            }
+            else {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * An ordered collection of {@code int} values held in direct memory.
+     */
+    static class OfInt extends DirectSpinedBuffer<Integer, int[], IntBuffer, IntConsumer>
+            implements IntConsumer {
+        OfInt() {
+            super(0);
+        }
+
+        OfInt(int initialCapacity) {
+            super(initialCapacity);
+        }
+
+        @Override
+        public void forEach(Consumer<? super Integer> consumer) {
+            if (consumer instanceof IntConsumer) {
+                forEach((IntConsumer) consumer);
+            }
+            else {
+                if (Tripwire.ENABLED)
+                    Tripwire.trip(getClass(), "{0} calling DirectSpinedBuffer.OfInt.forEach(Consumer)");
+                spliterator().forEachRemaining(consumer);
+            }
+        }
+
+        @Override
+        protected IntBuffer[] newBufferArray(int size) {
+            return new IntBuffer[size];
+        }
+
+        @Override
+        protected IntBuffer newBuffer(int size) {
+            return ByteBuffer.allocateDirect(size * Integer.BYTES)
+                             .order(ByteOrder.nativeOrder())
+                             .asIntBuffer();
+        }
+
+        @Override
+        public int[] newArray(int size) {
+            return new int[size];
+        }
+
+        @Override
+        protected int arrayLength(int[] array) {
+            return array.length;
+        }
+
+        @Override
+        protected void bufferForEach(IntBuffer buffer,
+                                     int from, int to,
+                                     IntConsumer consumer) {
+            for (int i = from; i < to; i++)
+                consumer.accept(buffer.get(i));
+        }
+
+        @Override
+        protected void bufferCopy(IntBuffer buffer, int len,
+                                  int[] array, int offset) {
+            buffer.duplicate().get(array, offset, len);
+        }
+
+        @Override
+        protected IntBuffer bufferView(IntBuffer buffer, int len) {
+            IntBuffer view = buffer.duplicate();
+            view.limit(len);
+            return view.slice().asReadOnlyBuffer();
+        }
+
+        @Override
+        public void accept(int i) {
+            preAccept();
+            curChunk.put(elementIndex++, i);
+        }
+
+        public int get(long index) {
+            // Casts to int are safe since the spine array index is the index minus
+            // the prior element count from the current spine
+            int ch = chunkFor(index);
+            if (spineIndex == 0 && ch == 0)
+                return curChunk.get((int) index);
+            else
+                return spine[ch].get((int) (index - priorElementCount[ch]));
+        }
+
+        @Override
+        public PrimitiveIterator.OfInt iterator() {
+            return Spliterators.iterator(spliterator());
+        }
+
+        public Spliterator.OfInt spliterator() {
+            class Splitr extends BaseSpliterator<Spliterator.OfInt>
+                    implements Spliterator.OfInt {
+                Splitr(int firstSpineIndex, int lastSpineIndex,
+                       int firstSpineElementIndex, int lastSpineElementFence) {
+                    super(firstSpineIndex, lastSpineIndex,
+                          firstSpineElementIndex, lastSpineElementFence);
+                }
+
+                @Override
+                Splitr newSpliterator(int firstSpineIndex, int lastSpineIndex,
+                                      int firstSpineElementIndex, int lastSpineElementFence) {
+                    return new Splitr(firstSpineIndex, lastSpineIndex,
+                                      firstSpineElementIndex, lastSpineElementFence);
+                }
+
+                @Override
+                void bufferForOne(IntBuffer buffer, int index, IntConsumer consumer) {
+                    consumer.accept(buffer.get(index));
+                }
+            }
+            return new Splitr(0, spineIndex, 0, elementIndex);
+        }
+
+        @Override
+        public String toString() {
+            int[] array = asPrimitiveArray();
+            if (array.length < 200) {
+                return String.format("%s[length=%d, chunks=%d]%s",
+                                     getClass().getSimpleName(), array.length,
+                                     spineIndex, Arrays.toString(array));
+            }
+            else {
+                int[] array2 = Arrays.copyOf(array, 200);
+                return String.format("%s[length=%d, chunks=%d]%s...",
+                                     getClass().getSimpleName(), array.length,
+                                     spineIndex, Arrays.toString(array2));
+            }
+        }
+    }
+
+    /**
+     * An ordered collection of {@code long} values held in direct memory.
+     */
+    static class OfLong extends DirectSpinedBuffer<Long, long[], LongBuffer, LongConsumer>
+            implements LongConsumer {
+        OfLong() {
+            super(0);
+        }
+
+        OfLong(int initialCapacity) {
+            super(initialCapacity);
+        }
+
+        @Override
+        public void forEach(Consumer<? super Long> consumer) {
+            if (consumer instanceof LongConsumer) {
+                forEach((LongConsumer) consumer);
+            }
+            else {
+                if (Tripwire.ENABLED)
+                    Tripwire.trip(getClass(), "{0} calling DirectSpinedBuffer.OfLong.forEach(Consumer)");
+                spliterator().forEachRemaining(consumer);
+            }
+        }
+
+        @Override
+        protected LongBuffer[] newBufferArray(int size) {
+            return new LongBuffer[size];
+        }
+
+        @Override
+        protected LongBuffer newBuffer(int size) {
+            return ByteBuffer.allocateDirect(size * Long.BYTES)
+                             .order(ByteOrder.nativeOrder())
+                             .asLongBuffer();
+        }
+
+        @Override
+        public long[] newArray(int size) {
+            return new long[size];
+        }
+
+        @Override
+        protected int arrayLength(long[] array) {
+            return array.length;
+        }
+
+        @Override
+        protected void bufferForEach(LongBuffer buffer,
+                                     int from, int to,
+                                     LongConsumer consumer) {
+            for (int i = from; i < to; i++)
+                consumer.accept(buffer.get(i));
+        }
+
+        @Override
+        protected void bufferCopy(LongBuffer buffer, int len,
+                                  long[] array, int offset) {
+            buffer.duplicate().get(array, offset, len);
+        }
+
+        @Override
+        protected LongBuffer bufferView(LongBuffer buffer, int len) {
+            LongBuffer view = buffer.duplicate();
+            view.limit(len);
+            return view.slice().asReadOnlyBuffer();
+        }
+
+        @Override
+        public void accept(long i) {
+            preAccept();
+            curChunk.put(elementIndex++, i);
+        }
+
+        public long get(long index) {
+            // Casts to int are safe since the spine array index is the index minus
+            // the prior element count from the current spine
+            int ch = chunkFor(index);
+            if (spineIndex == 0 && ch == 0)
+                return curChunk.get((int) index);
+            else
+                return spine[ch].get((int) (index - priorElementCount[ch]));
+        }
+
+        @Override
+        public PrimitiveIterator.OfLong iterator() {
+            return Spliterators.iterator(spliterator());
+        }
+
+        public Spliterator.OfLong spliterator() {
+            class Splitr extends BaseSpliterator<Spliterator.OfLong>
+                    implements Spliterator.OfLong {
+                Splitr(int firstSpineIndex, int lastSpineIndex,
+                       int firstSpineElementIndex, int lastSpineElementFence) {
+                    super(firstSpineIndex, lastSpineIndex,
+                          firstSpineElementIndex, lastSpineElementFence);
+                }
+
+                @Override
+                Splitr newSpliterator(int firstSpineIndex, int lastSpineIndex,
+                                      int firstSpineElementIndex, int lastSpineElementFence) {
+                    return new Splitr(firstSpineIndex, lastSpineIndex,
+                                      firstSpineElementIndex, lastSpineElementFence);
+                }
+
+                @Override
+                void bufferForOne(LongBuffer buffer, int index, LongConsumer consumer) {
+                    consumer.accept(buffer.get(index));
+                }
+            }
+            return new Splitr(0, spineIndex, 0, elementIndex);
+        }
+
+        @Override
+        public String toString() {
+            long[] array = asPrimitiveArray();
+            if (array.length < 200) {
+                return String.format("%s[length=%d, chunks=%d]%s",
+                                     getClass().getSimpleName(), array.length,
+                                     spineIndex, Arrays.toString(array));
+            }
+            else {
+                long[] array2 = Arrays.copyOf(array, 200);
+                return String.format("%s[length=%d, chunks=%d]%s...",
+                                     getClass().getSimpleName(), array.length,
+                                     spineIndex, Arrays.toString(array2));
+            }
+        }
+    }
+
+    /**
+     * An ordered collection of {@code double} values held in direct memory.
+     */
+    static class OfDouble extends DirectSpinedBuffer<Double, double[], DoubleBuffer, DoubleConsumer>
+            implements DoubleConsumer {
+        OfDouble() {
+            super(0);
+        }
+
+        OfDouble(int initialCapacity) {
+            super(initialCapacity);
+        }
+
+        @Override
+        public void forEach(Consumer<? super Double> consumer) {
+            if (consumer instanceof DoubleConsumer) {
+                forEach((DoubleConsumer) consumer);
+            }
+            else {
+                if (Tripwire.ENABLED)
+                    Tripwire.trip(getClass(), "{0} calling DirectSpinedBuffer.OfDouble.forEach(Consumer)");
+                spliterator().forEachRemaining(consumer);
+            }
+        }
+
+        @Override
+        protected DoubleBuffer[] newBufferArray(int size) {
+            return new DoubleBuffer[size];
+        }
+
+        @Override
+        protected DoubleBuffer newBuffer(int size) {
+            return ByteBuffer.allocateDirect(size * Double.BYTES)
+                             .order(ByteOrder.nativeOrder())
+                             .asDoubleBuffer();
+        }
+
+        @Override
+        public double[] newArray(int size) {
+            return new double[size];
+        }
+
+        @Override
+        protected int arrayLength(double[] array) {
+            return array.length;
+        }
+
+        @Override
+        protected void bufferForEach(DoubleBuffer buffer,
+                                     int from, int to,
+                                     DoubleConsumer consumer) {
+            for (int i = from; i < to; i++)
+                consumer.accept(buffer.get(i));
+        }
+
+        @Override
+        protected void bufferCopy(DoubleBuffer buffer, int len,
+                                  double[] array, int offset) {
+            buffer.duplicate().get(array, offset, len);
+        }
+
+        @Override
+        protected DoubleBuffer bufferView(DoubleBuffer buffer, int len) {
+            DoubleBuffer view = buffer.duplicate();
+            view.limit(len);
+            return view.slice().asReadOnlyBuffer();
+        }
+
+        @Override
+        public void accept(double i) {
+            preAccept();
+            curChunk.put(elementIndex++, i);
+        }
+
+        public double get(long index) {
+            // Casts to int are safe since the spine array index is the index minus
+            // the prior element count from the current spine
+            int ch = chunkFor(index);
+            if (spineIndex == 0 && ch == 0)
+                return curChunk.get((int) index);
+            else
+                return spine[ch].get((int) (index - priorElementCount[ch]));
+        }
+
+        @Override
+        public PrimitiveIterator.OfDouble iterator() {
+            return Spliterators.iterator(spliterator());
+        }
+
+        public Spliterator.OfDouble spliterator() {
+            class Splitr extends BaseSpliterator<Spliterator.OfDouble>
+                    implements Spliterator.OfDouble {
+                Splitr(int firstSpineIndex, int lastSpineIndex,
+                       int firstSpineElementIndex, int lastSpineElementFence) {
+                    super(firstSpineIndex, lastSpineIndex,
+                          firstSpineElementIndex, lastSpineElementFence);
+                }
+
+                @Override
+                Splitr newSpliterator(int firstSpineIndex, int lastSpineIndex,
+                                      int firstSpineElementIndex, int lastSpineElementFence) {
+                    return new Splitr(firstSpineIndex, lastSpineIndex,
+                                      firstSpineElementIndex, lastSpineElementFence);
+                }
+
+                @Override
+                void bufferForOne(DoubleBuffer buffer, int index, DoubleConsumer consumer) {
+                    consumer.accept(buffer.get(index));
+                }
+            }
+            return new Splitr(0, spineIndex, 0, elementIndex);
+        }
+
+        @Override
+        public String toString() {
+            double[] array = asPrimitiveArray();
+            if (array.length < 200) {
+                return String.format("%s[length=%d, chunks=%d]%s",
+                                     getClass().getSimpleName(), array.length,
+                                     spineIndex, Arrays.toString(array));
+            }
+            else {
+                double[] array2 = Arrays.copyOf(array, 200);
+                return String.format("%s[length=%d, chunks=%d]%s...",
+                                     getClass().getSimpleName(), array.length,
+                                     spineIndex, Arrays.toString(array2));
+            }
+        }
+    }
+}
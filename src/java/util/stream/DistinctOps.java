@@ -24,12 +24,15 @@
  */
 package java.util.stream;
 
+import java.security.AccessController;
+import java.security.PrivilegedAction;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.Objects;
 import java.util.Set;
 import java.util.Spliterator;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RecursiveTask;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.IntFunction;
 
@@ -41,6 +44,25 @@ import java.util.function.IntFunction;
  */
 final class DistinctOps {
 
+    private static final String PARTITIONED_PROPERTY = "org.openjdk.java.util.stream.partitionedDistinct";
+
+    /**
+     * Should unordered parallel distinct operations hash-partition elements
+     * across tasks rather than share a single {@code ConcurrentHashMap}?  This
+     * is turned on if the system property
+     * {@code org.openjdk.java.util.stream.partitionedDistinct} is considered
+     * {@code true} according to {@link Boolean#getBoolean(String)}.
+     */
+    static final boolean PARTITIONED = AccessController.doPrivileged(
+            (PrivilegedAction<Boolean>) () -> Boolean.getBoolean(PARTITIONED_PROPERTY));
+
+    /**
+     * The log2 of the number of hash partitions, sized so that there are at
+     * least as many partitions as leaf tasks of a parallel computation.
+     */
+    private static final int PARTITION_BITS =
+            32 - Integer.numberOfLeadingZeros(AbstractTask.LEAF_TARGET - 1);
+
     private DistinctOps() { }
 
     /**
@@ -75,6 +97,13 @@ final class DistinctOps {
                 else if (StreamOpFlag.ORDERED.isKnown(helper.getStreamAndOpFlags())) {
                     return reduce(helper, spliterator);
                 }
+                else if (PARTITIONED) {
+                    TerminalOp<T, PartitionedSet<T>> reduceOp
+                            = ReduceOps.<T, PartitionedSet<T>>makeRef(PartitionedSet::new, PartitionedSet::add,
+                                                                      PartitionedSet::combine);
+                    PartitionedSet<T> sets = reduceOp.evaluateParallel(helper, spliterator);
+                    return new UnionTask<>(sets, 0, 1 << PARTITION_BITS).invoke();
+                }
                 else {
                     // Holder of null state since ConcurrentHashMap does not support null values
                     AtomicBoolean seenNull = new AtomicBoolean(false);
@@ -180,4 +209,93 @@ final class DistinctOps {
             }
         };
     }
+
+    /**
+     * The distinct elements encountered by one leaf task of an unordered
+     * parallel distinct operation, split into hash partitions.  An element is
+     * assigned to a partition from the high bits of its mixed hash code, so
+     * equal elements of different leaves fall into the same partition, and
+     * the low bits used to index the partition's own table stay well
+     * distributed.
+     * <p>
+     * Combining two leaves only links them, so that the union of each
+     * partition across all leaves can later be computed independently of
+     * the other partitions, without any shared state.
+     *
+     * @param <T> the type of elements
+     */
+    private static final class PartitionedSet<T> {
+        final HashSet<T>[] partitions;
+
+        // The chain of leaves combined with this one, and its last link
+        PartitionedSet<T> next, last;
+
+        @SuppressWarnings("unchecked")
+        PartitionedSet() {
+            partitions = (HashSet<T>[]) new HashSet<?>[1 << PARTITION_BITS];
+            last = this;
+        }
+
+        void add(T t) {
+            int h = (t == null) ? 0 : t.hashCode();
+            int i = (PARTITION_BITS == 0) ? 0 : (h * 0x9E3779B9) >>> (32 - PARTITION_BITS);
+            HashSet<T> p = partitions[i];
+            if (p == null)
+                partitions[i] = p = new HashSet<>();
+            p.add(t);
+        }
+
+        void combine(PartitionedSet<T> other) {
+            last.next = other;
+            last = other.last;
+        }
+    }
+
+    /**
+     * {@code ForkJoinTask} computing, for a range of partitions, the union of
+     * each partition over a chain of {@code PartitionedSet}s.  The range is
+     * split in halves until a single partition remains, and the resulting
+     * nodes are concatenated in partition order.
+     *
+     * @param <T> the type of elements
+     */
+    @SuppressWarnings("serial")
+    private static final class UnionTask<T> extends RecursiveTask<Node<T>> {
+        private final PartitionedSet<T> sets;
+        private final int lo, hi;
+
+        UnionTask(PartitionedSet<T> sets, int lo, int hi) {
+            this.sets = sets;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected Node<T> compute() {
+            if (hi - lo > 1) {
+                int mid = (lo + hi) >>> 1;
+                UnionTask<T> left = new UnionTask<>(sets, lo, mid);
+                left.fork();
+                Node<T> right = new UnionTask<>(sets, mid, hi).compute();
+                return Nodes.conc(StreamShape.REFERENCE, left.join(), right);
+            }
+
+            // Add all sets of the partition into the largest one
+            HashSet<T> union = null;
+            for (PartitionedSet<T> s = sets; s != null; s = s.next) {
+                HashSet<T> p = s.partitions[lo];
+                if (p != null && (union == null || p.size() > union.size()))
+                    union = p;
+            }
+            if (union == null)
+                return Nodes.emptyNode(StreamShape.REFERENCE);
+            for (PartitionedSet<T> s = sets; s != null; s = s.next) {
+                HashSet<T> p = s.partitions[lo];
+                if (p != null && p != union)
+                    union.addAll(p);
+                s.partitions[lo] = null;
+            }
+            return Nodes.node(union);
+        }
+    }
 }
@@ -24,6 +24,9 @@
  */
 package java.util.stream;
 
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
 import java.util.Spliterator;
 import java.util.function.Consumer;
 import java.util.function.DoubleConsumer;
@@ -370,6 +373,24 @@ interface Node<T> {
             return new int[count];
         }
 
+        /**
+         * Views this node as a sequence of read-only {@code int} buffers,
+         * whose remaining elements, in order, are the contents of this
+         * {@code Node}.
+         *
+         * <p>Depending on the underlying implementation the buffers may share
+         * their content with internal arrays or direct memory of this node
+         * rather than hold a copy.
+         *
+         * @implSpec the default implementation wraps the array returned by
+         * {@link #asPrimitiveArray()}.
+         *
+         * @return buffers holding the contents of this {@code Node}
+         */
+        default IntBuffer[] asPrimitiveBuffers() {
+            return new IntBuffer[] { IntBuffer.wrap(asPrimitiveArray()).asReadOnlyBuffer() };
+        }
+
         /**
          * {@inheritDoc}
          * @implSpec The default in {@code Node.OfInt} returns
@@ -443,6 +464,24 @@ interface Node<T> {
             return new long[count];
         }
 
+        /**
+         * Views this node as a sequence of read-only {@code long} buffers,
+         * whose remaining elements, in order, are the contents of this
+         * {@code Node}.
+         *
+         * <p>Depending on the underlying implementation the buffers may share
+         * their content with internal arrays or direct memory of this node
+         * rather than hold a copy.
+         *
+         * @implSpec the default implementation wraps the array returned by
+         * {@link #asPrimitiveArray()}.
+         *
+         * @return buffers holding the contents of this {@code Node}
+         */
+        default LongBuffer[] asPrimitiveBuffers() {
+            return new LongBuffer[] { LongBuffer.wrap(asPrimitiveArray()).asReadOnlyBuffer() };
+        }
+
         /**
          * {@inheritDoc}
          * @implSpec The default in {@code Node.OfLong} returns
@@ -518,6 +557,24 @@ interface Node<T> {
             return new double[count];
         }
 
+        /**
+         * Views this node as a sequence of read-only {@code double} buffers,
+         * whose remaining elements, in order, are the contents of this
+         * {@code Node}.
+         *
+         * <p>Depending on the underlying implementation the buffers may share
+         * their content with internal arrays or direct memory of this node
+         * rather than hold a copy.
+         *
+         * @implSpec the default implementation wraps the array returned by
+         * {@link #asPrimitiveArray()}.
+         *
+         * @return buffers holding the contents of this {@code Node}
+         */
+        default DoubleBuffer[] asPrimitiveBuffers() {
+            return new DoubleBuffer[] { DoubleBuffer.wrap(asPrimitiveArray()).asReadOnlyBuffer() };
+        }
+
         /**
          * {@inheritDoc}
          *
@@ -24,6 +24,11 @@
  */
 package java.util.stream;
 
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
 import java.util.ArrayDeque;
 import java.util.Arrays;
 import java.util.Collection;
@@ -63,6 +68,18 @@ final class Nodes {
     // IllegalArgumentException messages
     static final String BAD_SIZE = "Stream size exceeds max array size";
 
+    private static final String DIRECT_SPINED_BUFFERS_PROPERTY = "java.util.stream.directSpinedBuffers";
+
+    /**
+     * Should the variable size primitive builders allocate their chunks in
+     * direct memory?  This is turned on if the system property
+     * {@code java.util.stream.directSpinedBuffers} is considered {@code true}
+     * according to {@link Boolean#getBoolean(String)}, and keeps large
+     * intermediate results of unknown size off the Java heap.
+     */
+    static final boolean DIRECT_SPINED_BUFFERS = AccessController.doPrivileged(
+            (PrivilegedAction<Boolean>) () -> Boolean.getBoolean(DIRECT_SPINED_BUFFERS_PROPERTY));
+
     @SuppressWarnings("rawtypes")
     private static final Node EMPTY_NODE = new EmptyNode.OfRef();
     private static final Node.OfInt EMPTY_INT_NODE = new EmptyNode.OfInt();
@@ -208,12 +225,15 @@ final class Nodes {
     }
 
     /**
-     * Produces a variable size @{link Node.Builder.OfInt}.
+     * Produces a variable size @{link Node.Builder.OfInt}.  Its chunks are
+     * allocated in direct memory if {@link #DIRECT_SPINED_BUFFERS} is set.
      *
      * @return a {@code Node.Builder.OfInt}
      */
     static Node.Builder.OfInt intBuilder() {
-        return new IntSpinedNodeBuilder();
+        return DIRECT_SPINED_BUFFERS
+               ? new IntDirectSpinedNodeBuilder()
+               : new IntSpinedNodeBuilder();
     }
 
     // Long nodes
@@ -245,12 +265,15 @@ final class Nodes {
     }
 
     /**
-     * Produces a variable size @{link Node.Builder.OfLong}.
+     * Produces a variable size @{link Node.Builder.OfLong}.  Its chunks are
+     * allocated in direct memory if {@link #DIRECT_SPINED_BUFFERS} is set.
      *
      * @return a {@code Node.Builder.OfLong}
      */
     static Node.Builder.OfLong longBuilder() {
-        return new LongSpinedNodeBuilder();
+        return DIRECT_SPINED_BUFFERS
+               ? new LongDirectSpinedNodeBuilder()
+               : new LongSpinedNodeBuilder();
     }
 
     // Double nodes
@@ -282,12 +305,15 @@ final class Nodes {
     }
 
     /**
-     * Produces a variable size @{link Node.Builder.OfDouble}.
+     * Produces a variable size @{link Node.Builder.OfDouble}.  Its chunks are
+     * allocated in direct memory if {@link #DIRECT_SPINED_BUFFERS} is set.
      *
      * @return a {@code Node.Builder.OfDouble}
      */
     static Node.Builder.OfDouble doubleBuilder() {
-        return new DoubleSpinedNodeBuilder();
+        return DIRECT_SPINED_BUFFERS
+               ? new DoubleDirectSpinedNodeBuilder()
+               : new DoubleSpinedNodeBuilder();
     }
 
     // Parallel evaluation of pipelines to nodes
@@ -892,6 +918,15 @@ final class Nodes {
             public Spliterator.OfInt spliterator() {
                 return new InternalNodeSpliterator.OfInt(this);
             }
+
+            @Override
+            public IntBuffer[] asPrimitiveBuffers() {
+                IntBuffer[] l = left.asPrimitiveBuffers();
+                IntBuffer[] r = right.asPrimitiveBuffers();
+                IntBuffer[] buffers = Arrays.copyOf(l, l.length + r.length);
+                System.arraycopy(r, 0, buffers, l.length, r.length);
+                return buffers;
+            }
         }
 
         static final class OfLong
@@ -906,6 +941,15 @@ final class Nodes {
             public Spliterator.OfLong spliterator() {
                 return new InternalNodeSpliterator.OfLong(this);
             }
+
+            @Override
+            public LongBuffer[] asPrimitiveBuffers() {
+                LongBuffer[] l = left.asPrimitiveBuffers();
+                LongBuffer[] r = right.asPrimitiveBuffers();
+                LongBuffer[] buffers = Arrays.copyOf(l, l.length + r.length);
+                System.arraycopy(r, 0, buffers, l.length, r.length);
+                return buffers;
+            }
         }
 
         static final class OfDouble
@@ -920,6 +964,15 @@ final class Nodes {
             public Spliterator.OfDouble spliterator() {
                 return new InternalNodeSpliterator.OfDouble(this);
             }
+
+            @Override
+            public DoubleBuffer[] asPrimitiveBuffers() {
+                DoubleBuffer[] l = left.asPrimitiveBuffers();
+                DoubleBuffer[] r = right.asPrimitiveBuffers();
+                DoubleBuffer[] buffers = Arrays.copyOf(l, l.length + r.length);
+                System.arraycopy(r, 0, buffers, l.length, r.length);
+                return buffers;
+            }
         }
     }
 
@@ -1346,6 +1399,11 @@ final class Nodes {
             System.arraycopy(array, 0, dest, destOffset, curSize);
         }
 
+        @Override
+        public IntBuffer[] asPrimitiveBuffers() {
+            return new IntBuffer[] { IntBuffer.wrap(array, 0, curSize).slice().asReadOnlyBuffer() };
+        }
+
         @Override
         public long count() {
             return curSize;
@@ -1400,6 +1458,11 @@ final class Nodes {
             System.arraycopy(array, 0, dest, destOffset, curSize);
         }
 
+        @Override
+        public LongBuffer[] asPrimitiveBuffers() {
+            return new LongBuffer[] { LongBuffer.wrap(array, 0, curSize).slice().asReadOnlyBuffer() };
+        }
+
         @Override
         public long count() {
             return curSize;
@@ -1454,6 +1517,11 @@ final class Nodes {
             System.arraycopy(array, 0, dest, destOffset, curSize);
         }
 
+        @Override
+        public DoubleBuffer[] asPrimitiveBuffers() {
+            return new DoubleBuffer[] { DoubleBuffer.wrap(array, 0, curSize).slice().asReadOnlyBuffer() };
+        }
+
         @Override
         public long count() {
             return curSize;
@@ -1688,6 +1756,12 @@ final class Nodes {
             return super.asPrimitiveArray();
         }
 
+        @Override
+        public IntBuffer[] asPrimitiveBuffers() {
+            assert !building : "during building";
+            return super.asPrimitiveBuffers();
+        }
+
         @Override
         public Node.OfInt build() {
             assert !building : "during building";
@@ -1748,6 +1822,12 @@ final class Nodes {
             return super.asPrimitiveArray();
         }
 
+        @Override
+        public LongBuffer[] asPrimitiveBuffers() {
+            assert !building : "during building";
+            return super.asPrimitiveBuffers();
+        }
+
         @Override
         public Node.OfLong build() {
             assert !building : "during building";
@@ -1808,6 +1888,210 @@ final class Nodes {
             return super.asPrimitiveArray();
         }
 
+        @Override
+        public DoubleBuffer[] asPrimitiveBuffers() {
+            assert !building : "during building";
+            return super.asPrimitiveBuffers();
+        }
+
+        @Override
+        public Node.OfDouble build() {
+            assert !building : "during building";
+            return this;
+        }
+    }
+
+    private static final class IntDirectSpinedNodeBuilder
+            extends DirectSpinedBuffer.OfInt
+            implements Node.OfInt, Node.Builder.OfInt {
+        private boolean building = false;
+
+        IntDirectSpinedNodeBuilder() {} // Avoid creation of special accessor
+
+        @Override
+        public Spliterator.OfInt spliterator() {
+            assert !building : "during building";
+            return super.spliterator();
+        }
+
+        @Override
+        public void forEach(IntConsumer consumer) {
+            assert !building : "during building";
+            super.forEach(consumer);
+        }
+
+        //
+        @Override
+        public void begin(long size) {
+            assert !building : "was already building";
+            building = true;
+            clear();
+            ensureCapacity(size);
+        }
+
+        @Override
+        public void accept(int i) {
+            assert building : "not building";
+            super.accept(i);
+        }
+
+        @Override
+        public void end() {
+            assert building : "was not building";
+            building = false;
+            // @@@ check begin(size) and size
+        }
+
+        @Override
+        public void copyInto(int[] array, int offset) throws IndexOutOfBoundsException {
+            assert !building : "during building";
+            super.copyInto(array, offset);
+        }
+
+        @Override
+        public int[] asPrimitiveArray() {
+            assert !building : "during building";
+            return super.asPrimitiveArray();
+        }
+
+        @Override
+        public IntBuffer[] asPrimitiveBuffers() {
+            assert !building : "during building";
+            return super.asPrimitiveBuffers();
+        }
+
+        @Override
+        public Node.OfInt build() {
+            assert !building : "during building";
+            return this;
+        }
+    }
+
+    private static final class LongDirectSpinedNodeBuilder
+            extends DirectSpinedBuffer.OfLong
+            implements Node.OfLong, Node.Builder.OfLong {
+        private boolean building = false;
+
+        LongDirectSpinedNodeBuilder() {} // Avoid creation of special accessor
+
+        @Override
+        public Spliterator.OfLong spliterator() {
+            assert !building : "during building";
+            return super.spliterator();
+        }
+
+        @Override
+        public void forEach(LongConsumer consumer) {
+            assert !building : "during building";
+            super.forEach(consumer);
+        }
+
+        //
+        @Override
+        public void begin(long size) {
+            assert !building : "was already building";
+            building = true;
+            clear();
+            ensureCapacity(size);
+        }
+
+        @Override
+        public void accept(long i) {
+            assert building : "not building";
+            super.accept(i);
+        }
+
+        @Override
+        public void end() {
+            assert building : "was not building";
+            building = false;
+            // @@@ check begin(size) and size
+        }
+
+        @Override
+        public void copyInto(long[] array, int offset) {
+            assert !building : "during building";
+            super.copyInto(array, offset);
+        }
+
+        @Override
+        public long[] asPrimitiveArray() {
+            assert !building : "during building";
+            return super.asPrimitiveArray();
+        }
+
+        @Override
+        public LongBuffer[] asPrimitiveBuffers() {
+            assert !building : "during building";
+            return super.asPrimitiveBuffers();
+        }
+
+        @Override
+        public Node.OfLong build() {
+            assert !building : "during building";
+            return this;
+        }
+    }
+
+    private static final class DoubleDirectSpinedNodeBuilder
+            extends DirectSpinedBuffer.OfDouble
+            implements Node.OfDouble, Node.Builder.OfDouble {
+        private boolean building = false;
+
+        DoubleDirectSpinedNodeBuilder() {} // Avoid creation of special accessor
+
+        @Override
+        public Spliterator.OfDouble spliterator() {
+            assert !building : "during building";
+            return super.spliterator();
+        }
+
+        @Override
+        public void forEach(DoubleConsumer consumer) {
+            assert !building : "during building";
+            super.forEach(consumer);
+        }
+
+        //
+        @Override
+        public void begin(long size) {
+            assert !building : "was already building";
+            building = true;
+            clear();
+            ensureCapacity(size);
+        }
+
+        @Override
+        public void accept(double i) {
+            assert building : "not building";
+            super.accept(i);
+        }
+
+        @Override
+        public void end() {
+            assert building : "was not building";
+            building = false;
+            // @@@ check begin(size) and size
+        }
+
+        @Override
+        public void copyInto(double[] array, int offset) {
+            assert !building : "during building";
+            super.copyInto(array, offset);
+        }
+
+        @Override
+        public double[] asPrimitiveArray() {
+            assert !building : "during building";
+            return super.asPrimitiveArray();
+        }
+
+        @Override
+        public DoubleBuffer[] asPrimitiveBuffers() {
+            assert !building : "during building";
+            return super.asPrimitiveBuffers();
+        }
+
         @Override
         public Node.OfDouble build() {
             assert !building : "during building";
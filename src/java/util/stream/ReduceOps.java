@@ -36,6 +36,7 @@ import java.util.function.BiFunction;
 import java.util.function.BinaryOperator;
 import java.util.function.DoubleBinaryOperator;
 import java.util.function.IntBinaryOperator;
+import java.util.function.IntFunction;
 import java.util.function.LongBinaryOperator;
 import java.util.function.ObjDoubleConsumer;
 import java.util.function.ObjIntConsumer;
@@ -157,11 +158,18 @@ final class ReduceOps {
         Supplier<I> supplier = Objects.requireNonNull(collector).supplier();
         BiConsumer<I, ? super T> accumulator = collector.accumulator();
         BinaryOperator<I> combiner = collector.combiner();
+        // Collectors that can presize their result container are handed
+        // the exact number of elements to be accumulated, if known
+        IntFunction<I> sizedSupplier = (collector instanceof Collectors.CollectorImpl)
+                                       ? ((Collectors.CollectorImpl<? super T, I, ?>) collector).sizedSupplier()
+                                       : null;
         class ReducingSink extends Box<I>
                 implements AccumulatingSink<T, I, ReducingSink> {
             @Override
             public void begin(long size) {
-                state = supplier.get();
+                state = (sizedSupplier != null && size >= 0 && size < Nodes.MAX_ARRAY_SIZE)
+                        ? sizedSupplier.apply((int) size)
+                        : supplier.get();
             }
 
             @Override
@@ -143,14 +143,9 @@ final class SliceOps {
                             skip, limit, size);
                 }
                 else {
-                    // @@@ OOMEs will occur for LongStream.longs().filter(i -> true).limit(n)
-                    //     regardless of the value of n
-                    //     Need to adjust the target size of splitting for the
-                    //     SliceTask from say (size / k) to say min(size / k, 1 << 14)
-                    //     This will limit the size of the buffers created at the leaf nodes
-                    //     cancellation will be more aggressive cancelling later tasks
-                    //     if the target slice size has been reached from a given task,
-                    //     cancellation should also clear local results if any
+                    // Leaf tasks buffer at most (skip + limit) elements and
+                    // stop early once tasks to their left have completed
+                    // the slice, see SliceTask.doLeaf
                     return new SliceTask<>(this, helper, spliterator, castingArray(), skip, limit).
                             invoke().spliterator();
                 }
@@ -563,6 +558,16 @@ final class SliceOps {
         private final long targetOffset, targetSize;
         private long thisNodeSize;
 
+        /**
+         * Mask applied to the number of cancellation polls of a leaf so that
+         * the task tree is inspected once every 1024 elements.
+         */
+        private static final int CANCELLATION_POLL_MASK = (1 << 10) - 1;
+
+        // Leaf traversal state, only accessed by the thread computing the leaf
+        private long leafCount;
+        private int cancellationPolls;
+
         private volatile boolean completed;
 
         SliceTask(AbstractPipeline<P_OUT, P_OUT, ?> op,
@@ -608,7 +613,8 @@ final class SliceOps {
                 // skipping and limiting of elements
                 return nb.build();
             }
-            else {
+            else if (targetSize < 0) {
+                // Skip only, every element after the offset is required
                 Node<P_OUT> node = helper.wrapAndCopyInto(helper.makeNodeBuilder(-1, generator),
                                                           spliterator).build();
                 thisNodeSize = node.count();
@@ -616,6 +622,20 @@ final class SliceOps {
                 spliterator = null;
                 return node;
             }
+            else {
+                // No leaf needs to hold more than (offset + size) elements,
+                // since any element beyond that count, relative to the start
+                // of the leaf, lies beyond the slice fence.  The leaf also
+                // stops early if it is canceled because nodes to its left
+                // have already completed enough elements
+                final Node.Builder<P_OUT> nb = helper.makeNodeBuilder(-1, generator);
+                helper.copyIntoWithCancel(helper.wrapSink(leafSink(nb)), spliterator);
+                Node<P_OUT> node = nb.build();
+                thisNodeSize = node.count();
+                completed = true;
+                spliterator = null;
+                return node;
+            }
         }
 
         @Override
@@ -653,6 +673,107 @@ final class SliceOps {
                 setLocalResult(getEmptyResult());
         }
 
+        /**
+         * Returns a sink for a non-root leaf that pushes elements to the
+         * node builder, counting them so that the traversal may be
+         * terminated once the slice fence is reached.
+         *
+         * @param nb the node builder to push elements to
+         * @return the counting sink
+         */
+        @SuppressWarnings("unchecked")
+        private Sink<P_OUT> leafSink(Node.Builder<P_OUT> nb) {
+            switch (op.getOutputShape()) {
+                case REFERENCE:
+                    return new Sink.ChainedReference<P_OUT, P_OUT>(nb) {
+                        @Override
+                        public void begin(long size) {
+                            downstream.begin(-1);
+                        }
+
+                        @Override
+                        public void accept(P_OUT t) {
+                            leafCount++;
+                            downstream.accept(t);
+                        }
+
+                        @Override
+                        public boolean cancellationRequested() {
+                            return leafCancellationRequested();
+                        }
+                    };
+                case INT_VALUE:
+                    return (Sink<P_OUT>) new Sink.ChainedInt<P_OUT>(nb) {
+                        @Override
+                        public void begin(long size) {
+                            downstream.begin(-1);
+                        }
+
+                        @Override
+                        public void accept(int t) {
+                            leafCount++;
+                            downstream.accept(t);
+                        }
+
+                        @Override
+                        public boolean cancellationRequested() {
+                            return leafCancellationRequested();
+                        }
+                    };
+                case LONG_VALUE:
+                    return (Sink<P_OUT>) new Sink.ChainedLong<P_OUT>(nb) {
+                        @Override
+                        public void begin(long size) {
+                            downstream.begin(-1);
+                        }
+
+                        @Override
+                        public void accept(long t) {
+                            leafCount++;
+                            downstream.accept(t);
+                        }
+
+                        @Override
+                        public boolean cancellationRequested() {
+                            return leafCancellationRequested();
+                        }
+                    };
+                case DOUBLE_VALUE:
+                    return (Sink<P_OUT>) new Sink.ChainedDouble<P_OUT>(nb) {
+                        @Override
+                        public void begin(long size) {
+                            downstream.begin(-1);
+                        }
+
+                        @Override
+                        public void accept(double t) {
+                            leafCount++;
+                            downstream.accept(t);
+                        }
+
+                        @Override
+                        public boolean cancellationRequested() {
+                            return leafCancellationRequested();
+                        }
+                    };
+                default:
+                    throw new IllegalStateException("Unknown shape " + op.getOutputShape());
+            }
+        }
+
+        /**
+         * Determines whether a non-root leaf may stop traversing its
+         * spliterator, either because it holds enough elements to cover the
+         * slice fence, or because this task or one of its parents has been
+         * canceled.  Cancellation is polled periodically since it requires a
+         * walk up the task tree.
+         */
+        private boolean leafCancellationRequested() {
+            if (leafCount >= calcSliceFence(targetOffset, targetSize))
+                return true;
+            return (++cancellationPolls & CANCELLATION_POLL_MASK) == 0 && taskCanceled();
+        }
+
         private Node<P_OUT> doTruncate(Node<P_OUT> input) {
             long to = targetSize >= 0 ? Math.min(input.count(), targetOffset + targetSize) : thisNodeSize;
             return input.truncate(targetOffset, to, generator);
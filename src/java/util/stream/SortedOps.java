@@ -466,7 +466,7 @@ final class SortedOps {
      * {@link Sink} for implementing sort on int streams.
      */
     private static final class IntSortingSink extends AbstractIntSortingSink {
-        private SpinedBuffer.OfInt b;
+        private Node.Builder.OfInt b;
 
         IntSortingSink(Sink<? super Integer> sink) {
             super(sink);
@@ -476,12 +476,18 @@ final class SortedOps {
         public void begin(long size) {
             if (size >= Nodes.MAX_ARRAY_SIZE)
                 throw new IllegalArgumentException(Nodes.BAD_SIZE);
-            b = (size > 0) ? new SpinedBuffer.OfInt((int) size) : new SpinedBuffer.OfInt();
+            b = Nodes.intBuilder();
+            b.begin(size);
         }
 
         @Override
         public void end() {
-            int[] ints = b.asPrimitiveArray();
+            b.end();
+            int[] ints = b.build().asPrimitiveArray();
+            // Release the builder before sorting and pushing downstream, so
+            // its chunks, on the heap or in direct memory, are not retained
+            // alongside the sorted copy
+            b = null;
             Arrays.sort(ints);
             downstream.begin(ints.length);
             if (!cancellationWasRequested) {
@@ -564,7 +570,7 @@ final class SortedOps {
      * {@link Sink} for implementing sort on long streams.
      */
     private static final class LongSortingSink extends AbstractLongSortingSink {
-        private SpinedBuffer.OfLong b;
+        private Node.Builder.OfLong b;
 
         LongSortingSink(Sink<? super Long> sink) {
             super(sink);
@@ -574,12 +580,15 @@ final class SortedOps {
         public void begin(long size) {
             if (size >= Nodes.MAX_ARRAY_SIZE)
                 throw new IllegalArgumentException(Nodes.BAD_SIZE);
-            b = (size > 0) ? new SpinedBuffer.OfLong((int) size) : new SpinedBuffer.OfLong();
+            b = Nodes.longBuilder();
+            b.begin(size);
         }
 
         @Override
         public void end() {
-            long[] longs = b.asPrimitiveArray();
+            b.end();
+            long[] longs = b.build().asPrimitiveArray();
+            b = null;
             Arrays.sort(longs);
             downstream.begin(longs.length);
             if (!cancellationWasRequested) {
@@ -662,7 +671,7 @@ final class SortedOps {
      * {@link Sink} for implementing sort on double streams.
      */
     private static final class DoubleSortingSink extends AbstractDoubleSortingSink {
-        private SpinedBuffer.OfDouble b;
+        private Node.Builder.OfDouble b;
 
         DoubleSortingSink(Sink<? super Double> sink) {
             super(sink);
@@ -672,12 +681,15 @@ final class SortedOps {
         public void begin(long size) {
             if (size >= Nodes.MAX_ARRAY_SIZE)
                 throw new IllegalArgumentException(Nodes.BAD_SIZE);
-            b = (size > 0) ? new SpinedBuffer.OfDouble((int) size) : new SpinedBuffer.OfDouble();
+            b = Nodes.doubleBuilder();
+            b.begin(size);
         }
 
         @Override
         public void end() {
-            double[] doubles = b.asPrimitiveArray();
+            b.end();
+            double[] doubles = b.build().asPrimitiveArray();
+            b = null;
             Arrays.sort(doubles);
             downstream.begin(doubles.length);
             if (!cancellationWasRequested) {
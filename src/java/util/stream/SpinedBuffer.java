@@ -24,6 +24,9 @@
  */
 package java.util.stream;
 
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
@@ -779,6 +782,17 @@ class SpinedBuffer<E>
                 return spine[ch][(int) (index - priorElementCount[ch])];
         }
 
+        /**
+         * Views the content as read-only buffers wrapping the chunks in order.
+         */
+        public IntBuffer[] asPrimitiveBuffers() {
+            IntBuffer[] buffers = new IntBuffer[spineIndex + 1];
+            for (int i=0; i < spineIndex; i++)
+                buffers[i] = IntBuffer.wrap(spine[i]).asReadOnlyBuffer();
+            buffers[spineIndex] = IntBuffer.wrap(curChunk, 0, elementIndex).slice().asReadOnlyBuffer();
+            return buffers;
+        }
+
         @Override
         public PrimitiveIterator.OfInt iterator() {
             return Spliterators.iterator(spliterator());
@@ -892,6 +906,17 @@ class SpinedBuffer<E>
                 return spine[ch][(int) (index - priorElementCount[ch])];
         }
 
+        /**
+         * Views the content as read-only buffers wrapping the chunks in order.
+         */
+        public LongBuffer[] asPrimitiveBuffers() {
+            LongBuffer[] buffers = new LongBuffer[spineIndex + 1];
+            for (int i=0; i < spineIndex; i++)
+                buffers[i] = LongBuffer.wrap(spine[i]).asReadOnlyBuffer();
+            buffers[spineIndex] = LongBuffer.wrap(curChunk, 0, elementIndex).slice().asReadOnlyBuffer();
+            return buffers;
+        }
+
         @Override
         public PrimitiveIterator.OfLong iterator() {
             return Spliterators.iterator(spliterator());
@@ -1007,6 +1032,17 @@ class SpinedBuffer<E>
                 return spine[ch][(int) (index - priorElementCount[ch])];
         }
 
+        /**
+         * Views the content as read-only buffers wrapping the chunks in order.
+         */
+        public DoubleBuffer[] asPrimitiveBuffers() {
+            DoubleBuffer[] buffers = new DoubleBuffer[spineIndex + 1];
+            for (int i=0; i < spineIndex; i++)
+                buffers[i] = DoubleBuffer.wrap(spine[i]).asReadOnlyBuffer();
+            buffers[spineIndex] = DoubleBuffer.wrap(curChunk, 0, elementIndex).slice().asReadOnlyBuffer();
+            return buffers;
+        }
+
         @Override
         public PrimitiveIterator.OfDouble iterator() {
             return Spliterators.iterator(spliterator());
@@ -25,6 +25,8 @@
 
 package java.util.zip;
 
+import java.lang.ref.Cleaner;
+
 /**
  * This class provides support for general purpose compression using the
  * popular ZLIB compression library. The ZLIB compression library was
@@ -74,6 +76,7 @@ public
 class Deflater {
 
     private final ZStreamRef zsRef;
+    private final Cleaner.Cleanable cleanable;
     private byte[] buf = new byte[0];
     private int off, len;
     private int level, strategy;
@@ -168,7 +171,8 @@ class Deflater {
     public Deflater(int level, boolean nowrap) {
         this.level = level;
         this.strategy = DEFAULT_STRATEGY;
-        this.zsRef = new ZStreamRef(init(level, DEFAULT_STRATEGY, nowrap));
+        this.zsRef = new DeflaterZStreamRef(init(level, DEFAULT_STRATEGY, nowrap));
+        this.cleanable = ZipUtils.cleaner().register(this, zsRef);
     }
 
     /**
@@ -531,26 +535,22 @@ class Deflater {
     /**
      * Closes the compressor and discards any unprocessed input.
      * This method should be called when the compressor is no longer
-     * being used, but will also be called automatically by the
-     * finalize() method. Once this method is called, the behavior
-     * of the Deflater object is undefined.
+     * being used, but will also be called automatically when the
+     * Deflater is garbage collected. Once this method is called, the
+     * behavior of the Deflater object is undefined.
      */
     public void end() {
         synchronized (zsRef) {
-            long addr = zsRef.address();
-            zsRef.clear();
-            if (addr != 0) {
-                end(addr);
-                buf = null;
-            }
+            cleanable.clean();
+            buf = null;
         }
     }
 
     /**
-     * Closes the compressor when garbage is collected.
+     * Does nothing.  The compressor is closed when garbage is collected by
+     * a {@link Cleaner}, without finalization.
      */
     protected void finalize() {
-        end();
     }
 
     private void ensureOpen() {
@@ -567,4 +567,14 @@ class Deflater {
     private native static int getAdler(long addr);
     private native static void reset(long addr);
     private native static void end(long addr);
+
+    private static final class DeflaterZStreamRef extends ZStreamRef {
+        DeflaterZStreamRef(long address) {
+            super(address);
+        }
+
+        void end(long address) {
+            Deflater.end(address);
+        }
+    }
 }
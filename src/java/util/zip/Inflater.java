@@ -25,6 +25,8 @@
 
 package java.util.zip;
 
+import java.lang.ref.Cleaner;
+
 /**
  * This class provides support for general purpose decompression using the
  * popular ZLIB compression library. The ZLIB compression library was
@@ -74,6 +76,7 @@ public
 class Inflater {
 
     private final ZStreamRef zsRef;
+    private final Cleaner.Cleanable cleanable;
     private byte[] buf = defaultBuf;
     private int off, len;
     private boolean finished;
@@ -100,7 +103,8 @@ class Inflater {
      * @param nowrap if true then support GZIP compatible compression
      */
     public Inflater(boolean nowrap) {
-        zsRef = new ZStreamRef(init(nowrap));
+        zsRef = new InflaterZStreamRef(init(nowrap));
+        cleanable = ZipUtils.cleaner().register(this, zsRef);
     }
 
     /**
@@ -361,26 +365,22 @@ class Inflater {
     /**
      * Closes the decompressor and discards any unprocessed input.
      * This method should be called when the decompressor is no longer
-     * being used, but will also be called automatically by the finalize()
-     * method. Once this method is called, the behavior of the Inflater
-     * object is undefined.
+     * being used, but will also be called automatically when the
+     * Inflater is garbage collected. Once this method is called, the
+     * behavior of the Inflater object is undefined.
      */
     public void end() {
         synchronized (zsRef) {
-            long addr = zsRef.address();
-            zsRef.clear();
-            if (addr != 0) {
-                end(addr);
-                buf = null;
-            }
+            cleanable.clean();
+            buf = null;
         }
     }
 
     /**
-     * Closes the decompressor when garbage is collected.
+     * Does nothing.  The decompressor is closed when garbage is collected by
+     * a {@link Cleaner}, without finalization.
      */
     protected void finalize() {
-        end();
     }
 
     private void ensureOpen () {
@@ -404,4 +404,14 @@ class Inflater {
     private native static int getAdler(long addr);
     private native static void reset(long addr);
     private native static void end(long addr);
+
+    private static final class InflaterZStreamRef extends ZStreamRef {
+        InflaterZStreamRef(long address) {
+            super(address);
+        }
+
+        void end(long address) {
+            Inflater.end(address);
+        }
+    }
 }
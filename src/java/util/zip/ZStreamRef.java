@@ -26,10 +26,12 @@
 package java.util.zip;
 
 /**
- * A reference to the native zlib's z_stream structure.
+ * A reference to the native zlib's z_stream structure. Running it ends the
+ * z_stream, at most once: it is the cleaning action of its owner, run by
+ * the owner's end() method or once the owner is phantom reachable.
  */
 
-class ZStreamRef {
+abstract class ZStreamRef implements Runnable {
 
     private volatile long address;
     ZStreamRef (long address) {
@@ -40,7 +42,16 @@ class ZStreamRef {
         return address;
     }
 
-    void clear() {
+    /**
+     * Ends the native z_stream at the given address.
+     */
+    abstract void end(long address);
+
+    public synchronized void run() {
+        long addr = address;
         address = 0;
+        if (addr != 0) {
+            end(addr);
+        }
     }
 }
@@ -30,6 +30,7 @@ import java.io.InputStream;
 import java.io.IOException;
 import java.io.EOFException;
 import java.io.File;
+import java.lang.ref.Cleaner;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayDeque;
@@ -63,6 +64,7 @@ class ZipFile implements ZipConstants, Closeable {
     private final int total;       // total number of entries
     private final boolean locsig;  // if zip file starts with LOCSIG (usually true)
     private volatile boolean closeRequested = false;
+    private final Cleaner.Cleanable cleanable;
 
     private static final int STORED = ZipEntry.STORED;
     private static final int DEFLATED = ZipEntry.DEFLATED;
@@ -223,6 +225,7 @@ class ZipFile implements ZipConstants, Closeable {
         this.zc = ZipCoder.get(charset);
         long t0 = System.nanoTime();
         jzfile = open(name, mode, file.lastModified(), usemmap);
+        cleanable = ZipUtils.cleaner().register(this, new Releaser(jzfile));
         sun.misc.PerfCounter.getZipFileOpenTime().addElapsedTimeFrom(t0);
         sun.misc.PerfCounter.getZipFileCount().increment();
         this.name = name;
@@ -447,10 +450,6 @@ class ZipFile implements ZipConstants, Closeable {
             return (avail > (long) Integer.MAX_VALUE ?
                     Integer.MAX_VALUE : (int) avail);
         }
-
-        protected void finalize() throws Throwable {
-            close();
-        }
     }
 
     /*
@@ -653,20 +652,19 @@ class ZipFile implements ZipConstants, Closeable {
 
             if (jzfile != 0) {
                 // Close the zip file
-                long zf = this.jzfile;
                 jzfile = 0;
-
-                close(zf);
+                cleanable.clean();
             }
         }
     }
 
     /**
-     * Ensures that the system resources held by this ZipFile object are
-     * released when there are no more references to it.
+     * Does nothing.  The system resources held by this ZipFile object are
+     * released by a {@link Cleaner} when there are no more references to
+     * it, without finalization.
      *
      * <p>
-     * Since the time when GC would invoke this method is undetermined,
+     * Since the time when GC would release them is undetermined,
      * it is strongly recommended that applications invoke the <code>close</code>
      * method as soon they have finished accessing this <code>ZipFile</code>.
      * This will prevent holding up system resources for an undetermined
@@ -676,7 +674,45 @@ class ZipFile implements ZipConstants, Closeable {
      * @see    java.util.zip.ZipFile#close()
      */
     protected void finalize() throws IOException {
-        close();
+    }
+
+    /*
+     * Closes the zip file, when the ZipFile is closed or phantom reachable.
+     * The entries of its unclosed input streams have been freed by then, as
+     * each stream keeps the ZipFile reachable until it is released.
+     */
+    private static class Releaser implements Runnable {
+        private final long jzfile;
+
+        Releaser(long jzfile) {
+            this.jzfile = jzfile;
+        }
+
+        public void run() {
+            close(jzfile);
+        }
+    }
+
+    /*
+     * Frees the entry of an input stream, when the stream is closed or
+     * phantom reachable, unless the zip file has been closed.
+     */
+    private static class EntryReleaser implements Runnable {
+        private final ZipFile zf;
+        private final long jzentry;
+
+        EntryReleaser(ZipFile zf, long jzentry) {
+            this.zf = zf;
+            this.jzentry = jzentry;
+        }
+
+        public void run() {
+            synchronized (zf) {
+                if (zf.jzfile != 0) {
+                    freeEntry(zf.jzfile, jzentry);
+                }
+            }
+        }
     }
 
     private static native void close(long jzfile);
@@ -707,12 +743,15 @@ class ZipFile implements ZipConstants, Closeable {
         private   long pos;     // current position within entry data
         protected long rem;     // number of remaining bytes within entry
         protected long size;    // uncompressed size of this entry
+        private final Cleaner.Cleanable cleanable;
 
         ZipFileInputStream(long jzentry) {
             pos = 0;
             rem = getEntryCSize(jzentry);
             size = getEntrySize(jzentry);
             this.jzentry = jzentry;
+            cleanable = ZipUtils.cleaner().register(this,
+                new EntryReleaser(ZipFile.this, jzentry));
         }
 
         public int read(byte b[], int off, int len) throws IOException {
@@ -779,19 +818,13 @@ class ZipFile implements ZipConstants, Closeable {
 
             rem = 0;
             synchronized (ZipFile.this) {
-                if (jzentry != 0 && ZipFile.this.jzfile != 0) {
-                    freeEntry(ZipFile.this.jzfile, jzentry);
-                    jzentry = 0;
-                }
+                cleanable.clean();
+                jzentry = 0;
             }
             synchronized (streams) {
                 streams.remove(this);
             }
         }
-
-        protected void finalize() {
-            close();
-        }
     }
 
     static {
@@ -25,12 +25,33 @@
 
 package java.util.zip;
 
+import java.lang.ref.Cleaner;
 import java.nio.file.attribute.FileTime;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
 import java.util.Date;
 import java.util.concurrent.TimeUnit;
 
 class ZipUtils {
 
+    /**
+     * Returns the cleaner that releases the native resources of the
+     * inflaters, deflaters and zip files that are not explicitly closed.
+     * Its thread is started when it is first needed.
+     */
+    static Cleaner cleaner() {
+        return CleanerHolder.cleaner;
+    }
+
+    private static class CleanerHolder {
+        static final Cleaner cleaner = AccessController.doPrivileged(
+            new PrivilegedAction<Cleaner>() {
+                public Cleaner run() {
+                    return Cleaner.create();
+                }
+            });
+    }
+
     // used to adjust values between Windows and java epoch
     private static final long WINDOWS_EPOCH_IN_MICROSECONDS = -11644473600000000L;
 
@@ -56,6 +56,9 @@
 #define CLS_ERROR4      "Error: Main method not public\n" GEN_ERROR
 #define CLS_ERROR5      "Error: main-class: attribute exceeds system limits of %d bytes\n" GEN_ERROR
 
+#define CLS_WARN1       "Warning: Could not read class list %s; classes will not be preloaded"
+#define CLS_WARN2       "Warning: Could not write class list %s; classes will not be recorded"
+
 #define CFG_WARN1       "Warning: %s VM not supported; %s VM will be used"
 #define CFG_WARN2       "Warning: No leading - on line %d of `%s'"
 #define CFG_WARN3       "Warning: Missing VM type on line %d of `%s'"
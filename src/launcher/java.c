@@ -69,6 +69,8 @@ static jboolean showVersion = JNI_FALSE;  /* print but continue */
 static jboolean printUsage = JNI_FALSE;   /* print and exit*/
 static jboolean printXUsage = JNI_FALSE;  /* print and exit*/
 static char     *showSettings = NULL;      /* print but continue */
+static char     *preloadClassList = NULL;  /* class list to preload */
+static char     *recordClassList = NULL;   /* class list to record */
 
 static const char *_program_name;
 static const char *_launcher_name;
@@ -115,6 +117,8 @@ static void SetApplicationClassPath(const char**);
 static void PrintJavaVersion(JNIEnv *env, jboolean extraLF);
 static void PrintUsage(JNIEnv* env, jboolean doXUsage);
 static void ShowSettings(JNIEnv* env, char *optString);
+static void RecordClasses(JavaVM *vm, JNIEnv *env, const char *path);
+static void PreloadClasses(JavaVM *vm, JNIEnv *env, const char *path);
 
 static void SetPaths(int argc, char **argv);
 
@@ -416,6 +420,18 @@ JavaMain(void * _args)
         }
     }
 
+    /*
+     * Start recording and preloading the application classes before the
+     * main class is loaded, so that the classes it depends on are recorded
+     * and can be loaded by the preloading threads while it initializes.
+     */
+    if (recordClassList != NULL) {
+        RecordClasses(vm, env, recordClassList);
+    }
+    if (preloadClassList != NULL) {
+        PreloadClasses(vm, env, preloadClassList);
+    }
+
     ret = 1;
 
     /*
@@ -1127,6 +1143,15 @@ ParseArguments(int *pargc, char ***pargv,
             showSettings = arg;
         } else if (JLI_StrCmp(arg, "-Xdiag") == 0) {
             AddOption("-Dsun.java.launcher.diag=true", NULL);
+/*
+ * The following cases check for -XpreloadClasses:FILE, which preloads the
+ * application classes listed in FILE, and -XrecordClasses:FILE, which
+ * writes the list of the application classes loaded by this run to FILE.
+ */
+        } else if (JLI_StrCCmp(arg, "-XpreloadClasses:") == 0) {
+            preloadClassList = arg + 17;
+        } else if (JLI_StrCCmp(arg, "-XrecordClasses:") == 0) {
+            recordClassList = arg + 16;
 /*
  * The following case provide backward compatibility with old-style
  * command line options.
@@ -1669,6 +1694,352 @@ PrintUsage(JNIEnv* env, jboolean doXUsage)
   return;
 }
 
+/*
+ * A class list names the classes defined by the application class loader,
+ * one per line in internal form, in the order in which they were loaded.
+ * -XrecordClasses writes the list of a run and -XpreloadClasses loads and
+ * links the listed classes in a few threads, concurrently with the start
+ * of the application, so that the classes it needs are mostly loaded and
+ * verified by the time it uses them.  Both are done through a JVMTI
+ * environment, which needs no capabilities for this.
+ */
+#define MAX_PRELOAD_THREADS 8
+
+static jvmtiEnv *
+GetJvmtiEnv(JavaVM *vm)
+{
+    jvmtiEnv *jvmti = NULL;
+    if ((*vm)->GetEnv(vm, (void **)&jvmti, JVMTI_VERSION_1_0) != JNI_OK) {
+        return NULL;
+    }
+    return jvmti;
+}
+
+/*
+ * Returns a new global reference to the system class loader, or NULL.
+ */
+static jobject
+GetSystemClassLoaderRef(JNIEnv *env)
+{
+    jclass cls;
+    jmethodID mid;
+    jobject loader;
+    if ((cls = FindBootStrapClass(env, "java/lang/ClassLoader")) == NULL ||
+        (mid = (*env)->GetStaticMethodID(env, cls, "getSystemClassLoader",
+                                         "()Ljava/lang/ClassLoader;")) == NULL ||
+        (loader = (*env)->CallStaticObjectMethod(env, cls, mid)) == NULL) {
+        return NULL;
+    }
+    return (*env)->NewGlobalRef(env, loader);
+}
+
+static FILE *recordFile = NULL;
+static jobject recordLoader = NULL;
+static jrawMonitorID recordLock = NULL;
+
+static void JNICALL
+RecordClassLoad(jvmtiEnv *jvmti, JNIEnv *env, jthread thread, jclass klass)
+{
+    jobject loader = NULL;
+    char *sig = NULL;
+    size_t len;
+
+    if ((*jvmti)->GetClassLoader(jvmti, klass, &loader) != JVMTI_ERROR_NONE) {
+        return;
+    }
+    if (!(*env)->IsSameObject(env, loader, recordLoader) ||
+        (*jvmti)->GetClassSignature(jvmti, klass, &sig, NULL) != JVMTI_ERROR_NONE) {
+        (*env)->DeleteLocalRef(env, loader);
+        return;
+    }
+    (*env)->DeleteLocalRef(env, loader);
+
+    /* Record "Lpkg/Name;" as pkg/Name, but not the classes spun for lambdas */
+    len = JLI_StrLen(sig);
+    if (len > 2 && sig[0] == 'L' && JLI_StrStr(sig, "$$Lambda$") == NULL) {
+        (*jvmti)->RawMonitorEnter(jvmti, recordLock);
+        if (recordFile != NULL) {
+            fprintf(recordFile, "%.*s\n", (int)(len - 2), sig + 1);
+        }
+        (*jvmti)->RawMonitorExit(jvmti, recordLock);
+    }
+    (*jvmti)->Deallocate(jvmti, (unsigned char *)sig);
+}
+
+/*
+ * Closes the class list when the VM exits, whether by System.exit or
+ * after the last non-daemon thread.
+ */
+static void JNICALL
+RecordVMDeath(jvmtiEnv *jvmti, JNIEnv *env)
+{
+    (*jvmti)->RawMonitorEnter(jvmti, recordLock);
+    if (recordFile != NULL) {
+        fclose(recordFile);
+        recordFile = NULL;
+    }
+    (*jvmti)->RawMonitorExit(jvmti, recordLock);
+}
+
+/*
+ * Writes the application classes loaded from now on to the class list at
+ * the given path.
+ */
+static void
+RecordClasses(JavaVM *vm, JNIEnv *env, const char *path)
+{
+    jvmtiEnv *jvmti;
+    jvmtiEventCallbacks callbacks;
+
+    if ((jvmti = GetJvmtiEnv(vm)) == NULL ||
+        (recordLoader = GetSystemClassLoaderRef(env)) == NULL ||
+        (*jvmti)->CreateRawMonitor(jvmti, "class list", &recordLock) != JVMTI_ERROR_NONE ||
+        (recordFile = fopen(path, "w")) == NULL) {
+        (*env)->ExceptionClear(env);
+        JLI_ReportErrorMessage(CLS_WARN2, path);
+        return;
+    }
+
+    memset(&callbacks, 0, sizeof(callbacks));
+    callbacks.ClassLoad = &RecordClassLoad;
+    callbacks.VMDeath = &RecordVMDeath;
+    if ((*jvmti)->SetEventCallbacks(jvmti, &callbacks,
+                                    (jint)sizeof(callbacks)) != JVMTI_ERROR_NONE ||
+        (*jvmti)->SetEventNotificationMode(jvmti, JVMTI_ENABLE,
+                                           JVMTI_EVENT_VM_DEATH, NULL) != JVMTI_ERROR_NONE ||
+        (*jvmti)->SetEventNotificationMode(jvmti, JVMTI_ENABLE,
+                                           JVMTI_EVENT_CLASS_LOAD, NULL) != JVMTI_ERROR_NONE) {
+        fclose(recordFile);
+        recordFile = NULL;
+        JLI_ReportErrorMessage(CLS_WARN2, path);
+    }
+}
+
+/*
+ * The classes to preload, in binary form, shared by the preloading
+ * threads.  The threads take the next class in the order of the list, and
+ * the last thread to finish frees the list.
+ */
+static struct {
+    char **names;
+    int count;
+    int next;
+    int threads;
+    jobject loader;
+    jclass classClass;
+    jmethodID forName;
+    jmethodID getDeclaredConstructors;
+    jrawMonitorID lock;
+} preload;
+
+/*
+ * Reads the class list at the given path into preload.names, converting
+ * the names to binary form.  Blank lines and lines starting with '#' are
+ * skipped.
+ */
+static jboolean
+ReadClassList(const char *path)
+{
+    FILE *fp;
+    char line[MAXPATHLEN+2];
+    int max = 0;
+
+    if ((fp = fopen(path, "r")) == NULL) {
+        return JNI_FALSE;
+    }
+    while (fgets(line, sizeof(line), fp) != NULL) {
+        size_t len = JLI_StrCSpn(line, " \t\r\n");
+        char *p;
+        if (line[JLI_StrLen(line)-1] != '\n' && !feof(fp)) {
+            /* too long to be a class name, skip the rest of the line */
+            int c;
+            while ((c = fgetc(fp)) != EOF && c != '\n')
+                ;
+            continue;
+        }
+        if (len == 0 || line[0] == '#') {
+            continue;
+        }
+        line[len] = '\0';
+        for (p = line; *p != '\0'; p++) {
+            if (*p == '/') {
+                *p = '.';
+            }
+        }
+        if (preload.count == max) {
+            max = (max == 0) ? 256 : max * 2;
+            preload.names = JLI_MemRealloc(preload.names, max * sizeof(char *));
+        }
+        preload.names[preload.count++] = JLI_StringDup(line);
+    }
+    fclose(fp);
+    return JNI_TRUE;
+}
+
+static void
+FreeClassList()
+{
+    int i;
+    for (i = 0; i < preload.count; i++) {
+        JLI_MemFree(preload.names[i]);
+    }
+    JLI_MemFree(preload.names);
+    preload.names = NULL;
+    preload.count = 0;
+}
+
+/*
+ * Loads a class without initializing it, then links it, which verifies
+ * it, by reflecting on its constructors.  Classes of the list which no
+ * longer exist, or which cannot be linked, are left for the application
+ * to fail on.
+ */
+static void
+PreloadClass(JNIEnv *env, const char *name)
+{
+    jstring str;
+    jobject cls;
+    jobject ctors;
+
+    if ((str = (*env)->NewStringUTF(env, name)) != NULL) {
+        cls = (*env)->CallStaticObjectMethod(env, preload.classClass,
+                  preload.forName, str, JNI_FALSE, preload.loader);
+        if (cls != NULL && !(*env)->ExceptionCheck(env)) {
+            ctors = (*env)->CallObjectMethod(env, cls,
+                        preload.getDeclaredConstructors);
+            (*env)->DeleteLocalRef(env, ctors);
+            (*env)->DeleteLocalRef(env, cls);
+        }
+        (*env)->DeleteLocalRef(env, str);
+    }
+    (*env)->ExceptionClear(env);
+}
+
+static void JNICALL
+PreloadClassesThread(jvmtiEnv *jvmti, JNIEnv *env, void *arg)
+{
+    for (;;) {
+        const char *name = NULL;
+        (*jvmti)->RawMonitorEnter(jvmti, preload.lock);
+        if (preload.next < preload.count) {
+            name = preload.names[preload.next++];
+        }
+        (*jvmti)->RawMonitorExit(jvmti, preload.lock);
+        if (name == NULL) {
+            break;
+        }
+        PreloadClass(env, name);
+    }
+
+    (*jvmti)->RawMonitorEnter(jvmti, preload.lock);
+    if (--preload.threads == 0) {
+        FreeClassList();
+    }
+    (*jvmti)->RawMonitorExit(jvmti, preload.lock);
+}
+
+/*
+ * Looks up the methods called by the preloading threads and returns the
+ * number of threads to start: one less than there are processors, so that
+ * the main thread keeps one, or 0 if the lookup fails.
+ */
+static int
+InitPreload(JNIEnv *env)
+{
+    jclass runtimeClass;
+    jmethodID getRuntime, availableProcessors;
+    jobject runtime;
+    int nthreads;
+
+    if ((preload.loader = GetSystemClassLoaderRef(env)) == NULL ||
+        (preload.classClass = FindBootStrapClass(env, "java/lang/Class")) == NULL ||
+        (preload.classClass = (*env)->NewGlobalRef(env, preload.classClass)) == NULL ||
+        (preload.forName = (*env)->GetStaticMethodID(env, preload.classClass,
+            "forName", "(Ljava/lang/String;ZLjava/lang/ClassLoader;)Ljava/lang/Class;")) == NULL ||
+        (preload.getDeclaredConstructors = (*env)->GetMethodID(env,
+            preload.classClass, "getDeclaredConstructors",
+            "()[Ljava/lang/reflect/Constructor;")) == NULL ||
+        (runtimeClass = FindBootStrapClass(env, "java/lang/Runtime")) == NULL ||
+        (getRuntime = (*env)->GetStaticMethodID(env, runtimeClass,
+            "getRuntime", "()Ljava/lang/Runtime;")) == NULL ||
+        (availableProcessors = (*env)->GetMethodID(env, runtimeClass,
+            "availableProcessors", "()I")) == NULL ||
+        (runtime = (*env)->CallStaticObjectMethod(env, runtimeClass, getRuntime)) == NULL) {
+        return 0;
+    }
+    nthreads = (*env)->CallIntMethod(env, runtime, availableProcessors) - 1;
+    if ((*env)->ExceptionCheck(env)) {
+        return 0;
+    }
+    if (nthreads > MAX_PRELOAD_THREADS) {
+        nthreads = MAX_PRELOAD_THREADS;
+    }
+    if (nthreads > preload.count) {
+        nthreads = preload.count;
+    }
+    return (nthreads < 1) ? 1 : nthreads;
+}
+
+/*
+ * Starts daemon threads preloading the classes of the class list at the
+ * given path.
+ */
+static void
+PreloadClasses(JavaVM *vm, JNIEnv *env, const char *path)
+{
+    jvmtiEnv *jvmti;
+    jclass threadClass;
+    jmethodID threadInit;
+    int nthreads, i;
+
+    if (!ReadClassList(path)) {
+        JLI_ReportErrorMessage(CLS_WARN1, path);
+        return;
+    }
+    if (preload.count == 0) {
+        return;
+    }
+    if ((jvmti = GetJvmtiEnv(vm)) == NULL ||
+        (*jvmti)->CreateRawMonitor(jvmti, "class preloading",
+                                   &preload.lock) != JVMTI_ERROR_NONE ||
+        (nthreads = InitPreload(env)) == 0 ||
+        (threadClass = FindBootStrapClass(env, "java/lang/Thread")) == NULL ||
+        (threadInit = (*env)->GetMethodID(env, threadClass,
+            "<init>", "(Ljava/lang/String;)V")) == NULL) {
+        (*env)->ExceptionClear(env);
+        FreeClassList();
+        JLI_ReportErrorMessage(CLS_WARN1, path);
+        return;
+    }
+
+    JLI_TraceLauncher("Preloading %d classes of %s in %d threads\n",
+                      preload.count, path, nthreads);
+
+    /*
+     * The list is freed by the last thread to finish, so the threads are
+     * counted before any of them can take a class.
+     */
+    (*jvmti)->RawMonitorEnter(jvmti, preload.lock);
+    for (i = 0; i < nthreads; i++) {
+        jstring name = (*env)->NewStringUTF(env, "Class Preloader");
+        jobject thread = (name == NULL) ? NULL
+            : (*env)->NewObject(env, threadClass, threadInit, name);
+        if (thread == NULL ||
+            (*jvmti)->RunAgentThread(jvmti, thread, &PreloadClassesThread, NULL,
+                                     JVMTI_THREAD_NORM_PRIORITY) != JVMTI_ERROR_NONE) {
+            (*env)->ExceptionClear(env);
+            break;
+        }
+        preload.threads++;
+        (*env)->DeleteLocalRef(env, thread);
+        (*env)->DeleteLocalRef(env, name);
+    }
+    if (preload.threads == 0) {
+        FreeClassList();
+    }
+    (*jvmti)->RawMonitorExit(jvmti, preload.lock);
+}
+
 /*
  * Read the jvm.cfg file and fill the knownJVMs[] array.
  *
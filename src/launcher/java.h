@@ -33,6 +33,7 @@
 
 #include <jni.h>
 #include <jvm.h>
+#include <jvmti.h>
 
 /*
  * Get system specific defines.